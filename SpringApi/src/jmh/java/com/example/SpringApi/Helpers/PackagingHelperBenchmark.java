@@ -0,0 +1,109 @@
+package com.example.SpringApi.Helpers;
+
+import com.example.SpringApi.Helpers.PackagingHelper.MultiProductPackagingResult;
+import com.example.SpringApi.Helpers.PackagingHelper.PackageDimension;
+import com.example.SpringApi.Helpers.PackagingHelper.PackagingEstimateResult;
+import com.example.SpringApi.Helpers.PackagingHelper.ProductDimension;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the quantity-aware packer in {@link PackagingHelper} with the per-unit packer it
+ * replaced, for one product and for a three-product order.
+ *
+ * <p>Run with {@code mvn -P benchmark test-compile exec:exec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackagingHelperBenchmark {
+
+  @Param({"10", "500", "5000"})
+  private int quantity;
+
+  private final PackagingHelper helper = new PackagingHelper();
+  private final PerUnitPackingReference perUnit = new PerUnitPackingReference();
+  private List<PackageDimension> packages;
+  private ProductDimension product;
+  private Map<Long, ProductDimension> products;
+
+  @Setup
+  public void setUp() {
+    packages =
+        List.of(
+            packageDimension(1L, "Small Box", 20, 15, 10, "5", "8", 10_000),
+            packageDimension(2L, "Medium Box", 40, 30, 20, "15", "20", 2_000),
+            packageDimension(3L, "Large Box", 60, 40, 40, "30", "35", 500));
+    product = productDimension(10, 8, 5, "0.4", quantity);
+    products = new LinkedHashMap<>();
+    products.put(1L, product);
+    products.put(2L, productDimension(4, 4, 4, "0.1", quantity / 2));
+    products.put(3L, productDimension(25, 20, 15, "3.5", Math.max(1, quantity / 10)));
+  }
+
+  @Benchmark
+  public PackagingEstimateResult singleProductQuantityAware() {
+    return helper.calculatePackaging(product, packages);
+  }
+
+  @Benchmark
+  public PackagingEstimateResult singleProductPerUnit() {
+    return perUnit.calculatePackaging(product, packages);
+  }
+
+  @Benchmark
+  public MultiProductPackagingResult multipleProductsQuantityAware() {
+    return helper.calculatePackagingForMultipleProducts(products, packages);
+  }
+
+  @Benchmark
+  public MultiProductPackagingResult multipleProductsPerUnit() {
+    return perUnit.calculatePackagingForMultipleProducts(products, packages);
+  }
+
+  private static PackageDimension packageDimension(
+      Long id,
+      String name,
+      int length,
+      int breadth,
+      int height,
+      String maxWeight,
+      String price,
+      int available) {
+    return new PackageDimension(
+        id,
+        name,
+        "BOX",
+        new PackageDimension.PackageSize(length, breadth, height),
+        new BigDecimal(maxWeight),
+        new BigDecimal(price),
+        available);
+  }
+
+  private static ProductDimension productDimension(
+      int length, int breadth, int height, String weight, int quantity) {
+    return new ProductDimension(
+        BigDecimal.valueOf(length),
+        BigDecimal.valueOf(breadth),
+        BigDecimal.valueOf(height),
+        new BigDecimal(weight),
+        quantity);
+  }
+}
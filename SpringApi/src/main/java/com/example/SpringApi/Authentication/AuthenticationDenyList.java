@@ -0,0 +1,132 @@
+package com.example.SpringApi.Authentication;
+
+import com.example.SpringApi.Models.DatabaseModels.User;
+import com.example.SpringApi.Repositories.UserRepository;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory set of user IDs whose tokens must no longer authenticate (deleted or locked users).
+ *
+ * <p>Stateless authentication trusts the signed token instead of loading the User row, so this list
+ * is the revocation check. It is loaded at startup, updated by {@code UserService.toggleUser} and
+ * the login lock/unlock paths in {@code LoginService} once their transaction commits, and reloaded
+ * from the database on a scheduled task every {@code auth.deny-list.refresh-interval-millis} so
+ * changes made by other instances are picked up.
+ *
+ * <p>There is a single concurrent set, updated in place, so request threads never wait for a
+ * reload. A reload queries outside the lock and then reconciles the set under it, re-applying any
+ * update recorded while its query was running so an older snapshot cannot undo a newer change. If
+ * a reload fails the current set keeps being served until the next one succeeds.
+ */
+@Component
+public class AuthenticationDenyList {
+  private final UserRepository userRepository;
+  private final Set<Long> deniedUserIds = ConcurrentHashMap.newKeySet();
+  private final Object reloadLock = new Object();
+
+  /** Denied state of users updated while a reload query runs; guarded by {@code this}. */
+  private final Map<Long, Boolean> updatesDuringReload = new HashMap<>();
+
+  private boolean reloading;
+
+  public AuthenticationDenyList(UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  /** Loads the deny-list once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    refresh();
+  }
+
+  /** Reloads every deleted or locked user ID from the database and reconciles the set with it. */
+  @Scheduled(
+      fixedDelayString = "${auth.deny-list.refresh-interval-millis:60000}",
+      initialDelayString = "${auth.deny-list.refresh-interval-millis:60000}")
+  public void refresh() {
+    synchronized (reloadLock) {
+      startReload();
+      Set<Long> reloaded;
+      try {
+        reloaded = new HashSet<>(userRepository.findDeniedUserIds());
+      } catch (RuntimeException e) {
+        finishReload(null);
+        throw e;
+      }
+      finishReload(reloaded);
+    }
+  }
+
+  /**
+   * Checks whether tokens for a user must be rejected.
+   *
+   * @param userId The user ID from the token
+   * @return true if the user is deleted or locked
+   */
+  public boolean isDenied(Long userId) {
+    return deniedUserIds.contains(userId);
+  }
+
+  /**
+   * Records the current deleted/locked state of a user after it has been changed. The change is
+   * applied once the current transaction commits, or immediately when no transaction is active.
+   *
+   * @param user The user whose state changed
+   */
+  public void update(User user) {
+    Long userId = user.getUserId();
+    boolean denied =
+        Boolean.TRUE.equals(user.getIsDeleted()) || Boolean.TRUE.equals(user.getLocked());
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(userId, denied);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            apply(userId, denied);
+          }
+        });
+  }
+
+  private synchronized void apply(Long userId, boolean denied) {
+    setDenied(deniedUserIds, userId, denied);
+    if (reloading) {
+      updatesDuringReload.put(userId, denied);
+    }
+  }
+
+  private synchronized void startReload() {
+    reloading = true;
+    updatesDuringReload.clear();
+  }
+
+  private synchronized void finishReload(Set<Long> reloaded) {
+    if (reloaded != null) {
+      updatesDuringReload.forEach((userId, denied) -> setDenied(reloaded, userId, denied));
+      deniedUserIds.retainAll(reloaded);
+      deniedUserIds.addAll(reloaded);
+    }
+    reloading = false;
+    updatesDuringReload.clear();
+  }
+
+  private static void setDenied(Set<Long> userIds, Long userId, boolean denied) {
+    if (denied) {
+      userIds.add(userId);
+    } else {
+      userIds.remove(userId);
+    }
+  }
+}
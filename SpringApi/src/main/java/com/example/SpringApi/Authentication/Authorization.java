@@ -3,13 +3,8 @@ package com.example.SpringApi.Authentication;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.PermissionException;
 import com.example.SpringApi.Logging.ContextualLogger;
-import com.example.SpringApi.Models.DatabaseModels.Permission;
-import com.example.SpringApi.Models.DatabaseModels.UserClientMapping;
-import com.example.SpringApi.Repositories.PermissionRepository;
-import com.example.SpringApi.Repositories.UserClientMappingRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.*;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -20,19 +15,16 @@ public class Authorization {
 
   private final HttpServletRequest request;
   private final JwtTokenProvider jwtTokenProvider;
-  private final PermissionRepository permissionRepository;
-  private final UserClientMappingRepository userClientMappingRepository;
+  private final PermissionCodeResolver permissionCodeResolver;
 
   @Autowired
   public Authorization(
       HttpServletRequest request,
       JwtTokenProvider jwtTokenProvider,
-      PermissionRepository permissionRepository,
-      UserClientMappingRepository userClientMappingRepository) {
+      PermissionCodeResolver permissionCodeResolver) {
     this.request = request;
     this.jwtTokenProvider = jwtTokenProvider;
-    this.permissionRepository = permissionRepository;
-    this.userClientMappingRepository = userClientMappingRepository;
+    this.permissionCodeResolver = permissionCodeResolver;
   }
 
   private String getJwtFromRequest() {
@@ -55,10 +47,7 @@ public class Authorization {
     }
 
     // Check if user is part of the client mapping
-    List<UserClientMapping> mapping =
-        userClientMappingRepository.findByUserIdsAndClientId(
-            Collections.singletonList(userId), clientId);
-    if (mapping == null || mapping.isEmpty()) {
+    if (!permissionCodeResolver.isClientMember(userId, clientId)) {
       logger.error(permissionException);
       throw permissionException;
     }
@@ -79,19 +68,6 @@ public class Authorization {
   }
 
   public boolean isAllowed(String userPermission, List<Long> permissionIds) {
-    if (permissionIds != null && !permissionIds.isEmpty()) {
-      List<Permission> permissions = permissionRepository.findAllById(permissionIds);
-      SortedSet<String> userPermissionCodes =
-          permissions.stream()
-              .map(Permission::getPermissionCode)
-              .collect(Collectors.toCollection(TreeSet::new));
-      String[] requiredPermissions = userPermission.split(",");
-      for (String perm : requiredPermissions) {
-        if (!userPermissionCodes.contains(perm.trim())) {
-          return false;
-        }
-      }
-    }
-    return true;
+    return permissionCodeResolver.isAllowed(userPermission, permissionIds);
   }
 }
@@ -6,6 +6,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,11 +23,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtTokenProvider jwtTokenProvider;
   private final UserDetailsService userDetailsService;
+  private final AuthenticationDenyList authenticationDenyList;
+
+  /**
+   * When true the principal is built from the verified token claims and checked against {@link
+   * AuthenticationDenyList}; when false the User row is loaded through {@link UserDetailsService}
+   * on every request.
+   */
+  private final boolean statelessAuthentication;
 
   public JwtAuthenticationFilter(
-      JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+      JwtTokenProvider jwtTokenProvider,
+      UserDetailsService userDetailsService,
+      AuthenticationDenyList authenticationDenyList,
+      @Value("${jwt.stateless-auth.enabled:true}") boolean statelessAuthentication) {
     this.jwtTokenProvider = jwtTokenProvider;
     this.userDetailsService = userDetailsService;
+    this.authenticationDenyList = authenticationDenyList;
+    this.statelessAuthentication = statelessAuthentication;
   }
 
   @Override
@@ -56,9 +70,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+      UserDetails userDetails = resolveUserDetails(jwt, username);
 
-      if (jwtTokenProvider.validateToken(jwt, userDetails.getUsername())) {
+      if (userDetails != null) {
         UsernamePasswordAuthenticationToken authenticationToken =
             new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
@@ -69,4 +83,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     filterChain.doFilter(request, response);
   }
+
+  /**
+   * Resolves the principal for a token, or null if the token must not authenticate.
+   *
+   * @param jwt The bearer token
+   * @param username The login name extracted from the token
+   * @return The principal, or null when the user is revoked or validation fails
+   */
+  private UserDetails resolveUserDetails(String jwt, String username) {
+    if (statelessAuthentication) {
+      VerifiedClaims claims = jwtTokenProvider.getVerifiedClaims(jwt);
+      if (claims.getUserId() == null || authenticationDenyList.isDenied(claims.getUserId())) {
+        return null;
+      }
+      return new JwtUserPrincipal(claims);
+    }
+
+    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    return jwtTokenProvider.validateToken(jwt, userDetails.getUsername()) ? userDetails : null;
+  }
 }
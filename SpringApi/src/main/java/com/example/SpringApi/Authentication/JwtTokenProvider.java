@@ -4,12 +4,18 @@ import static io.jsonwebtoken.Jwts.*;
 
 import com.example.SpringApi.Helpers.PasswordHelper;
 import com.example.SpringApi.Models.DatabaseModels.User;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.Claims;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class JwtTokenProvider {
@@ -19,6 +25,24 @@ public class JwtTokenProvider {
   @Value("${jwt.issuer.url}")
   private String issuerUrl;
 
+  /** Request attribute under which the verified claims for the current request are stored. */
+  public static final String VERIFIED_CLAIMS_ATTRIBUTE = "SpringApi.verifiedJwtClaims";
+
+  /** Upper bound on distinct tokens kept in the verified-claims cache. */
+  private static final long MAX_CACHED_TOKENS = 10_000;
+
+  /** Tokens are issued for 24 hours, so nothing needs to live in the cache longer than that. */
+  private static final long TOKEN_LIFETIME_HOURS = 24;
+
+  private final Cache<String, VerifiedClaims> verifiedClaimsCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_TOKENS)
+          .expireAfterWrite(TOKEN_LIFETIME_HOURS, TimeUnit.HOURS)
+          .build();
+
+  private volatile SecretKey signingKey;
+  private volatile String signingKeySecret;
+
   /**
    * Generates a JWT token for a user with their client-permission mappings. * @param user The user
    * entity
@@ -29,7 +53,7 @@ public class JwtTokenProvider {
    */
   public String generateToken(User user, List<Long> permissionIds, Long clientId) {
     Date now = new Date();
-    Date expiryDate = new Date(now.getTime() + 24 * 60 * 60 * 1000);
+    Date expiryDate = new Date(now.getTime() + TimeUnit.HOURS.toMillis(TOKEN_LIFETIME_HOURS));
 
     return builder()
         .issuer(issuerUrl)
@@ -45,30 +69,50 @@ public class JwtTokenProvider {
         .claim("clientId", clientId)
         .claim("permissionIds", permissionIds)
         .expiration(expiryDate)
-        .signWith(PasswordHelper.getSecretKey(jwtSecret))
+        .signWith(getSigningKey())
         .compact();
   }
 
+  /**
+   * Returns the verified claims for a token, verifying the signature at most once per token.
+   *
+   * <p>Lookup order is the current request (the filter, authorization checks and services all share
+   * one instance), then a bounded process-wide cache keyed by the token signature, and only then a
+   * full signature verification and parse. Cached entries are dropped once the token's {@code exp}
+   * claim has passed.
+   *
+   * @param token The JWT token
+   * @return The verified claims
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or has a bad signature
+   */
+  public VerifiedClaims getVerifiedClaims(String token) {
+    VerifiedClaims requestClaims = getClaimsFromCurrentRequest(token);
+    if (requestClaims != null) {
+      return requestClaims;
+    }
+
+    long now = System.currentTimeMillis();
+    String signature = token.substring(token.lastIndexOf('.') + 1);
+    VerifiedClaims verifiedClaims = verifiedClaimsCache.getIfPresent(signature);
+    if (verifiedClaims == null
+        || !token.equals(verifiedClaims.getToken())
+        || verifiedClaims.isExpired(now)) {
+      Claims claims =
+          parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+      verifiedClaims = new VerifiedClaims(token, claims);
+      verifiedClaimsCache.put(signature, verifiedClaims);
+    }
+
+    storeClaimsOnCurrentRequest(verifiedClaims);
+    return verifiedClaims;
+  }
+
   public String getUserNameFromToken(String token) {
-    Claims claims =
-        parser()
-            .verifyWith(PasswordHelper.getSecretKey(jwtSecret))
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-    return claims.get("email").toString();
+    return getVerifiedClaims(token).getEmail();
   }
 
   public Long getUserIdFromToken(String token) {
-    Claims claims =
-        parser()
-            .verifyWith(PasswordHelper.getSecretKey(jwtSecret))
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-    return Long.valueOf(claims.get("userId").toString());
+    return getVerifiedClaims(token).getUserId();
   }
 
   /**
@@ -77,22 +121,7 @@ public class JwtTokenProvider {
    * @return The client ID
    */
   public Long getClientIdFromToken(String token) {
-    Claims claims =
-        parser()
-            .verifyWith(PasswordHelper.getSecretKey(jwtSecret))
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-    Object clientIdObj = claims.get("clientId");
-    if (clientIdObj == null) {
-      return null;
-    }
-
-    if (clientIdObj instanceof Number number) {
-      return number.longValue();
-    }
-    return Long.valueOf(clientIdObj.toString());
+    return getVerifiedClaims(token).getClientId();
   }
 
   /**
@@ -101,70 +130,16 @@ public class JwtTokenProvider {
    * @return Map of clientId to list of permissionIds
    */
   public Map<Long, List<Long>> getClientPermissionMapFromToken(String token) {
-    Claims claims =
-        parser()
-            .verifyWith(PasswordHelper.getSecretKey(jwtSecret))
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-    Object rawMapObj = claims.get("clientPermissionMap");
-    if (!(rawMapObj instanceof Map<?, ?> rawMap) || rawMap.isEmpty()) {
-      return Map.of();
-    }
-
-    Map<Long, List<Long>> result = new java.util.HashMap<>();
-    for (Map.Entry<?, ?> entry : rawMap.entrySet()) {
-      Long clientId = Long.valueOf(entry.getKey().toString());
-      List<Long> permissionIds = new java.util.ArrayList<>();
-
-      if (entry.getValue() instanceof List<?> rawList) {
-        for (Object item : rawList) {
-          if (item instanceof Number number) {
-            permissionIds.add(number.longValue());
-          } else {
-            permissionIds.add(Long.valueOf(item.toString()));
-          }
-        }
-      }
-      result.put(clientId, permissionIds);
-    }
-    return result;
+    return getVerifiedClaims(token).getClientPermissionMap();
   }
 
   public List<Long> getUserPermissionIds(String token) {
-    Claims claims =
-        parser()
-            .verifyWith(PasswordHelper.getSecretKey(jwtSecret))
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-
-    Object raw = claims.get("permissionIds");
-    if (raw instanceof List<?> rawList) {
-      try {
-        return rawList.stream()
-            .map(
-                val -> {
-                  if (val instanceof Number number) {
-                    return number.longValue();
-                  } else {
-                    return Long.valueOf(val.toString());
-                  }
-                })
-            .toList();
-      } catch (Exception e) {
-        // log or handle error if needed
-        return List.of();
-      }
-    }
-    return List.of();
+    return getVerifiedClaims(token).getPermissionIds();
   }
 
   public boolean validateToken(String token, String userName) {
     try {
-      parser().verifyWith(PasswordHelper.getSecretKey(jwtSecret)).build().parseSignedClaims(token);
-      if (!userName.equals(getUserNameFromToken(token))) {
+      if (!userName.equals(getVerifiedClaims(token).getEmail())) {
         return false;
       }
     } catch (Exception ex) {
@@ -175,10 +150,6 @@ public class JwtTokenProvider {
 
   public boolean validateTokenForWebTemplate(String token, String wildCard, String apiAccessKey) {
     try {
-      parser()
-          .verifyWith(PasswordHelper.getSecretKey(apiAccessKey))
-          .build()
-          .parseSignedClaims(token);
       Claims claims =
           parser()
               .verifyWith(PasswordHelper.getSecretKey(apiAccessKey))
@@ -193,4 +164,35 @@ public class JwtTokenProvider {
     }
     return true;
   }
+
+  /** Builds the HMAC key once per secret instead of once per parse. */
+  private SecretKey getSigningKey() {
+    SecretKey key = signingKey;
+    if (key == null || !jwtSecret.equals(signingKeySecret)) {
+      key = PasswordHelper.getSecretKey(jwtSecret);
+      signingKeySecret = jwtSecret;
+      signingKey = key;
+    }
+    return key;
+  }
+
+  private static VerifiedClaims getClaimsFromCurrentRequest(String token) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return null;
+    }
+    Object value =
+        attributes.getAttribute(VERIFIED_CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (value instanceof VerifiedClaims claims && token.equals(claims.getToken())) {
+      return claims;
+    }
+    return null;
+  }
+
+  private static void storeClaimsOnCurrentRequest(VerifiedClaims claims) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes != null) {
+      attributes.setAttribute(VERIFIED_CLAIMS_ATTRIBUTE, claims, RequestAttributes.SCOPE_REQUEST);
+    }
+  }
 }
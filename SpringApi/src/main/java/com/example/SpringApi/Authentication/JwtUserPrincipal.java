@@ -0,0 +1,68 @@
+package com.example.SpringApi.Authentication;
+
+import java.util.Collection;
+import java.util.List;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Authenticated principal built directly from verified JWT claims.
+ *
+ * <p>Used by {@link JwtAuthenticationFilter} in stateless mode so that no User row has to be loaded
+ * per request. Disabled or locked accounts are rejected before this principal is created by
+ * consulting {@link AuthenticationDenyList}.
+ */
+@Getter
+public final class JwtUserPrincipal implements UserDetails {
+  private final Long userId;
+  private final String email;
+  private final String role;
+  private final Long clientId;
+  private final transient List<GrantedAuthority> authorities;
+
+  public JwtUserPrincipal(VerifiedClaims claims) {
+    this.userId = claims.getUserId();
+    this.email = claims.getEmail();
+    this.role = claims.getRole();
+    this.clientId = claims.getClientId();
+    this.authorities =
+        role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role)) : List.of();
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  @Override
+  public String getPassword() {
+    return null;
+  }
+
+  @Override
+  public String getUsername() {
+    return email;
+  }
+
+  @Override
+  public boolean isAccountNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isAccountNonLocked() {
+    return true;
+  }
+
+  @Override
+  public boolean isCredentialsNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+}
@@ -0,0 +1,243 @@
+package com.example.SpringApi.Authentication;
+
+import com.example.SpringApi.Models.DatabaseModels.Permission;
+import com.example.SpringApi.Repositories.PermissionRepository;
+import com.example.SpringApi.Repositories.UserClientMappingRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Resolves permission checks for {@link Authorization} without touching the database on the hot
+ * path.
+ *
+ * <p>The Permission table is loaded once into an id/code → bit-index table. The permission IDs
+ * carried in a token are compiled into a {@link BitSet} once per distinct ID list, and the
+ * comma-separated codes used in {@code @PreAuthorize} expressions are compiled into bit indexes
+ * once per expression, so a check is a handful of bit tests. The table is reloaded when it is older
+ * than {@link #TABLE_TTL_MILLIS} or when a token references a permission ID that the table does not
+ * know yet (rate-limited by {@link #MIN_RELOAD_INTERVAL_MILLIS}).
+ *
+ * <p>User/client membership lookups are cached for {@link #MEMBERSHIP_TTL_SECONDS} seconds. The
+ * user and user-group services call {@link #invalidateAfterCommit(Collection)} whenever they change
+ * a user's permissions, groups or client mapping, so the next check after the commit reloads the
+ * table and the memberships of those users; changes made directly in the database take effect
+ * once the entries expire.
+ */
+@Component
+public class PermissionCodeResolver {
+  private static final long TABLE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final long MIN_RELOAD_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final long MAX_CACHED_GRANTS = 10_000;
+  private static final long MAX_CACHED_MEMBERSHIPS = 50_000;
+  private static final long MEMBERSHIP_TTL_SECONDS = 60;
+
+  /** Marker for a required permission code that does not exist in the table. */
+  private static final int UNKNOWN_BIT = -1;
+
+  private final PermissionRepository permissionRepository;
+  private final UserClientMappingRepository userClientMappingRepository;
+
+  private final Cache<String, Boolean> membershipCache =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_MEMBERSHIPS)
+          .expireAfterWrite(MEMBERSHIP_TTL_SECONDS, TimeUnit.SECONDS)
+          .build();
+
+  private volatile PermissionTable table;
+  private long lastUnknownIdReloadAt;
+
+  public PermissionCodeResolver(
+      PermissionRepository permissionRepository,
+      UserClientMappingRepository userClientMappingRepository) {
+    this.permissionRepository = permissionRepository;
+    this.userClientMappingRepository = userClientMappingRepository;
+  }
+
+  /** Loads the permission table once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    refresh();
+  }
+
+  /**
+   * Reloads the permission id/code table from the database and discards every compiled grant. Call
+   * this after permissions are added, renamed or removed.
+   */
+  public synchronized void refresh() {
+    table = new PermissionTable(permissionRepository.findAll(), System.currentTimeMillis());
+  }
+
+  /**
+   * Reloads the permission table and drops the cached client memberships of these users once the
+   * current transaction commits, or immediately when no transaction is active. Running after the
+   * commit keeps a concurrent check from caching the pre-commit state again.
+   *
+   * @param userIds The users whose permissions, groups or client mapping changed
+   */
+  public void invalidateAfterCommit(Collection<Long> userIds) {
+    List<String> prefixes = userIds.stream().map(userId -> userId + ":").toList();
+    afterCommit(
+        () -> {
+          refresh();
+          membershipCache
+              .asMap()
+              .keySet()
+              .removeIf(key -> prefixes.stream().anyMatch(key::startsWith));
+        });
+  }
+
+  /**
+   * Checks whether the given permission IDs satisfy every code in a comma-separated list.
+   *
+   * @param userPermission Comma-separated required permission codes
+   * @param permissionIds Permission IDs granted by the token
+   * @return true if all required codes are granted, or if no permission IDs are supplied
+   */
+  public boolean isAllowed(String userPermission, List<Long> permissionIds) {
+    if (permissionIds == null || permissionIds.isEmpty()) {
+      return true;
+    }
+
+    PermissionTable current = currentTable();
+    BitSet granted = current.grants.getIfPresent(permissionIds);
+    if (granted == null) {
+      if (!current.knowsAll(permissionIds)) {
+        current = reloadForUnknownIds(current);
+      }
+      granted = current.compileGrants(permissionIds);
+      current.grants.put(List.copyOf(permissionIds), granted);
+    }
+
+    for (int bit : current.compileRequired(userPermission)) {
+      if (bit == UNKNOWN_BIT || !granted.get(bit)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether a user is mapped to a client, caching the answer for a short time.
+   *
+   * @param userId The user ID
+   * @param clientId The client ID
+   * @return true if a UserClientMapping exists
+   */
+  public boolean isClientMember(Long userId, Long clientId) {
+    String key = userId + ":" + clientId;
+    Boolean member = membershipCache.getIfPresent(key);
+    if (member == null) {
+      member =
+          !userClientMappingRepository
+              .findByUserIdsAndClientId(List.of(userId), clientId)
+              .isEmpty();
+      membershipCache.put(key, member);
+    }
+    return member;
+  }
+
+  private static void afterCommit(Runnable invalidation) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidation.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            invalidation.run();
+          }
+        });
+  }
+
+  private PermissionTable currentTable() {
+    PermissionTable current = table;
+    if (current == null || System.currentTimeMillis() - current.loadedAt > TABLE_TTL_MILLIS) {
+      return reload(current);
+    }
+    return current;
+  }
+
+  private synchronized PermissionTable reload(PermissionTable seen) {
+    if (table == null || table == seen) {
+      refresh();
+    }
+    return table;
+  }
+
+  private synchronized PermissionTable reloadForUnknownIds(PermissionTable seen) {
+    long now = System.currentTimeMillis();
+    if (table == seen && now - lastUnknownIdReloadAt >= MIN_RELOAD_INTERVAL_MILLIS) {
+      lastUnknownIdReloadAt = now;
+      refresh();
+    }
+    return table;
+  }
+
+  /** Immutable snapshot of the Permission table plus the grants compiled against it. */
+  private static final class PermissionTable {
+    private final Map<Long, Integer> bitByPermissionId;
+    private final Map<String, Integer> bitByCode;
+    private final long loadedAt;
+    private final Map<String, int[]> requiredBits = new ConcurrentHashMap<>();
+    private final Cache<List<Long>, BitSet> grants =
+        CacheBuilder.newBuilder().maximumSize(MAX_CACHED_GRANTS).build();
+
+    PermissionTable(List<Permission> permissions, long loadedAt) {
+      this.bitByPermissionId = new HashMap<>(permissions.size() * 2);
+      this.bitByCode = new HashMap<>(permissions.size() * 2);
+      this.loadedAt = loadedAt;
+      int bit = 0;
+      for (Permission permission : permissions) {
+        bitByPermissionId.put(permission.getPermissionId(), bit);
+        bitByCode.put(permission.getPermissionCode(), bit);
+        bit++;
+      }
+    }
+
+    boolean knowsAll(List<Long> permissionIds) {
+      for (Long permissionId : permissionIds) {
+        if (!bitByPermissionId.containsKey(permissionId)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    BitSet compileGrants(List<Long> permissionIds) {
+      BitSet bits = new BitSet(bitByPermissionId.size());
+      for (Long permissionId : permissionIds) {
+        Integer bit = bitByPermissionId.get(permissionId);
+        if (bit != null) {
+          bits.set(bit);
+        }
+      }
+      return bits;
+    }
+
+    int[] compileRequired(String userPermission) {
+      return requiredBits.computeIfAbsent(
+          userPermission,
+          key -> {
+            String[] codes = key.split(",");
+            int[] bits = new int[codes.length];
+            for (int i = 0; i < codes.length; i++) {
+              bits[i] = bitByCode.getOrDefault(codes[i].trim(), UNKNOWN_BIT);
+            }
+            return bits;
+          });
+    }
+  }
+}
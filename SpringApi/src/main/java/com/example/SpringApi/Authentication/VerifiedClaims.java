@@ -0,0 +1,104 @@
+package com.example.SpringApi.Authentication;
+
+import io.jsonwebtoken.Claims;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified.
+ *
+ * <p>Built once per token by {@link JwtTokenProvider#getVerifiedClaims(String)} so that the filter,
+ * {@link Authorization} and {@code BaseService} can all read user, client and permission claims
+ * without re-verifying the HMAC signature or re-parsing the payload.
+ */
+@Getter
+public final class VerifiedClaims {
+  private final String token;
+  private final Long userId;
+  private final String email;
+  private final String role;
+  private final Long clientId;
+  private final List<Long> permissionIds;
+  private final Map<Long, List<Long>> clientPermissionMap;
+  private final Date expiresAt;
+
+  VerifiedClaims(String token, Claims claims) {
+    this.token = token;
+    this.userId = toLong(claims.get("userId"));
+    this.email = claims.get("email") != null ? claims.get("email").toString() : null;
+    this.role = claims.get("role") != null ? claims.get("role").toString() : null;
+    this.clientId = toLong(claims.get("clientId"));
+    this.permissionIds = parsePermissionIds(claims.get("permissionIds"));
+    this.clientPermissionMap = parseClientPermissionMap(claims.get("clientPermissionMap"));
+    this.expiresAt = claims.getExpiration();
+  }
+
+  /**
+   * Checks whether the token has passed its {@code exp} claim. Tokens without an expiration never
+   * expire here and are only bounded by the provider's cache lifetime.
+   *
+   * @param nowMillis Current time in epoch milliseconds
+   * @return true if the token is expired
+   */
+  public boolean isExpired(long nowMillis) {
+    return expiresAt != null && expiresAt.getTime() <= nowMillis;
+  }
+
+  private static Long toLong(Object value) {
+    if (value == null) {
+      return null;
+    }
+    if (value instanceof Number number) {
+      return number.longValue();
+    }
+    try {
+      return Long.valueOf(value.toString());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static List<Long> parsePermissionIds(Object raw) {
+    if (!(raw instanceof List<?> rawList)) {
+      return List.of();
+    }
+    List<Long> result = new ArrayList<>(rawList.size());
+    for (Object item : rawList) {
+      Long value = toLong(item);
+      if (value == null) {
+        return List.of();
+      }
+      result.add(value);
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private static Map<Long, List<Long>> parseClientPermissionMap(Object raw) {
+    if (!(raw instanceof Map<?, ?> rawMap) || rawMap.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, List<Long>> result = new HashMap<>();
+    for (Map.Entry<?, ?> entry : rawMap.entrySet()) {
+      Long clientIdKey = toLong(entry.getKey());
+      if (clientIdKey == null) {
+        continue;
+      }
+      List<Long> ids = new ArrayList<>();
+      if (entry.getValue() instanceof List<?> rawList) {
+        for (Object item : rawList) {
+          Long value = toLong(item);
+          if (value != null) {
+            ids.add(value);
+          }
+        }
+      }
+      result.put(clientIdKey, Collections.unmodifiableList(ids));
+    }
+    return Collections.unmodifiableMap(result);
+  }
+}
@@ -3,6 +3,7 @@ package com.example.SpringApi.Controllers;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.Exceptions.TooManyRequestsException;
 import com.example.SpringApi.Exceptions.UnauthorizedException;
 import com.example.SpringApi.Logging.ContextualLogger;
 import com.example.SpringApi.Models.Authorizations;
@@ -472,7 +473,8 @@ public class PaymentController {
   }
 
   /**
-   * Generates and downloads a PDF receipt for a payment.
+   * Generates and downloads a PDF receipt for a payment. When too many PDFs are being rendered it
+   * returns 429 Too Many Requests with a Retry-After header.
    *
    * @param paymentId The ID of the payment to generate receipt for
    * @return ResponseEntity containing the PDF file
@@ -504,6 +506,15 @@ public class PaymentController {
           .body(
               new ErrorResponseModel(
                   ErrorMessages.ERROR_NOT_FOUND, nfe.getMessage(), HttpStatus.NOT_FOUND.value()));
+    } catch (TooManyRequestsException tmre) {
+      logger.error(tmre);
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(tmre.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_TOO_MANY_REQUESTS,
+                  tmre.getMessage(),
+                  HttpStatus.TOO_MANY_REQUESTS.value()));
     } catch (TemplateException | IOException | DocumentException e) {
       logger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
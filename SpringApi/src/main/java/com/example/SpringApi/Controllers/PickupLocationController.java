@@ -3,6 +3,7 @@ package com.example.SpringApi.Controllers;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.Exceptions.ServiceUnavailableException;
 import com.example.SpringApi.Exceptions.UnauthorizedException;
 import com.example.SpringApi.Logging.ContextualLogger;
 import com.example.SpringApi.Models.ApiRoutes;
@@ -13,6 +14,7 @@ import com.example.SpringApi.Models.ResponseModels.ErrorResponseModel;
 import com.example.SpringApi.Services.Interface.IPickupLocationSubTranslator;
 import com.example.SpringApi.Services.PickupLocationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -174,6 +176,15 @@ public class PickupLocationController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   ue.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (ServiceUnavailableException sue) {
+      logger.error(sue);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_SERVICE_UNAVAILABLE,
+                  sue.getMessage(),
+                  HttpStatus.SERVICE_UNAVAILABLE.value()));
     } catch (Exception e) {
       logger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -228,6 +239,15 @@ public class PickupLocationController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   ue.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (ServiceUnavailableException sue) {
+      logger.error(sue);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_SERVICE_UNAVAILABLE,
+                  sue.getMessage(),
+                  HttpStatus.SERVICE_UNAVAILABLE.value()));
     } catch (Exception e) {
       logger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -3,6 +3,7 @@ package com.example.SpringApi.Controllers;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.Exceptions.TooManyRequestsException;
 import com.example.SpringApi.Exceptions.UnauthorizedException;
 import com.example.SpringApi.Logging.ContextualLogger;
 import com.example.SpringApi.Models.ApiRoutes;
@@ -462,7 +463,8 @@ public class PurchaseOrderController {
    * Generates a PDF document for a purchase order.
    *
    * <p>This endpoint generates a formatted PDF document containing all purchase order details
-   * including supplier information, line items, totals, and terms.
+   * including supplier information, line items, totals, and terms. When too many PDFs are being
+   * rendered it returns 429 Too Many Requests with a Retry-After header.
    *
    * @param id The ID of the purchase order to generate PDF for
    * @return ResponseEntity containing the PDF file as downloadable content
@@ -512,6 +514,15 @@ public class PurchaseOrderController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   uae.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (TooManyRequestsException tmre) {
+      logger.error(tmre);
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(tmre.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_TOO_MANY_REQUESTS,
+                  tmre.getMessage(),
+                  HttpStatus.TOO_MANY_REQUESTS.value()));
     } catch (TemplateException | IOException e) {
       logger.error(e);
       throw e;
@@ -130,4 +130,55 @@ public class ShipmentController {
                   HttpStatus.INTERNAL_SERVER_ERROR.value()));
     }
   }
+
+  /**
+   * Retrieves the progress of ShipRocket order creation for each shipment of a purchase order.
+   *
+   * <p>Orders are created in the background after payment approval; this endpoint reports each
+   * shipment as PENDING, IN_PROGRESS, COMPLETED or FAILED, with attempts and the last error.
+   *
+   * @param purchaseOrderId The purchase order whose shipments to report
+   * @return ResponseEntity containing the fulfillment status of each shipment
+   * @throws BadRequestException if the purchase order belongs to another client
+   * @throws NotFoundException if the purchase order or its order summary is not found
+   * @throws UnauthorizedException if user lacks VIEW_SHIPMENTS_PERMISSION
+   */
+  @PreAuthorize(
+      "@customAuthorization.hasAuthority('" + Authorizations.VIEW_SHIPMENTS_PERMISSION + "')")
+  @GetMapping(ApiRoutes.ShipmentSubRoute.GET_FULFILLMENT_STATUS + "/{purchaseOrderId}")
+  public ResponseEntity<?> getFulfillmentStatus(@PathVariable Long purchaseOrderId) {
+    try {
+      return ResponseEntity.ok(shippingService.getFulfillmentStatus(purchaseOrderId));
+    } catch (BadRequestException bre) {
+      logger.error(bre);
+      return ResponseEntity.badRequest()
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_BAD_REQUEST,
+                  bre.getMessage(),
+                  HttpStatus.BAD_REQUEST.value()));
+    } catch (NotFoundException nfe) {
+      logger.error(nfe);
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_NOT_FOUND, nfe.getMessage(), HttpStatus.NOT_FOUND.value()));
+    } catch (UnauthorizedException uae) {
+      logger.error(uae);
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_UNAUTHORIZED,
+                  uae.getMessage(),
+                  HttpStatus.UNAUTHORIZED.value()));
+    } catch (Exception e) {
+      logger.error(e);
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_INTERNAL_SERVER_ERROR,
+                  e.getMessage(),
+                  HttpStatus.INTERNAL_SERVER_ERROR.value()));
+    }
+  }
 }
@@ -3,6 +3,7 @@ package com.example.SpringApi.Controllers;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.Exceptions.ServiceUnavailableException;
 import com.example.SpringApi.Exceptions.UnauthorizedException;
 import com.example.SpringApi.Logging.ContextualLogger;
 import com.example.SpringApi.Models.ApiRoutes;
@@ -18,6 +19,7 @@ import com.example.SpringApi.Services.Interface.IShippingSubTranslator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -85,6 +87,15 @@ public class ShippingController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   ue.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (ServiceUnavailableException sue) {
+      contextualLogger.error(sue);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_SERVICE_UNAVAILABLE,
+                  sue.getMessage(),
+                  HttpStatus.SERVICE_UNAVAILABLE.value()));
     } catch (Exception e) {
       contextualLogger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -153,6 +164,15 @@ public class ShippingController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   ue.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (ServiceUnavailableException sue) {
+      logger.error(sue);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_SERVICE_UNAVAILABLE,
+                  sue.getMessage(),
+                  HttpStatus.SERVICE_UNAVAILABLE.value()));
     } catch (Exception e) {
       contextualLogger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -200,6 +220,15 @@ public class ShippingController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   ue.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (ServiceUnavailableException sue) {
+      contextualLogger.error(sue);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_SERVICE_UNAVAILABLE,
+                  sue.getMessage(),
+                  HttpStatus.SERVICE_UNAVAILABLE.value()));
     } catch (Exception e) {
       contextualLogger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -247,6 +276,15 @@ public class ShippingController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   ue.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (ServiceUnavailableException sue) {
+      contextualLogger.error(sue);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_SERVICE_UNAVAILABLE,
+                  sue.getMessage(),
+                  HttpStatus.SERVICE_UNAVAILABLE.value()));
     } catch (Exception e) {
       contextualLogger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -294,6 +332,15 @@ public class ShippingController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   ue.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (ServiceUnavailableException sue) {
+      contextualLogger.error(sue);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_SERVICE_UNAVAILABLE,
+                  sue.getMessage(),
+                  HttpStatus.SERVICE_UNAVAILABLE.value()));
     } catch (Exception e) {
       contextualLogger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -334,6 +381,15 @@ public class ShippingController {
                   ErrorMessages.ERROR_UNAUTHORIZED,
                   ue.getMessage(),
                   HttpStatus.UNAUTHORIZED.value()));
+    } catch (ServiceUnavailableException sue) {
+      contextualLogger.error(sue);
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(sue.getRetryAfterSeconds()))
+          .body(
+              new ErrorResponseModel(
+                  ErrorMessages.ERROR_SERVICE_UNAVAILABLE,
+                  sue.getMessage(),
+                  HttpStatus.SERVICE_UNAVAILABLE.value()));
     } catch (Exception e) {
       contextualLogger.error(e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
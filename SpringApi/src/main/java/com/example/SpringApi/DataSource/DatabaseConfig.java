@@ -1,22 +1,28 @@
 package com.example.SpringApi.DataSource;
 
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
-import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableTransactionManagement
@@ -26,73 +32,181 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
     basePackages = {"com.example.SpringApi.Repositories"})
 public class DatabaseConfig {
   private static final String MYSQL_DRIVER_CLASS = "com.mysql.cj.jdbc.Driver";
+  private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/UltimateCompanyDatabase";
+  private static final String HIKARI_PREFIX = "spring.datasource.hikari.";
+  private static final String REPLICA_PREFIX = "spring.datasource.replica.";
+
+  /** MySQL Connector/J performance defaults applied to every pooled connection. */
+  private static final Map<String, String> MYSQL_DRIVER_PROPERTIES =
+      Map.ofEntries(
+          Map.entry("cachePrepStmts", "true"),
+          Map.entry("prepStmtCacheSize", "250"),
+          Map.entry("prepStmtCacheSqlLimit", "2048"),
+          Map.entry("useServerPrepStmts", "true"),
+          Map.entry("rewriteBatchedStatements", "true"),
+          Map.entry("useLocalSessionState", "true"),
+          Map.entry("cacheResultSetMetadata", "true"),
+          Map.entry("cacheServerConfiguration", "true"),
+          Map.entry("elideSetAutoCommits", "true"),
+          Map.entry("maintainTimeStats", "false"));
+
+  private ReplicaRoutingDataSource replicaRouting;
 
   @Bean(name = "entityManagerFactoryBuilder")
   public EntityManagerFactoryBuilder entityManagerFactoryBuilder() {
     return new EntityManagerFactoryBuilder(new HibernateJpaVendorAdapter(), new HashMap<>(), null);
   }
 
+  /**
+   * Builds the pooled primary DataSource from the active profile's properties.
+   *
+   * <p>Connection settings come from {@code spring.datasource.*} and pool sizing and timeouts from
+   * {@code spring.datasource.hikari.*}; each profile's properties file sets its own values. MySQL
+   * driver tuning (server-side prepared statement caching, batched-insert rewriting) is applied
+   * unless overridden under {@code spring.datasource.hikari.data-source-properties.*}. Pool
+   * statistics are published as Hikari JMX MBeans under the pool name.
+   *
+   * <p>When {@code spring.datasource.replica.urls} lists read replicas, each gets its own pool with
+   * the same settings and {@code @Transactional(readOnly = true)} work is routed to them by a
+   * {@link ReplicaRoutingDataSource}; writes and replica outages stay on the primary.
+   */
   @Primary
   @Bean(name = "dataSource")
   public DataSource dataSource(Environment environment) {
-    String profile =
-        environment.getActiveProfiles().length > 0 ? environment.getActiveProfiles()[0] : "default";
-    switch (profile) {
-      case "development":
-        return DataSourceBuilder.create()
-            .url("jdbc:mysql://host.docker.internal:3307/UltimateCompanyDatabase")
-            .password("root")
-            .username("root")
-            .driverClassName(MYSQL_DRIVER_CLASS)
-            .build();
-      case "localhost":
-        return DataSourceBuilder.create()
-            .url("jdbc:mysql://localhost:3306/UltimateCompanyDatabase")
-            .username("root")
-            .driverClassName(MYSQL_DRIVER_CLASS)
-            .build();
-      case "staging":
-        return DataSourceBuilder.create()
-            .url("jdbc:mysql://staging-host:3307/UltimateCompanyDatabase")
-            .password("staging_password")
-            .username("staging_user")
-            .driverClassName(MYSQL_DRIVER_CLASS)
-            .build();
-      case "uat":
-        return DataSourceBuilder.create()
-            .url("jdbc:mysql://uat-host:3307/UltimateCompanyDatabase")
-            .password("uat_password")
-            .username("uat_user")
-            .driverClassName(MYSQL_DRIVER_CLASS)
-            .build();
-      case "production":
-        return DataSourceBuilder.create()
-            .url("jdbc:mysql://prod-host:3307/UltimateCompanyDatabase")
-            .password("prod_password")
-            .username("prod_user")
-            .driverClassName(MYSQL_DRIVER_CLASS)
-            .build();
-      default:
-        return DataSourceBuilder.create()
-            .url("jdbc:mysql://localhost:3306/UltimateCompanyDatabase")
-            .username("root")
-            .driverClassName(MYSQL_DRIVER_CLASS)
-            .build();
+    String primaryPoolName = environment.getProperty(HIKARI_PREFIX + "pool-name", "SpringApiPool");
+    String username = environment.getProperty("spring.datasource.username", "root");
+    String password = environment.getProperty("spring.datasource.password", "");
+    String driverClassName =
+        environment.getProperty("spring.datasource.driver-class-name", MYSQL_DRIVER_CLASS);
+    HikariDataSource primary =
+        buildPool(
+            environment,
+            primaryPoolName,
+            driverClassName,
+            environment.getProperty("spring.datasource.url", DEFAULT_URL),
+            username,
+            password);
+
+    String[] replicaUrls =
+        StringUtils.commaDelimitedListToStringArray(
+            environment.getProperty(REPLICA_PREFIX + "urls", ""));
+    List<DataSource> replicas = new ArrayList<>();
+    for (String replicaUrl : replicaUrls) {
+      if (StringUtils.hasText(replicaUrl)) {
+        replicas.add(
+            buildPool(
+                environment,
+                primaryPoolName + "-replica-" + replicas.size(),
+                environment.getProperty(REPLICA_PREFIX + "driver-class-name", driverClassName),
+                replicaUrl.trim(),
+                environment.getProperty(REPLICA_PREFIX + "username", username),
+                environment.getProperty(REPLICA_PREFIX + "password", password)));
+      }
+    }
+    if (replicas.isEmpty()) {
+      return primary;
+    }
+
+    closeReplicaRouting();
+    replicaRouting =
+        new ReplicaRoutingDataSource(
+            primary,
+            replicas,
+            environment.getProperty(REPLICA_PREFIX + "lag-query", "SHOW REPLICA STATUS"),
+            environment.getProperty(REPLICA_PREFIX + "max-lag-seconds", Long.class, 5L),
+            environment.getProperty(REPLICA_PREFIX + "check-interval-ms", Long.class, 5_000L));
+    replicaRouting.afterPropertiesSet();
+    // Transactions fetch their connection before the read-only flag is bound to the thread; the
+    // proxy defers choosing a pool until the first statement runs.
+    return new LazyConnectionDataSourceProxy(replicaRouting);
+  }
+
+  /** Closes the replica health check and every pool when routing is enabled. */
+  @PreDestroy
+  public void closeReplicaRouting() {
+    if (replicaRouting != null) {
+      replicaRouting.close();
+      replicaRouting = null;
+    }
+  }
+
+  private HikariDataSource buildPool(
+      Environment environment,
+      String poolName,
+      String driverClassName,
+      String url,
+      String username,
+      String password) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName(poolName);
+    dataSource.setDriverClassName(driverClassName);
+    dataSource.setJdbcUrl(url);
+    dataSource.setUsername(username);
+    dataSource.setPassword(password);
+
+    // Pool sizing - a fixed-size pool (minimum-idle = maximum-pool-size) avoids connection churn
+    int maximumPoolSize =
+        environment.getProperty(HIKARI_PREFIX + "maximum-pool-size", Integer.class, 10);
+    dataSource.setMaximumPoolSize(maximumPoolSize);
+    dataSource.setMinimumIdle(
+        environment.getProperty(HIKARI_PREFIX + "minimum-idle", Integer.class, maximumPoolSize));
+
+    // Timeouts (milliseconds) - fail fast when the pool is starved instead of queueing for 30s
+    dataSource.setConnectionTimeout(
+        environment.getProperty(HIKARI_PREFIX + "connection-timeout", Long.class, 5_000L));
+    dataSource.setValidationTimeout(
+        environment.getProperty(HIKARI_PREFIX + "validation-timeout", Long.class, 2_000L));
+    dataSource.setIdleTimeout(
+        environment.getProperty(HIKARI_PREFIX + "idle-timeout", Long.class, 600_000L));
+    dataSource.setMaxLifetime(
+        environment.getProperty(HIKARI_PREFIX + "max-lifetime", Long.class, 1_800_000L));
+    dataSource.setKeepaliveTime(
+        environment.getProperty(HIKARI_PREFIX + "keepalive-time", Long.class, 300_000L));
+    // Logs a stack trace when a connection is held longer than this, e.g. across an HTTP call
+    // made inside a transaction; 0 disables the check
+    dataSource.setLeakDetectionThreshold(
+        environment.getProperty(HIKARI_PREFIX + "leak-detection-threshold", Long.class, 0L));
+    dataSource.setRegisterMbeans(
+        environment.getProperty(HIKARI_PREFIX + "register-mbeans", Boolean.class, true));
+
+    for (Map.Entry<String, String> driverProperty : MYSQL_DRIVER_PROPERTIES.entrySet()) {
+      dataSource.addDataSourceProperty(
+          driverProperty.getKey(),
+          environment.getProperty(
+              HIKARI_PREFIX + "data-source-properties." + driverProperty.getKey(),
+              driverProperty.getValue()));
     }
+    return dataSource;
   }
 
   @Primary
   @Bean(name = "entityManagerFactory")
   public LocalContainerEntityManagerFactoryBean entityManagerFactoryBean(
       @Qualifier("entityManagerFactoryBuilder") EntityManagerFactoryBuilder builder,
-      @Qualifier("dataSource") DataSource dataSource) {
+      @Qualifier("dataSource") DataSource dataSource,
+      Environment environment) {
     HashMap<String, Object> properties = new HashMap<>();
     properties.put("hibernate.hbm2ddl.auto", "none");
     properties.put("hibernate.dialect", "org.hibernate.dialect.MySQL8Dialect");
-    properties.put("hibernate.show_sql", "true");
-    properties.put("hibernate.format_sql", "true");
+    // SQL logging is opt-in per profile
+    properties.put("hibernate.show_sql", environment.getProperty("spring.jpa.show-sql", "false"));
+    properties.put(
+        "hibernate.format_sql",
+        environment.getProperty("spring.jpa.properties.hibernate.format_sql", "false"));
     properties.put("hibernate.id.new_generator_mappings", "false");
     properties.put("hibernate.jdbc.lob.non_contextual_creation", "true");
+    // Filter builders emit one HQL string per filter shape; keep those plans cached and pad IN
+    // lists so varying list lengths reuse the same SQL.
+    properties.put("hibernate.query.plan_cache_max_size", "4096");
+    properties.put("hibernate.query.in_clause_parameter_padding", "true");
+    // Group inserts/updates per table into JDBC batches (rewritten to multi-row statements by the
+    // driver). IDENTITY-keyed inserts still execute one at a time, since each needs its key back.
+    properties.put(
+        "hibernate.jdbc.batch_size",
+        environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "50"));
+    properties.put("hibernate.order_inserts", "true");
+    properties.put("hibernate.order_updates", "true");
+    properties.put("hibernate.jdbc.batch_versioned_data", "true");
 
     return builder
         .dataSource(dataSource)
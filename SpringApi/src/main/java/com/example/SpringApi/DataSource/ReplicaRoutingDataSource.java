@@ -0,0 +1,177 @@
+package com.example.SpringApi.DataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to a replica pool and
+ * everything else to the primary.
+ *
+ * <p>Replicas are picked round-robin among those currently healthy. A background check marks a
+ * replica unhealthy when it cannot be reached or, if a lag query is configured, when it reports
+ * more than {@code maxLagSeconds} of replication lag or no lag at all (replication stopped).
+ * With no healthy replica, reads fall back to the primary.
+ *
+ * <p>Must be wrapped in a {@code LazyConnectionDataSourceProxy}: the JPA transaction manager asks
+ * for a connection before the read-only flag is bound to the thread, and the proxy defers the
+ * real lookup until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+  static final String PRIMARY = "primary";
+  private static final String REPLICA_PREFIX = "replica-";
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final List<DataSource> replicas;
+  private final String lagQuery;
+  private final long maxLagSeconds;
+  private final long checkIntervalMillis;
+  private volatile boolean[] healthy;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+  private ScheduledExecutorService healthChecker;
+
+  /**
+   * @param primary The write primary, also the fallback for reads
+   * @param replicas Replica pools, in configuration order
+   * @param lagQuery Query returning the replica's lag in seconds in its first row, e.g. {@code SHOW
+   *     REPLICA STATUS}; blank to only check connectivity
+   * @param maxLagSeconds Lag above which a replica stops receiving reads
+   * @param checkIntervalMillis How often replicas are checked; 0 disables the background check
+   */
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<DataSource> replicas,
+      String lagQuery,
+      long maxLagSeconds,
+      long checkIntervalMillis) {
+    this.replicas = List.copyOf(replicas);
+    this.lagQuery = lagQuery;
+    this.maxLagSeconds = maxLagSeconds;
+    this.checkIntervalMillis = checkIntervalMillis;
+    this.healthy = new boolean[replicas.size()];
+    Arrays.fill(healthy, true);
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    for (int i = 0; i < this.replicas.size(); i++) {
+      targets.put(REPLICA_PREFIX + i, this.replicas.get(i));
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    super.afterPropertiesSet();
+    if (checkIntervalMillis > 0 && !replicas.isEmpty()) {
+      healthChecker =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "ReplicaHealthCheck");
+                thread.setDaemon(true);
+                return thread;
+              });
+      healthChecker.scheduleWithFixedDelay(
+          this::checkReplicas, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return PRIMARY;
+    }
+    boolean[] currentHealth = healthy;
+    int replicaCount = currentHealth.length;
+    int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicaCount, 1));
+    for (int offset = 0; offset < replicaCount; offset++) {
+      int index = (start + offset) % replicaCount;
+      if (currentHealth[index]) {
+        return REPLICA_PREFIX + index;
+      }
+    }
+    return PRIMARY;
+  }
+
+  /** Re-evaluates every replica's reachability and lag. */
+  public void checkReplicas() {
+    boolean[] previous = healthy;
+    boolean[] current = new boolean[replicas.size()];
+    for (int i = 0; i < current.length; i++) {
+      current[i] = isReplicaUsable(replicas.get(i));
+      if (previous[i] != current[i]) {
+        logger.warn("Read replica {} is now {}", i, current[i] ? "in rotation" : "out of rotation");
+      }
+    }
+    healthy = current;
+  }
+
+  /** Whether reads are currently routed to the replica at {@code index}. */
+  public boolean isReplicaHealthy(int index) {
+    return healthy[index];
+  }
+
+  private boolean isReplicaUsable(DataSource replica) {
+    try (Connection connection = replica.getConnection()) {
+      if (lagQuery == null || lagQuery.isBlank()) {
+        return connection.isValid(2);
+      }
+      try (Statement statement = connection.createStatement();
+          ResultSet resultSet = statement.executeQuery(lagQuery)) {
+        if (!resultSet.next()) {
+          // Not configured as a replica, so there is nothing to lag behind
+          return true;
+        }
+        Long lag = readLag(resultSet);
+        return lag != null && lag <= maxLagSeconds;
+      }
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  /** Reads the lag column of MySQL 8.0.22+ or older servers, or the first column otherwise. */
+  private static Long readLag(ResultSet resultSet) throws SQLException {
+    for (String column : new String[] {"Seconds_Behind_Source", "Seconds_Behind_Master"}) {
+      try {
+        long lag = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : lag;
+      } catch (SQLException e) {
+        // Column not present on this server version
+      }
+    }
+    long lag = resultSet.getLong(1);
+    return resultSet.wasNull() ? null : lag;
+  }
+
+  /** Stops the background check and closes the primary and replica pools. */
+  @Override
+  public void close() {
+    if (healthChecker != null) {
+      healthChecker.shutdownNow();
+    }
+    for (DataSource target : getResolvedDataSources().values()) {
+      if (target instanceof AutoCloseable pool) {
+        try {
+          pool.close();
+        } catch (Exception e) {
+          logger.warn("Failed to close pool {}", target, e);
+        }
+      }
+    }
+  }
+}
@@ -7,6 +7,8 @@ public class ErrorMessages {
   public static final String ERROR_INTERNAL_SERVER_ERROR = "Internal Server Error";
   public static final String ERROR_INVALID_CLIENT_ID = "Invalid client ID";
   public static final String ERROR_UNAUTHORIZED = "Unauthorized";
+  public static final String ERROR_TOO_MANY_REQUESTS = "Too Many Requests";
+  public static final String ERROR_SERVICE_UNAVAILABLE = "Service Unavailable";
 
   public static final String INVALID_COLUMN =
       "Invalid column, the column should be one of the following: ";
@@ -941,6 +943,8 @@ public class ErrorMessages {
         "ShipRocket API returned null response for shipment ID: %d";
     public static final String SHIP_ROCKET_ORDER_CREATION_FAILED =
         "Failed to create ShipRocket order for shipment ID: %d. Error: %s";
+    public static final String SHIP_ROCKET_ORDER_REQUEST_MISSING =
+        "No queued ShipRocket order request for shipment ID: %d";
 
     // ShipRocket operation errors
     public static final String AWB_ASSIGNMENT_FAILED =
@@ -1140,6 +1144,14 @@ public class ErrorMessages {
         "End index must be greater than 0.";
     public static final String START_INDEX_MUST_BE_LESS_THAN_END =
         "Start index must be less than end index.";
+    public static final String INVALID_CURSOR =
+        "Invalid pagination cursor. Request the first page again without a cursor.";
+    public static final String INVALID_COUNT_MODE =
+        "Invalid count mode. Valid values: exact, cached, none.";
+
+    // PDF errors
+    public static final String PDF_RENDERER_BUSY =
+        "Too many PDFs are being generated right now. Please try again shortly.";
 
     // Logic operator errors
     public static final String INVALID_LOGIC_OPERATOR =
@@ -0,0 +1,16 @@
+package com.example.SpringApi.Exceptions;
+
+/** Thrown when a request cannot be served because a service it depends on is failing. */
+public class ServiceUnavailableException extends RuntimeException {
+  private final long retryAfterSeconds;
+
+  public ServiceUnavailableException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /** Seconds the client should wait before retrying, sent as the Retry-After header. */
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
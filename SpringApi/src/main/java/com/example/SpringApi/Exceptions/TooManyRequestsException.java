@@ -0,0 +1,16 @@
+package com.example.SpringApi.Exceptions;
+
+/** Thrown when a request is refused because the server is at capacity for that kind of work. */
+public class TooManyRequestsException extends RuntimeException {
+  private final long retryAfterSeconds;
+
+  public TooManyRequestsException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /** Seconds the client should wait before retrying, sent as the Retry-After header. */
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
@@ -1,11 +1,20 @@
 package com.example.SpringApi.FilterQueryBuilder;
 
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.FilterCondition;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.TypedQuery;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 /**
  * Helper class to build dynamic filter queries for JPA repositories. This class generates WHERE
@@ -24,9 +33,45 @@ public abstract class BaseFilterQueryBuilder {
   private static final String OP_EQUALS = "equals";
   private static final String OP_IS_EMPTY = "isEmpty";
   private static final String OP_IS_NOT_EMPTY = "isNotEmpty";
+  private static final String OP_IS_ONE_OF = "isOneOf";
+  private static final String OP_IS_NOT_ONE_OF = "isNotOneOf";
+  private static final String OP_CONTAINS_ONE_OF = "containsOneOf";
   private static final String LOWER_PREFIX = "LOWER(";
   private static final String LIKE_LOWER_PARAM = ") LIKE LOWER(:";
   private static final String DATE_PREFIX = "DATE(";
+  private static final String NO_OP = "1=1";
+  private static final String LAST_ID = "lastId";
+  private static final String LAST_SORT_KEY = "lastSortKey";
+
+  /** Upper bound on distinct filter shapes compiled per builder. */
+  private static final long MAX_CACHED_PLANS = 1_000;
+
+  private static final Condition NO_OP_CONDITION = new Condition(NO_OP, (value, parameters) -> {});
+
+  /** Column data types used to pick how a filter condition is built. */
+  protected enum ColumnType {
+    STRING,
+    NUMBER,
+    DATE,
+    BOOLEAN
+  }
+
+  /**
+   * Compiled WHERE clauses keyed by filter shape (logic operator plus each filter's column,
+   * operator and value arity). Parameter names are positional, so two requests with the same shape
+   * produce the same clause and only differ in bound values.
+   */
+  private final Cache<String, FilterPlan> filterPlans =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PLANS).build();
+
+  private volatile Map<String, ColumnType> columnTypes;
+
+  private final GridCountCache gridCountCache;
+
+  /** Uses the application-wide count cache, which committed entity writes invalidate. */
+  protected BaseFilterQueryBuilder(GridCountCache gridCountCache) {
+    this.gridCountCache = gridCountCache;
+  }
 
   /**
    * Maps frontend column names to database field paths. Example: "firstName" -> "u.first_name" or
@@ -43,10 +88,55 @@ public abstract class BaseFilterQueryBuilder {
   /** Returns list of number column names */
   protected abstract List<String> getNumberColumns();
 
+  /**
+   * Gets the column type for validation purposes
+   *
+   * @param column The column name
+   * @return "string", "number", "date", or "boolean"
+   */
+  public String getColumnType(String column) {
+    switch (resolveColumnType(column)) {
+      case DATE:
+        return "date";
+      case BOOLEAN:
+        return "boolean";
+      case NUMBER:
+        return "number";
+      default:
+        return "string";
+    }
+  }
+
+  /**
+   * Looks up a column's type in a table built once from the subclass column lists. Date columns
+   * take precedence over boolean, and boolean over number, matching the order conditions are
+   * resolved in.
+   */
+  protected ColumnType resolveColumnType(String column) {
+    Map<String, ColumnType> types = columnTypes;
+    if (types == null) {
+      types = new HashMap<>();
+      for (String numberColumn : getNumberColumns()) {
+        types.put(numberColumn, ColumnType.NUMBER);
+      }
+      for (String booleanColumn : getBooleanColumns()) {
+        types.put(booleanColumn, ColumnType.BOOLEAN);
+      }
+      for (String dateColumn : getDateColumns()) {
+        types.put(dateColumn, ColumnType.DATE);
+      }
+      columnTypes = types;
+    }
+    return types.getOrDefault(column, ColumnType.STRING);
+  }
+
   /**
    * Builds filter conditions for a list of FilterCondition objects. Returns a QueryResult
    * containing the WHERE clause and parameter map.
    *
+   * <p>The WHERE clause is compiled once per filter shape and cached; later calls with the same
+   * shape only run the parameter binders.
+   *
    * @param filters List of filter conditions
    * @param logicOperator "AND" or "OR" to combine conditions
    * @return QueryResult with WHERE clause and parameters
@@ -56,16 +146,245 @@ public abstract class BaseFilterQueryBuilder {
       return new QueryResult("", new HashMap<>());
     }
 
-    StringBuilder whereClause = new StringBuilder();
-    Map<String, Object> parameters = new HashMap<>();
     String operator = " " + logicOperator.toUpperCase() + " ";
+    String shapeKey = buildShapeKey(filters, operator);
+    FilterPlan plan = filterPlans.getIfPresent(shapeKey);
+    if (plan == null) {
+      plan = compilePlan(filters, operator);
+      filterPlans.put(shapeKey, plan);
+    }
 
+    Map<String, Object> parameters = new HashMap<>();
     for (int i = 0; i < filters.size(); i++) {
-      FilterCondition filter = filters.get(i);
+      plan.binders[i].bind(filters.get(i).getValue(), parameters);
+    }
+    return new QueryResult(plan.whereClause, parameters);
+  }
+
+  /**
+   * Builds the keyset (seek) predicate for a grid ordered by {@code idField} descending. Returns an
+   * empty string when the pageable carries no cursor.
+   *
+   * @param idField The entity ID field, e.g. "ul.logId"
+   * @param pageable The page request, possibly a {@link KeysetPageRequest}
+   * @param parameters Parameter map the cursor values are added to
+   * @return "AND idField < :lastId " or ""
+   */
+  protected String buildSeekCondition(
+      String idField, Pageable pageable, Map<String, Object> parameters) {
+    KeysetCursor cursor = KeysetPageRequest.cursorOf(pageable);
+    if (cursor == null) {
+      return "";
+    }
+    parameters.put(LAST_ID, cursor.getLastId());
+    return "AND " + idField + " < :" + LAST_ID + " ";
+  }
+
+  /**
+   * Builds the keyset (seek) predicate for a grid ordered by {@code sortField} descending, then
+   * {@code idField} descending. Equivalent to {@code (sortField, idField) < (:lastSortKey,
+   * :lastId)}, written out so MySQL uses a range scan on the sort index.
+   *
+   * @param sortField The date-time sort field, e.g. "s.createdAt"
+   * @param idField The entity ID field used as tie-breaker
+   * @param pageable The page request, possibly a {@link KeysetPageRequest}
+   * @param parameters Parameter map the cursor values are added to
+   * @return The seek predicate prefixed with AND, or ""
+   */
+  protected String buildSeekCondition(
+      String sortField, String idField, Pageable pageable, Map<String, Object> parameters) {
+    KeysetCursor cursor = KeysetPageRequest.cursorOf(pageable);
+    if (cursor == null) {
+      return "";
+    }
+    if (cursor.getLastSortKey() == null) {
+      return buildSeekCondition(idField, pageable, parameters);
+    }
+    parameters.put(LAST_SORT_KEY, cursor.getLastSortKeyAsDateTime());
+    parameters.put(LAST_ID, cursor.getLastId());
+    return "AND ("
+        + sortField
+        + " < :"
+        + LAST_SORT_KEY
+        + " OR ("
+        + sortField
+        + " = :"
+        + LAST_SORT_KEY
+        + " AND "
+        + idField
+        + " < :"
+        + LAST_ID
+        + ")) ";
+  }
+
+  /**
+   * Resolves the total row count for a page according to the pageable's {@link CountMode}: runs
+   * {@code countQuery} (EXACT), reuses a recent result for the same query and parameters (CACHED),
+   * or skips it and returns -1 (NONE).
+   *
+   * @param entityType The entity counted; writes to it invalidate cached counts
+   * @param countQueryString The count query text, part of the cache key
+   * @param countQuery The count query with all parameters bound
+   * @param pageable The page request, possibly a {@link KeysetPageRequest}
+   * @return The total count, or -1 when counting is skipped
+   */
+  protected long countTotal(
+      Class<?> entityType, String countQueryString, TypedQuery<Long> countQuery, Pageable pageable) {
+    switch (KeysetPageRequest.countModeOf(pageable)) {
+      case NONE:
+        return -1;
+      case CACHED:
+        return gridCountCache.get(
+            entityType,
+            countQueryString + '\u0000' + boundParameters(countQuery),
+            countQuery::getSingleResult);
+      default:
+        return countQuery.getSingleResult();
+    }
+  }
+
+  /**
+   * Max results for the page query: the page size, plus one look-ahead row when the count is
+   * skipped so {@link #toPage} can tell whether more rows follow.
+   */
+  protected static int fetchSize(Pageable pageable) {
+    return KeysetPageRequest.countModeOf(pageable) == CountMode.NONE
+        ? pageable.getPageSize() + 1
+        : pageable.getPageSize();
+  }
+
+  /** Drops the look-ahead row fetched by {@link #fetchSize}, if present. */
+  protected static <T> List<T> trimToPage(List<T> rows, Pageable pageable) {
+    return rows.size() > pageable.getPageSize() ? rows.subList(0, pageable.getPageSize()) : rows;
+  }
+
+  /**
+   * Builds the page for rows fetched with {@link #fetchSize}.
+   *
+   * @param rows Rows returned by the page query, possibly with one look-ahead row
+   * @param pageable The page request
+   * @param totalCount The result of {@link #countTotal}
+   * @return Page of at most pageSize rows
+   */
+  protected static <T> Page<T> toPage(List<T> rows, Pageable pageable, long totalCount) {
+    return toPage(
+        trimToPage(rows, pageable), pageable, totalCount, rows.size() > pageable.getPageSize());
+  }
+
+  /**
+   * Builds the page for two-phase builders, which trim the ID page before fetching entities.
+   *
+   * @param content Entities of the page
+   * @param pageable The page request
+   * @param totalCount The result of {@link #countTotal}
+   * @param lookAheadFound Whether the ID query returned a look-ahead row
+   * @return Page recording whether more rows follow
+   */
+  protected static <T> Page<T> toPage(
+      List<T> content, Pageable pageable, long totalCount, boolean lookAheadFound) {
+    boolean hasMore;
+    if (totalCount < 0) {
+      hasMore = lookAheadFound;
+    } else if (KeysetPageRequest.cursorOf(pageable) == null) {
+      // A cached total can be stale, so a short page still ends the results
+      hasMore =
+          content.size() >= pageable.getPageSize()
+              && pageable.getOffset() + content.size() < totalCount;
+    } else {
+      // The total covers the whole filter, not the rows after the cursor
+      hasMore = !content.isEmpty() && content.size() >= pageable.getPageSize();
+    }
+    return new GridPage<>(content, pageable, totalCount, hasMore);
+  }
+
+  /** Renders a query's bound parameters in name order, for use in a cache key. */
+  private static String boundParameters(TypedQuery<Long> query) {
+    Map<String, Object> values = new TreeMap<>();
+    for (Parameter<?> parameter : query.getParameters()) {
+      values.put(parameter.getName(), query.getParameterValue(parameter));
+    }
+    return values.toString();
+  }
+
+  /**
+   * Returns entities in the order of {@code ids}. Used by two-phase paging: the paged ID query
+   * fixes the order, and the fetch-by-IDs query returns rows in any order and, with collection
+   * fetches, once per joined row.
+   *
+   * @param ids Page of IDs in display order
+   * @param entities Entities fetched for those IDs
+   * @param idOf Extracts the ID of an entity
+   * @return Distinct entities ordered like {@code ids}
+   */
+  protected static <T> List<T> orderByIds(
+      List<Long> ids, List<T> entities, Function<T, Long> idOf) {
+    Map<Long, T> entitiesById = new HashMap<>(entities.size() * 2);
+    for (T entity : entities) {
+      entitiesById.putIfAbsent(idOf.apply(entity), entity);
+    }
+    List<T> ordered = new ArrayList<>(ids.size());
+    for (Long id : ids) {
+      T entity = entitiesById.get(id);
+      if (entity != null) {
+        ordered.add(entity);
+      }
+    }
+    return ordered;
+  }
+
+  /**
+   * Builds the cache key for a filter list. Besides column and operator, the key records the parts
+   * of a value that change the clause itself: whether a one-of list is empty, how many
+   * containsOneOf terms there are, and whether a date string parses.
+   */
+  private String buildShapeKey(List<FilterCondition> filters, String operator) {
+    StringBuilder key = new StringBuilder(operator);
+    for (FilterCondition filter : filters) {
       String column = filter.getColumn();
       String filterOperator = filter.getOperator();
-      Object value = filter.getValue();
+      key.append('\u0000')
+          .append(column)
+          .append('\u0001')
+          .append(filterOperator)
+          .append('\u0001')
+          .append(valueShape(resolveColumnType(column), filterOperator, filter.getValue()));
+    }
+    return key.toString();
+  }
+
+  private static String valueShape(ColumnType type, String operator, Object value) {
+    boolean isOneOf = OP_IS_ONE_OF.equals(operator) || OP_IS_NOT_ONE_OF.equals(operator);
+    switch (type) {
+      case STRING:
+        if (isOneOf) {
+          return cleanStringValues(value).isEmpty() ? "0" : "1";
+        }
+        if (OP_CONTAINS_ONE_OF.equals(operator)) {
+          return String.valueOf(splitNonBlank(value).size());
+        }
+        return "";
+      case NUMBER:
+        if (isOneOf) {
+          return parseLongValues(value).isEmpty() ? "0" : "1";
+        }
+        return "";
+      case DATE:
+        if (value instanceof String stringValue) {
+          return parseDate(stringValue) == null ? "x" : "d";
+        }
+        return "n";
+      default:
+        return "";
+    }
+  }
+
+  private FilterPlan compilePlan(List<FilterCondition> filters, String operator) {
+    StringBuilder whereClause = new StringBuilder();
+    ParameterBinder[] binders = new ParameterBinder[filters.size()];
 
+    for (int i = 0; i < filters.size(); i++) {
+      FilterCondition filter = filters.get(i);
+      String column = filter.getColumn();
       String fieldPath = mapColumnToField(column);
       String paramName = "param" + i;
 
@@ -74,56 +393,57 @@ public abstract class BaseFilterQueryBuilder {
       }
 
       // Build condition based on column type
-      if (getDateColumns().contains(column)) {
-        whereClause.append(
-            buildDateCondition(fieldPath, filterOperator, value, paramName, parameters));
-      } else if (getBooleanColumns().contains(column)) {
-        whereClause.append(
-            buildBooleanCondition(fieldPath, filterOperator, value, paramName, parameters));
-      } else if (getNumberColumns().contains(column)) {
-        whereClause.append(
-            buildNumberCondition(fieldPath, filterOperator, value, paramName, parameters));
-      } else {
-        whereClause.append(
-            buildStringCondition(fieldPath, filterOperator, value, paramName, parameters));
-      }
+      Condition condition =
+          switch (resolveColumnType(column)) {
+            case DATE ->
+                compileDateCondition(fieldPath, filter.getOperator(), filter.getValue(), paramName);
+            case BOOLEAN -> compileBooleanCondition(fieldPath, filter.getOperator(), paramName);
+            case NUMBER ->
+                compileNumberCondition(
+                    fieldPath, filter.getOperator(), filter.getValue(), paramName);
+            default ->
+                compileStringCondition(
+                    fieldPath, filter.getOperator(), filter.getValue(), paramName);
+          };
+      whereClause.append(condition.clause);
+      binders[i] = condition.binder;
     }
 
-    return new QueryResult(whereClause.toString(), parameters);
+    return new FilterPlan(whereClause.toString(), binders);
   }
 
   /** Builds a string filter condition */
-  private String buildStringCondition(
-      String fieldPath,
-      String operator,
-      Object value,
-      String paramName,
-      Map<String, Object> parameters) {
+  private Condition compileStringCondition(
+      String fieldPath, String operator, Object value, String paramName) {
     switch (operator) {
       case "contains":
-        parameters.put(paramName, "%" + value + "%");
-        return LOWER_PREFIX + fieldPath + LIKE_LOWER_PARAM + paramName + ")";
+        return new Condition(
+            LOWER_PREFIX + fieldPath + LIKE_LOWER_PARAM + paramName + ")",
+            (v, parameters) -> parameters.put(paramName, "%" + v + "%"));
       case OP_EQUALS:
-        parameters.put(paramName, value);
-        return LOWER_PREFIX + fieldPath + ") = LOWER(:" + paramName + ")";
+        return new Condition(
+            LOWER_PREFIX + fieldPath + ") = LOWER(:" + paramName + ")",
+            (v, parameters) -> parameters.put(paramName, v));
       case "startsWith":
-        parameters.put(paramName, value + "%");
-        return LOWER_PREFIX + fieldPath + LIKE_LOWER_PARAM + paramName + ")";
+        return new Condition(
+            LOWER_PREFIX + fieldPath + LIKE_LOWER_PARAM + paramName + ")",
+            (v, parameters) -> parameters.put(paramName, v + "%"));
       case "endsWith":
-        parameters.put(paramName, "%" + value);
-        return LOWER_PREFIX + fieldPath + LIKE_LOWER_PARAM + paramName + ")";
+        return new Condition(
+            LOWER_PREFIX + fieldPath + LIKE_LOWER_PARAM + paramName + ")",
+            (v, parameters) -> parameters.put(paramName, "%" + v));
       case OP_IS_EMPTY:
-        return "(" + fieldPath + " IS NULL OR " + fieldPath + " = '')";
+        return unbound("(" + fieldPath + " IS NULL OR " + fieldPath + " = '')");
       case OP_IS_NOT_EMPTY:
-        return "(" + fieldPath + " IS NOT NULL AND " + fieldPath + " != '')";
-      case "isOneOf":
-        return buildIsOneOfCondition(fieldPath, value, paramName, parameters, false);
-      case "isNotOneOf":
-        return buildIsOneOfCondition(fieldPath, value, paramName, parameters, true);
-      case "containsOneOf":
-        return buildContainsOneOfCondition(fieldPath, value, paramName, parameters);
+        return unbound("(" + fieldPath + " IS NOT NULL AND " + fieldPath + " != '')");
+      case OP_IS_ONE_OF:
+        return compileIsOneOfCondition(fieldPath, value, paramName, false);
+      case OP_IS_NOT_ONE_OF:
+        return compileIsOneOfCondition(fieldPath, value, paramName, true);
+      case OP_CONTAINS_ONE_OF:
+        return compileContainsOneOfCondition(fieldPath, value, paramName);
       default:
-        return "1=1"; // No-op condition
+        return NO_OP_CONDITION; // No-op condition
     }
   }
 
@@ -131,89 +451,59 @@ public abstract class BaseFilterQueryBuilder {
    * Builds "is one of" or "is not one of" condition for semicolon-separated values Example: value =
    * "A;B;C" becomes: field IN ('A', 'B', 'C') or field NOT IN ('A', 'B', 'C')
    */
-  private String buildIsOneOfCondition(
-      String fieldPath,
-      Object value,
-      String paramName,
-      Map<String, Object> parameters,
-      boolean negate) {
-    if (value == null) {
-      return "1=1";
-    }
-
-    String valueStr = String.valueOf(value);
-    String[] values = valueStr.split(";");
-
-    // Trim and filter empty values
-    List<String> cleanedValues = new java.util.ArrayList<>();
-    for (String val : values) {
-      String trimmed = val.trim();
-      if (!trimmed.isEmpty()) {
-        cleanedValues.add(trimmed.toLowerCase());
-      }
-    }
-
-    if (cleanedValues.isEmpty()) {
-      return "1=1";
+  private Condition compileIsOneOfCondition(
+      String fieldPath, Object value, String paramName, boolean negate) {
+    if (cleanStringValues(value).isEmpty()) {
+      return NO_OP_CONDITION;
     }
 
+    String clause =
+        negate
+            ? LOWER_PREFIX + fieldPath + ") NOT IN (:" + paramName + ")"
+            : LOWER_PREFIX + fieldPath + ") IN (:" + paramName + ")";
     // Store the list of values as a parameter
-    parameters.put(paramName, cleanedValues);
-
-    if (negate) {
-      return LOWER_PREFIX + fieldPath + ") NOT IN (:" + paramName + ")";
-    } else {
-      return LOWER_PREFIX + fieldPath + ") IN (:" + paramName + ")";
-    }
+    return new Condition(
+        clause, (v, parameters) -> parameters.put(paramName, cleanStringValues(v)));
   }
 
   /**
    * Builds "contains one of" condition for semicolon-separated values Example: value = "A;B;C"
    * becomes: (field LIKE '%A%' OR field LIKE '%B%' OR field LIKE '%C%')
    */
-  private String buildContainsOneOfCondition(
-      String fieldPath, Object value, String paramName, Map<String, Object> parameters) {
-    if (value == null) {
-      return "1=1";
-    }
+  private Condition compileContainsOneOfCondition(
+      String fieldPath, Object value, String paramName) {
+    int termCount = splitNonBlank(value).size();
 
-    String valueStr = String.valueOf(value);
-    String[] values = valueStr.split(";");
+    // If no valid values, return no-op
+    if (termCount == 0) {
+      return NO_OP_CONDITION;
+    }
 
     // Build OR conditions for each value
     StringBuilder condition = new StringBuilder("(");
-    boolean first = true;
-    int index = 0;
-
-    for (String val : values) {
-      String trimmed = val.trim();
-      if (!trimmed.isEmpty()) {
-        if (!first) {
-          condition.append(" OR ");
-        }
-
-        String subParamName = paramName + "_" + index;
-        parameters.put(subParamName, "%" + trimmed + "%");
-        condition
-            .append(LOWER_PREFIX)
-            .append(fieldPath)
-            .append(LIKE_LOWER_PARAM)
-            .append(subParamName)
-            .append(")");
-
-        first = false;
-        index++;
+    for (int index = 0; index < termCount; index++) {
+      if (index > 0) {
+        condition.append(" OR ");
       }
+      condition
+          .append(LOWER_PREFIX)
+          .append(fieldPath)
+          .append(LIKE_LOWER_PARAM)
+          .append(paramName)
+          .append("_")
+          .append(index)
+          .append(")");
     }
-
     condition.append(")");
 
-    // If no valid values, return no-op
-    if (index == 0) {
-      return "1=1";
-    }
-
-    return condition.toString();
+    return new Condition(
+        condition.toString(),
+        (v, parameters) -> {
+          List<String> terms = splitNonBlank(v);
+          for (int index = 0; index < terms.size(); index++) {
+            parameters.put(paramName + "_" + index, "%" + terms.get(index) + "%");
+          }
+        });
   }
 
   /**
@@ -221,44 +511,35 @@ public abstract class BaseFilterQueryBuilder {
    * operators (equals, notEquals, etc.) for backwards compatibility, though word format is
    * preferred.
    */
-  private String buildNumberCondition(
-      String fieldPath,
-      String operator,
-      Object value,
-      String paramName,
-      Map<String, Object> parameters) {
+  private Condition compileNumberCondition(
+      String fieldPath, String operator, Object value, String paramName) {
     // Convert string values to numbers for proper comparison
-    Object numericValue = parseNumericValue(value);
+    ParameterBinder numericBinder =
+        (v, parameters) -> parameters.put(paramName, parseNumericValue(v));
 
     switch (operator) {
       case OP_EQUALS, "=":
-        parameters.put(paramName, numericValue);
-        return fieldPath + " = :" + paramName;
+        return new Condition(fieldPath + " = :" + paramName, numericBinder);
       case "notEquals", "!=":
-        parameters.put(paramName, numericValue);
-        return fieldPath + " != :" + paramName;
+        return new Condition(fieldPath + " != :" + paramName, numericBinder);
       case "greaterThan", ">":
-        parameters.put(paramName, numericValue);
-        return fieldPath + " > :" + paramName;
+        return new Condition(fieldPath + " > :" + paramName, numericBinder);
       case "greaterThanOrEqual", ">=":
-        parameters.put(paramName, numericValue);
-        return fieldPath + " >= :" + paramName;
+        return new Condition(fieldPath + " >= :" + paramName, numericBinder);
       case "lessThan", "<":
-        parameters.put(paramName, numericValue);
-        return fieldPath + " < :" + paramName;
+        return new Condition(fieldPath + " < :" + paramName, numericBinder);
       case "lessThanOrEqual", "<=":
-        parameters.put(paramName, numericValue);
-        return fieldPath + " <= :" + paramName;
+        return new Condition(fieldPath + " <= :" + paramName, numericBinder);
       case OP_IS_EMPTY:
-        return fieldPath + " IS NULL";
+        return unbound(fieldPath + " IS NULL");
       case OP_IS_NOT_EMPTY:
-        return fieldPath + " IS NOT NULL";
-      case "isOneOf":
-        return buildNumberIsOneOfCondition(fieldPath, value, paramName, parameters, false);
-      case "isNotOneOf":
-        return buildNumberIsOneOfCondition(fieldPath, value, paramName, parameters, true);
+        return unbound(fieldPath + " IS NOT NULL");
+      case OP_IS_ONE_OF:
+        return compileNumberIsOneOfCondition(fieldPath, value, paramName, false);
+      case OP_IS_NOT_ONE_OF:
+        return compileNumberIsOneOfCondition(fieldPath, value, paramName, true);
       default:
-        return "1=1";
+        return NO_OP_CONDITION;
     }
   }
 
@@ -267,22 +548,112 @@ public abstract class BaseFilterQueryBuilder {
    * values. Example: value = "1,2,3" or "1;2;3" becomes: field IN (1, 2, 3) or field NOT IN (1, 2,
    * 3)
    */
-  private String buildNumberIsOneOfCondition(
-      String fieldPath,
-      Object value,
-      String paramName,
-      Map<String, Object> parameters,
-      boolean negate) {
+  private Condition compileNumberIsOneOfCondition(
+      String fieldPath, Object value, String paramName, boolean negate) {
+    if (parseLongValues(value).isEmpty()) {
+      return NO_OP_CONDITION;
+    }
+
+    String clause =
+        negate
+            ? fieldPath + " NOT IN (:" + paramName + ")"
+            : fieldPath + " IN (:" + paramName + ")";
+    // Store the list of values as a parameter
+    return new Condition(clause, (v, parameters) -> parameters.put(paramName, parseLongValues(v)));
+  }
+
+  /**
+   * Builds a date filter condition. Supports both date-specific operators (is, isNot, etc.) and
+   * number-style operators (equals, greaterThan, etc.)
+   */
+  private Condition compileDateCondition(
+      String fieldPath, String operator, Object value, String paramName) {
+    // Invalid date strings produce a no-op
+    if (value instanceof String stringValue && parseDate(stringValue) == null) {
+      return NO_OP_CONDITION;
+    }
+    ParameterBinder dateBinder =
+        (v, parameters) ->
+            parameters.put(
+                paramName, v instanceof String stringValue ? parseDate(stringValue) : null);
+
+    switch (operator) {
+      case "is", OP_EQUALS:
+        return new Condition(DATE_PREFIX + fieldPath + ") = :" + paramName, dateBinder);
+      case "isNot", "notEquals":
+        return new Condition(DATE_PREFIX + fieldPath + ") != :" + paramName, dateBinder);
+      case "isAfter", "greaterThan":
+        return new Condition(DATE_PREFIX + fieldPath + ") > :" + paramName, dateBinder);
+      case "isOnOrAfter", "greaterThanOrEqual":
+        return new Condition(DATE_PREFIX + fieldPath + ") >= :" + paramName, dateBinder);
+      case "isBefore", "lessThan":
+        return new Condition(DATE_PREFIX + fieldPath + ") < :" + paramName, dateBinder);
+      case "isOnOrBefore", "lessThanOrEqual":
+        return new Condition(DATE_PREFIX + fieldPath + ") <= :" + paramName, dateBinder);
+      case OP_IS_EMPTY:
+        return unbound(fieldPath + " IS NULL");
+      case OP_IS_NOT_EMPTY:
+        return unbound(fieldPath + " IS NOT NULL");
+      default:
+        return NO_OP_CONDITION;
+    }
+  }
+
+  /** Builds a boolean filter condition */
+  private Condition compileBooleanCondition(String fieldPath, String operator, String paramName) {
+    if ("is".equals(operator)) {
+      return new Condition(
+          fieldPath + " = :" + paramName,
+          (v, parameters) -> {
+            Boolean boolValue = null;
+            if (v instanceof String stringValue) {
+              boolValue = Boolean.parseBoolean(stringValue);
+            } else if (v instanceof Boolean booleanValue) {
+              boolValue = booleanValue;
+            }
+            parameters.put(paramName, boolValue);
+          });
+    }
+    return NO_OP_CONDITION;
+  }
+
+  private static Condition unbound(String clause) {
+    return new Condition(clause, (value, parameters) -> {});
+  }
+
+  /** Splits a semicolon-separated value into trimmed, lower-cased, non-empty entries. */
+  private static List<String> cleanStringValues(Object value) {
+    List<String> cleanedValues = new ArrayList<>();
+    for (String trimmed : splitNonBlank(value)) {
+      cleanedValues.add(trimmed.toLowerCase());
+    }
+    return cleanedValues;
+  }
+
+  /** Splits a semicolon-separated value into trimmed, non-empty entries. */
+  private static List<String> splitNonBlank(Object value) {
+    List<String> result = new ArrayList<>();
     if (value == null) {
-      return "1=1";
+      return result;
+    }
+    for (String val : String.valueOf(value).split(";")) {
+      String trimmed = val.trim();
+      if (!trimmed.isEmpty()) {
+        result.add(trimmed);
+      }
     }
+    return result;
+  }
 
+  /** Parses a semicolon or comma separated value into longs, skipping invalid numbers. */
+  private static List<Long> parseLongValues(Object value) {
+    List<Long> numericValues = new ArrayList<>();
+    if (value == null) {
+      return numericValues;
+    }
     String valueStr = String.valueOf(value);
     // Support both comma and semicolon as separators
     String[] values = valueStr.contains(";") ? valueStr.split(";") : valueStr.split(",");
-
-    // Parse and filter valid numeric values
-    List<Long> numericValues = new java.util.ArrayList<>();
     for (String val : values) {
       String trimmed = val.trim();
       if (!trimmed.isEmpty()) {
@@ -293,26 +664,14 @@ public abstract class BaseFilterQueryBuilder {
         }
       }
     }
-
-    if (numericValues.isEmpty()) {
-      return "1=1";
-    }
-
-    // Store the list of values as a parameter
-    parameters.put(paramName, numericValues);
-
-    if (negate) {
-      return fieldPath + " NOT IN (:" + paramName + ")";
-    } else {
-      return fieldPath + " IN (:" + paramName + ")";
-    }
+    return numericValues;
   }
 
   /**
    * Parses a value to a numeric type (Long or Double). If already a number, returns as-is. If a
    * string, attempts to parse.
    */
-  private Object parseNumericValue(Object value) {
+  private static Object parseNumericValue(Object value) {
     if (value == null) {
       return null;
     }
@@ -335,77 +694,45 @@ public abstract class BaseFilterQueryBuilder {
     return value;
   }
 
-  /**
-   * Builds a date filter condition. Supports both date-specific operators (is, isNot, etc.) and
-   * number-style operators (equals, greaterThan, etc.)
-   */
-  private String buildDateCondition(
-      String fieldPath,
-      String operator,
-      Object value,
-      String paramName,
-      Map<String, Object> parameters) {
-    // Parse date value
-    LocalDate dateValue = null;
-    if (value instanceof String stringValue) {
+  /** Parses a yyyy-MM-dd or ISO date-time string to a LocalDate, or null if it is neither. */
+  private static LocalDate parseDate(String value) {
+    try {
+      return LocalDate.parse(value);
+    } catch (Exception e) {
       try {
-        dateValue = LocalDate.parse(stringValue);
-      } catch (Exception e) {
-        try {
-          LocalDateTime dateTime = LocalDateTime.parse(stringValue);
-          dateValue = dateTime.toLocalDate();
-        } catch (Exception ex) {
-          return "1=1"; // Invalid date, return no-op
-        }
+        return LocalDateTime.parse(value).toLocalDate();
+      } catch (Exception ex) {
+        return null;
       }
     }
+  }
 
-    switch (operator) {
-      case "is", OP_EQUALS:
-        parameters.put(paramName, dateValue);
-        return DATE_PREFIX + fieldPath + ") = :" + paramName;
-      case "isNot", "notEquals":
-        parameters.put(paramName, dateValue);
-        return DATE_PREFIX + fieldPath + ") != :" + paramName;
-      case "isAfter", "greaterThan":
-        parameters.put(paramName, dateValue);
-        return DATE_PREFIX + fieldPath + ") > :" + paramName;
-      case "isOnOrAfter", "greaterThanOrEqual":
-        parameters.put(paramName, dateValue);
-        return DATE_PREFIX + fieldPath + ") >= :" + paramName;
-      case "isBefore", "lessThan":
-        parameters.put(paramName, dateValue);
-        return DATE_PREFIX + fieldPath + ") < :" + paramName;
-      case "isOnOrBefore", "lessThanOrEqual":
-        parameters.put(paramName, dateValue);
-        return DATE_PREFIX + fieldPath + ") <= :" + paramName;
-      case OP_IS_EMPTY:
-        return fieldPath + " IS NULL";
-      case OP_IS_NOT_EMPTY:
-        return fieldPath + " IS NOT NULL";
-      default:
-        return "1=1";
+  /** Puts the parameter(s) for one filter value into the parameter map. */
+  @FunctionalInterface
+  private interface ParameterBinder {
+    void bind(Object value, Map<String, Object> parameters);
+  }
+
+  /** A compiled clause for one filter plus the binder for its value. */
+  private static final class Condition {
+    private final String clause;
+    private final ParameterBinder binder;
+
+    Condition(String clause, ParameterBinder binder) {
+      this.clause = clause;
+      this.binder = binder;
     }
   }
 
-  /** Builds a boolean filter condition */
-  private String buildBooleanCondition(
-      String fieldPath,
-      String operator,
-      Object value,
-      String paramName,
-      Map<String, Object> parameters) {
-    if ("is".equals(operator)) {
-      Boolean boolValue = null;
-      if (value instanceof String stringValue) {
-        boolValue = Boolean.parseBoolean(stringValue);
-      } else if (value instanceof Boolean booleanValue) {
-        boolValue = booleanValue;
-      }
-      parameters.put(paramName, boolValue);
-      return fieldPath + " = :" + paramName;
+  /** A compiled WHERE clause for one filter shape. */
+  private static final class FilterPlan {
+    private final String whereClause;
+    private final ParameterBinder[] binders;
+
+    FilterPlan(String whereClause, ParameterBinder[] binders) {
+      this.whereClause = whereClause;
+      this.binders = binders;
     }
-    return "1=1";
   }
 
   /** Result class containing the WHERE clause and parameters */
@@ -0,0 +1,39 @@
+package com.example.SpringApi.FilterQueryBuilder;
+
+import com.example.SpringApi.ErrorMessages;
+import com.example.SpringApi.Exceptions.BadRequestException;
+
+/**
+ * How a grid page resolves its total row count.
+ *
+ * <ul>
+ *   <li>{@link #EXACT} runs the count query on every request (the default).
+ *   <li>{@link #CACHED} reuses a count for the same tenant, filters and entity version for a few
+ *       seconds; any committed write to the entity drops it.
+ *   <li>{@link #NONE} skips the count and fetches one extra row to tell whether more rows follow.
+ * </ul>
+ */
+public enum CountMode {
+  EXACT,
+  CACHED,
+  NONE;
+
+  /**
+   * Parses the countMode value sent by the grids.
+   *
+   * @param value "exact", "cached" or "none" (case-insensitive), may be null or blank
+   * @return The count mode, EXACT when no value was supplied
+   * @throws BadRequestException if the value is not a known mode
+   */
+  public static CountMode fromValue(String value) {
+    if (value == null || value.isBlank()) {
+      return EXACT;
+    }
+    for (CountMode mode : values()) {
+      if (mode.name().equalsIgnoreCase(value.trim())) {
+        return mode;
+      }
+    }
+    throw new BadRequestException(ErrorMessages.CommonErrorMessages.INVALID_COUNT_MODE);
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.SpringApi.FilterQueryBuilder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived grid totals for {@link CountMode#CACHED}.
+ *
+ * <p>Counts are keyed by entity, entity version, count query and bound parameters, so each tenant
+ * and filter combination gets its own entry. Every committed insert, update or delete of an entity
+ * bumps its version (see {@link GridCountInvalidationListener}), which makes older entries
+ * unreachable; they then age out with the TTL.
+ */
+@Component
+public class GridCountCache {
+  static final long DEFAULT_TTL_SECONDS = 30;
+  private static final long MAX_CACHED_COUNTS = 10_000;
+
+  private final Cache<String, Long> counts;
+  private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+  @Autowired
+  public GridCountCache(
+      @Value("${grid.count-cache.ttl-seconds:" + DEFAULT_TTL_SECONDS + "}") long ttlSeconds) {
+    this.counts =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_COUNTS)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .build();
+  }
+
+  /**
+   * Returns the cached count for a key, running {@code exactCount} on a miss.
+   *
+   * @param entityType The entity the count query selects from
+   * @param key Count query plus bound parameters
+   * @param exactCount Runs the count query
+   * @return The cached or freshly computed count
+   */
+  public long get(Class<?> entityType, String key, LongSupplier exactCount) {
+    String versionedKey = entityType.getName() + '#' + version(entityType) + '\u0000' + key;
+    Long cached = counts.getIfPresent(versionedKey);
+    if (cached != null) {
+      return cached;
+    }
+    long count = exactCount.getAsLong();
+    counts.put(versionedKey, count);
+    return count;
+  }
+
+  /** Drops every cached count for an entity type. */
+  public void invalidate(Class<?> entityType) {
+    versions.computeIfAbsent(entityType, type -> new AtomicLong()).incrementAndGet();
+  }
+
+  private long version(Class<?> entityType) {
+    AtomicLong version = versions.get(entityType);
+    return version != null ? version.get() : 0;
+  }
+}
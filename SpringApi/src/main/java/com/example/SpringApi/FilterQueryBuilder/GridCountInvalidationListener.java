@@ -0,0 +1,85 @@
+package com.example.SpringApi.FilterQueryBuilder;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached grid counts for an entity after a write to it commits.
+ *
+ * <p>Runs after commit rather than at flush so a count computed by a concurrent transaction
+ * cannot cache the pre-write total under the new version. Bulk JPQL updates bypass entity events;
+ * their counts are corrected by the cache TTL.
+ */
+@Component
+public class GridCountInvalidationListener
+    implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+  private final EntityManagerFactory entityManagerFactory;
+  private final GridCountCache gridCountCache;
+
+  public GridCountInvalidationListener(
+      EntityManagerFactory entityManagerFactory, GridCountCache gridCountCache) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.gridCountCache = gridCountCache;
+  }
+
+  /** Registers this listener with Hibernate's post-commit insert, update and delete events. */
+  @PostConstruct
+  public void register() {
+    EventListenerRegistry registry =
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    gridCountCache.invalidate(event.getPersister().getMappedClass());
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+    // Nothing was written, so cached counts are still valid
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    gridCountCache.invalidate(event.getPersister().getMappedClass());
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    // Nothing was written, so cached counts are still valid
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    gridCountCache.invalidate(event.getPersister().getMappedClass());
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    // Nothing was written, so cached counts are still valid
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return true;
+  }
+}
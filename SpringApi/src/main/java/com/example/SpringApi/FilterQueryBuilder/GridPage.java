@@ -0,0 +1,41 @@
+package com.example.SpringApi.FilterQueryBuilder;
+
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page returned by the filter query builders. Besides the content and total it records whether
+ * more rows follow, which is the only paging signal when the count was skipped ({@link
+ * CountMode#NONE}); {@link #getTotalElements()} is then -1.
+ */
+public class GridPage<T> extends PageImpl<T> {
+  private final boolean hasMore;
+  private final boolean counted;
+
+  public GridPage(List<T> content, Pageable pageable, long totalCount, boolean hasMore) {
+    super(content, pageable, Math.max(totalCount, 0));
+    this.hasMore = hasMore;
+    this.counted = totalCount >= 0;
+  }
+
+  @Override
+  public long getTotalElements() {
+    return counted ? super.getTotalElements() : -1;
+  }
+
+  public boolean hasMore() {
+    return hasMore;
+  }
+
+  /**
+   * Whether rows follow a page. Pages not built by a filter query builder fall back to "the page
+   * was full".
+   */
+  public static boolean hasMoreOf(Page<?> page) {
+    return page instanceof GridPage<?> gridPage
+        ? gridPage.hasMore()
+        : !page.getContent().isEmpty() && page.getContent().size() >= page.getSize();
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.SpringApi.FilterQueryBuilder;
+
+import com.example.SpringApi.ErrorMessages;
+import com.example.SpringApi.Exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+/**
+ * Position of the last row of a page for keyset (seek) pagination.
+ *
+ * <p>Grids sort by a key descending with the entity ID as tie-breaker. Instead of skipping {@code
+ * start} rows, the next page asks for rows strictly after the last one seen, which MySQL can answer
+ * straight from the index. The cursor is sent to clients as an opaque URL-safe string.
+ */
+@Getter
+public final class KeysetCursor {
+  private static final char SEPARATOR = '|';
+
+  private final Long lastId;
+  private final String lastSortKey;
+
+  private KeysetCursor(Long lastId, String lastSortKey) {
+    this.lastId = lastId;
+    this.lastSortKey = lastSortKey;
+  }
+
+  /** Cursor for grids ordered by ID only. */
+  public static KeysetCursor of(Long lastId) {
+    return new KeysetCursor(lastId, null);
+  }
+
+  /** Cursor for grids ordered by a date-time column, then by ID. */
+  public static KeysetCursor of(LocalDateTime lastSortKey, Long lastId) {
+    return new KeysetCursor(lastId, lastSortKey != null ? lastSortKey.toString() : null);
+  }
+
+  /**
+   * Decodes a cursor previously produced by {@link #encode()}.
+   *
+   * @param cursor The opaque cursor string, may be null or blank
+   * @return The decoded cursor, or null when no cursor was supplied
+   * @throws BadRequestException if the cursor is malformed
+   */
+  public static KeysetCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator < 0) {
+        return new KeysetCursor(Long.parseLong(raw), null);
+      }
+      String sortKey = raw.substring(separator + 1);
+      LocalDateTime.parse(sortKey);
+      return new KeysetCursor(Long.parseLong(raw.substring(0, separator)), sortKey);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new BadRequestException(ErrorMessages.CommonErrorMessages.INVALID_CURSOR);
+    }
+  }
+
+  /**
+   * Builds the cursor for the page after {@code page}, or null when there is nothing after it (see
+   * {@link GridPage#hasMoreOf}).
+   *
+   * @param page The page just returned to the client
+   * @param keyOf Extracts the keyset position of a row
+   * @return The encoded next-page cursor, or null
+   */
+  public static <T> String next(Page<T> page, Function<T, KeysetCursor> keyOf) {
+    List<T> content = page.getContent();
+    if (content.isEmpty() || !GridPage.hasMoreOf(page)) {
+      return null;
+    }
+    return keyOf.apply(content.get(content.size() - 1)).encode();
+  }
+
+  /** Returns the sort key as a date-time, or null for ID-only cursors. */
+  public LocalDateTime getLastSortKeyAsDateTime() {
+    return lastSortKey != null ? LocalDateTime.parse(lastSortKey) : null;
+  }
+
+  /** Encodes this cursor as an opaque URL-safe string. */
+  public String encode() {
+    String raw =
+        lastSortKey != null
+            ? lastId + String.valueOf(SEPARATOR) + lastSortKey
+            : String.valueOf(lastId);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
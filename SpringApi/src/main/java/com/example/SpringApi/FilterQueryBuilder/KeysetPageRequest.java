@@ -0,0 +1,58 @@
+package com.example.SpringApi.FilterQueryBuilder;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pageable with an exact row offset and an optional keyset cursor.
+ *
+ * <p>Spring's {@code PageRequest.of(page, size)} computes OFFSET as page * size, but the grids send
+ * arbitrary start/end indexes, so {@link #getOffset()} returns {@code start} as-is. When a cursor
+ * is present the filter query builders seek past it instead, and the offset is 0. The request also
+ * carries the {@link CountMode} the builders resolve the total with.
+ */
+public class KeysetPageRequest extends PageRequest {
+  private final long start;
+  private final transient KeysetCursor cursor;
+  private final CountMode countMode;
+
+  public KeysetPageRequest(long start, int pageSize, Sort sort, KeysetCursor cursor) {
+    this(start, pageSize, sort, cursor, CountMode.EXACT);
+  }
+
+  public KeysetPageRequest(
+      long start, int pageSize, Sort sort, KeysetCursor cursor, CountMode countMode) {
+    super(0, pageSize, sort);
+    this.start = start;
+    this.cursor = cursor;
+    this.countMode = countMode != null ? countMode : CountMode.EXACT;
+  }
+
+  @Override
+  public long getOffset() {
+    return cursor != null ? 0 : start;
+  }
+
+  public KeysetCursor getCursor() {
+    return cursor;
+  }
+
+  public CountMode getCountMode() {
+    return countMode;
+  }
+
+  /** Returns the keyset cursor carried by a pageable, or null if it has none. */
+  public static KeysetCursor cursorOf(Pageable pageable) {
+    return pageable instanceof KeysetPageRequest keysetPageRequest
+        ? keysetPageRequest.getCursor()
+        : null;
+  }
+
+  /** Returns the count mode carried by a pageable, EXACT for plain page requests. */
+  public static CountMode countModeOf(Pageable pageable) {
+    return pageable instanceof KeysetPageRequest keysetPageRequest
+        ? keysetPageRequest.getCountMode()
+        : CountMode.EXACT;
+  }
+}
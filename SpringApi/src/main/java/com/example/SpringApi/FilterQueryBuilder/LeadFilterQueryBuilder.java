@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -27,7 +27,8 @@ public class LeadFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public LeadFilterQueryBuilder(EntityManager entityManager) {
+  public LeadFilterQueryBuilder(EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -82,24 +83,6 @@ public class LeadFilterQueryBuilder extends BaseFilterQueryBuilder {
         "leadId", "companySize", CLIENT_ID, "addressId", "createdById", "assignedAgentId");
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -142,6 +125,10 @@ public class LeadFilterQueryBuilder extends BaseFilterQueryBuilder {
       baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
+    // Seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    baseQuery += buildSeekCondition("l.leadId", pageable, seekParameters);
+
     // Add ordering
     baseQuery += "ORDER BY l.leadId DESC";
 
@@ -170,7 +157,7 @@ public class LeadFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(Lead.class, countQuery, countTypedQuery, pageable);
 
     // Execute main query with pagination
     TypedQuery<Lead> mainQuery = entityManager.createQuery(baseQuery, Lead.class);
@@ -182,11 +169,12 @@ public class LeadFilterQueryBuilder extends BaseFilterQueryBuilder {
     }
 
     // Apply pagination
+    seekParameters.forEach(mainQuery::setParameter);
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<Lead> leads = mainQuery.getResultList();
 
-    return new PageImpl<>(leads, pageable, totalCount);
+    return toPage(leads, pageable, totalCount);
   }
 }
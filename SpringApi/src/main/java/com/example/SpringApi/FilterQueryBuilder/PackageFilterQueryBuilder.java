@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -28,7 +28,8 @@ public class PackageFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public PackageFilterQueryBuilder(EntityManager entityManager) {
+  public PackageFilterQueryBuilder(EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -104,24 +105,6 @@ public class PackageFilterQueryBuilder extends BaseFilterQueryBuilder {
         PICKUP_LOCATION_ID);
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -192,6 +175,10 @@ public class PackageFilterQueryBuilder extends BaseFilterQueryBuilder {
       baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
+    // Seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    baseQuery += buildSeekCondition("pkg.packageId", pageable, seekParameters);
+
     // Add ordering
     baseQuery += "ORDER BY pkg.packageId DESC";
 
@@ -234,7 +221,7 @@ public class PackageFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(Package.class, countQuery, countTypedQuery, pageable);
 
     // Execute main query with pagination
     TypedQuery<Package> mainQuery = entityManager.createQuery(baseQuery, Package.class);
@@ -250,12 +237,13 @@ public class PackageFilterQueryBuilder extends BaseFilterQueryBuilder {
     }
 
     // Apply pagination
+    seekParameters.forEach(mainQuery::setParameter);
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<Package> packages = mainQuery.getResultList();
 
-    return new PageImpl<>(packages, pageable, totalCount);
+    return toPage(packages, pageable, totalCount);
   }
 
   /**
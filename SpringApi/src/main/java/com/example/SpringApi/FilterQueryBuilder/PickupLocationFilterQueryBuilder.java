@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -27,7 +27,9 @@ public class PickupLocationFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public PickupLocationFilterQueryBuilder(EntityManager entityManager) {
+  public PickupLocationFilterQueryBuilder(
+      EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -84,24 +86,6 @@ public class PickupLocationFilterQueryBuilder extends BaseFilterQueryBuilder {
         "pickupLocationId", CLIENT_ID, "pickupLocationAddressId", "shipRocketPickupLocationId");
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -150,6 +134,10 @@ public class PickupLocationFilterQueryBuilder extends BaseFilterQueryBuilder {
       baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
+    // Seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    baseQuery += buildSeekCondition("pl.pickupLocationId", pageable, seekParameters);
+
     // Add ordering
     baseQuery += "ORDER BY pl.pickupLocationId DESC";
 
@@ -188,7 +176,7 @@ public class PickupLocationFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(PickupLocation.class, countQuery, countTypedQuery, pageable);
 
     // Execute main query with pagination
     TypedQuery<PickupLocation> mainQuery =
@@ -205,11 +193,12 @@ public class PickupLocationFilterQueryBuilder extends BaseFilterQueryBuilder {
     }
 
     // Apply pagination
+    seekParameters.forEach(mainQuery::setParameter);
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<PickupLocation> pickupLocations = mainQuery.getResultList();
 
-    return new PageImpl<>(pickupLocations, pageable, totalCount);
+    return toPage(pickupLocations, pageable, totalCount);
   }
 }
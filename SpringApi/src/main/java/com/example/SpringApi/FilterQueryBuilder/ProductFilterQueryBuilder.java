@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -28,7 +28,8 @@ public class ProductFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public ProductFilterQueryBuilder(EntityManager entityManager) {
+  public ProductFilterQueryBuilder(EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -126,24 +127,6 @@ public class ProductFilterQueryBuilder extends BaseFilterQueryBuilder {
         PICKUP_LOCATION_ID);
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -153,6 +136,9 @@ public class ProductFilterQueryBuilder extends BaseFilterQueryBuilder {
    * <p>When filtering by pickupLocationId, only products with that pickup location are returned,
    * and only the mapping for that specific pickup location is included in the response.
    *
+   * <p>Paging runs on a product ID query without fetch joins; the page's products and their pickup
+   * location mappings are fetched by ID afterwards.
+   *
    * @param clientId The client ID to filter products by
    * @param selectedIds List of specific product IDs to include (null for all)
    * @param logicOperator "AND" or "OR" to combine filter conditions
@@ -188,145 +174,112 @@ public class ProductFilterQueryBuilder extends BaseFilterQueryBuilder {
       }
     }
 
-    // Base query with all necessary JOINs
+    // Shared FROM/WHERE for the count and ID queries
     // Only include ProductPickupLocationMapping JOIN when filtering by pickupLocationId
     // This prevents errors when the table doesn't exist
-    String baseQuery;
+    String pickupLocationJoin = "";
     if (hasPickupLocationIdFilter) {
-      if (pickupLocationIdFilter != null) {
-        // Use INNER JOIN when filtering by pickupLocationId - only get products with that mapping
-        // and only fetch that specific mapping
-        baseQuery =
-            "SELECT DISTINCT p FROM Product p "
-                + "LEFT JOIN FETCH p.category "
-                + "LEFT JOIN FETCH p.createdByUser "
-                + "INNER JOIN FETCH p.productPickupLocationMappings pplm "
-                + "INNER JOIN FETCH pplm.pickupLocation pl "
-                + "LEFT JOIN FETCH pl.address "
-                + "WHERE p.clientId = "
-                + CLIENT_ID_PARAM
-                + " ";
-      } else {
-        // Use LEFT JOIN when filtering by pickupLocationId with other operators
-        baseQuery =
-            "SELECT DISTINCT p FROM Product p "
-                + "LEFT JOIN FETCH p.category "
-                + "LEFT JOIN FETCH p.createdByUser "
-                + "LEFT JOIN FETCH p.productPickupLocationMappings pplm "
-                + "LEFT JOIN FETCH pplm.pickupLocation pl "
-                + "LEFT JOIN FETCH pl.address "
-                + "WHERE p.clientId = "
-                + CLIENT_ID_PARAM
-                + " ";
-      }
-    } else {
-      // No pickupLocationId filter - still fetch pickup locations for display
-      baseQuery =
-          "SELECT DISTINCT p FROM Product p "
-              + "LEFT JOIN FETCH p.category "
-              + "LEFT JOIN FETCH p.createdByUser "
-              + "LEFT JOIN FETCH p.productPickupLocationMappings pplm "
-              + "LEFT JOIN FETCH pplm.pickupLocation pl "
-              + "LEFT JOIN FETCH pl.address "
-              + "WHERE p.clientId = "
-              + CLIENT_ID_PARAM
-              + " ";
+      // Use INNER JOIN when filtering by pickupLocationId equals - only products with that mapping
+      pickupLocationJoin =
+          pickupLocationIdFilter != null
+              ? "INNER JOIN p.productPickupLocationMappings pplm "
+              : "LEFT JOIN p.productPickupLocationMappings pplm ";
     }
+    String fromWhere =
+        "FROM Product p " + pickupLocationJoin + "WHERE p.clientId = " + CLIENT_ID_PARAM + " ";
 
     // Add selectedIds condition
     if (selectedIds != null && !selectedIds.isEmpty()) {
-      baseQuery += "AND p.productId IN :selectedIds ";
+      fromWhere += "AND p.productId IN :selectedIds ";
     }
 
     // Add includeDeleted condition
     if (!includeDeleted) {
-      baseQuery += "AND p.isDeleted = false ";
+      fromWhere += "AND p.isDeleted = false ";
     }
 
     // Build dynamic filter conditions using the query builder
     QueryResult filterResult = buildFilterConditions(filters, logicOperator);
 
     if (filterResult.hasConditions()) {
-      baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
-    }
-
-    // Add ordering
-    baseQuery += "ORDER BY p.productId DESC";
-
-    // Count query (without FETCH joins, but with proper JOINs for filtering)
-    // Only include ProductPickupLocationMapping JOIN when filtering by pickupLocationId
-    String countQuery;
-    if (hasPickupLocationIdFilter) {
-      if (pickupLocationIdFilter != null) {
-        countQuery =
-            "SELECT COUNT(DISTINCT p) FROM Product p "
-                + "INNER JOIN p.productPickupLocationMappings pplm "
-                + "WHERE p.clientId = "
-                + CLIENT_ID_PARAM
-                + " ";
-      } else {
-        countQuery =
-            "SELECT COUNT(DISTINCT p) FROM Product p "
-                + "LEFT JOIN p.productPickupLocationMappings pplm "
-                + "WHERE p.clientId = "
-                + CLIENT_ID_PARAM
-                + " ";
-      }
-    } else {
-      // No pickupLocationId filter - don't join ProductPickupLocationMapping table
-      countQuery =
-          "SELECT COUNT(DISTINCT p) FROM Product p "
-              + "WHERE p.clientId = "
-              + CLIENT_ID_PARAM
-              + " ";
-    }
-
-    if (selectedIds != null && !selectedIds.isEmpty()) {
-      countQuery += "AND p.productId IN :selectedIds ";
+      fromWhere += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
-    if (!includeDeleted) {
-      countQuery += "AND p.isDeleted = false ";
-    }
+    // Count query (without FETCH joins)
+    String countQuery = "SELECT COUNT(DISTINCT p) " + fromWhere;
 
-    if (filterResult.hasConditions()) {
-      countQuery += "AND (" + filterResult.getWhereClause() + ") ";
-    }
+    // Page of IDs - seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    String idQuery =
+        "SELECT DISTINCT p.productId "
+            + fromWhere
+            + buildSeekCondition("p.productId", pageable, seekParameters)
+            + "ORDER BY p.productId DESC";
 
     // Execute count query
     TypedQuery<Long> countTypedQuery = entityManager.createQuery(countQuery, Long.class);
-    countTypedQuery.setParameter(CLIENT_ID, clientId);
-
-    if (selectedIds != null && !selectedIds.isEmpty()) {
-      countTypedQuery.setParameter("selectedIds", selectedIds);
+    bindParameters(countTypedQuery, clientId, selectedIds, filterResult);
+    long totalCount = countTotal(Product.class, countQuery, countTypedQuery, pageable);
+
+    // Execute ID query with pagination
+    TypedQuery<Long> idTypedQuery = entityManager.createQuery(idQuery, Long.class);
+    bindParameters(idTypedQuery, clientId, selectedIds, filterResult);
+    seekParameters.forEach(idTypedQuery::setParameter);
+    idTypedQuery.setFirstResult((int) pageable.getOffset());
+    idTypedQuery.setMaxResults(fetchSize(pageable));
+    List<Long> fetchedIds = idTypedQuery.getResultList();
+    boolean lookAheadFound = fetchedIds.size() > pageable.getPageSize();
+    List<Long> productIds = trimToPage(fetchedIds, pageable);
+
+    if (productIds.isEmpty()) {
+      return toPage(List.of(), pageable, totalCount, false);
     }
 
-    // Set filter parameters
-    for (Map.Entry<String, Object> entry : filterResult.getParameters().entrySet()) {
-      countTypedQuery.setParameter(entry.getKey(), entry.getValue());
+    // Fetch the page's products with their pickup locations for display. When filtering by a
+    // single pickupLocationId, only fetch that specific mapping.
+    String fetchQuery =
+        pickupLocationIdFilter != null
+            ? "SELECT DISTINCT p FROM Product p "
+                + "LEFT JOIN FETCH p.category "
+                + "LEFT JOIN FETCH p.createdByUser "
+                + "INNER JOIN FETCH p.productPickupLocationMappings pplm "
+                + "INNER JOIN FETCH pplm.pickupLocation pl "
+                + "LEFT JOIN FETCH pl.address "
+                + "WHERE p.productId IN :productIds "
+                + "AND pplm.pickupLocationId = :"
+                + PICKUP_LOCATION_ID
+            : "SELECT DISTINCT p FROM Product p "
+                + "LEFT JOIN FETCH p.category "
+                + "LEFT JOIN FETCH p.createdByUser "
+                + "LEFT JOIN FETCH p.productPickupLocationMappings pplm "
+                + "LEFT JOIN FETCH pplm.pickupLocation pl "
+                + "LEFT JOIN FETCH pl.address "
+                + "WHERE p.productId IN :productIds";
+
+    TypedQuery<Product> mainQuery = entityManager.createQuery(fetchQuery, Product.class);
+    mainQuery.setParameter("productIds", productIds);
+    if (pickupLocationIdFilter != null) {
+      mainQuery.setParameter(PICKUP_LOCATION_ID, pickupLocationIdFilter);
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    return toPage(
+        orderByIds(productIds, mainQuery.getResultList(), Product::getProductId),
+        pageable,
+        totalCount,
+        lookAheadFound);
+  }
 
-    // Execute main query with pagination
-    TypedQuery<Product> mainQuery = entityManager.createQuery(baseQuery, Product.class);
-    mainQuery.setParameter(CLIENT_ID, clientId);
+  private void bindParameters(
+      TypedQuery<Long> query, Long clientId, List<Long> selectedIds, QueryResult filterResult) {
+    query.setParameter(CLIENT_ID, clientId);
 
     if (selectedIds != null && !selectedIds.isEmpty()) {
-      mainQuery.setParameter("selectedIds", selectedIds);
+      query.setParameter("selectedIds", selectedIds);
     }
 
     // Set filter parameters
     for (Map.Entry<String, Object> entry : filterResult.getParameters().entrySet()) {
-      mainQuery.setParameter(entry.getKey(), entry.getValue());
+      query.setParameter(entry.getKey(), entry.getValue());
     }
-
-    // Apply pagination
-    mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
-
-    List<Product> products = mainQuery.getResultList();
-
-    return new PageImpl<>(products, pageable, totalCount);
   }
 }
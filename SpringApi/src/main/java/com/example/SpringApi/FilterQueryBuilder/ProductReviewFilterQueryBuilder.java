@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -26,7 +26,9 @@ public class ProductReviewFilterQueryBuilder extends BaseFilterQueryBuilder {
 
   private final EntityManager entityManager;
 
-  public ProductReviewFilterQueryBuilder(EntityManager entityManager) {
+  public ProductReviewFilterQueryBuilder(
+      EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -50,24 +52,6 @@ public class ProductReviewFilterQueryBuilder extends BaseFilterQueryBuilder {
     return Arrays.asList("reviewId", "ratings", "score", "userId", PRODUCT_ID, "parentId");
   }
 
-  /**
-   * Gets the column type for validation purposes.
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   /**
    * Finds paginated product reviews with multiple filter conditions. Filters by clientId (via
    * Product) and optionally by productId.
@@ -112,6 +96,10 @@ public class ProductReviewFilterQueryBuilder extends BaseFilterQueryBuilder {
       baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
+    // Seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    baseQuery += buildSeekCondition("pr.reviewId", pageable, seekParameters);
+
     baseQuery += "ORDER BY pr.reviewId DESC";
 
     String countQuery =
@@ -146,7 +134,7 @@ public class ProductReviewFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(ProductReview.class, countQuery, countTypedQuery, pageable);
 
     TypedQuery<ProductReview> mainQuery = entityManager.createQuery(baseQuery, ProductReview.class);
     mainQuery.setParameter("clientId", clientId);
@@ -160,11 +148,12 @@ public class ProductReviewFilterQueryBuilder extends BaseFilterQueryBuilder {
       mainQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
+    seekParameters.forEach(mainQuery::setParameter);
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<ProductReview> reviews = mainQuery.getResultList();
 
-    return new PageImpl<>(reviews, pageable, totalCount);
+    return toPage(reviews, pageable, totalCount);
   }
 }
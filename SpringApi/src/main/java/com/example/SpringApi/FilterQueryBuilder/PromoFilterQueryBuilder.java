@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -27,7 +27,8 @@ public class PromoFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public PromoFilterQueryBuilder(EntityManager entityManager) {
+  public PromoFilterQueryBuilder(EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -80,24 +81,6 @@ public class PromoFilterQueryBuilder extends BaseFilterQueryBuilder {
     return Arrays.asList("promoId", CLIENT_ID, "discountValue");
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -140,6 +123,10 @@ public class PromoFilterQueryBuilder extends BaseFilterQueryBuilder {
       baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
+    // Seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    baseQuery += buildSeekCondition("p.promoId", pageable, seekParameters);
+
     // Add ordering
     baseQuery += "ORDER BY p.promoId DESC";
 
@@ -172,7 +159,7 @@ public class PromoFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(Promo.class, countQuery, countTypedQuery, pageable);
 
     // Execute main query with pagination
     TypedQuery<Promo> mainQuery = entityManager.createQuery(baseQuery, Promo.class);
@@ -188,11 +175,12 @@ public class PromoFilterQueryBuilder extends BaseFilterQueryBuilder {
     }
 
     // Apply pagination
+    seekParameters.forEach(mainQuery::setParameter);
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<Promo> promos = mainQuery.getResultList();
 
-    return new PageImpl<>(promos, pageable, totalCount);
+    return toPage(promos, pageable, totalCount);
   }
 }
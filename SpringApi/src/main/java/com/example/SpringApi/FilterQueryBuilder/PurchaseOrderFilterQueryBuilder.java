@@ -12,7 +12,6 @@ import jakarta.persistence.TypedQuery;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -37,7 +36,9 @@ public class PurchaseOrderFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public PurchaseOrderFilterQueryBuilder(EntityManager entityManager) {
+  public PurchaseOrderFilterQueryBuilder(
+      EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -109,24 +110,6 @@ public class PurchaseOrderFilterQueryBuilder extends BaseFilterQueryBuilder {
     return Arrays.asList("purchaseOrderId", CLIENT_ID, "approvedByUserId", "rejectedByUserId");
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -195,6 +178,10 @@ public class PurchaseOrderFilterQueryBuilder extends BaseFilterQueryBuilder {
       baseQuery += FILTER_GROUP_PREFIX + filterResult.getWhereClause() + ") ";
     }
 
+    // Seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    baseQuery += buildSeekCondition("po.purchaseOrderId", pageable, seekParameters);
+
     // Add ordering
     baseQuery += "ORDER BY po.purchaseOrderId DESC";
 
@@ -247,7 +234,7 @@ public class PurchaseOrderFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(PurchaseOrder.class, countQuery, countTypedQuery, pageable);
 
     // Execute main query with pagination
     TypedQuery<PurchaseOrder> mainQuery = entityManager.createQuery(baseQuery, PurchaseOrder.class);
@@ -267,17 +254,21 @@ public class PurchaseOrderFilterQueryBuilder extends BaseFilterQueryBuilder {
     }
 
     // Apply pagination
+    seekParameters.forEach(mainQuery::setParameter);
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<PurchaseOrder> purchaseOrders = mainQuery.getResultList();
 
-    return new PageImpl<>(purchaseOrders, pageable, totalCount);
+    return toPage(purchaseOrders, pageable, totalCount);
   }
 
   /**
-   * Finds paginated purchase orders with ALL related data in a single query. Returns Page of
-   * PurchaseOrderWithDetails - extract and build response model from each.
+   * Finds paginated purchase orders with ALL related data. Returns Page of PurchaseOrderWithDetails
+   * - extract and build response model from each.
+   *
+   * <p>Pages over purchase order IDs first, then fetches just those orders with their shipments, so
+   * the collection fetch joins never make Hibernate paginate the whole tenant in memory.
    *
    * @param clientId The client ID to filter purchase orders by
    * @param selectedIds List of specific purchase order IDs to include (null for all)
@@ -299,33 +290,13 @@ public class PurchaseOrderFilterQueryBuilder extends BaseFilterQueryBuilder {
 
     QueryResult filterResult = buildFilterConditions(filters, logicOperator);
 
-    // Single query: fetch PO with orderSummary, shipments, shipmentProducts, pickupLocation
-    // (Hibernate allows one collection fetch path - shipmentPackages fetched in 2nd query to avoid
-    // MultipleBagFetchException)
-    String baseQuery =
-        "SELECT DISTINCT po FROM PurchaseOrder po "
-            + "LEFT JOIN FETCH po.createdByUser "
-            + "LEFT JOIN FETCH po.modifiedByUser "
-            + "LEFT JOIN FETCH po.assignedLead "
-            + "LEFT JOIN FETCH po.approvedByUser "
-            + "LEFT JOIN FETCH po.rejectedByUser "
-            + "LEFT JOIN FETCH po.orderSummary os "
-            + "LEFT JOIN FETCH os.entityAddress "
-            + "LEFT JOIN FETCH os.promo "
-            + "LEFT JOIN FETCH os.shipments s "
-            + "LEFT JOIN FETCH s.pickupLocation pl "
-            + "LEFT JOIN FETCH pl.address "
-            + "LEFT JOIN FETCH s.shipmentProducts sp "
-            + "LEFT JOIN FETCH sp.product "
-            + "WHERE po.clientId = "
-            + CLIENT_ID_PARAM
-            + " ";
-
+    // Shared FROM/WHERE for the count and ID queries - no fetch joins, so the database pages
+    String fromWhere = "FROM PurchaseOrder po WHERE po.clientId = " + CLIENT_ID_PARAM + " ";
     if (selectedIds != null && !selectedIds.isEmpty()) {
-      baseQuery += SELECTED_IDS_CLAUSE;
+      fromWhere += SELECTED_IDS_CLAUSE;
     }
     if (selectedProductIds != null && !selectedProductIds.isEmpty()) {
-      baseQuery +=
+      fromWhere +=
           "AND EXISTS (SELECT 1 FROM OrderSummary os2, Shipment s2, ShipmentProduct sp2 "
               + "WHERE os2.entityType = 'PURCHASE_ORDER' AND os2.entityId = po.purchaseOrderId "
               + "AND s2.orderSummaryId = os2.orderSummaryId AND sp2.shipmentId = s2.shipmentId "
@@ -334,66 +305,67 @@ public class PurchaseOrderFilterQueryBuilder extends BaseFilterQueryBuilder {
               + ") ";
     }
     if (!includeDeleted) {
-      baseQuery += NOT_DELETED_CLAUSE;
+      fromWhere += NOT_DELETED_CLAUSE;
     }
     if (filterResult.hasConditions()) {
-      baseQuery += FILTER_GROUP_PREFIX + filterResult.getWhereClause() + ") ";
+      fromWhere += FILTER_GROUP_PREFIX + filterResult.getWhereClause() + ") ";
     }
-    baseQuery += "ORDER BY po.purchaseOrderId DESC, s.shipmentId";
 
-    String countQuery =
-        "SELECT COUNT(DISTINCT po) FROM PurchaseOrder po WHERE po.clientId = "
-            + CLIENT_ID_PARAM
-            + " ";
-    if (selectedIds != null && !selectedIds.isEmpty()) {
-      countQuery += SELECTED_IDS_CLAUSE;
-    }
-    if (selectedProductIds != null && !selectedProductIds.isEmpty()) {
-      countQuery +=
-          "AND EXISTS (SELECT 1 FROM OrderSummary os2, Shipment s2, ShipmentProduct sp2 "
-              + "WHERE os2.entityType = 'PURCHASE_ORDER' AND os2.entityId = po.purchaseOrderId "
-              + "AND s2.orderSummaryId = os2.orderSummaryId AND sp2.shipmentId = s2.shipmentId "
-              + "AND sp2.productId IN :"
-              + SELECTED_PRODUCT_IDS
-              + ") ";
-    }
-    if (!includeDeleted) {
-      countQuery += NOT_DELETED_CLAUSE;
-    }
-    if (filterResult.hasConditions()) {
-      countQuery += FILTER_GROUP_PREFIX + filterResult.getWhereClause() + ") ";
-    }
+    String countQuery = "SELECT COUNT(DISTINCT po) " + fromWhere;
+
+    // Phase 1: page of PO IDs - seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    String idQuery =
+        "SELECT po.purchaseOrderId "
+            + fromWhere
+            + buildSeekCondition("po.purchaseOrderId", pageable, seekParameters)
+            + "ORDER BY po.purchaseOrderId DESC";
 
     TypedQuery<Long> countTypedQuery = entityManager.createQuery(countQuery, Long.class);
-    countTypedQuery.setParameter(CLIENT_ID, clientId);
-    if (selectedIds != null && !selectedIds.isEmpty()) {
-      countTypedQuery.setParameter(SELECTED_IDS, selectedIds);
-    }
-    if (selectedProductIds != null && !selectedProductIds.isEmpty()) {
-      countTypedQuery.setParameter(SELECTED_PRODUCT_IDS, selectedProductIds);
-    }
-    for (Map.Entry<String, Object> entry : filterResult.getParameters().entrySet()) {
-      countTypedQuery.setParameter(entry.getKey(), entry.getValue());
-    }
-    Long totalCount = countTypedQuery.getSingleResult();
+    bindParameters(countTypedQuery, clientId, selectedIds, selectedProductIds, filterResult);
+    long totalCount = countTotal(PurchaseOrder.class, countQuery, countTypedQuery, pageable);
 
-    TypedQuery<PurchaseOrder> mainQuery = entityManager.createQuery(baseQuery, PurchaseOrder.class);
-    mainQuery.setParameter(CLIENT_ID, clientId);
-    if (selectedIds != null && !selectedIds.isEmpty()) {
-      mainQuery.setParameter(SELECTED_IDS, selectedIds);
-    }
-    if (selectedProductIds != null && !selectedProductIds.isEmpty()) {
-      mainQuery.setParameter(SELECTED_PRODUCT_IDS, selectedProductIds);
-    }
-    for (Map.Entry<String, Object> entry : filterResult.getParameters().entrySet()) {
-      mainQuery.setParameter(entry.getKey(), entry.getValue());
+    TypedQuery<Long> idTypedQuery = entityManager.createQuery(idQuery, Long.class);
+    bindParameters(idTypedQuery, clientId, selectedIds, selectedProductIds, filterResult);
+    seekParameters.forEach(idTypedQuery::setParameter);
+    idTypedQuery.setFirstResult((int) pageable.getOffset());
+    idTypedQuery.setMaxResults(fetchSize(pageable));
+    List<Long> fetchedIds = idTypedQuery.getResultList();
+    boolean lookAheadFound = fetchedIds.size() > pageable.getPageSize();
+    List<Long> purchaseOrderIds = trimToPage(fetchedIds, pageable);
+
+    if (purchaseOrderIds.isEmpty()) {
+      return toPage(List.of(), pageable, totalCount, false);
     }
-    mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
 
-    List<PurchaseOrder> purchaseOrders = mainQuery.getResultList();
-    // Deduplicate (Cartesian product from multiple collection fetches)
-    List<PurchaseOrder> distinct = purchaseOrders.stream().distinct().toList();
+    // Phase 2: fetch PO with orderSummary, shipments, shipmentProducts, pickupLocation for the page
+    // (Hibernate allows one collection fetch path - shipmentPackages fetched in 2nd query to avoid
+    // MultipleBagFetchException)
+    String fetchQuery =
+        "SELECT DISTINCT po FROM PurchaseOrder po "
+            + "LEFT JOIN FETCH po.createdByUser "
+            + "LEFT JOIN FETCH po.modifiedByUser "
+            + "LEFT JOIN FETCH po.assignedLead "
+            + "LEFT JOIN FETCH po.approvedByUser "
+            + "LEFT JOIN FETCH po.rejectedByUser "
+            + "LEFT JOIN FETCH po.orderSummary os "
+            + "LEFT JOIN FETCH os.entityAddress "
+            + "LEFT JOIN FETCH os.promo "
+            + "LEFT JOIN FETCH os.shipments s "
+            + "LEFT JOIN FETCH s.pickupLocation pl "
+            + "LEFT JOIN FETCH pl.address "
+            + "LEFT JOIN FETCH s.shipmentProducts sp "
+            + "LEFT JOIN FETCH sp.product "
+            + "WHERE po.purchaseOrderId IN :purchaseOrderIds "
+            + "ORDER BY s.shipmentId";
+
+    List<PurchaseOrder> fetched =
+        entityManager
+            .createQuery(fetchQuery, PurchaseOrder.class)
+            .setParameter("purchaseOrderIds", purchaseOrderIds)
+            .getResultList();
+    List<PurchaseOrder> distinct =
+        orderByIds(purchaseOrderIds, fetched, PurchaseOrder::getPurchaseOrderId);
 
     // Batch fetch shipmentPackages + packageProducts (avoids MultipleBagFetchException, 1 query)
     List<Long> shipmentIds =
@@ -473,6 +445,24 @@ public class PurchaseOrderFilterQueryBuilder extends BaseFilterQueryBuilder {
       result.add(new PurchaseOrderWithDetails(po, os, attachments, payments));
     }
 
-    return new PageImpl<>(result, pageable, totalCount);
+    return toPage(result, pageable, totalCount, lookAheadFound);
+  }
+
+  private void bindParameters(
+      TypedQuery<Long> query,
+      Long clientId,
+      List<Long> selectedIds,
+      List<Long> selectedProductIds,
+      QueryResult filterResult) {
+    query.setParameter(CLIENT_ID, clientId);
+    if (selectedIds != null && !selectedIds.isEmpty()) {
+      query.setParameter(SELECTED_IDS, selectedIds);
+    }
+    if (selectedProductIds != null && !selectedProductIds.isEmpty()) {
+      query.setParameter(SELECTED_PRODUCT_IDS, selectedProductIds);
+    }
+    for (Map.Entry<String, Object> entry : filterResult.getParameters().entrySet()) {
+      query.setParameter(entry.getKey(), entry.getValue());
+    }
   }
 }
@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -31,7 +31,8 @@ public class ShipmentFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public ShipmentFilterQueryBuilder(EntityManager entityManager) {
+  public ShipmentFilterQueryBuilder(EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -129,18 +130,13 @@ public class ShipmentFilterQueryBuilder extends BaseFilterQueryBuilder {
    * @param column The column name
    * @return "string", "number", "decimal", "date", or "boolean"
    */
+  @Override
   public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else if (getDecimalColumns().contains(column)) {
+    String columnType = super.getColumnType(column);
+    if ("string".equals(columnType) && getDecimalColumns().contains(column)) {
       return "number"; // Return as number for validation purposes
-    } else {
-      return "string";
     }
+    return columnType;
   }
 
   // ==================== Query Execution Method ====================
@@ -149,6 +145,9 @@ public class ShipmentFilterQueryBuilder extends BaseFilterQueryBuilder {
    * Finds paginated shipments with multiple filter conditions combined with AND/OR logic. Builds
    * the WHERE clause dynamically and executes the query.
    *
+   * <p>The filtered query only selects shipment IDs for the page; the shipments are then loaded by
+   * ID together with the order summary, pickup location and products the grid renders.
+   *
    * @param clientId The client ID to filter shipments by
    * @param selectedIds List of specific shipment IDs to include (null for all)
    * @param logicOperator "AND" or "OR" to combine filter conditions
@@ -163,9 +162,9 @@ public class ShipmentFilterQueryBuilder extends BaseFilterQueryBuilder {
       List<FilterCondition> filters,
       Pageable pageable) {
 
-    // Base query - Only return shipments with ShipRocket order ID assigned
-    String baseQuery =
-        "SELECT s FROM Shipment s "
+    // Shared FROM/WHERE - Only return shipments with ShipRocket order ID assigned
+    String fromWhere =
+        "FROM Shipment s "
             + "WHERE s.clientId = "
             + CLIENT_ID_PARAM
             + " "
@@ -174,70 +173,81 @@ public class ShipmentFilterQueryBuilder extends BaseFilterQueryBuilder {
 
     // Add selectedIds condition
     if (selectedIds != null && !selectedIds.isEmpty()) {
-      baseQuery += "AND s.shipmentId IN :selectedIds ";
+      fromWhere += "AND s.shipmentId IN :selectedIds ";
     }
 
     // Build dynamic filter conditions using the query builder
     QueryResult filterResult = buildFilterConditions(filters, logicOperator);
 
     if (filterResult.hasConditions()) {
-      baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
+      fromWhere += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
-    // Add ordering - default sort by createdAt descending
-    baseQuery += "ORDER BY s.createdAt DESC";
-
-    // Count query - Only count shipments with ShipRocket order ID assigned
-    String countQuery =
-        "SELECT COUNT(s) FROM Shipment s "
-            + "WHERE s.clientId = "
-            + CLIENT_ID_PARAM
-            + " "
-            + "AND s.shipRocketOrderId IS NOT NULL "
-            + "AND s.shipRocketOrderId != '' ";
+    // Count query
+    String countQuery = "SELECT COUNT(s) " + fromWhere;
 
-    if (selectedIds != null && !selectedIds.isEmpty()) {
-      countQuery += "AND s.shipmentId IN :selectedIds ";
-    }
-
-    if (filterResult.hasConditions()) {
-      countQuery += "AND (" + filterResult.getWhereClause() + ") ";
-    }
+    // Page of IDs - seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    String idQuery =
+        "SELECT s.shipmentId "
+            + fromWhere
+            + buildSeekCondition("s.createdAt", "s.shipmentId", pageable, seekParameters)
+            // Default sort by createdAt descending, shipmentId breaks ties
+            + "ORDER BY s.createdAt DESC, s.shipmentId DESC";
 
     // Execute count query
     TypedQuery<Long> countTypedQuery = entityManager.createQuery(countQuery, Long.class);
-    countTypedQuery.setParameter(CLIENT_ID, clientId);
-
-    if (selectedIds != null && !selectedIds.isEmpty()) {
-      countTypedQuery.setParameter("selectedIds", selectedIds);
+    bindParameters(countTypedQuery, clientId, selectedIds, filterResult);
+    long totalCount = countTotal(Shipment.class, countQuery, countTypedQuery, pageable);
+
+    // Execute ID query with pagination
+    TypedQuery<Long> idTypedQuery = entityManager.createQuery(idQuery, Long.class);
+    bindParameters(idTypedQuery, clientId, selectedIds, filterResult);
+    seekParameters.forEach(idTypedQuery::setParameter);
+    idTypedQuery.setFirstResult((int) pageable.getOffset());
+    idTypedQuery.setMaxResults(fetchSize(pageable));
+    List<Long> fetchedIds = idTypedQuery.getResultList();
+    boolean lookAheadFound = fetchedIds.size() > pageable.getPageSize();
+    List<Long> shipmentIds = trimToPage(fetchedIds, pageable);
+
+    if (shipmentIds.isEmpty()) {
+      return toPage(List.of(), pageable, totalCount, false);
     }
 
-    // Set filter parameters
-    for (Map.Entry<String, Object> entry : filterResult.getParameters().entrySet()) {
-      countTypedQuery.setParameter(entry.getKey(), entry.getValue());
-    }
-
-    Long totalCount = countTypedQuery.getSingleResult();
+    // Fetch the page's shipments with the associations the grid renders (one collection fetch)
+    List<Shipment> shipments =
+        entityManager
+            .createQuery(
+                "SELECT DISTINCT s FROM Shipment s "
+                    + "LEFT JOIN FETCH s.orderSummary os "
+                    + "LEFT JOIN FETCH os.entityAddress "
+                    + "LEFT JOIN FETCH s.pickupLocation pl "
+                    + "LEFT JOIN FETCH pl.address "
+                    + "LEFT JOIN FETCH s.shipmentProducts sp "
+                    + "LEFT JOIN FETCH sp.product "
+                    + "WHERE s.shipmentId IN :shipmentIds",
+                Shipment.class)
+            .setParameter("shipmentIds", shipmentIds)
+            .getResultList();
+
+    return toPage(
+        orderByIds(shipmentIds, shipments, Shipment::getShipmentId),
+        pageable,
+        totalCount,
+        lookAheadFound);
+  }
 
-    // Execute main query with pagination
-    TypedQuery<Shipment> mainQuery = entityManager.createQuery(baseQuery, Shipment.class);
-    mainQuery.setParameter(CLIENT_ID, clientId);
+  private void bindParameters(
+      TypedQuery<Long> query, Long clientId, List<Long> selectedIds, QueryResult filterResult) {
+    query.setParameter(CLIENT_ID, clientId);
 
     if (selectedIds != null && !selectedIds.isEmpty()) {
-      mainQuery.setParameter("selectedIds", selectedIds);
+      query.setParameter("selectedIds", selectedIds);
     }
 
     // Set filter parameters
     for (Map.Entry<String, Object> entry : filterResult.getParameters().entrySet()) {
-      mainQuery.setParameter(entry.getKey(), entry.getValue());
+      query.setParameter(entry.getKey(), entry.getValue());
     }
-
-    // Apply pagination
-    mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
-
-    List<Shipment> shipments = mainQuery.getResultList();
-
-    return new PageImpl<>(shipments, pageable, totalCount);
   }
 }
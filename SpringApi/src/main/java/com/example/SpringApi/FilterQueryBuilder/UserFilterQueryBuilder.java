@@ -8,7 +8,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -28,7 +27,8 @@ public class UserFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public UserFilterQueryBuilder(EntityManager entityManager) {
+  public UserFilterQueryBuilder(EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -109,24 +109,6 @@ public class UserFilterQueryBuilder extends BaseFilterQueryBuilder {
     return Arrays.asList("userId", "loginAttempts", "addressId");
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -212,7 +194,7 @@ public class UserFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(User.class, countQuery, countTypedQuery, pageable);
 
     // Execute main query with pagination
     TypedQuery<User> mainQuery = entityManager.createQuery(baseQuery, User.class);
@@ -229,10 +211,10 @@ public class UserFilterQueryBuilder extends BaseFilterQueryBuilder {
 
     // Apply pagination
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<User> users = mainQuery.getResultList();
 
-    return new PageImpl<>(users, pageable, totalCount);
+    return toPage(users, pageable, totalCount);
   }
 }
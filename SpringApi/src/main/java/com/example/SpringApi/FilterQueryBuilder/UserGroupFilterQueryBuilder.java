@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -27,7 +27,8 @@ public class UserGroupFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public UserGroupFilterQueryBuilder(EntityManager entityManager) {
+  public UserGroupFilterQueryBuilder(EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -81,24 +82,6 @@ public class UserGroupFilterQueryBuilder extends BaseFilterQueryBuilder {
     return Arrays.asList("groupId", CLIENT_ID, "userCount", "memberCount", "members");
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -147,6 +130,10 @@ public class UserGroupFilterQueryBuilder extends BaseFilterQueryBuilder {
       baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
+    // Seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    baseQuery += buildSeekCondition("ug.groupId", pageable, seekParameters);
+
     // Add ordering
     baseQuery += "ORDER BY ug.groupId DESC";
 
@@ -182,7 +169,7 @@ public class UserGroupFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(UserGroup.class, countQuery, countTypedQuery, pageable);
 
     // Execute main query with pagination
     TypedQuery<UserGroup> mainQuery = entityManager.createQuery(baseQuery, UserGroup.class);
@@ -198,11 +185,12 @@ public class UserGroupFilterQueryBuilder extends BaseFilterQueryBuilder {
     }
 
     // Apply pagination
+    seekParameters.forEach(mainQuery::setParameter);
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<UserGroup> userGroups = mainQuery.getResultList();
 
-    return new PageImpl<>(userGroups, pageable, totalCount);
+    return toPage(userGroups, pageable, totalCount);
   }
 }
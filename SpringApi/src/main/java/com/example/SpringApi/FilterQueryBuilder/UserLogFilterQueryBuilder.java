@@ -5,10 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.Fil
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
@@ -29,7 +29,8 @@ public class UserLogFilterQueryBuilder extends BaseFilterQueryBuilder {
   private final EntityManager entityManager;
 
   // Constructor for Spring dependency injection
-  public UserLogFilterQueryBuilder(EntityManager entityManager) {
+  public UserLogFilterQueryBuilder(EntityManager entityManager, GridCountCache gridCountCache) {
+    super(gridCountCache);
     this.entityManager = entityManager;
   }
 
@@ -94,24 +95,6 @@ public class UserLogFilterQueryBuilder extends BaseFilterQueryBuilder {
     return Arrays.asList("logId", USER_ID, CLIENT_ID, "auditUserId");
   }
 
-  /**
-   * Gets the column type for validation purposes
-   *
-   * @param column The column name
-   * @return "string", "number", "date", or "boolean"
-   */
-  public String getColumnType(String column) {
-    if (getDateColumns().contains(column)) {
-      return "date";
-    } else if (getBooleanColumns().contains(column)) {
-      return "boolean";
-    } else if (getNumberColumns().contains(column)) {
-      return "number";
-    } else {
-      return "string";
-    }
-  }
-
   // ==================== Query Execution Method ====================
 
   /**
@@ -149,6 +132,10 @@ public class UserLogFilterQueryBuilder extends BaseFilterQueryBuilder {
       baseQuery += "AND (" + filterResult.getWhereClause() + ") ";
     }
 
+    // Seek past the cursor instead of skipping rows when one is supplied
+    Map<String, Object> seekParameters = new HashMap<>();
+    baseQuery += buildSeekCondition("ul.logId", pageable, seekParameters);
+
     // Add ordering
     baseQuery += "ORDER BY ul.logId DESC";
 
@@ -176,7 +163,7 @@ public class UserLogFilterQueryBuilder extends BaseFilterQueryBuilder {
       countTypedQuery.setParameter(entry.getKey(), entry.getValue());
     }
 
-    Long totalCount = countTypedQuery.getSingleResult();
+    long totalCount = countTotal(UserLog.class, countQuery, countTypedQuery, pageable);
 
     // Execute main query with pagination
     TypedQuery<UserLog> mainQuery = entityManager.createQuery(baseQuery, UserLog.class);
@@ -189,11 +176,12 @@ public class UserLogFilterQueryBuilder extends BaseFilterQueryBuilder {
     }
 
     // Apply pagination
+    seekParameters.forEach(mainQuery::setParameter);
     mainQuery.setFirstResult((int) pageable.getOffset());
-    mainQuery.setMaxResults(pageable.getPageSize());
+    mainQuery.setMaxResults(fetchSize(pageable));
 
     List<UserLog> userLogs = mainQuery.getResultList();
 
-    return new PageImpl<>(userLogs, pageable, totalCount);
+    return toPage(userLogs, pageable, totalCount);
   }
 }
@@ -0,0 +1,188 @@
+package com.example.SpringApi.Helpers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persists bulk import rows in chunked transactions while still reporting a result per row.
+ *
+ * <p>Every row is validated before anything is written, so a bad row fails without costing a
+ * database round trip. Valid rows are then written {@code chunkSize} at a time, one transaction
+ * (one commit) per chunk, which lets Hibernate batch statements within the chunk. If any row in a
+ * chunk fails, the chunk is rolled back and its rows are retried one transaction each, so only the
+ * offending rows are reported as failed. Validators should therefore reject every row they can
+ * (duplicates, business rules), leaving the writer only genuine write failures.
+ *
+ * <p>A retried chunk runs its writer twice, which only the database undoes, so writers must not
+ * have side effects outside the database. Work such as image uploads goes in an {@link Upload}:
+ * it runs once per valid row, outside any transaction, before the rows are written, and its
+ * result is handed to the writer. Uploads of rows that are not written in the end are discarded.
+ */
+@Component
+public class BulkInsertPipeline {
+  public static final int DEFAULT_CHUNK_SIZE = 200;
+
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+
+  /** Outcome of one input row: the generated ID on success, otherwise the error. */
+  public record RowOutcome<R>(R row, Long id, Exception error) {
+    public boolean succeeded() {
+      return error == null;
+    }
+  }
+
+  /**
+   * Work a row needs outside the database, such as storing its images.
+   *
+   * @param <R> The row type
+   * @param <U> What the upload produces for the writer, e.g. the stored URLs
+   */
+  public interface Upload<R, U> {
+    /** Runs once for a valid row, outside any transaction; throwing fails the row. */
+    U upload(R row);
+
+    /** Undoes the upload of a row that was not written; must not throw. */
+    void discard(U uploaded);
+  }
+
+  @Autowired
+  public BulkInsertPipeline(
+      PlatformTransactionManager transactionManager,
+      @Value("${bulk.insert.chunk-size:" + DEFAULT_CHUNK_SIZE + "}") int chunkSize) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    // Each chunk commits on its own, even when the caller already has a transaction
+    this.transactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.chunkSize = Math.max(chunkSize, 1);
+  }
+
+  /**
+   * Validates all rows, then writes the valid ones in chunks.
+   *
+   * @param rows The rows to insert
+   * @param validator Throws if a row is invalid; must not write to the database
+   * @param writer Persists one row and returns its generated ID
+   * @return One outcome per input row, in input order
+   */
+  public <R> List<RowOutcome<R>> insert(
+      List<R> rows, Consumer<R> validator, Function<R, Long> writer) {
+    return insert(
+        rows,
+        validator,
+        new Upload<R, Void>() {
+          @Override
+          public Void upload(R row) {
+            return null;
+          }
+
+          @Override
+          public void discard(Void uploaded) {}
+        },
+        (row, uploaded) -> writer.apply(row));
+  }
+
+  /**
+   * Validates all rows, uploads what each valid row needs outside any transaction, then writes the
+   * rows in chunks. A chunk that is retried row by row reuses the uploads instead of repeating
+   * them; the uploads of rows that still fail are discarded.
+   *
+   * @param rows The rows to insert
+   * @param validator Throws if a row is invalid; must not write to the database
+   * @param upload Stores what a row needs outside the database
+   * @param writer Persists one row with its upload and returns its generated ID; must not have
+   *     side effects outside the database
+   * @return One outcome per input row, in input order
+   */
+  public <R, U> List<RowOutcome<R>> insert(
+      List<R> rows, Consumer<R> validator, Upload<R, U> upload, BiFunction<R, U, Long> writer) {
+    Long[] ids = new Long[rows.size()];
+    Exception[] errors = new Exception[rows.size()];
+
+    // Phase 1: validate the whole batch before writing anything
+    List<Integer> validRows = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      try {
+        validator.accept(rows.get(i));
+        validRows.add(i);
+      } catch (Exception e) {
+        errors[i] = e;
+      }
+    }
+
+    // Phase 2: upload outside any transaction, so a retried chunk never uploads again
+    List<U> uploads = new ArrayList<>(Collections.nCopies(rows.size(), null));
+    List<Integer> uploadedRows = new ArrayList<>();
+    for (int index : validRows) {
+      try {
+        uploads.set(index, upload.upload(rows.get(index)));
+        uploadedRows.add(index);
+      } catch (Exception e) {
+        errors[index] = e;
+      }
+    }
+    Function<Integer, Long> write = index -> writer.apply(rows.get(index), uploads.get(index));
+
+    // Phase 3: write the rows, one transaction per chunk
+    for (int start = 0; start < uploadedRows.size(); start += chunkSize) {
+      List<Integer> chunk =
+          uploadedRows.subList(start, Math.min(start + chunkSize, uploadedRows.size()));
+      if (chunk.size() == 1) {
+        for (int index : chunk) {
+          writeRow(index, write, ids, errors);
+        }
+        continue;
+      }
+      try {
+        Long[] chunkIds =
+            transactionTemplate.execute(
+                status -> {
+                  Long[] written = new Long[chunk.size()];
+                  for (int j = 0; j < chunk.size(); j++) {
+                    written[j] = write.apply(chunk.get(j));
+                  }
+                  return written;
+                });
+        for (int j = 0; j < chunk.size(); j++) {
+          ids[chunk.get(j)] = chunkIds[j];
+        }
+      } catch (Exception chunkFailure) {
+        // The chunk rolled back; retry its rows individually to isolate the failures
+        for (int index : chunk) {
+          writeRow(index, write, ids, errors);
+        }
+      }
+    }
+
+    // Phase 4: nothing references the uploads of rows that were not written
+    for (int index : uploadedRows) {
+      if (errors[index] != null) {
+        upload.discard(uploads.get(index));
+      }
+    }
+
+    List<RowOutcome<R>> outcomes = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      outcomes.add(new RowOutcome<>(rows.get(i), ids[i], errors[i]));
+    }
+    return outcomes;
+  }
+
+  private void writeRow(int index, Function<Integer, Long> write, Long[] ids, Exception[] errors) {
+    try {
+      ids[index] = transactionTemplate.execute(status -> write.apply(index));
+    } catch (Exception e) {
+      errors[index] = e;
+    }
+  }
+}
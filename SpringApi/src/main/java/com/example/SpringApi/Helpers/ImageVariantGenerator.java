@@ -0,0 +1,153 @@
+package com.example.SpringApi.Helpers;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Produces size-bounded JPEG copies of a product image using the JDK's ImageIO codecs.
+ *
+ * <p>The image is decoded once. Pixels are subsampled while reading, so an image larger than
+ * {@link #FULL_MAX_SIDE} never sits in memory at full resolution. Every variant is scaled from that
+ * single decode, halving step by step for quality. A variant is omitted when the original already
+ * fits its bound, because the original serves it as it is. Formats ImageIO cannot read, such as
+ * WebP, produce no variants.
+ */
+public class ImageVariantGenerator {
+  public static final String THUMB = "thumb";
+  public static final String MEDIUM = "medium";
+  public static final String FULL = "full";
+
+  static final int THUMB_MAX_SIDE = 240;
+  static final int MEDIUM_MAX_SIDE = 800;
+  static final int FULL_MAX_SIDE = 2048;
+  private static final float JPEG_QUALITY = 0.82f;
+
+  /** A resized copy of an image, encoded as JPEG. */
+  public record Variant(String name, byte[] bytes) {}
+
+  /**
+   * Resizes an image to each bound it exceeds.
+   *
+   * @param image The original image bytes
+   * @return The variants (full, medium, thumb) the original is too large for; empty if it cannot be
+   *     decoded
+   */
+  public List<Variant> generate(byte[] image) {
+    List<Variant> variants = new ArrayList<>();
+    try {
+      Decoded decoded = decodeWithin(image, FULL_MAX_SIDE);
+      if (decoded == null) {
+        return variants;
+      }
+      BufferedImage current = decoded.image();
+      if (decoded.subsampled()) {
+        variants.add(new Variant(FULL, encodeJpeg(current)));
+      }
+      if (longestSide(current) > MEDIUM_MAX_SIDE) {
+        current = scaleTo(current, MEDIUM_MAX_SIDE);
+        variants.add(new Variant(MEDIUM, encodeJpeg(current)));
+      }
+      if (longestSide(current) > THUMB_MAX_SIDE) {
+        current = scaleTo(current, THUMB_MAX_SIDE);
+        variants.add(new Variant(THUMB, encodeJpeg(current)));
+      }
+      return variants;
+    } catch (IOException | RuntimeException e) {
+      // Corrupt or unsupported image - the original is stored without variants
+      return new ArrayList<>();
+    }
+  }
+
+  private record Decoded(BufferedImage image, boolean subsampled) {}
+
+  /** Decodes the first frame, skipping pixels so its longest side is at most {@code maxSide}. */
+  private static Decoded decodeWithin(byte[] image, int maxSide) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+        int step = (longest + maxSide - 1) / maxSide;
+        ImageReadParam param = reader.getDefaultReadParam();
+        if (step > 1) {
+          param.setSourceSubsampling(step, step, 0, 0);
+        }
+        return new Decoded(reader.read(0, param), step > 1);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  private static int longestSide(BufferedImage image) {
+    return Math.max(image.getWidth(), image.getHeight());
+  }
+
+  private static BufferedImage scaleTo(BufferedImage image, int maxSide) {
+    double ratio = (double) maxSide / longestSide(image);
+    int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+    int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+    BufferedImage current = image;
+    // Halve first so bilinear filtering never skips pixels
+    while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+      current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+    }
+    return resize(current, targetWidth, targetHeight);
+  }
+
+  private static BufferedImage resize(BufferedImage image, int width, int height) {
+    // RGB on white, since JPEG has no alpha channel
+    BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = resized.createGraphics();
+    try {
+      graphics.setRenderingHint(
+          RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.setColor(Color.WHITE);
+      graphics.fillRect(0, 0, width, height);
+      graphics.drawImage(image, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    return resized;
+  }
+
+  private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+    BufferedImage rgb =
+        image.getType() == BufferedImage.TYPE_INT_RGB
+            ? image
+            : resize(image, image.getWidth(), image.getHeight());
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+      writer.setOutput(output);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(JPEG_QUALITY);
+      writer.write(null, new IIOImage(rgb, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -8,9 +8,14 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class ImgbbHelper {
@@ -20,6 +25,10 @@ public class ImgbbHelper {
   private static final String IMGBB_INFO_URL = "https://api.imgbb.com/1/image/";
   private static final String FILE_NAME_TIMESTAMP_PATTERN = "MM_dd_yyyy_hh_mm_ss_a";
   private static final String API_KEY_QUERY_PARAM = "?key=";
+  private static final Duration UPLOAD_TIMEOUT = Duration.ofSeconds(60);
+  // Shared so multipart uploads reuse connections instead of opening one per image
+  private static final HttpClient HTTP_CLIENT =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
 
   /**
    * Constructor to initialize ImgbbHelper with API key.
@@ -59,7 +68,7 @@ public class ImgbbHelper {
    *
    * @param environment The environment name (e.g., "localhost", "production")
    * @param clientName The client name (spaces replaced with underscores)
-   * @param userId The user ID
+   * @param userId The user ID, or null for a user that is not saved yet
    * @return The formatted filename (without extension)
    */
   public static String generateCustomFileNameForUserProfile(
@@ -72,7 +81,12 @@ public class ImgbbHelper {
     String timestamp = dateFormat.format(new Date());
 
     // Construct filename (no extension - ImgBB adds it automatically)
-    return environment + "-" + sanitizedClientName + userId + "_" + timestamp + "-UserProfile";
+    return environment
+        + "-"
+        + sanitizedClientName
+        + (userId != null ? userId + "_" : "")
+        + timestamp
+        + "-UserProfile";
   }
 
   /**
@@ -83,7 +97,7 @@ public class ImgbbHelper {
    *
    * @param environment The environment name (e.g., "localhost", "production")
    * @param clientName The client name (spaces replaced with underscores)
-   * @param productId The product ID
+   * @param productId The product ID, or null for a product that is not saved yet
    * @param imageName The image name - use constants from {@link
    *     com.example.SpringApi.Constants.ProductImageConstants}
    * @return The formatted filename (without extension)
@@ -98,7 +112,13 @@ public class ImgbbHelper {
     String timestamp = dateFormat.format(new Date());
 
     // Construct filename (no extension - ImgBB adds it automatically)
-    return environment + "-" + sanitizedClientName + productId + "_" + timestamp + "-" + imageName;
+    return environment
+        + "-"
+        + sanitizedClientName
+        + (productId != null ? productId + "_" : "")
+        + timestamp
+        + "-"
+        + imageName;
   }
 
   /**
@@ -109,7 +129,7 @@ public class ImgbbHelper {
    *
    * @param environment The environment name (e.g., "localhost", "production")
    * @param clientName The client name (spaces replaced with underscores)
-   * @param purchaseOrderId The purchase order ID
+   * @param purchaseOrderId The purchase order ID, or null for a purchase order not saved yet
    * @param attachmentName The attachment name (from fileName field, sanitized)
    * @return The formatted filename (without extension)
    */
@@ -133,8 +153,7 @@ public class ImgbbHelper {
     return environment
         + "-"
         + sanitizedClientName
-        + purchaseOrderId
-        + "_"
+        + (purchaseOrderId != null ? purchaseOrderId + "_" : "")
         + timestamp
         + "-"
         + sanitizedAttachmentName;
@@ -229,6 +248,62 @@ public class ImgbbHelper {
     }
   }
 
+  /**
+   * Uploads raw image bytes to ImgBB as multipart/form-data and returns both URL and delete hash.
+   * The bytes are sent as the request body as they are, without a base64 or URL-encoded copy.
+   *
+   * @param image The image bytes.
+   * @param filePath The desired filename/identifier (used as the name parameter in ImgBB).
+   * @return ImgbbUploadResponse containing URL and deleteHash, or null if the upload fails.
+   */
+  public ImgbbUploadResponse uploadImage(byte[] image, String filePath) {
+    if (image == null || image.length == 0) {
+      return null;
+    }
+
+    String boundary = "SpringApiImgbb" + UUID.randomUUID().toString().replace("-", "");
+    StringBuilder head = new StringBuilder();
+    if (filePath != null && !filePath.isEmpty()) {
+      head.append("--")
+          .append(boundary)
+          .append("\r\nContent-Disposition: form-data; name=\"name\"\r\n\r\n")
+          .append(filePath)
+          .append("\r\n");
+    }
+    head.append("--")
+        .append(boundary)
+        .append("\r\nContent-Disposition: form-data; name=\"image\"; filename=\"image\"\r\n")
+        .append("Content-Type: application/octet-stream\r\n\r\n");
+    String tail = "\r\n--" + boundary + "--\r\n";
+
+    HttpRequest request =
+        HttpRequest.newBuilder(
+                java.net.URI.create(IMGBB_UPLOAD_URL + API_KEY_QUERY_PARAM + imgbbApiKey))
+            .timeout(UPLOAD_TIMEOUT)
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(
+                HttpRequest.BodyPublishers.concat(
+                    HttpRequest.BodyPublishers.ofString(head.toString()),
+                    HttpRequest.BodyPublishers.ofByteArray(image),
+                    HttpRequest.BodyPublishers.ofString(tail)))
+            .build();
+
+    try {
+      HttpResponse<String> response =
+          HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+      if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+        return null;
+      }
+      return new ImgbbUploadResponse(
+          extractUrlFromJson(response.body()), extractDeleteHashFromJson(response.body()));
+    } catch (IOException e) {
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
   /**
    * Deletes an image from ImgBB using the delete hash.
    *
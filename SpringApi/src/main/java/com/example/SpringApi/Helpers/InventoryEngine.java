@@ -0,0 +1,373 @@
+package com.example.SpringApi.Helpers;
+
+import com.example.SpringApi.ErrorMessages;
+import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping;
+import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
+import com.example.SpringApi.Models.DatabaseModels.ShipmentPackage;
+import com.example.SpringApi.Models.DatabaseModels.ShipmentProduct;
+import com.example.SpringApi.Models.DatabaseModels.StockReservation;
+import com.example.SpringApi.Repositories.PackagePickupLocationMappingRepository;
+import com.example.SpringApi.Repositories.ProductPickupLocationMappingRepository;
+import com.example.SpringApi.Repositories.StockReservationRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deducts and restores product stock and packages at pickup locations, backed by a reservation
+ * ledger.
+ *
+ * <p>Every deduction is a single guarded update ({@code available >= quantity}), so concurrent
+ * orders can never take more than is available and no read-check-save cycle is needed. Stock for
+ * a purchase order's shipments is reserved when the order is created ({@link #reserve}), which
+ * deducts it at once and records a {@link StockReservation} that expires after {@code
+ * holdMinutes}. Payment approval commits the reservations ({@link #commit}); lines whose hold was
+ * released in the meantime are deducted again at that point, and fail if the stock is gone.
+ * Updating, rejecting or deleting the order releases its holds ({@link #release}), and a sweep
+ * releases holds that expired ({@link #releaseExpired}).
+ *
+ * <p>Methods must run in a transaction, so a failed line rolls back the lines deducted before it.
+ * Every method updates mapping rows in {@link #LOCK_ORDER}, so two orders sharing items lock them
+ * in the same order and cannot deadlock.
+ */
+@Component
+public class InventoryEngine {
+  static final long DEFAULT_HOLD_MINUTES = 60;
+  static final int EXPIRY_BATCH_SIZE = 100;
+
+  /** A product or package quantity a shipment needs at its pickup location. */
+  public record Line(
+      StockReservation.ItemType itemType, Long itemId, Long pickupLocationId, int quantity) {
+
+    public static Line product(Long productId, Long pickupLocationId, int quantity) {
+      return new Line(StockReservation.ItemType.PRODUCT, productId, pickupLocationId, quantity);
+    }
+
+    public static Line packages(Long packageId, Long pickupLocationId, int quantity) {
+      return new Line(StockReservation.ItemType.PACKAGE, packageId, pickupLocationId, quantity);
+    }
+
+    private Line withQuantity(int newQuantity) {
+      return new Line(itemType, itemId, pickupLocationId, newQuantity);
+    }
+  }
+
+  private record ItemKey(String itemType, Long itemId, Long pickupLocationId) {}
+
+  /** A quantity to take from, or put back at, a pickup location. */
+  private record Adjustment(Line line, boolean deduct) {}
+
+  /** Order in which mapping rows are updated (and so locked) within a transaction. */
+  static final Comparator<Line> LOCK_ORDER =
+      Comparator.comparing(Line::itemType)
+          .thenComparing(Line::itemId)
+          .thenComparing(Line::pickupLocationId);
+
+  private final ProductPickupLocationMappingRepository productPickupLocationMappingRepository;
+  private final PackagePickupLocationMappingRepository packagePickupLocationMappingRepository;
+  private final StockReservationRepository stockReservationRepository;
+  private final StockLocationLoader stockLocationLoader;
+  private final long holdMinutes;
+
+  @Autowired
+  public InventoryEngine(
+      ProductPickupLocationMappingRepository productPickupLocationMappingRepository,
+      PackagePickupLocationMappingRepository packagePickupLocationMappingRepository,
+      StockReservationRepository stockReservationRepository,
+      StockLocationLoader stockLocationLoader,
+      @Value("${inventory.reservation.hold-minutes:" + DEFAULT_HOLD_MINUTES + "}")
+          long holdMinutes) {
+    this.productPickupLocationMappingRepository = productPickupLocationMappingRepository;
+    this.packagePickupLocationMappingRepository = packagePickupLocationMappingRepository;
+    this.stockReservationRepository = stockReservationRepository;
+    this.stockLocationLoader = stockLocationLoader;
+    this.holdMinutes = holdMinutes;
+  }
+
+  /**
+   * Builds the lines a shipment needs from its saved products and packages.
+   *
+   * @param pickupLocationId The shipment's pickup location
+   * @param products The shipment's products, by allocated quantity
+   * @param packages The shipment's packages, by quantity used
+   * @return The product lines followed by the package lines
+   */
+  public static List<Line> linesFor(
+      Long pickupLocationId, List<ShipmentProduct> products, List<ShipmentPackage> packages) {
+    List<Line> lines = new ArrayList<>();
+    for (ShipmentProduct product : products) {
+      lines.add(
+          Line.product(product.getProductId(), pickupLocationId, product.getAllocatedQuantity()));
+    }
+    for (ShipmentPackage shipmentPackage : packages) {
+      lines.add(
+          Line.packages(
+              shipmentPackage.getPackageId(), pickupLocationId, shipmentPackage.getQuantityUsed()));
+    }
+    return lines;
+  }
+
+  /**
+   * Holds the shipment's stock and packages until payment, deducting them from the pickup
+   * location now.
+   *
+   * @param shipmentId The shipment the stock is held for
+   * @param lines The quantities the shipment needs
+   * @param userName The user creating the hold
+   * @throws BadRequestException if a line is not available at its pickup location
+   */
+  @Transactional
+  public void reserve(Long shipmentId, List<Line> lines, String userName) {
+    LocalDateTime now = LocalDateTime.now();
+    List<StockReservation> reservations = new ArrayList<>();
+    for (Line line : lines.stream().sorted(LOCK_ORDER).toList()) {
+      if (line.quantity() <= 0) {
+        continue;
+      }
+      deduct(line, userName, now);
+      reservations.add(
+          new StockReservation(
+              shipmentId,
+              line.itemType(),
+              line.itemId(),
+              line.pickupLocationId(),
+              line.quantity(),
+              now.plusMinutes(holdMinutes),
+              userName));
+    }
+    stockReservationRepository.saveAll(reservations);
+    invalidate(lines);
+  }
+
+  /**
+   * Makes the shipment's stock deduction final at payment approval. Open reservations are
+   * committed as they are; any quantity not covered by one (its hold expired, or the order
+   * predates reservations) is deducted now.
+   *
+   * @param shipmentId The shipment being paid for
+   * @param lines The quantities the shipment needs
+   * @param userName The user approving the payment
+   * @throws BadRequestException if an uncovered line is not available at its pickup location
+   */
+  @Transactional
+  public void commit(Long shipmentId, List<Line> lines, String userName) {
+    Map<ItemKey, Integer> reserved = new HashMap<>();
+    List<StockReservation> open =
+        stockReservationRepository.findOpenByShipmentIdsForUpdate(List.of(shipmentId));
+    for (StockReservation reservation : open) {
+      reserved.merge(key(reservation), reservation.getQuantity(), Integer::sum);
+    }
+    close(open, StockReservation.Status.COMMITTED, userName);
+
+    List<Adjustment> adjustments = new ArrayList<>();
+    for (Line line : lines) {
+      int covered = reserved.getOrDefault(key(line), 0);
+      reserved.remove(key(line));
+      if (line.quantity() > covered) {
+        adjustments.add(new Adjustment(line.withQuantity(line.quantity() - covered), true));
+      } else if (line.quantity() < covered) {
+        adjustments.add(new Adjustment(line.withQuantity(covered - line.quantity()), false));
+      }
+    }
+    // Held items the shipment no longer needs go back to the location
+    reserved.forEach(
+        (key, quantity) ->
+            adjustments.add(
+                new Adjustment(
+                    new Line(
+                        StockReservation.ItemType.valueOf(key.itemType()),
+                        key.itemId(),
+                        key.pickupLocationId(),
+                        quantity),
+                    false)));
+
+    LocalDateTime now = LocalDateTime.now();
+    adjustments.sort(Comparator.comparing(Adjustment::line, LOCK_ORDER));
+    for (Adjustment adjustment : adjustments) {
+      if (adjustment.deduct()) {
+        deduct(adjustment.line(), userName, now);
+      } else {
+        restore(adjustment.line(), userName, now);
+      }
+    }
+    invalidate(lines);
+  }
+
+  /**
+   * Puts the open holds of these shipments back at their pickup locations.
+   *
+   * @param shipmentIds The shipments whose holds to release
+   * @param userName The user releasing the holds
+   * @return The number of reservations released
+   */
+  @Transactional
+  public int release(Collection<Long> shipmentIds, String userName) {
+    if (shipmentIds.isEmpty()) {
+      return 0;
+    }
+    return releaseReservations(
+        stockReservationRepository.findOpenByShipmentIdsForUpdate(shipmentIds), userName);
+  }
+
+  /**
+   * Releases holds that expired before payment, a batch at a time.
+   *
+   * @return The number of reservations released
+   */
+  @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-millis:60000}")
+  @Transactional
+  public int releaseExpired() {
+    // Expired holds are released on behalf of the users who created them
+    return releaseReservations(
+        stockReservationRepository.findExpiredForUpdate(
+            LocalDateTime.now(), PageRequest.of(0, EXPIRY_BATCH_SIZE)),
+        null);
+  }
+
+  private int releaseReservations(List<StockReservation> reservations, String userName) {
+    if (reservations.isEmpty()) {
+      return 0;
+    }
+    close(reservations, StockReservation.Status.RELEASED, userName);
+    LocalDateTime now = LocalDateTime.now();
+    List<Line> lines = new ArrayList<>();
+    List<StockReservation> inLockOrder = new ArrayList<>(reservations);
+    inLockOrder.sort(Comparator.comparing(InventoryEngine::line, LOCK_ORDER));
+    for (StockReservation reservation : inLockOrder) {
+      Line line = line(reservation);
+      restore(line, userName != null ? userName : reservation.getCreatedUser(), now);
+      lines.add(line);
+    }
+    invalidate(lines);
+    return reservations.size();
+  }
+
+  /** Closes reservations the caller holds row locks on, so none can be closed twice. */
+  private void close(
+      List<StockReservation> reservations, StockReservation.Status status, String userName) {
+    if (reservations.isEmpty()) {
+      return;
+    }
+    stockReservationRepository.closeReservations(
+        reservations.stream().map(StockReservation::getStockReservationId).toList(),
+        status.getValue(),
+        userName);
+  }
+
+  private void deduct(Line line, String userName, LocalDateTime now) {
+    if (line.itemType() == StockReservation.ItemType.PRODUCT) {
+      int updated =
+          productPickupLocationMappingRepository.decrementStock(
+              line.itemId(), line.pickupLocationId(), line.quantity(), userName, now);
+      if (updated == 0) {
+        throw productUnavailable(line);
+      }
+    } else {
+      int updated =
+          packagePickupLocationMappingRepository.decrementQuantity(
+              line.itemId(), line.pickupLocationId(), line.quantity(), userName, now);
+      if (updated == 0) {
+        throw packageUnavailable(line);
+      }
+    }
+  }
+
+  private void restore(Line line, String userName, LocalDateTime now) {
+    if (line.itemType() == StockReservation.ItemType.PRODUCT) {
+      productPickupLocationMappingRepository.restoreStock(
+          line.itemId(), line.pickupLocationId(), line.quantity(), userName, now);
+    } else {
+      packagePickupLocationMappingRepository.restoreQuantity(
+          line.itemId(), line.pickupLocationId(), line.quantity(), userName, now);
+    }
+  }
+
+  /** Reads the mapping only after a failed deduction, to report why it failed. */
+  private BadRequestException productUnavailable(Line line) {
+    ProductPickupLocationMapping mapping =
+        productPickupLocationMappingRepository
+            .findByProductIdAndPickupLocationId(line.itemId(), line.pickupLocationId())
+            .orElse(null);
+    if (mapping == null) {
+      return new BadRequestException(
+          String.format(
+              ErrorMessages.ShipmentProcessingErrorMessages
+                  .PRODUCT_NOT_AVAILABLE_AT_PICKUP_LOCATION_FORMAT,
+              line.itemId(),
+              line.pickupLocationId()));
+    }
+    return new BadRequestException(
+        String.format(
+            ErrorMessages.ShipmentProcessingErrorMessages.INSUFFICIENT_PRODUCT_STOCK_FORMAT,
+            line.itemId(),
+            line.pickupLocationId(),
+            mapping.getAvailableStock(),
+            line.quantity()));
+  }
+
+  private BadRequestException packageUnavailable(Line line) {
+    PackagePickupLocationMapping mapping =
+        packagePickupLocationMappingRepository
+            .findByPackageIdAndPickupLocationId(line.itemId(), line.pickupLocationId())
+            .orElse(null);
+    if (mapping == null) {
+      return new BadRequestException(
+          String.format(
+              ErrorMessages.ShipmentProcessingErrorMessages
+                  .PACKAGE_NOT_AVAILABLE_AT_PICKUP_LOCATION_FORMAT,
+              line.itemId(),
+              line.pickupLocationId()));
+    }
+    return new BadRequestException(
+        String.format(
+            ErrorMessages.ShipmentProcessingErrorMessages.INSUFFICIENT_PACKAGE_STOCK_FORMAT,
+            line.itemId(),
+            line.pickupLocationId(),
+            mapping.getAvailableQuantity(),
+            line.quantity()));
+  }
+
+  private void invalidate(List<Line> lines) {
+    Set<Long> productIds = new LinkedHashSet<>();
+    Set<Long> pickupLocationIds = new LinkedHashSet<>();
+    for (Line line : lines) {
+      if (line.itemType() == StockReservation.ItemType.PRODUCT) {
+        productIds.add(line.itemId());
+      } else {
+        pickupLocationIds.add(line.pickupLocationId());
+      }
+    }
+    stockLocationLoader.invalidateProducts(productIds);
+    stockLocationLoader.invalidateLocations(pickupLocationIds);
+  }
+
+  private static ItemKey key(Line line) {
+    return new ItemKey(line.itemType().getValue(), line.itemId(), line.pickupLocationId());
+  }
+
+  private static Line line(StockReservation reservation) {
+    return new Line(
+        StockReservation.ItemType.valueOf(reservation.getItemType()),
+        reservation.getItemId(),
+        reservation.getPickupLocationId(),
+        reservation.getQuantity());
+  }
+
+  private static ItemKey key(StockReservation reservation) {
+    return new ItemKey(
+        reservation.getItemType(), reservation.getItemId(), reservation.getPickupLocationId());
+  }
+}
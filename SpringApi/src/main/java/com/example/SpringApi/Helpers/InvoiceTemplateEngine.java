@@ -0,0 +1,115 @@
+package com.example.SpringApi.Helpers;
+
+import freemarker.cache.StrongCacheStorage;
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapperBuilder;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateExceptionHandler;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared FreeMarker engine for the PDF templates in {@code resources/InvoiceTemplates}.
+ *
+ * <p>One {@link Configuration} and object wrapper serve every render, so parsed templates and
+ * FreeMarker's class introspection are built once instead of per PDF. Every template is parsed at
+ * startup, so a broken template stops the application from starting rather than failing the first
+ * PDF request. Outside the production profile the template files are checked for changes on each
+ * render, so edits show up without a restart; in production parsed templates are never reloaded.
+ */
+@Component
+public class InvoiceTemplateEngine {
+  public static final String PURCHASE_ORDER = "PurchaseOrder.ftl";
+  public static final String PAYMENT_RECEIPT = "PaymentReceipt.ftl";
+
+  static final String TEMPLATE_DIRECTORY = "InvoiceTemplates";
+  private static final String PRODUCTION_PROFILE = "production";
+
+  private final Configuration configuration;
+  private final List<String> templateNames;
+
+  @Autowired
+  public InvoiceTemplateEngine(Environment environment) {
+    this(!environment.acceptsProfiles(Profiles.of(PRODUCTION_PROFILE)));
+  }
+
+  /** Engine that never reloads templates. */
+  public InvoiceTemplateEngine() {
+    this(false);
+  }
+
+  InvoiceTemplateEngine(boolean hotReload) {
+    configuration = new Configuration(Configuration.VERSION_2_3_32);
+    configuration.setDefaultEncoding("UTF-8");
+    configuration.setClassLoaderForTemplateLoading(
+        InvoiceTemplateEngine.class.getClassLoader(), TEMPLATE_DIRECTORY);
+    configuration.setObjectWrapper(
+        new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_32).build());
+    configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+    // A handful of templates, kept parsed for the life of the application
+    configuration.setCacheStorage(new StrongCacheStorage());
+    configuration.setTemplateUpdateDelayMilliseconds(hotReload ? 0 : Long.MAX_VALUE);
+    templateNames = preload();
+  }
+
+  /**
+   * Renders a template with the given data.
+   *
+   * @param templateName The template file name, e.g. {@link #PURCHASE_ORDER}
+   * @param data The template data model
+   * @return The rendered HTML
+   * @throws IOException if the template cannot be loaded
+   * @throws TemplateException if template processing fails
+   */
+  public String render(String templateName, Map<String, Object> data)
+      throws IOException, TemplateException {
+    Template template = configuration.getTemplate(templateName);
+    StringWriter out = new StringWriter();
+    template.process(data, out);
+    return out.toString();
+  }
+
+  /**
+   * Gets the templates that were parsed at startup.
+   *
+   * @return The template file names
+   */
+  public List<String> getTemplateNames() {
+    return templateNames;
+  }
+
+  /** Parses every template in the template directory, failing on the first that is invalid. */
+  private List<String> preload() {
+    List<String> names = new ArrayList<>();
+    try {
+      Resource[] resources =
+          new PathMatchingResourcePatternResolver(InvoiceTemplateEngine.class.getClassLoader())
+              .getResources("classpath*:" + TEMPLATE_DIRECTORY + "/*.ftl");
+      for (Resource resource : resources) {
+        names.add(resource.getFilename());
+      }
+      for (String required : List.of(PURCHASE_ORDER, PAYMENT_RECEIPT)) {
+        if (!names.contains(required)) {
+          names.add(required);
+        }
+      }
+      for (String name : names) {
+        configuration.getTemplate(name);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Invalid invoice template: " + e.getMessage(), e);
+    }
+    return Collections.unmodifiableList(names);
+  }
+}
@@ -0,0 +1,297 @@
+package com.example.SpringApi.Helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Branch-and-bound search for the cheapest ways to split an order across pickup locations.
+ *
+ * <p>The input is a location-by-product feasibility matrix of how many units each location can ship
+ * (stock that also fits its packages) and a shipment cost estimate, typically from cached
+ * Shiprocket rates. The search enumerates sets of locations to ship from, cheapest opening cost
+ * first, and only adds a location while it can still supply an uncovered product. A branch is cut
+ * when the locations left cannot cover the order, or when the opening costs alone already reach
+ * the cost of the {@code maxCandidates}-th best allocation found so far. Each complete set is
+ * filled greedily by the lowest marginal shipment cost.
+ *
+ * <p>The search stops at {@code timeBudgetMillis} and returns the best allocations found by then.
+ * Seed allocations (e.g. from simple heuristics) are ranked alongside, so there is always an
+ * answer if a seed is given.
+ */
+@Component
+public class OrderAllocator {
+  static final long DEFAULT_TIME_BUDGET_MILLIS = 200;
+  static final int DEFAULT_MAX_CANDIDATES = 3;
+
+  /** Shipments below this weight are billed as this weight. */
+  public static final double MIN_SHIPMENT_WEIGHT_KG = 0.5;
+
+  /** Estimated cost of one shipment from a location; must not decrease with weight. */
+  @FunctionalInterface
+  public interface ShipmentCostEstimate {
+    double estimate(int location, double weightKg);
+  }
+
+  /** Units per location and product ({@code quantities[location][product]}) and their cost. */
+  public record Allocation(int[][] quantities, double estimatedCost) {}
+
+  /**
+   * Best allocations found, cheapest first, and whether the search finished within its budget.
+   */
+  public record Result(List<Allocation> allocations, boolean complete, long nodesExplored) {}
+
+  private final long timeBudgetNanos;
+  private final int maxCandidates;
+
+  @Autowired
+  public OrderAllocator(
+      @Value("${shipping.optimizer.time-budget-millis:" + DEFAULT_TIME_BUDGET_MILLIS + "}")
+          long timeBudgetMillis,
+      @Value("${shipping.optimizer.max-candidates:" + DEFAULT_MAX_CANDIDATES + "}")
+          int maxCandidates) {
+    this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(timeBudgetMillis, 0));
+    this.maxCandidates = Math.max(maxCandidates, 1);
+  }
+
+  /**
+   * Finds the cheapest allocations of {@code requested} units.
+   *
+   * @param requested Units ordered per product
+   * @param capacity Units each location can ship per product, {@code [location][product]}
+   * @param unitWeightKg Weight of one unit per product
+   * @param cost Shipment cost estimate per location and weight
+   * @param seeds Allocations to rank alongside the search results; may be empty
+   * @return Up to {@code maxCandidates} allocations covering the order, cheapest first
+   */
+  public Result allocate(
+      int[] requested,
+      int[][] capacity,
+      double[] unitWeightKg,
+      ShipmentCostEstimate cost,
+      List<int[][]> seeds) {
+    Search search = new Search(requested, capacity, unitWeightKg, cost);
+    for (int[][] seed : seeds) {
+      search.offer(seed);
+    }
+    search.run();
+    return new Result(List.copyOf(search.best), !search.timedOut, search.nodes);
+  }
+
+  private final class Search {
+    private final int[] requested;
+    private final int[][] capacity;
+    private final double[] unitWeightKg;
+    private final ShipmentCostEstimate cost;
+    private final int[] order;
+    private final double[] openingCost;
+    private final int[][] suffixCapacity;
+    private final int[] covered;
+    private final boolean[] chosen;
+    private final long deadline = System.nanoTime() + timeBudgetNanos;
+    private final List<Allocation> best = new ArrayList<>();
+    private final List<String> bestKeys = new ArrayList<>();
+    private boolean timedOut;
+    private long nodes;
+
+    Search(int[] requested, int[][] capacity, double[] unitWeightKg, ShipmentCostEstimate cost) {
+      this.requested = requested;
+      this.capacity = capacity;
+      this.unitWeightKg = unitWeightKg;
+      this.cost = cost;
+      int locations = capacity.length;
+      this.openingCost = new double[locations];
+      for (int l = 0; l < locations; l++) {
+        openingCost[l] = cost.estimate(l, MIN_SHIPMENT_WEIGHT_KG);
+      }
+      this.order =
+          IntStream.range(0, locations)
+              .filter(this::suppliesAnything)
+              .boxed()
+              .sorted(
+                  Comparator.<Integer>comparingDouble(l -> openingCost[l])
+                      .thenComparing(l -> -coverableUnits(l)))
+              .mapToInt(Integer::intValue)
+              .toArray();
+      this.suffixCapacity = new int[order.length + 1][requested.length];
+      for (int i = order.length - 1; i >= 0; i--) {
+        for (int p = 0; p < requested.length; p++) {
+          suffixCapacity[i][p] = suffixCapacity[i + 1][p] + capacity[order[i]][p];
+        }
+      }
+      this.covered = new int[requested.length];
+      this.chosen = new boolean[locations];
+    }
+
+    void run() {
+      search(0, 0);
+    }
+
+    private void search(int index, double lowerBound) {
+      nodes++;
+      if (timedOut || System.nanoTime() - deadline >= 0) {
+        timedOut = true;
+        return;
+      }
+      if (isCovered()) {
+        offer(fill());
+        return;
+      }
+      for (int p = 0; p < requested.length; p++) {
+        if (covered[p] + suffixCapacity[index][p] < requested[p]) {
+          return;
+        }
+      }
+      // At least one more location is needed; the cheapest one left that helps bounds its cost
+      int next = index;
+      while (next < order.length && !suppliesUncovered(order[next])) {
+        next++;
+      }
+      if (next == order.length || lowerBound + openingCost[order[next]] >= cutoff()) {
+        return;
+      }
+
+      int location = order[index];
+      if (suppliesUncovered(location)) {
+        int[] before = covered.clone();
+        for (int p = 0; p < requested.length; p++) {
+          covered[p] = Math.min(requested[p], covered[p] + capacity[location][p]);
+        }
+        chosen[location] = true;
+        search(index + 1, lowerBound + openingCost[location]);
+        chosen[location] = false;
+        System.arraycopy(before, 0, covered, 0, covered.length);
+      }
+      search(index + 1, lowerBound);
+    }
+
+    /**
+     * Assigns the order to the chosen locations, heaviest products first, each batch going to the
+     * location whose estimated cost grows least per unit. A chosen location may end up unused.
+     */
+    private int[][] fill() {
+      int[][] quantities = new int[capacity.length][requested.length];
+      double[] weights = new double[capacity.length];
+      Integer[] products = new Integer[requested.length];
+      for (int p = 0; p < products.length; p++) {
+        products[p] = p;
+      }
+      Arrays.sort(products, Comparator.comparingDouble(p -> -unitWeightKg[p]));
+
+      for (int p : products) {
+        int remaining = requested[p];
+        while (remaining > 0) {
+          int bestLocation = -1;
+          int bestTake = 0;
+          double bestPerUnit = Double.MAX_VALUE;
+          for (int l : order) {
+            int take = Math.min(remaining, capacity[l][p] - quantities[l][p]);
+            if (!chosen[l] || take <= 0) {
+              continue;
+            }
+            double added = shipmentCost(l, weights[l] + take * unitWeightKg[p]);
+            double perUnit = (added - shipmentCost(l, weights[l])) / take;
+            if (perUnit < bestPerUnit || (perUnit == bestPerUnit && take > bestTake)) {
+              bestLocation = l;
+              bestTake = take;
+              bestPerUnit = perUnit;
+            }
+          }
+          quantities[bestLocation][p] += bestTake;
+          weights[bestLocation] += bestTake * unitWeightKg[p];
+          remaining -= bestTake;
+        }
+      }
+      return quantities;
+    }
+
+    /** Ranks an allocation among the best found, ignoring duplicates. */
+    void offer(int[][] quantities) {
+      double estimatedCost = 0;
+      for (int l = 0; l < quantities.length; l++) {
+        double weight = 0;
+        boolean used = false;
+        for (int p = 0; p < requested.length; p++) {
+          weight += quantities[l][p] * unitWeightKg[p];
+          used |= quantities[l][p] > 0;
+        }
+        if (used) {
+          estimatedCost += shipmentCost(l, weight);
+        }
+      }
+      if (estimatedCost >= cutoff()) {
+        return;
+      }
+      String key = Arrays.deepToString(quantities);
+      if (bestKeys.contains(key)) {
+        return;
+      }
+
+      int position = 0;
+      while (position < best.size() && best.get(position).estimatedCost() <= estimatedCost) {
+        position++;
+      }
+      best.add(position, new Allocation(quantities, estimatedCost));
+      bestKeys.add(position, key);
+      if (best.size() > maxCandidates) {
+        best.removeLast();
+        bestKeys.removeLast();
+      }
+    }
+
+    /** Cost a branch must stay under to improve the best allocations. */
+    private double cutoff() {
+      return best.size() < maxCandidates
+          ? Double.POSITIVE_INFINITY
+          : best.get(best.size() - 1).estimatedCost();
+    }
+
+    private double shipmentCost(int location, double weightKg) {
+      if (weightKg <= 0) {
+        return 0;
+      }
+      return cost.estimate(location, Math.max(weightKg, MIN_SHIPMENT_WEIGHT_KG));
+    }
+
+    private boolean isCovered() {
+      for (int p = 0; p < requested.length; p++) {
+        if (covered[p] < requested[p]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean suppliesAnything(int location) {
+      for (int p = 0; p < requested.length; p++) {
+        if (requested[p] > 0 && capacity[location][p] > 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean suppliesUncovered(int location) {
+      for (int p = 0; p < requested.length; p++) {
+        if (covered[p] < requested[p] && capacity[location][p] > 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private int coverableUnits(int location) {
+      int units = 0;
+      for (int p = 0; p < requested.length; p++) {
+        units += Math.min(requested[p], capacity[location][p]);
+      }
+      return units;
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package com.example.SpringApi.Helpers;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs blocking calls to external APIs (Shiprocket) on virtual threads, off the common fork-join
+ * pool.
+ *
+ * <p>Concurrency is bounded twice: by {@code maxConcurrentCalls} overall and by {@code
+ * maxConcurrentCallsPerClient} per client, so one tenant's large optimisation cannot take every
+ * outbound slot. A call waits for its slots only until its deadline. Every call has a deadline
+ * ({@link System#nanoTime()} based); calls submitted from inside another outbound call never get
+ * a later deadline than their parent. When the deadline passes or the returned future is
+ * cancelled, the running call is interrupted.
+ *
+ * <p>A call submitted from inside another outbound call runs inline on the parent's thread and
+ * permits. Waiting for fresh permits there could deadlock: once every permit is held by a parent
+ * waiting on its own nested calls, none of those nested calls can start.
+ */
+@Component
+public class OutboundCallExecutor {
+  static final int DEFAULT_MAX_CONCURRENT_CALLS = 64;
+  static final int DEFAULT_MAX_CONCURRENT_CALLS_PER_CLIENT = 16;
+  private static final ThreadLocal<Long> CURRENT_DEADLINE = new ThreadLocal<>();
+
+  /** Snapshot of queue depth, throughput and latency since startup. */
+  public record Stats(
+      int queued,
+      int active,
+      long completed,
+      long rejected,
+      long timedOut,
+      double averageLatencyMillis,
+      double maxLatencyMillis) {}
+
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("outbound-call-", 0).factory());
+  private final Semaphore globalPermits;
+  private final int maxConcurrentCallsPerClient;
+  private final Map<Long, Semaphore> clientPermits = new ConcurrentHashMap<>();
+
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong timedOut = new AtomicLong();
+  private final AtomicLong totalLatencyNanos = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  @Autowired
+  public OutboundCallExecutor(
+      @Value("${outbound.max-concurrent-calls:" + DEFAULT_MAX_CONCURRENT_CALLS + "}")
+          int maxConcurrentCalls,
+      @Value(
+              "${outbound.max-concurrent-calls-per-client:"
+                  + DEFAULT_MAX_CONCURRENT_CALLS_PER_CLIENT
+                  + "}")
+          int maxConcurrentCallsPerClient) {
+    this.globalPermits = new Semaphore(Math.max(maxConcurrentCalls, 1));
+    this.maxConcurrentCallsPerClient = Math.max(maxConcurrentCallsPerClient, 1);
+  }
+
+  /**
+   * Deadline {@code timeout} from now, or the current outbound call's deadline if that is sooner.
+   */
+  public static long deadlineAfter(long timeout, TimeUnit unit) {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    Long inherited = CURRENT_DEADLINE.get();
+    return inherited != null && inherited - deadline < 0 ? inherited : deadline;
+  }
+
+  /** Nanoseconds left until {@code deadline}; zero once it has passed. */
+  public static long remainingNanos(long deadline) {
+    return Math.max(deadline - System.nanoTime(), 0);
+  }
+
+  /**
+   * Runs {@code call} for a client, completing the future with its result.
+   *
+   * @param clientId The client the call is made for (its bulkhead); null shares one bulkhead
+   * @param deadline {@link System#nanoTime()} by which the call must finish, see {@link
+   *     #deadlineAfter}
+   * @param call The blocking call
+   * @return Completes with the result, the call's exception, a {@link TimeoutException} at the
+   *     deadline, or a {@link CancellationException}; already complete when called from inside
+   *     another outbound call
+   */
+  public <T> CompletableFuture<T> supply(Long clientId, long deadline, Supplier<T> call) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Long parentDeadline = CURRENT_DEADLINE.get();
+    if (parentDeadline != null) {
+      run(call, parentDeadline - deadline < 0 ? parentDeadline : deadline, result);
+      return result;
+    }
+    AtomicBoolean leftQueue = new AtomicBoolean();
+    queued.incrementAndGet();
+
+    Future<?> task =
+        executor.submit(
+            () -> {
+              Semaphore clientPermit =
+                  clientPermits.computeIfAbsent(
+                      clientId != null ? clientId : 0L,
+                      id -> new Semaphore(maxConcurrentCallsPerClient));
+              boolean hasClientPermit = false;
+              boolean hasGlobalPermit = false;
+              try {
+                hasClientPermit =
+                    clientPermit.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+                hasGlobalPermit =
+                    hasClientPermit
+                        && globalPermits.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+                leaveQueue(leftQueue);
+                if (!hasGlobalPermit) {
+                  rejected.incrementAndGet();
+                  result.completeExceptionally(
+                      new TimeoutException("Deadline passed waiting for an outbound call slot"));
+                  return;
+                }
+                run(call, deadline, result);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(new CancellationException());
+              } finally {
+                leaveQueue(leftQueue);
+                if (hasGlobalPermit) {
+                  globalPermits.release();
+                }
+                if (hasClientPermit) {
+                  clientPermit.release();
+                }
+              }
+            });
+
+    result.orTimeout(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+    result.whenComplete(
+        (value, error) -> {
+          if (error != null) {
+            leaveQueue(leftQueue);
+            if (error instanceof TimeoutException) {
+              timedOut.incrementAndGet();
+            }
+            // Interrupts the blocking call (or stops it from starting)
+            task.cancel(true);
+          }
+        });
+    return result;
+  }
+
+  /** {@link #supply} for calls without a result. */
+  public CompletableFuture<Void> run(Long clientId, long deadline, Runnable call) {
+    return supply(
+        clientId,
+        deadline,
+        () -> {
+          call.run();
+          return null;
+        });
+  }
+
+  /** Cancels every future that has not completed yet, interrupting its call. */
+  public static void cancelIncomplete(Collection<? extends CompletableFuture<?>> futures) {
+    for (CompletableFuture<?> future : futures) {
+      if (!future.isDone()) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  /** Current queue depth, in-flight calls and latency since startup. */
+  public Stats stats() {
+    long count = completed.get();
+    return new Stats(
+        queued.get(),
+        active.get(),
+        count,
+        rejected.get(),
+        timedOut.get(),
+        count > 0 ? totalLatencyNanos.get() / 1e6 / count : 0,
+        maxLatencyNanos.get() / 1e6);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> void run(Supplier<T> call, long deadline, CompletableFuture<T> result) {
+    active.incrementAndGet();
+    Long parentDeadline = CURRENT_DEADLINE.get();
+    CURRENT_DEADLINE.set(deadline);
+    long start = System.nanoTime();
+    try {
+      result.complete(call.get());
+    } catch (CompletionException e) {
+      result.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+    } catch (RuntimeException | Error e) {
+      result.completeExceptionally(e);
+    } finally {
+      if (parentDeadline != null) {
+        CURRENT_DEADLINE.set(parentDeadline);
+      } else {
+        CURRENT_DEADLINE.remove();
+      }
+      active.decrementAndGet();
+      long latency = System.nanoTime() - start;
+      completed.incrementAndGet();
+      totalLatencyNanos.addAndGet(latency);
+      maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+  }
+
+  private void leaveQueue(AtomicBoolean leftQueue) {
+    if (leftQueue.compareAndSet(false, true)) {
+      queued.decrementAndGet();
+    }
+  }
+}
@@ -10,7 +10,10 @@ import org.xhtmlrenderer.pdf.ITextRenderer;
  * Helper class for PDF generation and manipulation.
  *
  * <p>This class provides utility methods for converting HTML content to PDF using Flying Saucer
- * (xhtmlrenderer) with iText.
+ * (xhtmlrenderer) with iText. Every document gets a new renderer: a renderer appends each
+ * document's metadata to what it already holds, so a reused one leaks details between documents.
+ * Its font resolver is not shared either, as it is bound to one renderer and is not thread-safe;
+ * the built-in fonts it loads come from iText's own font cache, so a new renderer stays cheap.
  *
  * @author SpringApi Team
  * @version 1.0
@@ -32,12 +35,7 @@ public class PDFHelper {
   public static byte[] convertPurchaseOrderHtmlToPdf(String htmlContent)
       throws IOException, DocumentException {
 
-    ByteArrayOutputStream os = new ByteArrayOutputStream();
-    ITextRenderer renderer = new ITextRenderer();
-    renderer.setDocumentFromString(htmlContent);
-    renderer.layout();
-    renderer.createPDF(os);
-    return os.toByteArray();
+    return render(htmlContent);
   }
 
   /**
@@ -49,6 +47,11 @@ public class PDFHelper {
    * @throws IOException if PDF generation fails
    */
   public static byte[] convertHtmlToPdf(String htmlContent) throws DocumentException, IOException {
+    return render(htmlContent);
+  }
+
+  /** Lays out the HTML with a new renderer and writes the PDF. */
+  private static byte[] render(String htmlContent) throws IOException, DocumentException {
     ByteArrayOutputStream os = new ByteArrayOutputStream();
     ITextRenderer renderer = new ITextRenderer();
     renderer.setDocumentFromString(htmlContent);
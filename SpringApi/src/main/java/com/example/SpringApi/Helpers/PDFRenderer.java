@@ -0,0 +1,178 @@
+package com.example.SpringApi.Helpers;
+
+import com.example.SpringApi.ErrorMessages;
+import com.example.SpringApi.Exceptions.TooManyRequestsException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.itextpdf.text.DocumentException;
+import freemarker.template.TemplateException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders PDFs on a small fixed pool and caches the rendered bytes.
+ *
+ * <p>Layout is CPU and memory heavy, so at most {@code renderThreads} documents are laid out at
+ * once and at most {@code queueCapacity} more wait for a thread. Past that a request is refused
+ * with {@link TooManyRequestsException} instead of tying up another servlet thread, and the client
+ * is told when to retry.
+ *
+ * <p>Rendered PDFs are cached by {@link Key}, so downloading an unchanged document again skips
+ * the template and layout work. The key's version must change whenever the document's own row
+ * changes; details from related rows are refreshed when the entry expires after {@code
+ * cacheTtlMinutes}. Cached bytes are shared between requests and must not be modified by callers.
+ * Concurrent requests for the same key share one render rather than each rendering the document.
+ */
+@Component
+public class PDFRenderer {
+  public static final String PURCHASE_ORDER = "purchase-order";
+  public static final String PAYMENT_RECEIPT = "payment-receipt";
+
+  static final int DEFAULT_RENDER_THREADS = 4;
+  static final int DEFAULT_QUEUE_CAPACITY = 16;
+  static final long DEFAULT_RETRY_AFTER_SECONDS = 5;
+  static final long DEFAULT_CACHE_TTL_MINUTES = 10;
+  static final long DEFAULT_CACHE_MAX_MEGABYTES = 64;
+
+  /**
+   * Identifies one rendered document.
+   *
+   * @param document The kind of document, e.g. {@link #PURCHASE_ORDER}
+   * @param clientId The client the document belongs to
+   * @param documentId The ID of the purchase order, payment, etc.
+   * @param version Changes whenever the document's content changes, e.g. its updatedAt
+   */
+  public record Key(String document, Long clientId, Long documentId, String version) {}
+
+  /** Builds the document's HTML; runs on the calling thread. */
+  @FunctionalInterface
+  public interface HtmlSource {
+    String get() throws IOException, TemplateException;
+  }
+
+  /** Converts HTML to PDF bytes; runs on a render thread. */
+  @FunctionalInterface
+  public interface Converter {
+    byte[] convert(String html) throws IOException, DocumentException;
+  }
+
+  private final ThreadPoolExecutor executor;
+  private final Cache<Key, byte[]> rendered;
+  private final long retryAfterSeconds;
+
+  @Autowired
+  public PDFRenderer(
+      @Value("${pdf.render-threads:" + DEFAULT_RENDER_THREADS + "}") int renderThreads,
+      @Value("${pdf.queue-capacity:" + DEFAULT_QUEUE_CAPACITY + "}") int queueCapacity,
+      @Value("${pdf.retry-after-seconds:" + DEFAULT_RETRY_AFTER_SECONDS + "}")
+          long retryAfterSeconds,
+      @Value("${pdf.cache.ttl-minutes:" + DEFAULT_CACHE_TTL_MINUTES + "}") long cacheTtlMinutes,
+      @Value("${pdf.cache.max-megabytes:" + DEFAULT_CACHE_MAX_MEGABYTES + "}")
+          long cacheMaxMegabytes) {
+    int threads = Math.max(renderThreads, 1);
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+            Thread.ofPlatform().name("pdf-render-", 0).daemon().factory());
+    this.rendered =
+        cacheTtlMinutes > 0
+            ? CacheBuilder.newBuilder()
+                .expireAfterWrite(cacheTtlMinutes, TimeUnit.MINUTES)
+                .maximumWeight(cacheMaxMegabytes * 1024 * 1024)
+                .<Key, byte[]>weigher((key, pdf) -> pdf.length)
+                .build()
+            : null;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * Returns the cached PDF for {@code key}, or builds the HTML and converts it on the render pool.
+   * Callers asking for a key that is already being rendered wait for that render.
+   *
+   * @param key Identifies the document and its version
+   * @param html Builds the HTML on a cache miss; may look up whatever the document needs
+   * @param converter Converts the HTML to PDF bytes
+   * @return The PDF bytes
+   * @throws TooManyRequestsException if every render thread is busy and the queue is full
+   * @throws IOException if HTML or PDF generation fails
+   * @throws TemplateException if template processing fails
+   * @throws DocumentException if PDF document creation fails
+   */
+  public byte[] render(Key key, HtmlSource html, Converter converter)
+      throws IOException, TemplateException, DocumentException {
+    if (rendered == null) {
+      return convert(html.get(), converter);
+    }
+    try {
+      return rendered.get(key, () -> convert(html.get(), converter));
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof TemplateException templateException) {
+        throw templateException;
+      }
+      if (cause instanceof DocumentException documentException) {
+        throw documentException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private byte[] convert(String htmlContent, Converter converter)
+      throws IOException, DocumentException {
+    Future<byte[]> future;
+    try {
+      future = executor.submit(() -> converter.convert(htmlContent));
+    } catch (RejectedExecutionException e) {
+      throw new TooManyRequestsException(
+          ErrorMessages.CommonErrorMessages.PDF_RENDERER_BUSY, retryAfterSeconds);
+    }
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof DocumentException documentException) {
+        throw documentException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(cause);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+}
@@ -7,6 +7,9 @@ import org.springframework.stereotype.Component;
 /**
  * Helper class for calculating optimal package allocation based on product dimensions. Uses a
  * bin-packing algorithm (First Fit Decreasing) to minimize packaging costs.
+ *
+ * <p>Units of the same product are packed together in runs rather than one at a time, so large
+ * quantities cost no more than small ones.
  */
 @Component
 public class PackagingHelper {
@@ -224,40 +227,14 @@ public class PackagingHelper {
     }
   }
 
-  /** Internal class to track used packages and their remaining volume */
-  private static class UsedPackage {
-    final PackageDimension packageDim;
-    double usedVolume;
-    double usedWeight;
-
-    UsedPackage(PackageDimension packageDim) {
-      this.packageDim = packageDim;
-      this.usedVolume = 0;
-      this.usedWeight = 0;
-    }
-
-    double getRemainingVolume() {
-      return packageDim.getVolume() - usedVolume;
-    }
-
-    double getRemainingWeight() {
-      return packageDim.getMaxWeight() - usedWeight;
-    }
-
-    boolean canFit(double productVolume, double productWeight) {
-      return getRemainingVolume() >= productVolume && getRemainingWeight() >= productWeight;
-    }
-
-    void addProduct(double productVolume, double productWeight) {
-      this.usedVolume += productVolume;
-      this.usedWeight += productWeight;
-    }
-  }
-
   /**
    * Calculate optimal packaging for given product quantity using available packages. Uses First Fit
    * Decreasing bin-packing algorithm optimized for cost.
    *
+   * <p>All units are the same size, so a new package is only opened once every opened package is
+   * full. Packages are therefore counted per package type from how many units fit in one, instead
+   * of placing units one at a time.
+   *
    * @param product Product dimensions
    * @param availablePackages List of available packages at the location
    * @return PackagingEstimateResult with packages needed and costs
@@ -272,76 +249,24 @@ public class PackagingHelper {
 
     double productVolume = product.getVolume();
     double productWeight = product.getWeight();
-
-    // Create mutable copies of packages sorted by price (cheapest first for cost optimization)
-    List<PackageDimension> packages = new ArrayList<>();
-    for (PackageDimension pkg : availablePackages) {
-      // Create a copy with the available quantity
-      packages.add(
-          new PackageDimension(
-              pkg.getPackageId(),
-              pkg.getPackageName(),
-              pkg.getPackageType(),
-              new PackageDimension.PackageSize(pkg.length, pkg.breadth, pkg.height),
-              pkg.maxWeight,
-              pkg.pricePerUnit,
-              pkg.getAvailableQuantity()));
-    }
-
-    // Sort packages by cost-efficiency (price per volume, lowest first)
-    packages.sort(
-        (a, b) -> {
-          double costPerVolumeA =
-              a.getVolume() > 0
-                  ? a.getPricePerUnit().doubleValue() / a.getVolume()
-                  : Double.MAX_VALUE;
-          double costPerVolumeB =
-              b.getVolume() > 0
-                  ? b.getPricePerUnit().doubleValue() / b.getVolume()
-                  : Double.MAX_VALUE;
-          return Double.compare(costPerVolumeA, costPerVolumeB);
-        });
+    PackageStock stock = new PackageStock(availablePackages);
 
     // Track used packages
-    List<UsedPackage> usedPackages = new ArrayList<>();
     Map<Long, Integer> packageUsageCount = new HashMap<>();
     int packedItems = 0;
 
-    // Try to pack each product
-    for (int i = 0; i < requestedItems; i++) {
-      boolean packed = false;
-
-      // First, try to fit in an already-used package (sorted by most remaining volume)
-      usedPackages.sort((a, b) -> Double.compare(b.getRemainingVolume(), a.getRemainingVolume()));
-
-      for (UsedPackage usedPkg : usedPackages) {
-        if (usedPkg.canFit(productVolume, productWeight)) {
-          usedPkg.addProduct(productVolume, productWeight);
-          packed = true;
-          packedItems++;
-          break;
-        }
-      }
-
-      // If not packed, get a new package
-      if (!packed) {
-        PackageDimension newPackage =
-            getNextSuitablePackage(packages, productVolume, productWeight);
-        if (newPackage != null) {
-          newPackage.decrementQuantity();
-          UsedPackage usedPkg = new UsedPackage(newPackage);
-          usedPkg.addProduct(productVolume, productWeight);
-          usedPackages.add(usedPkg);
-          packageUsageCount.merge(newPackage.getPackageId(), 1, Integer::sum);
-          packed = true;
-          packedItems++;
-        }
-      }
-
-      // If still not packed, we ran out of packages
-      if (!packed) {
+    // Fill packages of the next suitable type until all items are packed or packages run out
+    while (packedItems < requestedItems) {
+      int type = stock.nextSuitable(productVolume, productWeight);
+      if (type < 0) {
         break;
       }
+      int remainingItems = requestedItems - packedItems;
+      long perPackage = stock.itemsPerPackage(type, productVolume, productWeight, remainingItems);
+      int packagesUsed = (int) Math.min(stock.available[type], ceilDiv(remainingItems, perPackage));
+      stock.available[type] -= packagesUsed;
+      packageUsageCount.merge(stock.types[type].getPackageId(), packagesUsed, Integer::sum);
+      packedItems += (int) Math.min(remainingItems, packagesUsed * perPackage);
     }
 
     // Build result
@@ -365,102 +290,10 @@ public class PackagingHelper {
     return new PackagingEstimateResult(results, requestedItems, packedItems);
   }
 
-  /**
-   * Find the next suitable package that can fit the product. Prioritizes cost-efficient packages
-   * that are still available.
-   */
-  private PackageDimension getNextSuitablePackage(
-      List<PackageDimension> packages, double productVolume, double productWeight) {
-    // First, find smallest package that fits (already sorted by cost-efficiency)
-    for (PackageDimension pkg : packages) {
-      if (pkg.getAvailableQuantity() > 0
-          && pkg.getVolume() >= productVolume
-          && pkg.getMaxWeight() >= productWeight) {
-        return pkg;
-      }
-    }
-
-    // If no package fits, return the largest available (might need multiple items per package)
-    PackageDimension largest = null;
-    for (PackageDimension pkg : packages) {
-      if (pkg.getAvailableQuantity() > 0
-          && (largest == null || pkg.getVolume() > largest.getVolume())) {
-        largest = pkg;
-      }
-    }
-
-    return largest;
-  }
-
   // ============================================================================
   // Multi-Product Packaging Optimization
   // ============================================================================
 
-  /** Represents a single product item to be packed (one unit of a product) */
-  public static class ProductItem {
-    private final Long productId;
-    private final double volume;
-    private final double weight;
-
-    public ProductItem(Long productId, double volume, double weight) {
-      this.productId = productId;
-      this.volume = volume;
-      this.weight = weight;
-    }
-
-    public Long getProductId() {
-      return productId;
-    }
-
-    public double getVolume() {
-      return volume;
-    }
-
-    public double getWeight() {
-      return weight;
-    }
-  }
-
-  /** Tracks which products are in a used package */
-  public static class MultiProductUsedPackage {
-    final PackageDimension packageDim;
-    double usedVolume;
-    double usedWeight;
-    Map<Long, Integer> productCounts = new HashMap<>(); // productId -> count
-
-    MultiProductUsedPackage(PackageDimension packageDim) {
-      this.packageDim = packageDim;
-      this.usedVolume = 0;
-      this.usedWeight = 0;
-    }
-
-    double getRemainingVolume() {
-      return packageDim.getVolume() - usedVolume;
-    }
-
-    double getRemainingWeight() {
-      return packageDim.getMaxWeight() - usedWeight;
-    }
-
-    boolean canFit(double productVolume, double productWeight) {
-      return getRemainingVolume() >= productVolume && getRemainingWeight() >= productWeight;
-    }
-
-    void addProduct(Long productId, double productVolume, double productWeight) {
-      this.usedVolume += productVolume;
-      this.usedWeight += productWeight;
-      this.productCounts.merge(productId, 1, Integer::sum);
-    }
-
-    public Map<Long, Integer> getProductCounts() {
-      return productCounts;
-    }
-
-    public PackageDimension getPackageDim() {
-      return packageDim;
-    }
-  }
-
   /** Result of multi-product packaging - includes which products are in each package */
   public static class MultiProductPackageUsageResult {
     private final Long packageId;
@@ -584,6 +417,11 @@ public class PackagingHelper {
    * bin-packing algorithm optimized for cost. Different products can share the same package if they
    * fit.
    *
+   * <p>Each product is packed as one run of identical units: the best-fitting open package is
+   * filled with as many units as fit before moving on, and identical packages are tracked as one
+   * group. The result is the same as placing units one at a time, but the work grows with the
+   * number of products and package groups rather than with the quantity ordered.
+   *
    * @param products Map of productId to ProductDimension (with quantities)
    * @param availablePackages List of available packages at the location
    * @return MultiProductPackagingResult with packages needed, costs, and product assignments
@@ -594,126 +432,39 @@ public class PackagingHelper {
     Map<Long, Integer> requestedItems = new HashMap<>();
     Map<Long, Integer> packedItems = new HashMap<>();
 
-    // Flatten all products into individual items
-    List<ProductItem> allItems = new ArrayList<>();
+    // One run of identical units per product
+    List<Map.Entry<Long, ProductDimension>> runs = new ArrayList<>();
     for (Map.Entry<Long, ProductDimension> entry : products.entrySet()) {
-      Long productId = entry.getKey();
-      ProductDimension product = entry.getValue();
-      requestedItems.put(productId, product.getQuantity());
-      packedItems.put(productId, 0);
-
-      double volume = product.getVolume();
-      double weight = product.getWeight();
-
-      for (int i = 0; i < product.getQuantity(); i++) {
-        allItems.add(new ProductItem(productId, volume, weight));
+      requestedItems.put(entry.getKey(), entry.getValue().getQuantity());
+      packedItems.put(entry.getKey(), 0);
+      if (entry.getValue().getQuantity() > 0) {
+        runs.add(entry);
       }
     }
 
-    if (allItems.isEmpty()) {
+    if (runs.isEmpty()) {
       return new MultiProductPackagingResult(Collections.emptyList(), requestedItems, packedItems);
     }
 
-    // Sort items by volume (largest first) - First Fit Decreasing
-    allItems.sort((a, b) -> Double.compare(b.getVolume(), a.getVolume()));
+    // Sort runs by unit volume (largest first) - First Fit Decreasing
+    runs.sort((a, b) -> Double.compare(b.getValue().getVolume(), a.getValue().getVolume()));
 
-    // Create mutable copies of packages sorted by cost-efficiency
-    List<PackageDimension> packages = new ArrayList<>();
-    for (PackageDimension pkg : availablePackages) {
-      packages.add(
-          new PackageDimension(
-              pkg.getPackageId(),
-              pkg.getPackageName(),
-              pkg.getPackageType(),
-              new PackageDimension.PackageSize(pkg.length, pkg.breadth, pkg.height),
-              pkg.maxWeight,
-              pkg.pricePerUnit,
-              pkg.getAvailableQuantity()));
-    }
-
-    // Sort packages by cost per volume (cheapest first)
-    packages.sort(
-        (a, b) -> {
-          double costPerVolumeA =
-              a.getVolume() > 0
-                  ? a.getPricePerUnit().doubleValue() / a.getVolume()
-                  : Double.MAX_VALUE;
-          double costPerVolumeB =
-              b.getVolume() > 0
-                  ? b.getPricePerUnit().doubleValue() / b.getVolume()
-                  : Double.MAX_VALUE;
-          return Double.compare(costPerVolumeA, costPerVolumeB);
-        });
+    OpenPackages openPackages = new OpenPackages(new PackageStock(availablePackages));
+    for (Map.Entry<Long, ProductDimension> run : runs) {
+      ProductDimension product = run.getValue();
+      int packed = openPackages.pack(run.getKey(), product);
+      packedItems.put(run.getKey(), packed);
 
-    // Track used packages
-    List<MultiProductUsedPackage> usedPackages = new ArrayList<>();
-
-    // Pack each item using First Fit Decreasing
-    for (ProductItem item : allItems) {
-      boolean packed = false;
-
-      // First, try to fit in an already-used package (prioritize by remaining volume - best fit)
-      usedPackages.sort(
-          (a, b) -> {
-            // Prefer packages where item fits exactly (least remaining space after)
-            double remainingA = a.getRemainingVolume() - item.getVolume();
-            double remainingB = b.getRemainingVolume() - item.getVolume();
-            // If item doesn't fit, push to end
-            if (remainingA < 0) remainingA = Double.MAX_VALUE;
-            if (remainingB < 0) remainingB = Double.MAX_VALUE;
-            return Double.compare(remainingA, remainingB);
-          });
-
-      for (MultiProductUsedPackage usedPkg : usedPackages) {
-        if (usedPkg.canFit(item.getVolume(), item.getWeight())) {
-          usedPkg.addProduct(item.getProductId(), item.getVolume(), item.getWeight());
-          packedItems.merge(item.getProductId(), 1, Integer::sum);
-          packed = true;
-          break;
-        }
-      }
-
-      // If not packed, get a new package
-      if (!packed) {
-        PackageDimension newPackage =
-            getNextSuitablePackage(packages, item.getVolume(), item.getWeight());
-        if (newPackage != null) {
-          newPackage.decrementQuantity();
-          MultiProductUsedPackage usedPkg = new MultiProductUsedPackage(newPackage);
-          usedPkg.addProduct(item.getProductId(), item.getVolume(), item.getWeight());
-          usedPackages.add(usedPkg);
-          packedItems.merge(item.getProductId(), 1, Integer::sum);
-          packed = true;
-        }
-      }
-
-      // If still not packed, we ran out of suitable packages
-      if (!packed) {
+      // If not all packed, we ran out of suitable packages
+      if (packed < product.getQuantity()) {
         break;
       }
     }
 
-    // Aggregate results by package type
-    Map<Long, Integer> packageUsageCount = new HashMap<>();
-    Map<Long, Map<Long, Integer>> productsByPackage =
-        new HashMap<>(); // packageId -> (productId -> count)
-
-    for (MultiProductUsedPackage usedPkg : usedPackages) {
-      Long pkgId = usedPkg.getPackageDim().getPackageId();
-      packageUsageCount.merge(pkgId, 1, Integer::sum);
-
-      // Aggregate product counts for this package type
-      Map<Long, Integer> pkgProducts =
-          productsByPackage.computeIfAbsent(pkgId, k -> new HashMap<>());
-      for (Map.Entry<Long, Integer> productEntry : usedPkg.getProductCounts().entrySet()) {
-        pkgProducts.merge(productEntry.getKey(), productEntry.getValue(), Integer::sum);
-      }
-    }
-
     // Build result
     List<MultiProductPackageUsageResult> results = new ArrayList<>();
     for (PackageDimension pkg : availablePackages) {
-      int count = packageUsageCount.getOrDefault(pkg.getPackageId(), 0);
+      int count = openPackages.packageUsageCount.getOrDefault(pkg.getPackageId(), 0);
       if (count > 0) {
         results.add(
             new MultiProductPackageUsageResult(
@@ -722,7 +473,8 @@ public class PackagingHelper {
                 pkg.getPackageType(),
                 count,
                 pkg.getPricePerUnit(),
-                productsByPackage.getOrDefault(pkg.getPackageId(), Collections.emptyMap())));
+                openPackages.productsByPackage.getOrDefault(
+                    pkg.getPackageId(), Collections.emptyMap())));
       }
     }
 
@@ -731,4 +483,284 @@ public class PackagingHelper {
 
     return new MultiProductPackagingResult(results, requestedItems, packedItems);
   }
+
+  // ============================================================================
+  // Packing Engine
+  // ============================================================================
+
+  /** Above this many units per package, fits are treated as unlimited (double precision limit). */
+  private static final long MAX_EXACT_UNITS = 1L << 52;
+
+  /** Orders packages by cost per volume, lowest first; packages without volume last. */
+  private static final Comparator<PackageDimension> BY_COST_PER_VOLUME =
+      Comparator.comparingDouble(
+          pkg ->
+              pkg.getVolume() > 0
+                  ? pkg.getPricePerUnit().doubleValue() / pkg.getVolume()
+                  : Double.MAX_VALUE);
+
+  /** Package types by cost-efficiency, with their capacities and remaining stock. */
+  private static final class PackageStock {
+    final PackageDimension[] types;
+    final double[] volume;
+    final double[] maxWeight;
+    final int[] available;
+
+    PackageStock(List<PackageDimension> availablePackages) {
+      List<PackageDimension> sorted = new ArrayList<>(availablePackages);
+      sorted.sort(BY_COST_PER_VOLUME);
+      types = sorted.toArray(new PackageDimension[0]);
+      volume = new double[types.length];
+      maxWeight = new double[types.length];
+      available = new int[types.length];
+      for (int i = 0; i < types.length; i++) {
+        volume[i] = types[i].getVolume();
+        maxWeight[i] = types[i].getMaxWeight();
+        available[i] = types[i].getAvailableQuantity();
+      }
+    }
+
+    /**
+     * Find the next suitable package type: the most cost-efficient available one that fits a unit,
+     * otherwise the largest available one. Returns -1 if no packages are left.
+     */
+    int nextSuitable(double unitVolume, double unitWeight) {
+      for (int i = 0; i < types.length; i++) {
+        if (available[i] > 0 && volume[i] >= unitVolume && maxWeight[i] >= unitWeight) {
+          return i;
+        }
+      }
+      int largest = -1;
+      for (int i = 0; i < types.length; i++) {
+        if (available[i] > 0 && (largest < 0 || volume[i] > volume[largest])) {
+          largest = i;
+        }
+      }
+      return largest;
+    }
+
+    /**
+     * Units an empty package of this type takes, up to {@code limit}. A package that cannot fit a
+     * unit still takes one, as it is only chosen when nothing fits.
+     */
+    long itemsPerPackage(int type, double unitVolume, double unitWeight, int limit) {
+      long fit = unitsThatFit(volume[type], maxWeight[type], unitVolume, unitWeight);
+      return Math.max(1, Math.min(limit, fit));
+    }
+  }
+
+  /** Identical open packages: same type and same space used. */
+  private static final class PackageGroup {
+    final int type;
+    int count;
+    double usedVolume;
+    double usedWeight;
+
+    PackageGroup(int type, int count, double usedVolume, double usedWeight) {
+      this.type = type;
+      this.count = count;
+      this.usedVolume = usedVolume;
+      this.usedWeight = usedWeight;
+    }
+  }
+
+  /**
+   * Open packages in best-fit order. Groups are kept in the order a stable sort by remaining volume
+   * after the next unit would give, so ties between equally full packages are broken the same way
+   * as when units were placed one at a time.
+   */
+  private static final class OpenPackages {
+    final PackageStock stock;
+    final List<PackageGroup> groups = new ArrayList<>();
+    final Map<Long, Integer> packageUsageCount = new HashMap<>();
+    final Map<Long, Map<Long, Integer>> productsByPackage = new HashMap<>(); // packageId -> items
+
+    OpenPackages(PackageStock stock) {
+      this.stock = stock;
+    }
+
+    /** Packs the product's units and returns how many were packed. */
+    int pack(Long productId, ProductDimension product) {
+      double unitVolume = product.getVolume();
+      double unitWeight = product.getWeight();
+      // Prefer packages where the unit fits most tightly; packages it does not fit go last
+      groups.sort(Comparator.comparingDouble(group -> sortKey(group, unitVolume)));
+
+      int remaining = product.getQuantity();
+      while (remaining > 0) {
+        int index = firstFitting(unitVolume, unitWeight);
+        int packed;
+        if (index >= 0) {
+          packed = fillOpen(index, productId, unitVolume, unitWeight, remaining);
+        } else {
+          int type = stock.nextSuitable(unitVolume, unitWeight);
+          if (type < 0) {
+            break;
+          }
+          packed = openNew(type, productId, unitVolume, unitWeight, remaining);
+        }
+        remaining -= packed;
+      }
+      return product.getQuantity() - remaining;
+    }
+
+    private int firstFitting(double unitVolume, double unitWeight) {
+      for (int i = 0; i < groups.size(); i++) {
+        PackageGroup group = groups.get(i);
+        if (remainingVolume(group) >= unitVolume && remainingWeight(group) >= unitWeight) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /** Fills packages of the group at {@code index} one after another until the run is packed. */
+    private int fillOpen(
+        int index, Long productId, double unitVolume, double unitWeight, int remaining) {
+      PackageGroup group = groups.get(index);
+      long perPackage =
+          unitsThatFit(remainingVolume(group), remainingWeight(group), unitVolume, unitWeight);
+      int fullPackages = (int) Math.min(group.count, remaining / perPackage);
+      if (fullPackages > 0) {
+        PackageGroup filled = takeFrom(index, fullPackages);
+        place(filled, fullPackages, (int) perPackage, productId, unitVolume, unitWeight);
+        reposition(index, unitVolume);
+        return (int) (fullPackages * perPackage);
+      }
+      PackageGroup partial = takeFrom(index, 1);
+      place(partial, 1, remaining, productId, unitVolume, unitWeight);
+      reposition(index, unitVolume);
+      return remaining;
+    }
+
+    /** Opens packages of {@code type}, each filled before the next is opened. */
+    private int openNew(
+        int type, Long productId, double unitVolume, double unitWeight, int remaining) {
+      long perPackage = stock.itemsPerPackage(type, unitVolume, unitWeight, remaining);
+      int opened = (int) Math.min(stock.available[type], ceilDiv(remaining, perPackage));
+      stock.available[type] -= opened;
+      packageUsageCount.merge(stock.types[type].getPackageId(), opened, Integer::sum);
+
+      int fullPackages = opened * perPackage <= remaining ? opened : opened - 1;
+      if (fullPackages > 0) {
+        appendNew(type, fullPackages, (int) perPackage, productId, unitVolume, unitWeight);
+      }
+      int packed = (int) (fullPackages * perPackage);
+      if (fullPackages < opened) {
+        appendNew(type, 1, remaining - packed, productId, unitVolume, unitWeight);
+        packed = remaining;
+      }
+      return packed;
+    }
+
+    /**
+     * Adds packages that took their first unit while nothing else fit, then the rest. They move
+     * through the order as they would have one unit at a time.
+     */
+    private void appendNew(
+        int type, int count, int units, Long productId, double unitVolume, double unitWeight) {
+      PackageGroup group = new PackageGroup(type, count, 0, 0);
+      groups.add(group);
+      place(group, count, 1, productId, unitVolume, unitWeight);
+      reposition(groups.size() - 1, unitVolume);
+      if (units > 1) {
+        place(group, count, units - 1, productId, unitVolume, unitWeight);
+        reposition(groups.indexOf(group), unitVolume);
+      }
+    }
+
+    /** Splits {@code count} packages off the front of the group at {@code index}. */
+    private PackageGroup takeFrom(int index, int count) {
+      PackageGroup group = groups.get(index);
+      if (group.count == count) {
+        return group;
+      }
+      group.count -= count;
+      PackageGroup taken = new PackageGroup(group.type, count, group.usedVolume, group.usedWeight);
+      groups.add(index, taken);
+      return taken;
+    }
+
+    /** Puts {@code units} of the product into each of {@code count} packages of the group. */
+    private void place(
+        PackageGroup group,
+        int count,
+        int units,
+        Long productId,
+        double unitVolume,
+        double unitWeight) {
+      group.usedVolume += units * unitVolume;
+      group.usedWeight += units * unitWeight;
+      productsByPackage
+          .computeIfAbsent(stock.types[group.type].getPackageId(), k -> new HashMap<>())
+          .merge(productId, count * units, Integer::sum);
+    }
+
+    /**
+     * Moves the group at {@code index}, whose space just changed, to where a stable sort of the
+     * otherwise sorted order would put it: behind groups before it that sort no higher, and behind
+     * groups after it that now sort lower.
+     */
+    private void reposition(int index, double unitVolume) {
+      PackageGroup group = groups.remove(index);
+      double key = sortKey(group, unitVolume);
+      int position = 0;
+      for (int i = 0; i < groups.size(); i++) {
+        double other = sortKey(groups.get(i), unitVolume);
+        if (i < index ? other <= key : other < key) {
+          position++;
+        }
+      }
+      groups.add(position, group);
+    }
+
+    private double sortKey(PackageGroup group, double unitVolume) {
+      double remainingAfter = remainingVolume(group) - unitVolume;
+      return remainingAfter < 0 ? Double.MAX_VALUE : remainingAfter;
+    }
+
+    private double remainingVolume(PackageGroup group) {
+      return stock.volume[group.type] - group.usedVolume;
+    }
+
+    private double remainingWeight(PackageGroup group) {
+      return stock.maxWeight[group.type] - group.usedWeight;
+    }
+  }
+
+  /**
+   * Number of units that can be added one at a time while each still fits the remaining volume and
+   * weight, or {@link Long#MAX_VALUE} if there is no limit.
+   */
+  private static long unitsThatFit(
+      double remainingVolume, double remainingWeight, double unitVolume, double unitWeight) {
+    return Math.min(
+        unitsThatFit(remainingVolume, unitVolume), unitsThatFit(remainingWeight, unitWeight));
+  }
+
+  private static long unitsThatFit(double remaining, double unit) {
+    if (unit <= 0) {
+      return remaining >= unit ? Long.MAX_VALUE : 0;
+    }
+    if (remaining < unit) {
+      return 0;
+    }
+    double ratio = remaining / unit;
+    if (ratio >= MAX_EXACT_UNITS) {
+      return Long.MAX_VALUE;
+    }
+    // Correct rounding in the division so that units * unit <= remaining < (units + 1) * unit
+    long units = (long) ratio;
+    while (units > 0 && units * unit > remaining) {
+      units--;
+    }
+    while ((units + 1) * unit <= remaining) {
+      units++;
+    }
+    return units;
+  }
+
+  private static long ceilDiv(long dividend, long divisor) {
+    return (dividend + divisor - 1) / divisor;
+  }
 }
@@ -0,0 +1,128 @@
+package com.example.SpringApi.Helpers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memoised packaging estimates per pickup location and product mix.
+ *
+ * <p>Entries are keyed by pickup location, the location's package inventory version (see {@link
+ * StockLocationLoader#packageVersion(Long)}) and the product mix: each product's ID, quantity, unit
+ * volume and unit weight, in product ID order. Order optimisation packs the same mixes at the same
+ * locations for many candidates and checkouts, and those repeats reuse one result. When a
+ * location's package quantities change its version goes up, so older entries are no longer found
+ * and age out.
+ *
+ * <p>Cached results are shared between requests and must not be modified by callers.
+ */
+@Component
+public class PackagingResultCache {
+  static final long DEFAULT_TTL_MINUTES = 10;
+  static final long DEFAULT_MAX_ENTRIES = 10_000;
+
+  private record ProductKey(Long productId, int quantity, double volume, double weight) {}
+
+  private record Key(Long pickupLocationId, long packageVersion, List<ProductKey> products) {}
+
+  private final Cache<Key, PackagingHelper.PackagingEstimateResult> estimates;
+  private final Cache<Key, PackagingHelper.MultiProductPackagingResult> multiProductEstimates;
+
+  @Autowired
+  public PackagingResultCache(
+      @Value("${shipping.packaging-cache.ttl-minutes:" + DEFAULT_TTL_MINUTES + "}")
+          long ttlMinutes,
+      @Value("${shipping.packaging-cache.max-entries:" + DEFAULT_MAX_ENTRIES + "}")
+          long maxEntries) {
+    this.estimates = ttlMinutes > 0 ? newCache(ttlMinutes, maxEntries) : null;
+    this.multiProductEstimates = ttlMinutes > 0 ? newCache(ttlMinutes, maxEntries) : null;
+  }
+
+  /**
+   * Returns the cached single-product estimate, calling {@code packer} on a miss. The product ID
+   * is not part of the key, as the estimate only depends on the product's size and quantity.
+   *
+   * @param pickupLocationId The location whose packages are used
+   * @param packageVersion The location's package inventory version the packages were loaded at
+   * @param product Product dimensions and quantity
+   * @param packer Computes the estimate
+   * @return The cached or freshly computed estimate
+   */
+  public PackagingHelper.PackagingEstimateResult get(
+      Long pickupLocationId,
+      long packageVersion,
+      PackagingHelper.ProductDimension product,
+      Supplier<PackagingHelper.PackagingEstimateResult> packer) {
+    if (estimates == null) {
+      return packer.get();
+    }
+    Key key = new Key(pickupLocationId, packageVersion, List.of(productKey(null, product)));
+    return getOrPack(estimates, key, packer);
+  }
+
+  /**
+   * Returns the cached multi-product estimate, calling {@code packer} on a miss.
+   *
+   * @param pickupLocationId The location whose packages are used
+   * @param packageVersion The location's package inventory version the packages were loaded at
+   * @param products Product dimensions and quantities by product ID
+   * @param packer Computes the estimate
+   * @return The cached or freshly computed estimate
+   */
+  public PackagingHelper.MultiProductPackagingResult get(
+      Long pickupLocationId,
+      long packageVersion,
+      Map<Long, PackagingHelper.ProductDimension> products,
+      Supplier<PackagingHelper.MultiProductPackagingResult> packer) {
+    if (multiProductEstimates == null) {
+      return packer.get();
+    }
+    List<ProductKey> productKeys = new ArrayList<>(products.size());
+    products.forEach((productId, product) -> productKeys.add(productKey(productId, product)));
+    productKeys.sort(Comparator.comparing(ProductKey::productId));
+    Key key = new Key(pickupLocationId, packageVersion, List.copyOf(productKeys));
+    return getOrPack(multiProductEstimates, key, packer);
+  }
+
+  /** Hit and miss counts across both kinds of estimate. */
+  public CacheStats stats() {
+    if (estimates == null) {
+      return new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+    return estimates.stats().plus(multiProductEstimates.stats());
+  }
+
+  private static <T> T getOrPack(Cache<Key, T> cache, Key key, Supplier<T> packer) {
+    T cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    T result = packer.get();
+    if (result != null) {
+      cache.put(key, result);
+    }
+    return result;
+  }
+
+  private static ProductKey productKey(Long productId, PackagingHelper.ProductDimension product) {
+    return new ProductKey(
+        productId, product.getQuantity(), product.getVolume(), product.getWeight());
+  }
+
+  private static <V> Cache<Key, V> newCache(long ttlMinutes, long maxEntries) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+        .recordStats()
+        .build();
+  }
+}
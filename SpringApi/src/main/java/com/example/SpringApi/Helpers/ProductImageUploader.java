@@ -0,0 +1,344 @@
+package com.example.SpringApi.Helpers;
+
+import com.example.SpringApi.ErrorMessages;
+import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Models.DTOs.ProductImageVariants;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Uploads a product's images to ImgBB concurrently, sending each image's raw bytes as a multipart
+ * upload.
+ *
+ * <p>Each image is read into its raw bytes once: a data URL or bare base64 string is decoded
+ * directly, and an http(s) URL is downloaded over a shared {@link HttpClient}. No base64 or
+ * URL-encoded copy is built for the upload. An image whose SHA-256 content hash matches the hash
+ * stored for its slot is not uploaded again. Every outbound request (download, upload or delete)
+ * takes one of {@code maxConcurrentUploads} slots shared by all products, so that is the bound on
+ * open ImgBB and download connections; the images in memory are those of the products currently
+ * being saved.
+ *
+ * <p>Each new image is also decoded once by {@link ImageVariantGenerator}. Its thumb and medium
+ * copies are uploaded in parallel with the image itself, which is re-encoded first when it is
+ * larger than the full-size bound, so product grids never download full-resolution images.
+ *
+ * <p>If any image of a call fails, everything the call already stored on ImgBB is deleted again,
+ * including uploads that finish after the failure, so a failed save leaves no orphaned images.
+ */
+@Component
+public class ProductImageUploader {
+  static final int DEFAULT_MAX_CONCURRENT_UPLOADS = 8;
+  private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(10);
+
+  /**
+   * An image to store in one product image slot.
+   *
+   * @param imageType The slot (main, top, bottom, etc.)
+   * @param imageData A data URL, bare base64 string or http(s) URL
+   * @param fileName The name to upload the image under
+   * @param previousContentHash The hash of the image stored in the slot, or null
+   * @param failureMessage The message to report if the image cannot be stored
+   */
+  public record ImageUpload(
+      String imageType,
+      String imageData,
+      String fileName,
+      String previousContentHash,
+      String failureMessage) {}
+
+  /**
+   * The outcome for one slot: the new image's URL, delete hash and resized copies, or unchanged
+   * when the stored image already has the same content. Every new image has a thumb and a medium
+   * copy; a copy the image is already small enough for points at the image itself.
+   */
+  public record UploadResult(
+      String imageType,
+      String url,
+      String deleteHash,
+      String contentHash,
+      boolean unchanged,
+      Map<String, ProductImageVariants.StoredImage> variants) {}
+
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("product-image-", 0).factory());
+  private final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .connectTimeout(DOWNLOAD_TIMEOUT)
+          .followRedirects(HttpClient.Redirect.NORMAL)
+          .build();
+  private final Semaphore permits;
+  private final ImageVariantGenerator variantGenerator = new ImageVariantGenerator();
+
+  /** The images one {@link #uploadAll} call has stored, to delete if the call fails. */
+  private static final class StoredImages {
+    private final List<String> deleteHashes = new ArrayList<>();
+    private boolean failed;
+
+    /** Records a stored image; false once the call has failed and the image must be deleted. */
+    synchronized boolean keep(String deleteHash) {
+      if (failed) {
+        return false;
+      }
+      deleteHashes.add(deleteHash);
+      return true;
+    }
+
+    /** Marks the call failed and returns the images stored so far. */
+    synchronized List<String> fail() {
+      failed = true;
+      return List.copyOf(deleteHashes);
+    }
+  }
+
+  @Autowired
+  public ProductImageUploader(
+      @Value("${product-images.max-concurrent-uploads:" + DEFAULT_MAX_CONCURRENT_UPLOADS + "}")
+          int maxConcurrentUploads) {
+    this.permits = new Semaphore(Math.max(maxConcurrentUploads, 1));
+  }
+
+  /**
+   * Reads, hashes and uploads the images concurrently and waits for all of them.
+   *
+   * @param imgbbHelper The client's ImgBB helper
+   * @param uploads The images to store
+   * @return One result per upload, in the same order
+   * @throws BadRequestException for the first image, in upload order, that could not be stored;
+   *     the images already stored are deleted first
+   */
+  public List<UploadResult> uploadAll(ImgbbHelper imgbbHelper, List<ImageUpload> uploads) {
+    StoredImages stored = new StoredImages();
+    List<Future<UploadResult>> futures = new ArrayList<>();
+    for (ImageUpload upload : uploads) {
+      futures.add(executor.submit(() -> upload(imgbbHelper, upload, stored)));
+    }
+    try {
+      List<UploadResult> results = new ArrayList<>();
+      for (Future<UploadResult> future : futures) {
+        results.add(await(future));
+      }
+      return results;
+    } catch (RuntimeException e) {
+      List<String> orphaned = stored.fail();
+      // Stops the remaining uploads; any that still finish delete their own image
+      futures.forEach(future -> future.cancel(true));
+      deleteAll(imgbbHelper, orphaned);
+      throw e;
+    }
+  }
+
+  /**
+   * Deletes replaced images concurrently and waits for the deletions. Failures are ignored, as
+   * with {@link ImgbbHelper#deleteMultipleImages}.
+   *
+   * @param imgbbHelper The client's ImgBB helper
+   * @param deleteHashes The delete hashes of the replaced images
+   */
+  public void deleteAll(ImgbbHelper imgbbHelper, List<String> deleteHashes) {
+    List<Future<?>> futures = new ArrayList<>();
+    for (String deleteHash : deleteHashes) {
+      futures.add(executor.submit(() -> delete(imgbbHelper, deleteHash)));
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        // Error deleting image - the new image is already stored
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * SHA-256 of the image bytes, as lowercase hex.
+   *
+   * @param image The image bytes
+   * @return The content hash
+   */
+  public static String contentHash(byte[] image) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private UploadResult upload(ImgbbHelper imgbbHelper, ImageUpload upload, StoredImages stored)
+      throws InterruptedException {
+    Map<String, Future<ImgbbHelper.ImgbbUploadResponse>> copies = new LinkedHashMap<>();
+    try {
+      byte[] image = readImage(upload.imageData());
+      if (image == null) {
+        throw new BadRequestException(upload.failureMessage());
+      }
+      String contentHash = contentHash(image);
+      if (contentHash.equals(upload.previousContentHash())) {
+        return new UploadResult(upload.imageType(), null, null, contentHash, true, null);
+      }
+      byte[] primary = image;
+      for (ImageVariantGenerator.Variant variant : variantGenerator.generate(image)) {
+        if (ImageVariantGenerator.FULL.equals(variant.name())) {
+          primary = variant.bytes();
+        } else {
+          String fileName = upload.fileName() + "-" + variant.name();
+          copies.put(
+              variant.name(),
+              executor.submit(() -> send(imgbbHelper, variant.bytes(), fileName, stored)));
+        }
+      }
+      ImgbbHelper.ImgbbUploadResponse response =
+          requireUploaded(send(imgbbHelper, primary, upload.fileName(), stored), upload);
+      Map<String, ProductImageVariants.StoredImage> variants = new LinkedHashMap<>();
+      for (String name : List.of(ImageVariantGenerator.THUMB, ImageVariantGenerator.MEDIUM)) {
+        ImgbbHelper.ImgbbUploadResponse copy =
+            copies.containsKey(name) ? requireUploaded(await(copies.get(name)), upload) : null;
+        variants.put(
+            name,
+            copy != null
+                ? new ProductImageVariants.StoredImage(copy.getUrl(), copy.getDeleteHash())
+                : new ProductImageVariants.StoredImage(response.getUrl(), null));
+      }
+      return new UploadResult(
+          upload.imageType(),
+          response.getUrl(),
+          response.getDeleteHash(),
+          contentHash,
+          false,
+          variants);
+    } finally {
+      copies.values().forEach(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Uploads one image in its own slot and records it with the call's stored images. If the call
+   * has already failed, the image is deleted again and null returned.
+   */
+  private ImgbbHelper.ImgbbUploadResponse send(
+      ImgbbHelper imgbbHelper, byte[] image, String fileName, StoredImages stored)
+      throws InterruptedException {
+    ImgbbHelper.ImgbbUploadResponse response;
+    permits.acquire();
+    try {
+      response = imgbbHelper.uploadImage(image, fileName);
+    } finally {
+      permits.release();
+    }
+    if (response != null
+        && response.getDeleteHash() != null
+        && !stored.keep(response.getDeleteHash())) {
+      delete(imgbbHelper, response.getDeleteHash());
+      return null;
+    }
+    return response;
+  }
+
+  private boolean delete(ImgbbHelper imgbbHelper, String deleteHash) throws InterruptedException {
+    permits.acquire();
+    try {
+      return imgbbHelper.deleteImage(deleteHash);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private static ImgbbHelper.ImgbbUploadResponse requireUploaded(
+      ImgbbHelper.ImgbbUploadResponse response, ImageUpload upload) {
+    if (response == null || response.getUrl() == null) {
+      throw new BadRequestException(upload.failureMessage());
+    }
+    return response;
+  }
+
+  /** Raw bytes of a data URL, bare base64 string or http(s) URL; null if it is not base64. */
+  private byte[] readImage(String imageData) {
+    if (imageData.startsWith("http")) {
+      return download(imageData);
+    }
+    int start = imageData.startsWith("data:image") ? imageData.indexOf(',') + 1 : 0;
+    byte[] encoded = imageData.getBytes(StandardCharsets.ISO_8859_1);
+    try {
+      ByteBuffer decoded =
+          Base64.getDecoder().decode(ByteBuffer.wrap(encoded, start, encoded.length - start));
+      byte[] image = decoded.array();
+      return decoded.remaining() == image.length
+          ? image
+          : Arrays.copyOfRange(image, decoded.position(), decoded.limit());
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private byte[] download(String imageUrl) {
+    try {
+      HttpRequest request =
+          HttpRequest.newBuilder(URI.create(imageUrl)).timeout(DOWNLOAD_TIMEOUT).GET().build();
+      HttpResponse<byte[]> response;
+      permits.acquire();
+      try {
+        response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+      } finally {
+        permits.release();
+      }
+      if (response.statusCode() != 200) {
+        throw new IOException(
+            String.format(
+                ErrorMessages.ProductErrorMessages.HTTP_ERROR_WHEN_FETCHING_IMAGE_FORMAT,
+                response.statusCode()));
+      }
+      return response.body();
+    } catch (IOException | IllegalArgumentException e) {
+      throw new BadRequestException(
+          String.format(ErrorMessages.ProductErrorMessages.ER012, imageUrl));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BadRequestException(
+          String.format(ErrorMessages.ProductErrorMessages.ER012, imageUrl));
+    }
+  }
+
+  private static <T> T await(Future<T> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+package com.example.SpringApi.Helpers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the heaviest serviceable shipment weight per route.
+ *
+ * <p>Entries are keyed by client, pickup postcode, delivery postcode and COD flag. On a miss the
+ * weight levels are searched by bisection, with the probes of each round sent concurrently: for
+ * the five default levels that is at most three calls in two round trips, instead of up to five
+ * sequential calls. Probes run on the {@link OutboundCallExecutor}, within the client's outbound
+ * limits and the caller's deadline; probes still running at the deadline are cancelled and the
+ * search counts as failed. When the lookup itself runs inside an outbound call, its probes run one
+ * after another on that call's permit. Entries older than {@code refreshAfterMinutes} are still
+ * served while a background refresh re-probes the route; entries older than {@code
+ * expireAfterMinutes} are dropped. Results from a search in which any probe failed are used but
+ * not stored, so an upstream outage is not remembered as an unserviceable route.
+ *
+ * <p>Assumes serviceability is monotonic in weight: a route that takes a parcel of some weight
+ * also takes every lighter one.
+ */
+@Component
+public class RouteCapabilityStore {
+  /** Weight levels probed, in kilograms, ascending. */
+  static final double[] WEIGHT_LEVELS_KG = {100, 200, 300, 400, 500};
+
+  static final long DEFAULT_REFRESH_AFTER_MINUTES = 360;
+  static final long DEFAULT_EXPIRE_AFTER_MINUTES = 1_440;
+  static final long REFRESH_TIMEOUT_SECONDS = 30;
+  private static final long MAX_CACHED_ROUTES = 50_000;
+  private static final int PROBES_PER_ROUND = 2;
+  private static final Logger logger = LoggerFactory.getLogger(RouteCapabilityStore.class);
+
+  /** Checks whether a route accepts a shipment of the given weight. */
+  @FunctionalInterface
+  public interface WeightProbe {
+    boolean isServiceable(double weightKg);
+  }
+
+  private record RouteCapability(double maxWeightKg, long probedAtMillis) {}
+
+  private record SearchResult(double maxWeightKg, boolean complete) {}
+
+  private final Cache<String, RouteCapability> routes;
+  private final long refreshAfterMillis;
+  private final OutboundCallExecutor outboundCallExecutor;
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public RouteCapabilityStore(
+      @Value(
+              "${shipping.route-capability.refresh-after-minutes:"
+                  + DEFAULT_REFRESH_AFTER_MINUTES
+                  + "}")
+          long refreshAfterMinutes,
+      @Value(
+              "${shipping.route-capability.expire-after-minutes:"
+                  + DEFAULT_EXPIRE_AFTER_MINUTES
+                  + "}")
+          long expireAfterMinutes,
+      OutboundCallExecutor outboundCallExecutor) {
+    this.routes =
+        expireAfterMinutes > 0
+            ? CacheBuilder.newBuilder()
+                .maximumSize(MAX_CACHED_ROUTES)
+                .expireAfterWrite(expireAfterMinutes, TimeUnit.MINUTES)
+                .build()
+            : null;
+    this.refreshAfterMillis = TimeUnit.MINUTES.toMillis(refreshAfterMinutes);
+    this.outboundCallExecutor = outboundCallExecutor;
+  }
+
+  /**
+   * Returns the heaviest serviceable weight level for a route, probing it on a miss.
+   *
+   * @param clientId The client whose Shiprocket account serves the route
+   * @param pickupPostcode Pickup location postal code
+   * @param deliveryPostcode Delivery location postal code
+   * @param isCod Whether the order is Cash on Delivery
+   * @param deadline {@link System#nanoTime()} by which probing must finish, see {@link
+   *     OutboundCallExecutor#deadlineAfter}
+   * @param probe Asks Shiprocket whether the route takes a given weight
+   * @return The heaviest serviceable level in kilograms, or 0 if none is
+   */
+  public double getMaxWeight(
+      Long clientId,
+      String pickupPostcode,
+      String deliveryPostcode,
+      boolean isCod,
+      long deadline,
+      WeightProbe probe) {
+    if (routes == null) {
+      return search(clientId, deadline, probe).maxWeightKg();
+    }
+    String key =
+        clientId
+            + "|"
+            + pickupPostcode
+            + "|"
+            + deliveryPostcode
+            + "|"
+            + (isCod ? "cod" : "prepaid");
+
+    RouteCapability cached = routes.getIfPresent(key);
+    if (cached != null) {
+      if (System.currentTimeMillis() - cached.probedAtMillis() > refreshAfterMillis) {
+        refreshInBackground(key, clientId, probe);
+      }
+      return cached.maxWeightKg();
+    }
+
+    // Concurrent misses for the same route share one search
+    try {
+      return routes
+          .get(
+              key,
+              () -> {
+                SearchResult result = search(clientId, deadline, probe);
+                if (!result.complete()) {
+                  throw new IncompleteSearchException(result.maxWeightKg());
+                }
+                return new RouteCapability(result.maxWeightKg(), System.currentTimeMillis());
+              })
+          .maxWeightKg();
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof IncompleteSearchException incomplete) {
+        return incomplete.maxWeightKg;
+      }
+      return 0;
+    }
+  }
+
+  /** Number of routes currently stored. */
+  public long size() {
+    return routes != null ? routes.size() : 0;
+  }
+
+  private void refreshInBackground(String key, Long clientId, WeightProbe probe) {
+    if (!refreshing.add(key)) {
+      return;
+    }
+    try {
+      // Only waits on the probes, which run on the outbound executor
+      Thread.ofVirtual()
+          .name("route-capability-refresh")
+          .start(
+              () -> {
+                try {
+                  long deadline =
+                      OutboundCallExecutor.deadlineAfter(REFRESH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                  SearchResult result = search(clientId, deadline, probe);
+                  if (result.complete()) {
+                    routes.put(
+                        key,
+                        new RouteCapability(result.maxWeightKg(), System.currentTimeMillis()));
+                  }
+                } catch (RuntimeException e) {
+                  logger.warn("Route capability refresh failed for {}", key, e);
+                } finally {
+                  refreshing.remove(key);
+                }
+              });
+    } catch (RuntimeException e) {
+      refreshing.remove(key);
+    }
+  }
+
+  /**
+   * Bisects the weight levels. {@code lo} is the heaviest level known to be serviceable and {@code
+   * hi} the lightest known not to be; each round probes up to {@link #PROBES_PER_ROUND} levels
+   * evenly spaced between them. Stops early, with an incomplete result, if the thread is
+   * interrupted.
+   */
+  private SearchResult search(Long clientId, long deadline, WeightProbe probe) {
+    int lo = -1;
+    int hi = WEIGHT_LEVELS_KG.length;
+    boolean complete = true;
+    while (hi - lo > 1) {
+      int gap = hi - lo - 1;
+      int count = Math.min(PROBES_PER_ROUND, gap);
+      List<Integer> indices = new ArrayList<>(count);
+      List<CompletableFuture<Boolean>> probes = new ArrayList<>(count);
+      for (int i = 1; i <= count; i++) {
+        int index = lo + (int) Math.round((double) i * (gap + 1) / (count + 1));
+        double weight = WEIGHT_LEVELS_KG[index];
+        indices.add(index);
+        probes.add(submit(clientId, deadline, probe, weight));
+      }
+
+      boolean[] serviceable = new boolean[count];
+      for (int i = 0; i < count; i++) {
+        try {
+          serviceable[i] =
+              probes
+                  .get(i)
+                  .get(OutboundCallExecutor.remainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+          complete = false;
+        } catch (InterruptedException e) {
+          OutboundCallExecutor.cancelIncomplete(probes);
+          Thread.currentThread().interrupt();
+          return new SearchResult(lo >= 0 ? WEIGHT_LEVELS_KG[lo] : 0, false);
+        }
+        if (serviceable[i]) {
+          lo = Math.max(lo, indices.get(i));
+        }
+      }
+      for (int i = 0; i < count; i++) {
+        // A failure below a level that passed is an inconsistent answer; trust the pass
+        if (!serviceable[i] && indices.get(i) > lo) {
+          hi = Math.min(hi, indices.get(i));
+        }
+      }
+    }
+    return new SearchResult(lo >= 0 ? WEIGHT_LEVELS_KG[lo] : 0, complete);
+  }
+
+  /** Sends one probe through the outbound executor. */
+  private CompletableFuture<Boolean> submit(
+      Long clientId, long deadline, WeightProbe probe, double weight) {
+    return outboundCallExecutor.supply(clientId, deadline, () -> probe.isServiceable(weight));
+  }
+
+  /** Carries the result of a search that must not be stored. */
+  private static final class IncompleteSearchException extends RuntimeException {
+    private final double maxWeightKg;
+
+    IncompleteSearchException(double maxWeightKg) {
+      super(null, null, false, false);
+      this.maxWeightKg = maxWeightKg;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.example.SpringApi.Helpers;
 import com.example.SpringApi.Adapters.DateAdapter;
 import com.example.SpringApi.Adapters.LocalDateTimeAdapter;
 import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Exceptions.ServiceUnavailableException;
 import com.example.SpringApi.Models.DatabaseModels.PickupLocation;
 import com.example.SpringApi.Models.ShippingResponseModel.AddPickupLocationResponseModel;
 import com.example.SpringApi.Models.ShippingResponseModel.ShipRocketAwbResponseModel;
@@ -32,8 +33,11 @@ import java.util.*;
 public class ShipRocketHelper {
   private static final String API_URL = "https://apiv2.shiprocket.in/v1/external";
   private static final String SHIPMENT_ID_KEY = "shipment_id";
+  private static final String SERVICEABILITY_PATH = "/courier/serviceability/";
   private final String email;
   private final String password;
+  private final String apiUrl;
+  private final ShipRocketResilience resilience;
 
   /**
    * Timeout for HTTP requests to Shiprocket API (5 seconds). Prevents hanging if the API is slow or
@@ -51,22 +55,72 @@ public class ShipRocketHelper {
   private static final long TOKEN_CACHE_DURATION_MS =
       55L * 60 * 1000; // 55 minutes (tokens usually valid for 1 hour)
 
-  /** Create an HttpClient with timeout configuration. */
+  /**
+   * One client for every helper instance, so TLS sessions and HTTP/2 connections to Shiprocket are
+   * reused across requests and tenants. HttpClient, Gson and ObjectMapper are all thread-safe.
+   */
+  private static final HttpClient SHARED_HTTP_CLIENT =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_2)
+          .connectTimeout(HTTP_TIMEOUT)
+          .build();
+
+  private static final Gson SHARED_GSON =
+      new GsonBuilder()
+          .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+          .registerTypeAdapter(Date.class, new DateAdapter())
+          .create();
+
+  private static final ObjectMapper SHARED_OBJECT_MAPPER = new ObjectMapper();
+
+  /** Returns the shared HttpClient (HTTP/2 with HTTP/1.1 fallback, connect timeout applied). */
   protected HttpClient createHttpClient() {
-    return HttpClient.newBuilder().connectTimeout(HTTP_TIMEOUT).build();
+    return SHARED_HTTP_CLIENT;
   }
 
   public ShipRocketHelper(String email, String password) {
+    this(email, password, ShipRocketResilience.defaults());
+  }
+
+  public ShipRocketHelper(String email, String password, ShipRocketResilience resilience) {
+    this(email, password, resilience, API_URL);
+  }
+
+  /** Helper against another base URL, e.g. a local stub server in tests. */
+  ShipRocketHelper(String email, String password, ShipRocketResilience resilience, String apiUrl) {
     this.email = email;
     this.password = password;
+    this.resilience = resilience;
+    this.apiUrl = apiUrl;
   }
 
-  /** Creates a configured Gson instance for JSON serialization/deserialization. */
+  /** Returns the shared Gson instance used for JSON serialization/deserialization. */
   protected Gson createGson() {
-    return new GsonBuilder()
-        .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-        .registerTypeAdapter(Date.class, new DateAdapter())
-        .create();
+    return SHARED_GSON;
+  }
+
+  /**
+   * Circuit breaker key for a URL: its path below the API root with numeric IDs collapsed, e.g.
+   * {@code /orders/show/{id}}.
+   */
+  String endpointOf(String url) {
+    String path = url.startsWith(apiUrl) ? url.substring(apiUrl.length()) : url;
+    int query = path.indexOf('?');
+    if (query >= 0) {
+      path = path.substring(0, query);
+    }
+    return path.replaceAll("/\\d+(?=/|$)", "/{id}");
+  }
+
+  /** Whether this helper was created for the given Shiprocket credentials. */
+  public boolean hasCredentials(String email, String password) {
+    return Objects.equals(this.email, email) && Objects.equals(this.password, password);
+  }
+
+  /** Drops the cached auth token so the next call logs in again. */
+  public synchronized void invalidateToken() {
+    cachedToken = null;
+    tokenExpiresAt = 0;
   }
 
   /**
@@ -79,6 +133,7 @@ public class ShipRocketHelper {
    * @param content Request body object (will be serialized to JSON)
    * @return Raw JSON response string
    * @throws BadRequestException if HTTP status is not 200 or on any error
+   * @throws ServiceUnavailableException if the endpoint's circuit breaker is open
    */
   protected String httpResponseRaw(String token, String url, String methodType, Object content) {
     try {
@@ -98,15 +153,25 @@ public class ShipRocketHelper {
         requestBuilder.header("Authorization", "Bearer " + token);
       }
 
+      HttpRequest request = requestBuilder.build();
+      // Serviceability lookups are idempotent reads, so they may be hedged
+      boolean hedge = "GET".equals(methodType) && url.endsWith(SERVICEABILITY_PATH);
       HttpResponse<String> response =
-          client.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString());
+          resilience.send(
+              endpointOf(url),
+              hedge,
+              () -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
       if (response.statusCode() == 200) {
         return response.body();
       } else {
+        if (response.statusCode() == 401) {
+          // Token revoked or password changed on Shiprocket's side; log in again next time
+          invalidateToken();
+        }
         throw new BadRequestException(
             "Shiprocket API error (status " + response.statusCode() + "): " + response.body());
       }
-    } catch (BadRequestException e) {
+    } catch (BadRequestException | ServiceUnavailableException e) {
       throw e;
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
@@ -155,13 +220,13 @@ public class ShipRocketHelper {
     // Token expired or not cached - fetch new one
     try {
       HttpClient client = createHttpClient();
-      URI uri = URI.create(API_URL + "/auth/login");
+      URI uri = URI.create(apiUrl + "/auth/login");
 
       HashMap<String, Object> jsonBody = new HashMap<>();
       jsonBody.put("email", email);
       jsonBody.put("password", password);
 
-      ObjectMapper mapper = new ObjectMapper();
+      ObjectMapper mapper = SHARED_OBJECT_MAPPER;
       String data = mapper.writeValueAsString(jsonBody);
 
       HttpRequest request =
@@ -172,7 +237,11 @@ public class ShipRocketHelper {
               .timeout(HTTP_TIMEOUT)
               .build();
 
-      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      HttpResponse<String> response =
+          resilience.send(
+              endpointOf(uri.toString()),
+              false,
+              () -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
 
       if (response.statusCode() != 200) {
         throw new BadRequestException(
@@ -195,6 +264,8 @@ public class ShipRocketHelper {
       tokenExpiresAt = 0;
       throw new BadRequestException(
           "Authentication token request was interrupted: " + e.getMessage());
+    } catch (ServiceUnavailableException e) {
+      throw e;
     } catch (Exception e) {
       // Clear cached token on error so we retry next time
       cachedToken = null;
@@ -246,7 +317,7 @@ public class ShipRocketHelper {
 
     return httpResponse(
         token,
-        API_URL + "/settings/company/addpickup",
+        apiUrl + "/settings/company/addpickup",
         "POST",
         new TypeToken<AddPickupLocationResponseModel>() {}.getType(),
         jsonBody,
@@ -274,7 +345,7 @@ public class ShipRocketHelper {
 
     return httpResponse(
         token,
-        API_URL + "/courier/serviceability/",
+        apiUrl + "/courier/serviceability/",
         "GET",
         new TypeToken<ShippingOptionsResponseModel>() {}.getType(),
         jsonBody,
@@ -299,7 +370,7 @@ public class ShipRocketHelper {
     ShipRocketOrderResponseModel response =
         httpResponse(
             token,
-            API_URL + "/orders/create/adhoc",
+            apiUrl + "/orders/create/adhoc",
             "POST",
             new TypeToken<ShipRocketOrderResponseModel>() {}.getType(),
             orderRequest,
@@ -361,7 +432,7 @@ public class ShipRocketHelper {
     jsonBody.put("courier_id", String.valueOf(courierId));
 
     // Use base HTTP method
-    String responseBody = httpResponseRaw(token, API_URL + "/courier/assign/awb", "POST", jsonBody);
+    String responseBody = httpResponseRaw(token, apiUrl + "/courier/assign/awb", "POST", jsonBody);
 
     // Validate response content - HTTP 200 doesn't guarantee success
     ShipRocketAwbResponseModel awbResponse =
@@ -416,7 +487,7 @@ public class ShipRocketHelper {
 
     // Use base HTTP method
     String responseBody =
-        httpResponseRaw(token, API_URL + "/courier/generate/pickup", "POST", jsonBody);
+        httpResponseRaw(token, apiUrl + "/courier/generate/pickup", "POST", jsonBody);
 
     // Deserialize into typed response model
     ShipRocketPickupResponseModel response =
@@ -464,7 +535,7 @@ public class ShipRocketHelper {
     jsonBody.put("shipment_id", java.util.List.of(shipmentId));
 
     // Use base HTTP method
-    String responseBody = httpResponseRaw(token, API_URL + "/manifests/generate", "POST", jsonBody);
+    String responseBody = httpResponseRaw(token, apiUrl + "/manifests/generate", "POST", jsonBody);
 
     // Deserialize into typed response model
     ShipRocketManifestResponseModel response =
@@ -513,7 +584,7 @@ public class ShipRocketHelper {
 
     // Use base HTTP method
     String responseBody =
-        httpResponseRaw(token, API_URL + "/courier/generate/label", "POST", jsonBody);
+        httpResponseRaw(token, apiUrl + "/courier/generate/label", "POST", jsonBody);
 
     // Deserialize into typed response model
     ShipRocketLabelResponseModel response =
@@ -562,7 +633,7 @@ public class ShipRocketHelper {
 
     // Use base HTTP method
     String responseBody =
-        httpResponseRaw(token, API_URL + "/orders/print/invoice", "POST", jsonBody);
+        httpResponseRaw(token, apiUrl + "/orders/print/invoice", "POST", jsonBody);
 
     // Deserialize into typed response model
     ShipRocketInvoiceResponseModel response =
@@ -607,7 +678,7 @@ public class ShipRocketHelper {
 
     // Use base HTTP method - GET request with AWB in URL
     String responseBody =
-        httpResponseRaw(token, API_URL + "/courier/track/awb/" + awbCode.trim(), "GET", null);
+        httpResponseRaw(token, apiUrl + "/courier/track/awb/" + awbCode.trim(), "GET", null);
 
     // Deserialize into typed response model
     ShipRocketTrackingResponseModel response =
@@ -648,7 +719,7 @@ public class ShipRocketHelper {
 
     // Use base HTTP method
     String responseBody =
-        httpResponseRaw(token, API_URL + "/orders/show/" + shipRocketOrderId.trim(), "GET", null);
+        httpResponseRaw(token, apiUrl + "/orders/show/" + shipRocketOrderId.trim(), "GET", null);
 
     // Validate response content - HTTP 200 doesn't guarantee success
     com.example.SpringApi.Models.ShippingResponseModel.ShipRocketOrderDetailsResponseModel
@@ -697,7 +768,7 @@ public class ShipRocketHelper {
     String token = getToken();
 
     String responseBody =
-        httpResponseRaw(token, API_URL + "/orders/create/return", "POST", returnOrderRequest);
+        httpResponseRaw(token, apiUrl + "/orders/create/return", "POST", returnOrderRequest);
 
     // Deserialize into typed response model
     ShipRocketReturnOrderResponseModel response =
@@ -736,7 +807,7 @@ public class ShipRocketHelper {
     String token = getToken();
 
     String responseBody =
-        httpResponseRaw(token, API_URL + "/orders/create/return", "POST", returnOrderRequest);
+        httpResponseRaw(token, apiUrl + "/orders/create/return", "POST", returnOrderRequest);
 
     // Validate response
     ShipRocketReturnOrderResponseModel response =
@@ -772,7 +843,7 @@ public class ShipRocketHelper {
     jsonBody.put("is_return", 1); // Indicates this is a return shipment
 
     // Use base HTTP method
-    String responseBody = httpResponseRaw(token, API_URL + "/courier/assign/awb", "POST", jsonBody);
+    String responseBody = httpResponseRaw(token, apiUrl + "/courier/assign/awb", "POST", jsonBody);
 
     // Validate response content
     ShipRocketAwbResponseModel awbResponse =
@@ -824,7 +895,7 @@ public class ShipRocketHelper {
     jsonBody.put("ids", orderIds);
 
     // Use base HTTP method - this endpoint returns no response body on success
-    httpResponseRaw(token, API_URL + "/orders/cancel", "POST", jsonBody);
+    httpResponseRaw(token, apiUrl + "/orders/cancel", "POST", jsonBody);
 
     // If we get here without exception, the cancellation was successful
   }
@@ -841,7 +912,7 @@ public class ShipRocketHelper {
     String token = getToken();
 
     String responseBody =
-        httpResponseRaw(token, API_URL + "/account/details/wallet-balance", "GET", null);
+        httpResponseRaw(token, apiUrl + "/account/details/wallet-balance", "GET", null);
 
     try {
       com.google.gson.JsonObject jsonResponse =
@@ -0,0 +1,78 @@
+package com.example.SpringApi.Helpers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Long-lived {@link ShipRocketHelper} per client, so each client's Shiprocket auth token is reused
+ * across shipping calculations, cancellations and returns instead of logging in on every request.
+ *
+ * <p>A cached helper is only handed out while the client's stored credentials still match the ones
+ * it was created with; otherwise it is replaced. {@link #invalidate(Long)} drops a client's helper
+ * straight away, e.g. after its credentials are updated. Idle helpers expire after an hour, by
+ * which point their token has expired too.
+ */
+@Component
+public class ShipRocketHelperRegistry {
+  private static final int MAX_CACHED_CLIENTS = 1_000;
+  private static final long IDLE_EXPIRY_MINUTES = 60;
+
+  private final Cache<Long, ShipRocketHelper> helpersByClientId =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_CACHED_CLIENTS)
+          .expireAfterAccess(IDLE_EXPIRY_MINUTES, TimeUnit.MINUTES)
+          .build();
+
+  private final ShipRocketResilience resilience;
+
+  @Autowired
+  public ShipRocketHelperRegistry(ShipRocketResilience resilience) {
+    this.resilience = resilience;
+  }
+
+  /**
+   * Returns the client's helper, creating one if none is cached or the credentials have changed.
+   *
+   * @param clientId The client the credentials belong to
+   * @param email The client's Shiprocket email
+   * @param password The client's Shiprocket password
+   * @return A helper for those credentials
+   */
+  public ShipRocketHelper getHelper(Long clientId, String email, String password) {
+    if (clientId == null) {
+      return createHelper(email, password);
+    }
+    return helpersByClientId
+        .asMap()
+        .compute(
+            clientId,
+            (id, existing) ->
+                existing != null && existing.hasCredentials(email, password)
+                    ? existing
+                    : createHelper(email, password));
+  }
+
+  /** Drops the client's cached helper and its auth token. */
+  public void invalidate(Long clientId) {
+    if (clientId == null) {
+      return;
+    }
+    ShipRocketHelper helper = helpersByClientId.asMap().remove(clientId);
+    if (helper != null) {
+      helper.invalidateToken();
+    }
+  }
+
+  /** Number of clients with a cached helper. */
+  public long size() {
+    return helpersByClientId.size();
+  }
+
+  /** Factory for new helpers; overridable in tests. */
+  protected ShipRocketHelper createHelper(String email, String password) {
+    return new ShipRocketHelper(email, password, resilience);
+  }
+}
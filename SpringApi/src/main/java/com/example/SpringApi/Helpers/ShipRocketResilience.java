@@ -0,0 +1,326 @@
+package com.example.SpringApi.Helpers;
+
+import com.example.SpringApi.Exceptions.ServiceUnavailableException;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breakers and request hedging for Shiprocket API calls, one breaker per endpoint.
+ *
+ * <p>Each breaker keeps a sliding window of the last {@code windowSize} calls. Once at least
+ * {@code minimumCalls} are recorded and {@code failureRatePercent} or more of them failed
+ * (exception, timeout or 5xx), the breaker opens and calls to that endpoint fail immediately with
+ * {@link ServiceUnavailableException} for {@code openMillis}. It then lets a single trial call
+ * through: success closes it, failure opens it again. Breakers are shared by every client's
+ * account, so responses that only reflect one account (4xx, including 401 and 429 rate limits) do
+ * not count as failures.
+ *
+ * <p>Hedged calls send a second, identical request when the first has not answered within the
+ * endpoint's recent 95th-percentile latency (but no sooner than {@code hedgeMinDelayMillis}), and
+ * use whichever succeeds first. Only idempotent requests may be hedged.
+ */
+@Component
+public class ShipRocketResilience {
+  public static final String CIRCUIT_OPEN_FORMAT =
+      "Shiprocket API is unavailable (%s failing); not calling it for now.";
+
+  private static final Logger logger = LoggerFactory.getLogger(ShipRocketResilience.class);
+  private static volatile ShipRocketResilience defaults;
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int windowSize;
+  private final int minimumCalls;
+  private final int failureRatePercent;
+  private final long openNanos;
+  private final boolean hedgingEnabled;
+  private final long hedgeMinDelayNanos;
+  private final Map<String, EndpointState> endpoints = new ConcurrentHashMap<>();
+  private final AtomicLong hedgedRequests = new AtomicLong();
+  private final AtomicLong shortCircuitedCalls = new AtomicLong();
+
+  @Autowired
+  public ShipRocketResilience(
+      @Value("${shiprocket.circuit-breaker.window-size:20}") int windowSize,
+      @Value("${shiprocket.circuit-breaker.minimum-calls:10}") int minimumCalls,
+      @Value("${shiprocket.circuit-breaker.failure-rate-percent:50}") int failureRatePercent,
+      @Value("${shiprocket.circuit-breaker.open-millis:30000}") long openMillis,
+      @Value("${shiprocket.hedging.enabled:true}") boolean hedgingEnabled,
+      @Value("${shiprocket.hedging.min-delay-millis:100}") long hedgeMinDelayMillis) {
+    this.windowSize = Math.max(windowSize, 1);
+    this.minimumCalls = Math.max(Math.min(minimumCalls, this.windowSize), 1);
+    this.failureRatePercent = failureRatePercent;
+    this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    this.hedgingEnabled = hedgingEnabled;
+    this.hedgeMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMillis);
+  }
+
+  /** Process-wide instance with default settings, for helpers created outside Spring. */
+  public static ShipRocketResilience defaults() {
+    ShipRocketResilience instance = defaults;
+    if (instance == null) {
+      synchronized (ShipRocketResilience.class) {
+        instance = defaults;
+        if (instance == null) {
+          instance = new ShipRocketResilience(20, 10, 50, 30_000, true, 100);
+          defaults = instance;
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Sends a request through the endpoint's circuit breaker.
+   *
+   * @param endpoint Breaker key, e.g. {@code /courier/serviceability/}
+   * @param hedge Whether the request is idempotent and may be sent twice
+   * @param attempt Starts one asynchronous send of the request
+   * @return The response (any status)
+   * @throws ServiceUnavailableException with {@link #CIRCUIT_OPEN_FORMAT} if the breaker is open
+   */
+  public HttpResponse<String> send(
+      String endpoint, boolean hedge, Supplier<CompletableFuture<HttpResponse<String>>> attempt)
+      throws IOException, InterruptedException {
+    EndpointState state = endpoints.computeIfAbsent(endpoint, key -> new EndpointState());
+    long now = System.nanoTime();
+    if (!state.tryAcquire(now)) {
+      shortCircuitedCalls.incrementAndGet();
+      throw new ServiceUnavailableException(
+          String.format(CIRCUIT_OPEN_FORMAT, endpoint),
+          Math.max(TimeUnit.NANOSECONDS.toSeconds(state.remainingOpenNanos(now)), 1));
+    }
+
+    long start = System.nanoTime();
+    try {
+      HttpResponse<String> response = await(hedge ? hedged(state, attempt) : attempt.get());
+      if (isServerFailure(response.statusCode())) {
+        state.onFailure(endpoint, System.nanoTime());
+      } else {
+        state.onSuccess(System.nanoTime() - start);
+      }
+      return response;
+    } catch (InterruptedException e) {
+      // Our caller gave up; says nothing about Shiprocket's health
+      state.releaseTrial();
+      throw e;
+    } catch (IOException | RuntimeException e) {
+      state.onFailure(endpoint, System.nanoTime());
+      throw e;
+    }
+  }
+
+  /** Current breaker state of an endpoint; CLOSED if it has not been called. */
+  State getState(String endpoint) {
+    EndpointState state = endpoints.get(endpoint);
+    return state != null ? state.currentState() : State.CLOSED;
+  }
+
+  /** Number of backup requests sent by hedging since startup. */
+  public long getHedgedRequests() {
+    return hedgedRequests.get();
+  }
+
+  /** Number of calls rejected by an open breaker since startup. */
+  public long getShortCircuitedCalls() {
+    return shortCircuitedCalls.get();
+  }
+
+  private CompletableFuture<HttpResponse<String>> hedged(
+      EndpointState state, Supplier<CompletableFuture<HttpResponse<String>>> attempt)
+      throws InterruptedException {
+    CompletableFuture<HttpResponse<String>> primary = attempt.get();
+    long p95 = state.p95LatencyNanos();
+    if (!hedgingEnabled || p95 < 0) {
+      return primary;
+    }
+    try {
+      return CompletableFuture.completedFuture(
+          primary.get(Math.max(p95, hedgeMinDelayNanos), TimeUnit.NANOSECONDS));
+    } catch (TimeoutException e) {
+      hedgedRequests.incrementAndGet();
+      return firstSuccessful(primary, attempt.get());
+    } catch (ExecutionException e) {
+      return primary;
+    }
+  }
+
+  /** Completes with the first successful response, or the last outcome if neither succeeds. */
+  private CompletableFuture<HttpResponse<String>> firstSuccessful(
+      CompletableFuture<HttpResponse<String>> first,
+      CompletableFuture<HttpResponse<String>> second) {
+    CompletableFuture<HttpResponse<String>> result = new CompletableFuture<>();
+    AtomicInteger outcomes = new AtomicInteger();
+    for (CompletableFuture<HttpResponse<String>> candidate : Arrays.asList(first, second)) {
+      candidate.whenComplete(
+          (response, error) -> {
+            boolean succeeded = error == null && !isRetryable(response.statusCode());
+            boolean last = outcomes.incrementAndGet() == 2;
+            if (succeeded || last) {
+              if (error != null) {
+                result.completeExceptionally(error);
+              } else {
+                result.complete(response);
+              }
+            }
+          });
+    }
+    // Abandon whichever request lost
+    result.whenComplete(
+        (response, error) -> {
+          first.cancel(true);
+          second.cancel(true);
+        });
+    return result;
+  }
+
+  private static HttpResponse<String> await(CompletableFuture<HttpResponse<String>> future)
+      throws IOException, InterruptedException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      throw e;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /** Status that says Shiprocket itself is failing, whichever account calls it. */
+  private static boolean isServerFailure(int statusCode) {
+    return statusCode >= 500;
+  }
+
+  /** Status a second, identical request may not get. */
+  private static boolean isRetryable(int statusCode) {
+    return isServerFailure(statusCode) || statusCode == 429;
+  }
+
+  /** Sliding-window breaker and latency samples for one endpoint. */
+  private final class EndpointState {
+    private final boolean[] failed = new boolean[windowSize];
+    private final long[] latencies = new long[windowSize];
+    private int recorded;
+    private int next;
+    private int latencyCount;
+    private int nextLatency;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    synchronized State currentState() {
+      return state;
+    }
+
+    synchronized boolean tryAcquire(long now) {
+      if (state == State.OPEN && now - openedAt >= openNanos) {
+        state = State.HALF_OPEN;
+        trialInFlight = false;
+      }
+      if (state == State.HALF_OPEN) {
+        if (trialInFlight) {
+          return false;
+        }
+        trialInFlight = true;
+        return true;
+      }
+      return state == State.CLOSED;
+    }
+
+    /** Time left until an open breaker lets a trial call through; 0 when it is not open. */
+    synchronized long remainingOpenNanos(long now) {
+      return state == State.OPEN ? Math.max(openNanos - (now - openedAt), 0) : 0;
+    }
+
+    synchronized void releaseTrial() {
+      trialInFlight = false;
+    }
+
+    synchronized void onSuccess(long latencyNanos) {
+      latencies[nextLatency] = latencyNanos;
+      nextLatency = (nextLatency + 1) % windowSize;
+      latencyCount = Math.min(latencyCount + 1, windowSize);
+      if (state == State.HALF_OPEN) {
+        state = State.CLOSED;
+        trialInFlight = false;
+        resetWindow();
+        return;
+      }
+      record(false);
+    }
+
+    synchronized void onFailure(String endpoint, long now) {
+      if (state == State.HALF_OPEN) {
+        open(endpoint, now);
+        return;
+      }
+      record(true);
+      int failures = 0;
+      for (int i = 0; i < recorded; i++) {
+        if (failed[i]) {
+          failures++;
+        }
+      }
+      if (recorded >= minimumCalls && failures * 100 >= failureRatePercent * recorded) {
+        open(endpoint, now);
+      }
+    }
+
+    /** 95th-percentile latency of recent successful calls, or -1 with too few samples. */
+    synchronized long p95LatencyNanos() {
+      if (latencyCount < minimumCalls) {
+        return -1;
+      }
+      long[] samples = Arrays.copyOf(latencies, latencyCount);
+      Arrays.sort(samples);
+      return samples[(int) Math.ceil(0.95 * samples.length) - 1];
+    }
+
+    private void record(boolean failure) {
+      failed[next] = failure;
+      next = (next + 1) % windowSize;
+      recorded = Math.min(recorded + 1, windowSize);
+    }
+
+    private void open(String endpoint, long now) {
+      if (state != State.OPEN) {
+        logger.warn("Opening Shiprocket circuit breaker for {}", endpoint);
+      }
+      state = State.OPEN;
+      openedAt = now;
+      trialInFlight = false;
+      resetWindow();
+    }
+
+    private void resetWindow() {
+      recorded = 0;
+      next = 0;
+    }
+  }
+}
@@ -0,0 +1,345 @@
+package com.example.SpringApi.Helpers;
+
+import com.example.SpringApi.Models.ShippingResponseModel.ShippingOptionsResponseModel;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived cache of Shiprocket courier serviceability responses.
+ *
+ * <p>Entries are keyed by client, pickup and delivery postcode, COD flag and weight bucket.
+ * Shiprocket bills in weight slabs, so weights are rounded up to the next {@code weightBucketKg}
+ * slab for the key; the first lookup in a slab fetches the quote with its own weight. Concurrent
+ * lookups for the same key share one upstream call. Failed and empty (null) lookups are not cached.
+ *
+ * <p>Every fetched response is also kept as the route's last known rates for {@code
+ * staleTtlMinutes}. If Shiprocket fails (including an open circuit breaker), those rates are served
+ * instead of the error, so quoting degrades to slightly old prices rather than none.
+ *
+ * <p>The cheapest rate of each fetched quote is indexed by route and weight slab for the same
+ * period, so {@link #routeRates} can bound a route's cost without calling Shiprocket.
+ * Serviceability probes ({@link #probe}) share the responses but are not indexed, since no order
+ * ships at the weights they check.
+ *
+ * <p>Cached responses are shared between requests and must not be modified by callers.
+ */
+@Component
+public class ShippingRateCache {
+  static final long DEFAULT_TTL_SECONDS = 300;
+  static final long DEFAULT_MAX_ENTRIES = 10_000;
+  static final String DEFAULT_WEIGHT_BUCKET_KG = "0.5";
+  static final long DEFAULT_STALE_TTL_MINUTES = 1440;
+
+  private static final Logger logger = LoggerFactory.getLogger(ShippingRateCache.class);
+
+  private final Cache<String, ShippingOptionsResponseModel> responses;
+  private final Cache<String, ShippingOptionsResponseModel> lastKnown;
+  private final Cache<String, ConcurrentNavigableMap<Double, SlabRate>> ratesByRoute;
+  private final long rateMaxAgeMillis;
+  private final BigDecimal weightBucketKg;
+
+  /** Cheapest courier rate quoted for one weight slab of a route, and when it was fetched. */
+  private record SlabRate(double cheapestRate, long fetchedAtMillis) {}
+
+  /**
+   * Cached rates of one route as a lower bound on what a shipment costs, assuming a heavier
+   * shipment never costs less and never costs more per kilogram. A shipment costs at least its
+   * billed weight times the cheapest per-kg rate of the cached slabs at or above that weight.
+   * Above the heaviest cached slab it costs at least that slab's rate, and with no cached slabs
+   * nothing is known, so the bound is 0. The bound never decreases with weight.
+   *
+   * @param minRatePerKgFrom Per slab, the cheapest rupees per kg of that slab and the heavier ones
+   * @param heaviestSlabRate Cheapest rate of the heaviest cached slab, or 0 if none is cached
+   */
+  public record RouteRates(
+      NavigableMap<Double, Double> minRatePerKgFrom, double heaviestSlabRate) {
+    static final RouteRates NONE = new RouteRates(new TreeMap<>(), 0);
+
+    /**
+     * Least a shipment of this billed weight can cost on the route.
+     *
+     * @param billedWeightKg Shipment weight rounded up to its slab, see {@link #billedWeightKg}
+     * @return Lower bound of the shipment's cost in rupees
+     */
+    public double lowerBound(double billedWeightKg) {
+      Map.Entry<Double, Double> slab = minRatePerKgFrom.ceilingEntry(billedWeightKg);
+      return slab != null ? billedWeightKg * slab.getValue() : heaviestSlabRate;
+    }
+  }
+
+  @Autowired
+  public ShippingRateCache(
+      @Value("${shipping.rate-cache.ttl-seconds:" + DEFAULT_TTL_SECONDS + "}") long ttlSeconds,
+      @Value("${shipping.rate-cache.max-entries:" + DEFAULT_MAX_ENTRIES + "}") long maxEntries,
+      @Value("${shipping.rate-cache.weight-bucket-kg:" + DEFAULT_WEIGHT_BUCKET_KG + "}")
+          BigDecimal weightBucketKg,
+      @Value("${shipping.rate-cache.stale-ttl-minutes:" + DEFAULT_STALE_TTL_MINUTES + "}")
+          long staleTtlMinutes) {
+    this.responses =
+        ttlSeconds > 0
+            ? CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build()
+            : null;
+    this.lastKnown =
+        ttlSeconds > 0 && staleTtlMinutes > 0
+            ? CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(staleTtlMinutes, TimeUnit.MINUTES)
+                .build()
+            : null;
+    this.rateMaxAgeMillis =
+        lastKnown != null
+            ? TimeUnit.MINUTES.toMillis(staleTtlMinutes)
+            : TimeUnit.SECONDS.toMillis(ttlSeconds);
+    this.ratesByRoute =
+        ttlSeconds > 0
+            ? CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(rateMaxAgeMillis, TimeUnit.MILLISECONDS)
+                .build()
+            : null;
+    this.weightBucketKg = weightBucketKg;
+  }
+
+  public ShippingRateCache(long ttlSeconds, long maxEntries, BigDecimal weightBucketKg) {
+    this(ttlSeconds, maxEntries, weightBucketKg, DEFAULT_STALE_TTL_MINUTES);
+  }
+
+  /**
+   * Returns the cached serviceability response for a route, calling {@code upstream} on a miss.
+   *
+   * @param clientId The client whose Shiprocket account quotes the route
+   * @param pickupPostcode Pickup location postal code
+   * @param deliveryPostcode Delivery location postal code
+   * @param isCod Whether the order is Cash on Delivery
+   * @param weightInKgs Shipment weight in kilograms
+   * @param upstream Fetches the response from Shiprocket
+   * @return The cached or freshly fetched response; null if upstream returned null
+   */
+  public ShippingOptionsResponseModel get(
+      Long clientId,
+      String pickupPostcode,
+      String deliveryPostcode,
+      boolean isCod,
+      String weightInKgs,
+      Supplier<ShippingOptionsResponseModel> upstream) {
+    return lookup(clientId, pickupPostcode, deliveryPostcode, isCod, weightInKgs, upstream, true);
+  }
+
+  /**
+   * Same as {@link #get}, for serviceability probes at weights no order ships: the rates fetched
+   * are not indexed for {@link #routeRates}.
+   */
+  public ShippingOptionsResponseModel probe(
+      Long clientId,
+      String pickupPostcode,
+      String deliveryPostcode,
+      boolean isCod,
+      String weightInKgs,
+      Supplier<ShippingOptionsResponseModel> upstream) {
+    return lookup(clientId, pickupPostcode, deliveryPostcode, isCod, weightInKgs, upstream, false);
+  }
+
+  private ShippingOptionsResponseModel lookup(
+      Long clientId,
+      String pickupPostcode,
+      String deliveryPostcode,
+      boolean isCod,
+      String weightInKgs,
+      Supplier<ShippingOptionsResponseModel> upstream,
+      boolean indexRates) {
+    if (responses == null) {
+      return upstream.get();
+    }
+    String route = routeKey(clientId, pickupPostcode, deliveryPostcode, isCod);
+    String slab = weightBucket(weightInKgs);
+    String key = route + slab;
+    try {
+      return responses.get(
+          key,
+          () -> {
+            ShippingOptionsResponseModel response = upstream.get();
+            if (response == null) {
+              throw new EmptyResponseException();
+            }
+            if (lastKnown != null) {
+              lastKnown.put(key, response);
+            }
+            if (indexRates) {
+              indexRate(route, slab, response);
+            }
+            return response;
+          });
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof EmptyResponseException) {
+        return null;
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        ShippingOptionsResponseModel fallback =
+            lastKnown != null ? lastKnown.getIfPresent(key) : null;
+        if (fallback != null) {
+          logger.warn("Serving last known rates for {}: {}", key, runtimeException.getMessage());
+          return fallback;
+        }
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Cached rates of a route (fresh or last known, from quotes only), without calling Shiprocket.
+   *
+   * @return The route's rates; bounds everything at 0 if none are cached
+   */
+  public RouteRates routeRates(
+      Long clientId, String pickupPostcode, String deliveryPostcode, boolean isCod) {
+    if (ratesByRoute == null || pickupPostcode == null) {
+      return RouteRates.NONE;
+    }
+    NavigableMap<Double, SlabRate> slabs =
+        ratesByRoute.getIfPresent(routeKey(clientId, pickupPostcode, deliveryPostcode, isCod));
+    if (slabs == null) {
+      return RouteRates.NONE;
+    }
+    long oldestFetch = System.currentTimeMillis() - rateMaxAgeMillis;
+    NavigableMap<Double, Double> minRatePerKgFrom = new TreeMap<>();
+    double heaviestSlabRate = 0;
+    double minRatePerKg = Double.MAX_VALUE;
+    for (Map.Entry<Double, SlabRate> slab : slabs.descendingMap().entrySet()) {
+      if (slab.getValue().fetchedAtMillis() < oldestFetch) {
+        continue;
+      }
+      if (minRatePerKgFrom.isEmpty()) {
+        heaviestSlabRate = slab.getValue().cheapestRate();
+      }
+      minRatePerKg = Math.min(minRatePerKg, slab.getValue().cheapestRate() / slab.getKey());
+      minRatePerKgFrom.put(slab.getKey(), minRatePerKg);
+    }
+    return new RouteRates(minRatePerKgFrom, heaviestSlabRate);
+  }
+
+  /**
+   * Weight a shipment is billed at: rounded up to the next weight slab.
+   *
+   * @param weightKg Shipment weight in kilograms
+   * @return The upper bound of the slab containing the weight
+   */
+  public double billedWeightKg(double weightKg) {
+    return Double.parseDouble(weightBucket(String.valueOf(weightKg)));
+  }
+
+  /** Hit, miss and load statistics since startup; all zero for the pass-through cache. */
+  public CacheStats stats() {
+    return responses != null ? responses.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+  }
+
+  /** Number of cached routes. */
+  public long size() {
+    return responses != null ? responses.size() : 0;
+  }
+
+  /** Drops every cached response. */
+  public void invalidateAll() {
+    if (responses != null) {
+      responses.invalidateAll();
+      ratesByRoute.invalidateAll();
+    }
+  }
+
+  /** Records the cheapest rate of a quote for its route and weight slab. */
+  private void indexRate(String route, String slab, ShippingOptionsResponseModel response) {
+    Double rate = cheapestRate(response);
+    if (rate == null) {
+      return;
+    }
+    double slabKg;
+    try {
+      slabKg = Double.parseDouble(slab);
+    } catch (NumberFormatException e) {
+      // Quote for an unparseable weight - no slab to learn from
+      return;
+    }
+    if (slabKg > 0) {
+      ratesByRoute
+          .asMap()
+          .computeIfAbsent(route, r -> new ConcurrentSkipListMap<>())
+          .put(slabKg, new SlabRate(rate, System.currentTimeMillis()));
+    }
+  }
+
+  /** Key shared by every weight slab of a route; the slab is appended to it. */
+  private static String routeKey(
+      Long clientId, String pickupPostcode, String deliveryPostcode, boolean isCod) {
+    return clientId
+        + "|"
+        + pickupPostcode
+        + "|"
+        + deliveryPostcode
+        + "|"
+        + (isCod ? "cod" : "prepaid")
+        + "|";
+  }
+
+  /** Upper bound of the weight slab containing {@code weightInKgs}, e.g. 0.7 -> 1.0. */
+  String weightBucket(String weightInKgs) {
+    if (weightInKgs == null) {
+      return "";
+    }
+    try {
+      BigDecimal weight = new BigDecimal(weightInKgs.trim());
+      if (weightBucketKg.signum() <= 0) {
+        return weight.stripTrailingZeros().toPlainString();
+      }
+      BigDecimal slabs = weight.divide(weightBucketKg, 0, RoundingMode.CEILING);
+      return slabs.multiply(weightBucketKg).stripTrailingZeros().toPlainString();
+    } catch (NumberFormatException e) {
+      return weightInKgs;
+    }
+  }
+
+  private static Double cheapestRate(ShippingOptionsResponseModel response) {
+    if (response == null
+        || response.getData() == null
+        || response.getData().getAvailableCourierCompanies() == null
+        || response.getData().getAvailableCourierCompanies().isEmpty()) {
+      return null;
+    }
+    return response.getData().getAvailableCourierCompanies().stream()
+        .mapToDouble(ShippingOptionsResponseModel.AvailableCourierCompany::getRate)
+        .min()
+        .getAsDouble();
+  }
+
+  /** Marks a null upstream response, which Guava caches cannot hold. */
+  private static final class EmptyResponseException extends RuntimeException {
+    EmptyResponseException() {
+      super(null, null, false, false);
+    }
+  }
+}
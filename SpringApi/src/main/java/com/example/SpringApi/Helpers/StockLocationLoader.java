@@ -0,0 +1,243 @@
+package com.example.SpringApi.Helpers;
+
+import com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping;
+import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
+import com.example.SpringApi.Repositories.PackagePickupLocationMappingRepository;
+import com.example.SpringApi.Repositories.ProductPickupLocationMappingRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Loads stock and packaging for many products in a constant number of queries: one for the
+ * products' pickup location mappings (with location and address) and one for the package mappings
+ * of those locations.
+ *
+ * <p>Results are kept per product and per location for {@code ttlSeconds}, so the stock lookups
+ * and order optimisation of one checkout, made within seconds of each other, share one load.
+ * Only lookups missing from the cache are queried. Callers that change stock or package
+ * quantities invalidate the affected entries; other changes show up once entries expire. Cached
+ * entities are shared and must not be modified.
+ *
+ * <p>Invalidation made inside a transaction takes effect when it commits, so a load running
+ * between the write and the commit cannot cache the old rows under the new version. Nothing is
+ * invalidated when the transaction rolls back. Products and locations each carry a version raised
+ * on invalidation, and a load only caches its rows if the version it read before querying is still
+ * current, so a load that overlaps an invalidation cannot put the old rows back.
+ *
+ * <p>Each location also has a package inventory version, raised whenever its packages are
+ * invalidated. Snapshots report the version their packages were loaded at, so results derived from
+ * them (such as packaging estimates) can be cached per version.
+ */
+@Component
+public class StockLocationLoader {
+  static final long DEFAULT_TTL_SECONDS = 10;
+  static final long DEFAULT_MAX_ENTRIES = 10_000;
+
+  /**
+   * Mappings by product ID, package mappings by pickup location ID, and the package inventory
+   * version each location's packages were loaded at.
+   */
+  public record StockSnapshot(
+      Map<Long, List<ProductPickupLocationMapping>> mappingsByProductId,
+      Map<Long, List<PackagePickupLocationMapping>> packagesByLocationId,
+      Map<Long, Long> packageVersionsByLocationId) {
+
+    public List<ProductPickupLocationMapping> mappings(Long productId) {
+      return mappingsByProductId.getOrDefault(productId, List.of());
+    }
+
+    public List<PackagePickupLocationMapping> packages(Long pickupLocationId) {
+      return packagesByLocationId.getOrDefault(pickupLocationId, List.of());
+    }
+
+    public long packageVersion(Long pickupLocationId) {
+      return packageVersionsByLocationId.getOrDefault(pickupLocationId, 0L);
+    }
+  }
+
+  private record VersionedMappings(long version, List<ProductPickupLocationMapping> mappings) {}
+
+  private record VersionedPackages(long version, List<PackagePickupLocationMapping> packages) {}
+
+  private final ProductPickupLocationMappingRepository productPickupLocationMappingRepository;
+  private final PackagePickupLocationMappingRepository packagePickupLocationMappingRepository;
+  private final Cache<Long, VersionedMappings> mappingsByProductId;
+  private final Cache<Long, VersionedPackages> packagesByLocationId;
+  private final ConcurrentMap<Long, Long> productVersions = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, Long> packageVersions = new ConcurrentHashMap<>();
+
+  @Autowired
+  public StockLocationLoader(
+      ProductPickupLocationMappingRepository productPickupLocationMappingRepository,
+      PackagePickupLocationMappingRepository packagePickupLocationMappingRepository,
+      @Value("${stock.location-cache.ttl-seconds:" + DEFAULT_TTL_SECONDS + "}") long ttlSeconds,
+      @Value("${stock.location-cache.max-entries:" + DEFAULT_MAX_ENTRIES + "}") long maxEntries) {
+    this.productPickupLocationMappingRepository = productPickupLocationMappingRepository;
+    this.packagePickupLocationMappingRepository = packagePickupLocationMappingRepository;
+    this.mappingsByProductId = ttlSeconds > 0 ? newCache(ttlSeconds, maxEntries) : null;
+    this.packagesByLocationId = ttlSeconds > 0 ? newCache(ttlSeconds, maxEntries) : null;
+  }
+
+  /**
+   * Loads the active pickup location mappings of the products and the available packages at
+   * those locations.
+   *
+   * @param productIds The products to load
+   * @return Mappings per product (empty list if none) and package mappings per location
+   */
+  public StockSnapshot load(Collection<Long> productIds) {
+    Map<Long, List<ProductPickupLocationMapping>> mappings = new HashMap<>();
+    Map<Long, Long> productVersionsRead = new HashMap<>();
+    List<Long> missingProductIds = new ArrayList<>();
+    for (Long productId : new LinkedHashSet<>(productIds)) {
+      // Read before querying, so mappings loaded during an invalidation are not cached
+      long version = productVersions.getOrDefault(productId, 0L);
+      productVersionsRead.put(productId, version);
+      VersionedMappings cached =
+          mappingsByProductId != null ? mappingsByProductId.getIfPresent(productId) : null;
+      if (cached != null && cached.version() == version) {
+        mappings.put(productId, cached.mappings());
+      } else {
+        missingProductIds.add(productId);
+      }
+    }
+    if (!missingProductIds.isEmpty()) {
+      Map<Long, List<ProductPickupLocationMapping>> loaded = new HashMap<>();
+      missingProductIds.forEach(productId -> loaded.put(productId, new ArrayList<>()));
+      for (ProductPickupLocationMapping mapping :
+          productPickupLocationMappingRepository.findByProductIdsWithPickupLocationAndAddress(
+              missingProductIds)) {
+        loaded.computeIfAbsent(mapping.getProductId(), id -> new ArrayList<>()).add(mapping);
+      }
+      loaded.forEach(
+          (productId, productMappings) -> {
+            List<ProductPickupLocationMapping> readOnly = List.copyOf(productMappings);
+            mappings.put(productId, readOnly);
+            long version = productVersionsRead.get(productId);
+            if (mappingsByProductId != null
+                && version == productVersions.getOrDefault(productId, 0L)) {
+              mappingsByProductId.put(productId, new VersionedMappings(version, readOnly));
+            }
+          });
+    }
+
+    Set<Long> locationIds = new LinkedHashSet<>();
+    mappings.values().forEach(list -> list.forEach(m -> locationIds.add(m.getPickupLocationId())));
+    Map<Long, List<PackagePickupLocationMapping>> packages = new HashMap<>();
+    Map<Long, Long> versions = new HashMap<>();
+    loadPackages(locationIds, packages, versions);
+    return new StockSnapshot(mappings, packages, versions);
+  }
+
+  /** Drops the cached mappings of these products, e.g. after their stock changed. */
+  public void invalidateProducts(Collection<Long> productIds) {
+    List<Long> ids = List.copyOf(productIds);
+    afterCommit(
+        () -> {
+          for (Long productId : ids) {
+            productVersions.merge(productId, 1L, Long::sum);
+          }
+          if (mappingsByProductId != null) {
+            mappingsByProductId.invalidateAll(ids);
+          }
+        });
+  }
+
+  /**
+   * Drops the cached package mappings of these locations and raises their package inventory
+   * version, e.g. after package use or a change to package quantities.
+   */
+  public void invalidateLocations(Collection<Long> pickupLocationIds) {
+    List<Long> ids = List.copyOf(pickupLocationIds);
+    afterCommit(
+        () -> {
+          for (Long pickupLocationId : ids) {
+            packageVersions.merge(pickupLocationId, 1L, Long::sum);
+          }
+          if (packagesByLocationId != null) {
+            packagesByLocationId.invalidateAll(ids);
+          }
+        });
+  }
+
+  /** Current package inventory version of a location. */
+  public long packageVersion(Long pickupLocationId) {
+    return packageVersions.getOrDefault(pickupLocationId, 0L);
+  }
+
+  private void loadPackages(
+      Set<Long> locationIds,
+      Map<Long, List<PackagePickupLocationMapping>> packages,
+      Map<Long, Long> versions) {
+    List<Long> missingLocationIds = new ArrayList<>();
+    for (Long locationId : locationIds) {
+      // Read before querying, so packages loaded during an invalidation keep the older version
+      long version = packageVersion(locationId);
+      versions.put(locationId, version);
+      VersionedPackages cached =
+          packagesByLocationId != null ? packagesByLocationId.getIfPresent(locationId) : null;
+      if (cached != null && cached.version() == version) {
+        packages.put(locationId, cached.packages());
+      } else {
+        missingLocationIds.add(locationId);
+      }
+    }
+    if (missingLocationIds.isEmpty()) {
+      return;
+    }
+
+    Map<Long, List<PackagePickupLocationMapping>> loaded = new HashMap<>();
+    missingLocationIds.forEach(locationId -> loaded.put(locationId, new ArrayList<>()));
+    for (PackagePickupLocationMapping mapping :
+        packagePickupLocationMappingRepository.findByPickupLocationIdsWithPackages(
+            missingLocationIds)) {
+      loaded.computeIfAbsent(mapping.getPickupLocationId(), id -> new ArrayList<>()).add(mapping);
+    }
+    loaded.forEach(
+        (locationId, locationPackages) -> {
+          List<PackagePickupLocationMapping> readOnly = List.copyOf(locationPackages);
+          packages.put(locationId, readOnly);
+          long version = versions.get(locationId);
+          if (packagesByLocationId != null && version == packageVersion(locationId)) {
+            packagesByLocationId.put(locationId, new VersionedPackages(version, readOnly));
+          }
+        });
+  }
+
+  /** Runs the invalidation once the current transaction commits, or now outside a transaction. */
+  private static void afterCommit(Runnable invalidation) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidation.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            invalidation.run();
+          }
+        });
+  }
+
+  private static <V> Cache<Long, V> newCache(long ttlSeconds, long maxEntries) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .build();
+  }
+}
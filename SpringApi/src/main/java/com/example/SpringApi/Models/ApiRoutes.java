@@ -425,6 +425,7 @@ public class ApiRoutes {
     // Api + frontend Endpoints
     public static final String GET_SHIPMENTS_IN_BATCHES = "getShipmentsInBatches";
     public static final String GET_SHIPMENT_BY_ID = "getShipmentById";
+    public static final String GET_FULFILLMENT_STATUS = "getFulfillmentStatus";
   }
 
   public static class WebTemplateSubRoute {
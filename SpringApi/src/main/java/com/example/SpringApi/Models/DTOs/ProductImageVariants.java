@@ -0,0 +1,141 @@
+package com.example.SpringApi.Models.DTOs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What is stored for each of a product's images besides its full-size URL, kept as JSON on {@code
+ * Product.imageVariants}.
+ *
+ * <p>Keyed by image type (main, top, etc.). Each entry holds the SHA-256 of the original image's
+ * bytes, used to skip re-uploading an unchanged image, and the resized copies keyed by variant name
+ * (thumb, medium). A copy holds its ImgBB URL and delete hash, which is null when the copy is the
+ * original image itself. The full-size image stays in the product's own image URL fields.
+ */
+public class ProductImageVariants {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, StoredImageSet>> IMAGES_TYPE =
+      new TypeReference<>() {};
+
+  /** One stored copy of an image. */
+  public record StoredImage(String url, String deleteHash) {}
+
+  /** The content hash and resized copies stored for one image. */
+  public record StoredImageSet(String contentHash, Map<String, StoredImage> variants) {
+    public StoredImageSet {
+      variants = variants == null ? Map.of() : variants;
+    }
+  }
+
+  private final Map<String, StoredImageSet> images;
+
+  private ProductImageVariants(Map<String, StoredImageSet> images) {
+    this.images = images;
+  }
+
+  /**
+   * Reads the variants stored on a product.
+   *
+   * @param json The JSON column value, or null
+   * @return The variants; empty if none are stored or the value cannot be read
+   */
+  public static ProductImageVariants fromJson(String json) {
+    if (json == null || json.isBlank()) {
+      return new ProductImageVariants(new LinkedHashMap<>());
+    }
+    try {
+      return new ProductImageVariants(
+          new LinkedHashMap<>(OBJECT_MAPPER.readValue(json, IMAGES_TYPE)));
+    } catch (JsonProcessingException e) {
+      return new ProductImageVariants(new LinkedHashMap<>());
+    }
+  }
+
+  /**
+   * Serialises the variants for the JSON column.
+   *
+   * @return The JSON value, or null when nothing is stored for any image
+   */
+  public String toJson() {
+    if (images.isEmpty()) {
+      return null;
+    }
+    try {
+      return OBJECT_MAPPER.writeValueAsString(images);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Gets the variants of one image.
+   *
+   * @param imageType The type of image (main, top, bottom, etc.)
+   * @return The variants by name; empty if the image has none
+   */
+  public Map<String, StoredImage> get(String imageType) {
+    StoredImageSet image = images.get(imageType);
+    return image == null ? Collections.emptyMap() : image.variants();
+  }
+
+  /**
+   * Gets the content hash of the image stored for an image type.
+   *
+   * @param imageType The type of image (main, top, bottom, etc.)
+   * @return The SHA-256 hex of the stored image, or null if unknown
+   */
+  public String getContentHash(String imageType) {
+    StoredImageSet image = images.get(imageType);
+    return image == null ? null : image.contentHash();
+  }
+
+  /**
+   * Replaces or clears what is stored for one image.
+   *
+   * @param imageType The type of image (main, top, bottom, etc.)
+   * @param contentHash The SHA-256 hex of the stored image, or null if unknown
+   * @param imageVariants The variants by name, or null if the image has none
+   */
+  public void put(String imageType, String contentHash, Map<String, StoredImage> imageVariants) {
+    if (contentHash == null && (imageVariants == null || imageVariants.isEmpty())) {
+      images.remove(imageType);
+    } else {
+      images.put(
+          imageType,
+          new StoredImageSet(
+              contentHash, imageVariants == null ? null : new LinkedHashMap<>(imageVariants)));
+    }
+  }
+
+  /**
+   * Clears what is stored for one image.
+   *
+   * @param imageType The type of image (main, top, bottom, etc.)
+   */
+  public void remove(String imageType) {
+    images.remove(imageType);
+  }
+
+  /**
+   * Gets the variant URLs of every image, for API responses.
+   *
+   * @return The URLs by image type and then by variant name
+   */
+  public Map<String, Map<String, String>> urls() {
+    Map<String, Map<String, String>> urls = new LinkedHashMap<>();
+    images.forEach(
+        (imageType, image) -> {
+          if (image.variants().isEmpty()) {
+            return;
+          }
+          Map<String, String> imageUrls = new LinkedHashMap<>();
+          image.variants().forEach((name, stored) -> imageUrls.put(name, stored.url()));
+          urls.put(imageType, imageUrls);
+        });
+    return urls;
+  }
+}
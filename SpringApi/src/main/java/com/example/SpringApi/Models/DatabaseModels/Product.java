@@ -185,6 +185,11 @@ public class Product {
   @Column(name = "additionalImage3DeleteHash", length = 500)
   private String additionalImage3DeleteHash;
 
+  // Content hash and thumb/medium copies of each image, as
+  // {imageType: {contentHash, variants: {variant: {url, deleteHash}}}}
+  @Column(name = "imageVariants", columnDefinition = "JSON")
+  private String imageVariants;
+
   @Column(name = "createdUser", nullable = false)
   private String createdUser;
 
@@ -313,6 +318,7 @@ public class Product {
     this.additionalImage2DeleteHash = existingProduct.getAdditionalImage2DeleteHash();
     this.additionalImage3Url = existingProduct.getAdditionalImage3Url();
     this.additionalImage3DeleteHash = existingProduct.getAdditionalImage3DeleteHash();
+    this.imageVariants = existingProduct.getImageVariants();
   }
 
   /**
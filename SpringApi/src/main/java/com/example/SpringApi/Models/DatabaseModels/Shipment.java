@@ -18,6 +18,10 @@ import org.hibernate.annotations.UpdateTimestamp;
  * <p>This entity stores each shipment from a pickup location with courier details and costs.
  * Connected directly to OrderSummary via orderSummaryId foreign key.
  *
+ * <p>It also serves as the outbox for ShipRocket order creation: payment approval stores the
+ * ShipRocket order request and a {@code PENDING} fulfillment status in the same transaction that
+ * reserves stock, and the background pipeline records its progress in the fulfillment fields.
+ *
  * @author SpringApi Team
  * @version 1.0
  * @since 2024-01-15
@@ -25,7 +29,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Getter
 @Setter
 @Entity
-@Table(name = "Shipment")
+@Table(
+    name = "Shipment",
+    indexes = {
+      @Index(
+          name = "idx_shipment_fulfillment_due",
+          columnList = "fulfillmentStatus, fulfillmentNextAttemptAt")
+    })
 public class Shipment {
 
   /**
@@ -97,6 +107,24 @@ public class Shipment {
     }
   }
 
+  /** Progress of the background ShipRocket order creation for a shipment. */
+  public enum FulfillmentStatus {
+    PENDING("PENDING"),
+    IN_PROGRESS("IN_PROGRESS"),
+    COMPLETED("COMPLETED"),
+    FAILED("FAILED");
+
+    private final String value;
+
+    FulfillmentStatus(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+  }
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   @Column(name = "shipmentId", nullable = false)
@@ -230,6 +258,22 @@ public class Shipment {
   @Column(name = "shipRocketTrackingMetadata", columnDefinition = "JSON")
   private String shipRocketTrackingMetadata; // Tracking API response as JSON string
 
+  // Fulfillment outbox fields
+  @Column(name = "shipRocketOrderRequest", columnDefinition = "JSON")
+  private String shipRocketOrderRequest; // Order request built at payment approval
+
+  @Column(name = "fulfillmentStatus", length = 20)
+  private String fulfillmentStatus; // FulfillmentStatus value, null before payment approval
+
+  @Column(name = "fulfillmentAttempts")
+  private Integer fulfillmentAttempts;
+
+  @Column(name = "fulfillmentNextAttemptAt")
+  private LocalDateTime fulfillmentNextAttemptAt; // Next retry, or lease expiry while in progress
+
+  @Column(name = "fulfillmentLastError", length = 1000)
+  private String fulfillmentLastError;
+
   // Standard Fields
   @Column(name = "clientId", nullable = false)
   private Long clientId;
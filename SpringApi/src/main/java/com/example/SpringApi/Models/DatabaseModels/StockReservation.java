@@ -0,0 +1,137 @@
+package com.example.SpringApi.Models.DatabaseModels;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * JPA Entity for the StockReservation table.
+ *
+ * <p>Ledger of stock and packages held for a shipment between purchase order creation and payment.
+ * Reserving deducts the quantity from the pickup location's available stock right away, so the
+ * hold is visible to every other order. A reservation is then either committed at payment
+ * approval, which keeps the deduction, or released (on update, rejection, deletion or expiry),
+ * which puts the quantity back. Status changes are conditional updates, so a reservation is
+ * committed or released exactly once.
+ */
+@Getter
+@Setter
+@Entity
+@Table(
+    name = "StockReservation",
+    indexes = {
+      @Index(name = "idx_stock_reservation_shipment", columnList = "shipmentId, status"),
+      @Index(name = "idx_stock_reservation_expiry", columnList = "status, expiresAt")
+    })
+public class StockReservation {
+
+  /** What a reservation holds at the pickup location. */
+  public enum ItemType {
+    PRODUCT("PRODUCT"),
+    PACKAGE("PACKAGE");
+
+    private final String value;
+
+    ItemType(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+  }
+
+  /** Lifecycle of a reservation: RESERVED, then COMMITTED or RELEASED. */
+  public enum Status {
+    RESERVED("RESERVED"),
+    COMMITTED("COMMITTED"),
+    RELEASED("RELEASED");
+
+    private final String value;
+
+    Status(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "stockReservationId", nullable = false)
+  private Long stockReservationId;
+
+  @Column(name = "shipmentId", nullable = false)
+  private Long shipmentId;
+
+  @Column(name = "itemType", nullable = false, length = 20)
+  private String itemType;
+
+  // Product ID or package ID, depending on itemType
+  @Column(name = "itemId", nullable = false)
+  private Long itemId;
+
+  @Column(name = "pickupLocationId", nullable = false)
+  private Long pickupLocationId;
+
+  @Column(name = "quantity", nullable = false)
+  private Integer quantity;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  @Column(name = "expiresAt", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(name = "createdUser", nullable = false)
+  private String createdUser;
+
+  @Column(name = "modifiedUser", nullable = false)
+  private String modifiedUser;
+
+  @CreationTimestamp
+  @Column(name = "createdAt", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updatedAt", nullable = false)
+  private LocalDateTime updatedAt;
+
+  /** Default constructor. */
+  public StockReservation() {}
+
+  /**
+   * Constructor for a new reservation whose quantity has already been deducted.
+   *
+   * @param shipmentId The shipment the stock is held for
+   * @param itemType Whether a product or a package is held
+   * @param itemId The product ID or package ID
+   * @param pickupLocationId The pickup location the stock is held at
+   * @param quantity The quantity held
+   * @param expiresAt When the hold is released if not committed
+   * @param createdUser The user creating the reservation
+   */
+  public StockReservation(
+      Long shipmentId,
+      ItemType itemType,
+      Long itemId,
+      Long pickupLocationId,
+      Integer quantity,
+      LocalDateTime expiresAt,
+      String createdUser) {
+    this.shipmentId = shipmentId;
+    this.itemType = itemType.getValue();
+    this.itemId = itemId;
+    this.pickupLocationId = pickupLocationId;
+    this.quantity = quantity;
+    this.status = Status.RESERVED.getValue();
+    this.expiresAt = expiresAt;
+    this.createdUser = createdUser;
+    this.modifiedUser = createdUser;
+  }
+}
@@ -58,6 +58,14 @@ public class PaginationBaseRequestModel {
   private int end;
 
   private int pageSize;
+
+  // Keyset cursor from a previous response's nextCursor; when set, start is ignored and the
+  // page begins after the row the cursor points at
+  private String cursor;
+
+  // How totalDataCount is resolved: "exact" (default) counts every request, "cached" reuses a
+  // recent count for the same filters, "none" skips counting and returns -1 with hasMore instead
+  private String countMode;
   private boolean includeDeleted;
   private boolean includeExpired;
   private List<Long> selectedIds;
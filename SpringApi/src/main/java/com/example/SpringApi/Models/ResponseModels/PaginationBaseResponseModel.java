@@ -9,6 +9,8 @@ import lombok.Setter;
 public class PaginationBaseResponseModel<T> {
   private List<T> data;
   private long totalDataCount;
+  private String nextCursor; // Pass back as cursor to fetch the next page; null on the last page
+  private boolean hasMore; // Whether rows follow this page; the only signal when totalDataCount is -1
 
   public PaginationBaseResponseModel() {}
 
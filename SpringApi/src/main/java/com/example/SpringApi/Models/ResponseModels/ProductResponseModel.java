@@ -1,5 +1,7 @@
 package com.example.SpringApi.Models.ResponseModels;
 
+import com.example.SpringApi.Constants.ProductImageConstants;
+import com.example.SpringApi.Models.DTOs.ProductImageVariants;
 import com.example.SpringApi.Models.DatabaseModels.Product;
 import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
 import com.example.SpringApi.Models.DatabaseModels.User;
@@ -7,6 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.Hibernate;
@@ -66,6 +69,9 @@ public class ProductResponseModel {
   private String additionalImage2Url;
   private String additionalImage3Url;
 
+  // Thumb and medium copies of each image above, by image type and then by variant name
+  private Map<String, Map<String, String>> imageVariantUrls;
+
   private String createdUser;
   private String modifiedUser;
   private LocalDateTime createdAt;
@@ -168,6 +174,7 @@ public class ProductResponseModel {
       this.additionalImage1Url = product.getAdditionalImage1Url();
       this.additionalImage2Url = product.getAdditionalImage2Url();
       this.additionalImage3Url = product.getAdditionalImage3Url();
+      this.imageVariantUrls = ProductImageVariants.fromJson(product.getImageVariants()).urls();
 
       this.createdUser = product.getCreatedUser();
       this.modifiedUser = product.getModifiedUser();
@@ -213,6 +220,22 @@ public class ProductResponseModel {
     }
   }
 
+  /**
+   * Builds the response for a product grid row. An image that has resized copies is returned only
+   * through {@link #imageVariantUrls}, so grids never receive its full-size URL; an image stored
+   * before copies were made keeps its full-size URL, as nothing backfills copies for it.
+   *
+   * @param product The Product entity to populate from
+   * @return The grid response
+   */
+  public static ProductResponseModel forGrid(Product product) {
+    ProductResponseModel response = new ProductResponseModel(product);
+    if (response.imageVariantUrls != null) {
+      response.imageVariantUrls.keySet().forEach(response::clearFullSizeImageUrl);
+    }
+    return response;
+  }
+
   /**
    * Constructor that populates fields from a Product entity and ShipmentProduct entity. Used when
    * product is part of a shipment to include allocated quantity and price.
@@ -233,6 +256,26 @@ public class ProductResponseModel {
     }
   }
 
+  private void clearFullSizeImageUrl(String imageType) {
+    switch (imageType) {
+      case ProductImageConstants.MAIN -> this.mainImageUrl = null;
+      case ProductImageConstants.TOP -> this.topImageUrl = null;
+      case ProductImageConstants.BOTTOM -> this.bottomImageUrl = null;
+      case ProductImageConstants.FRONT -> this.frontImageUrl = null;
+      case ProductImageConstants.BACK -> this.backImageUrl = null;
+      case ProductImageConstants.RIGHT -> this.rightImageUrl = null;
+      case ProductImageConstants.LEFT -> this.leftImageUrl = null;
+      case ProductImageConstants.DETAILS -> this.detailsImageUrl = null;
+      case ProductImageConstants.DEFECT -> this.defectImageUrl = null;
+      case ProductImageConstants.ADDITIONAL_1 -> this.additionalImage1Url = null;
+      case ProductImageConstants.ADDITIONAL_2 -> this.additionalImage2Url = null;
+      case ProductImageConstants.ADDITIONAL_3 -> this.additionalImage3Url = null;
+      default -> {
+        // Unknown image types have no full-size field
+      }
+    }
+  }
+
   /**
    * Sets the full path on the category response model. Should be called after construction with the
    * pre-computed full path.
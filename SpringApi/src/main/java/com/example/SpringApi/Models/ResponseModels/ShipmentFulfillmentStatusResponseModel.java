@@ -0,0 +1,48 @@
+package com.example.SpringApi.Models.ResponseModels;
+
+import com.example.SpringApi.Models.DatabaseModels.Shipment;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Response model for the progress of ShipRocket order creation for one shipment, which runs in
+ * the background after payment approval.
+ */
+@Getter
+@Setter
+public class ShipmentFulfillmentStatusResponseModel {
+  private Long shipmentId;
+  private Long pickupLocationId;
+  private String fulfillmentStatus; // PENDING, IN_PROGRESS, COMPLETED or FAILED
+  private Integer attempts;
+  private LocalDateTime nextAttemptAt; // Only set while a retry is pending
+  private String lastError;
+  private String shipRocketOrderId;
+  private String shipRocketAwbCode;
+  private String shipRocketStatus;
+
+  public ShipmentFulfillmentStatusResponseModel() {
+    // Required for JSON serialization/deserialization.
+  }
+
+  public ShipmentFulfillmentStatusResponseModel(Shipment shipment) {
+    this.shipmentId = shipment.getShipmentId();
+    this.pickupLocationId = shipment.getPickupLocationId();
+    this.fulfillmentStatus = shipment.getFulfillmentStatus();
+    // Shipments sent to ShipRocket before orders were queued have no fulfillment status
+    if (this.fulfillmentStatus == null && shipment.getShipRocketShipmentId() != null) {
+      this.fulfillmentStatus = Shipment.FulfillmentStatus.COMPLETED.getValue();
+    }
+    this.attempts =
+        shipment.getFulfillmentAttempts() != null ? shipment.getFulfillmentAttempts() : 0;
+    this.nextAttemptAt =
+        Shipment.FulfillmentStatus.PENDING.getValue().equals(this.fulfillmentStatus)
+            ? shipment.getFulfillmentNextAttemptAt()
+            : null;
+    this.lastError = shipment.getFulfillmentLastError();
+    this.shipRocketOrderId = shipment.getShipRocketOrderId();
+    this.shipRocketAwbCode = shipment.getShipRocketAwbCode();
+    this.shipRocketStatus = shipment.getShipRocketStatus();
+  }
+}
@@ -1,6 +1,7 @@
 package com.example.SpringApi.Repositories;
 
 import com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -80,4 +81,52 @@ public interface PackagePickupLocationMappingRepository
           + "WHERE m.packageId = :packageId AND m.pickupLocationId = :pickupLocationId")
   Optional<PackagePickupLocationMapping> findByPackageIdAndPickupLocationId(
       @Param("packageId") Long packageId, @Param("pickupLocationId") Long pickupLocationId);
+
+  /**
+   * Deducts packages at a pickup location only if enough are available. The check and the
+   * deduction are one statement, so concurrent orders cannot both take the last packages.
+   *
+   * @param packageId The package ID
+   * @param pickupLocationId The pickup location ID
+   * @param quantity The quantity to deduct
+   * @param modifiedUser The user performing the update
+   * @param now The update time
+   * @return 1 if the packages were deducted, 0 if the mapping is missing or short
+   */
+  @Modifying
+  @Query(
+      "UPDATE PackagePickupLocationMapping m "
+          + "SET m.availableQuantity = m.availableQuantity - :quantity, "
+          + "m.updatedAt = :now, m.modifiedUser = :modifiedUser "
+          + "WHERE m.packageId = :packageId AND m.pickupLocationId = :pickupLocationId "
+          + "AND m.availableQuantity >= :quantity")
+  int decrementQuantity(
+      @Param("packageId") Long packageId,
+      @Param("pickupLocationId") Long pickupLocationId,
+      @Param("quantity") int quantity,
+      @Param("modifiedUser") String modifiedUser,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Puts released packages back at a pickup location.
+   *
+   * @param packageId The package ID
+   * @param pickupLocationId The pickup location ID
+   * @param quantity The quantity to add back
+   * @param modifiedUser The user performing the update
+   * @param now The update time
+   * @return The number of mappings updated
+   */
+  @Modifying
+  @Query(
+      "UPDATE PackagePickupLocationMapping m "
+          + "SET m.availableQuantity = m.availableQuantity + :quantity, "
+          + "m.updatedAt = :now, m.modifiedUser = :modifiedUser "
+          + "WHERE m.packageId = :packageId AND m.pickupLocationId = :pickupLocationId")
+  int restoreQuantity(
+      @Param("packageId") Long packageId,
+      @Param("pickupLocationId") Long pickupLocationId,
+      @Param("quantity") int quantity,
+      @Param("modifiedUser") String modifiedUser,
+      @Param("now") LocalDateTime now);
 }
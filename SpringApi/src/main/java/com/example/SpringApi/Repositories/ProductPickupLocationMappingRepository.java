@@ -1,6 +1,7 @@
 package com.example.SpringApi.Repositories;
 
 import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -95,6 +96,22 @@ public interface ProductPickupLocationMappingRepository
   List<ProductPickupLocationMapping> findByProductIdWithPickupLocationAndAddress(
       @Param("productId") Long productId);
 
+  /**
+   * Find all active ProductPickupLocationMappings for several products in one query, with pickup
+   * location and address fetched. Same filters as {@link
+   * #findByProductIdWithPickupLocationAndAddress(Long)}.
+   *
+   * @param productIds The product IDs
+   * @return List of ProductPickupLocationMappings with pickup location and address
+   */
+  @Query(
+      "SELECT pplm FROM ProductPickupLocationMapping pplm "
+          + "JOIN FETCH pplm.pickupLocation pl "
+          + "JOIN FETCH pl.address a "
+          + "WHERE pplm.productId IN :productIds AND pplm.isActive = true AND pl.isDeleted = false")
+  List<ProductPickupLocationMapping> findByProductIdsWithPickupLocationAndAddress(
+      @Param("productIds") List<Long> productIds);
+
   /**
    * Find ProductPickupLocationMapping by product ID and pickup location ID.
    *
@@ -107,4 +124,52 @@ public interface ProductPickupLocationMappingRepository
           + "WHERE pplm.productId = :productId AND pplm.pickupLocationId = :pickupLocationId AND pplm.isActive = true")
   Optional<ProductPickupLocationMapping> findByProductIdAndPickupLocationId(
       @Param("productId") Long productId, @Param("pickupLocationId") Long pickupLocationId);
+
+  /**
+   * Deducts stock at a pickup location only if enough is available. The check and the deduction
+   * are one statement, so concurrent orders cannot both take the last units.
+   *
+   * @param productId The product ID
+   * @param pickupLocationId The pickup location ID
+   * @param quantity The quantity to deduct
+   * @param modifiedUser The user performing the update
+   * @param now The stock update time
+   * @return 1 if the stock was deducted, 0 if the mapping is missing, inactive or short of stock
+   */
+  @Modifying
+  @Query(
+      "UPDATE ProductPickupLocationMapping pplm "
+          + "SET pplm.availableStock = pplm.availableStock - :quantity, "
+          + "pplm.lastStockUpdate = :now, pplm.updatedAt = :now, pplm.modifiedUser = :modifiedUser "
+          + "WHERE pplm.productId = :productId AND pplm.pickupLocationId = :pickupLocationId "
+          + "AND pplm.isActive = true AND pplm.availableStock >= :quantity")
+  int decrementStock(
+      @Param("productId") Long productId,
+      @Param("pickupLocationId") Long pickupLocationId,
+      @Param("quantity") int quantity,
+      @Param("modifiedUser") String modifiedUser,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Puts released stock back at a pickup location.
+   *
+   * @param productId The product ID
+   * @param pickupLocationId The pickup location ID
+   * @param quantity The quantity to add back
+   * @param modifiedUser The user performing the update
+   * @param now The stock update time
+   * @return The number of mappings updated
+   */
+  @Modifying
+  @Query(
+      "UPDATE ProductPickupLocationMapping pplm "
+          + "SET pplm.availableStock = pplm.availableStock + :quantity, "
+          + "pplm.lastStockUpdate = :now, pplm.updatedAt = :now, pplm.modifiedUser = :modifiedUser "
+          + "WHERE pplm.productId = :productId AND pplm.pickupLocationId = :pickupLocationId")
+  int restoreStock(
+      @Param("productId") Long productId,
+      @Param("pickupLocationId") Long pickupLocationId,
+      @Param("quantity") int quantity,
+      @Param("modifiedUser") String modifiedUser,
+      @Param("now") LocalDateTime now);
 }
@@ -1,11 +1,15 @@
 package com.example.SpringApi.Repositories;
 
 import com.example.SpringApi.Models.DatabaseModels.Shipment;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
@@ -24,4 +28,34 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
           + "WHERE s.orderSummaryId IN :orderSummaryIds")
   List<Shipment> findByOrderSummaryIdInWithPickupLocation(
       @Param("orderSummaryIds") List<Long> orderSummaryIds);
+
+  /**
+   * IDs of shipments whose ShipRocket fulfillment is due: pending shipments whose retry time has
+   * come and in-progress shipments whose lease expired, oldest first.
+   */
+  @Query(
+      "SELECT s.shipmentId FROM Shipment s "
+          + "WHERE s.fulfillmentStatus IN ('PENDING', 'IN_PROGRESS') "
+          + "AND s.fulfillmentNextAttemptAt <= :now "
+          + "ORDER BY s.fulfillmentNextAttemptAt")
+  List<Long> findFulfillmentDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+  /**
+   * Leases a due shipment to the calling worker until {@code leaseUntil}. The condition and the
+   * update are one statement, so only one worker can claim a shipment.
+   *
+   * @return 1 if the shipment was claimed, 0 if it is not due or another worker holds it
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE Shipment s SET s.fulfillmentStatus = 'IN_PROGRESS', "
+          + "s.fulfillmentNextAttemptAt = :leaseUntil "
+          + "WHERE s.shipmentId = :shipmentId "
+          + "AND s.fulfillmentStatus IN ('PENDING', 'IN_PROGRESS') "
+          + "AND s.fulfillmentNextAttemptAt <= :now")
+  int claimFulfillment(
+      @Param("shipmentId") Long shipmentId,
+      @Param("now") LocalDateTime now,
+      @Param("leaseUntil") LocalDateTime leaseUntil);
 }
@@ -0,0 +1,54 @@
+package com.example.SpringApi.Repositories;
+
+import com.example.SpringApi.Models.DatabaseModels.StockReservation;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+  /**
+   * Locks the open reservations of these shipments until the transaction ends, so a concurrent
+   * commit, release or expiry sweep waits and then no longer finds them open.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT r FROM StockReservation r "
+          + "WHERE r.shipmentId IN :shipmentIds AND r.status = 'RESERVED'")
+  List<StockReservation> findOpenByShipmentIdsForUpdate(
+      @Param("shipmentIds") Collection<Long> shipmentIds);
+
+  /** Open reservations whose hold has expired, oldest first. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT r FROM StockReservation r "
+          + "WHERE r.status = 'RESERVED' AND r.expiresAt <= :now "
+          + "ORDER BY r.expiresAt")
+  List<StockReservation> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+  /**
+   * Moves open reservations to a final status.
+   *
+   * @param modifiedUser The user closing them, or null to record each reservation's creator
+   * @return The number of reservations moved
+   */
+  @Modifying
+  @Query(
+      "UPDATE StockReservation r SET r.status = :status, "
+          + "r.modifiedUser = COALESCE(:modifiedUser, r.createdUser), "
+          + "r.updatedAt = CURRENT_TIMESTAMP "
+          + "WHERE r.stockReservationId IN :reservationIds AND r.status = 'RESERVED'")
+  int closeReservations(
+      @Param("reservationIds") Collection<Long> reservationIds,
+      @Param("status") String status,
+      @Param("modifiedUser") String modifiedUser);
+}
@@ -18,6 +18,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
   User findByLoginName(String loginName);
 
+  /** Fetches the IDs of every user whose tokens must be rejected (deleted or locked). */
+  @Query("SELECT u.userId FROM User u WHERE u.isDeleted = true OR u.locked = true")
+  List<Long> findDeniedUserIds();
+
   /**
    * Optimized query to fetch user with client-specific data by userId. Filters permissions and
    * usergroups by clientId. Addresses are user-specific (not filtered by client).
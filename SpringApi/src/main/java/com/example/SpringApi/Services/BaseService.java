@@ -1,6 +1,7 @@
 package com.example.SpringApi.Services;
 
 import com.example.SpringApi.Authentication.JwtTokenProvider;
+import com.example.SpringApi.Authentication.JwtUserPrincipal;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Models.DatabaseModels.User;
@@ -35,6 +36,13 @@ public class BaseService {
       }
       return userName;
     }
+    if (authentication != null && authentication.getPrincipal() instanceof JwtUserPrincipal user) {
+      String userName = user.getUsername();
+      if (userName == null || userName.trim().isEmpty()) {
+        throw new BadRequestException(ErrorMessages.UserErrorMessages.INVALID_USER);
+      }
+      return userName;
+    }
 
     // Fallback to JWT token parsing for backward compatibility and testing
     try {
@@ -69,6 +77,9 @@ public class BaseService {
     if (authentication != null && authentication.getPrincipal() instanceof User user) {
       return user.getUserId();
     }
+    if (authentication != null && authentication.getPrincipal() instanceof JwtUserPrincipal user) {
+      return user.getUserId();
+    }
 
     // Fallback to JWT token parsing for backward compatibility and testing
     try {
@@ -101,6 +112,14 @@ public class BaseService {
    * @return The first client ID
    */
   public Long getClientId() {
+    // Stateless principals already carry the verified clientId claim
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.getPrincipal() instanceof JwtUserPrincipal user
+        && user.getClientId() != null) {
+      return user.getClientId();
+    }
+
     try {
       ServletRequestAttributes requestAttributes =
           (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
@@ -7,6 +7,7 @@ import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
 import com.example.SpringApi.Helpers.FirebaseHelper;
 import com.example.SpringApi.Helpers.ImgbbHelper;
+import com.example.SpringApi.Helpers.ShipRocketHelperRegistry;
 import com.example.SpringApi.Models.ApiRoutes;
 import com.example.SpringApi.Models.DatabaseModels.Client;
 import com.example.SpringApi.Models.DatabaseModels.GoogleCred;
@@ -19,6 +20,7 @@ import com.example.SpringApi.SuccessMessages;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -44,6 +46,7 @@ public class ClientService extends BaseService implements IClientSubTranslator {
   private final GoogleCredRepository googleCredRepository;
   private final UserLogService userLogService;
   private final Environment environment;
+  private final ShipRocketHelperRegistry shipRocketHelperRegistry;
 
   @Value("${imageLocation:firebase}")
   private String imageLocation;
@@ -54,6 +57,7 @@ public class ClientService extends BaseService implements IClientSubTranslator {
       GoogleCredRepository googleCredRepository,
       UserLogService userLogService,
       Environment environment,
+      ShipRocketHelperRegistry shipRocketHelperRegistry,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -61,6 +65,7 @@ public class ClientService extends BaseService implements IClientSubTranslator {
     this.googleCredRepository = googleCredRepository;
     this.userLogService = userLogService;
     this.environment = environment;
+    this.shipRocketHelperRegistry = shipRocketHelperRegistry;
   }
 
   /**
@@ -169,9 +174,18 @@ public class ClientService extends BaseService implements IClientSubTranslator {
 
     validateUniqueClientName(clientRequest.getName(), clientRequest.getClientId());
 
+    // Read before saving: the merge copies the new values onto the managed existing entity
+    String previousShipRocketEmail = existingClient.getShipRocketEmail();
+    String previousShipRocketPassword = existingClient.getShipRocketPassword();
+
     Client client = new Client(clientRequest, getUser(), existingClient);
     Client updatedClient = clientRepository.save(client);
 
+    if (!Objects.equals(previousShipRocketEmail, updatedClient.getShipRocketEmail())
+        || !Objects.equals(previousShipRocketPassword, updatedClient.getShipRocketPassword())) {
+      shipRocketHelperRegistry.invalidate(updatedClient.getClientId());
+    }
+
     processLogoManagement(updatedClient, clientRequest.getLogoBase64());
 
     userLogService.logData(
@@ -5,8 +5,10 @@ import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel;
 import com.example.SpringApi.Models.RequestModels.ShippingCalculationRequestModel;
 import com.example.SpringApi.Models.ResponseModels.OrderOptimizationResponseModel;
 import com.example.SpringApi.Models.ResponseModels.PaginationBaseResponseModel;
+import com.example.SpringApi.Models.ResponseModels.ShipmentFulfillmentStatusResponseModel;
 import com.example.SpringApi.Models.ResponseModels.ShipmentResponseModel;
 import com.example.SpringApi.Models.ResponseModels.ShippingCalculationResponseModel;
+import java.util.List;
 
 /**
  * Interface for shipping-related operations.
@@ -46,6 +48,15 @@ public interface IShippingSubTranslator {
    */
   ShipmentResponseModel getShipmentById(Long shipmentId);
 
+  /**
+   * Retrieves the progress of ShipRocket order creation for each shipment of a purchase order.
+   * Orders are created in the background after payment approval.
+   *
+   * @param purchaseOrderId The purchase order whose shipments to report
+   * @return Fulfillment status per shipment
+   */
+  List<ShipmentFulfillmentStatusResponseModel> getFulfillmentStatus(Long purchaseOrderId);
+
   // ============================================================================
   // SHIPPING CALCULATION & OPTIMIZATION
   // ============================================================================
@@ -4,8 +4,13 @@ import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.LeadFilterQueryBuilder;
 import com.example.SpringApi.Helpers.BulkInsertHelper;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Models.ApiRoutes;
 import com.example.SpringApi.Models.DatabaseModels.Address;
 import com.example.SpringApi.Models.DatabaseModels.Lead;
@@ -25,7 +30,6 @@ import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
@@ -48,6 +52,7 @@ public class LeadService extends BaseService implements ILeadSubTranslator {
   private final UserLogService userLogService;
   private final LeadFilterQueryBuilder leadFilterQueryBuilder;
   private final MessageService messageService;
+  private final BulkInsertPipeline bulkInsertPipeline;
   private ApplicationContext applicationContext;
   private static final String UNKNOWN_VALUE = "unknown";
 
@@ -58,6 +63,7 @@ public class LeadService extends BaseService implements ILeadSubTranslator {
       UserLogService userLogService,
       LeadFilterQueryBuilder leadFilterQueryBuilder,
       MessageService messageService,
+      BulkInsertPipeline bulkInsertPipeline,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request,
       ApplicationContext applicationContext) {
@@ -68,6 +74,7 @@ public class LeadService extends BaseService implements ILeadSubTranslator {
     this.leadFilterQueryBuilder = leadFilterQueryBuilder;
     this.messageService = messageService;
     this.applicationContext = applicationContext;
+    this.bulkInsertPipeline = bulkInsertPipeline;
   }
 
   /**
@@ -158,14 +165,14 @@ public class LeadService extends BaseService implements ILeadSubTranslator {
       }
     }
 
-    // Create custom Pageable with proper offset handling
+    // Exact offset for the first page; seek past the cursor when the client sends one
     Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("leadId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("leadId").descending(),
+            KeysetCursor.decode(leadRequestModel.getCursor()),
+            CountMode.fromValue(leadRequestModel.getCountMode()));
 
     // Use the filter query builder for multi-filter support
     String logicOperator =
@@ -184,6 +191,8 @@ public class LeadService extends BaseService implements ILeadSubTranslator {
     PaginationBaseResponseModel<LeadResponseModel> response = new PaginationBaseResponseModel<>();
     response.setData(page.getContent().stream().map(LeadResponseModel::new).toList());
     response.setTotalDataCount(page.getTotalElements());
+    response.setNextCursor(KeysetCursor.next(page, lead -> KeysetCursor.of(lead.getLeadId())));
+    response.setHasMore(GridPage.hasMoreOf(page));
 
     return response;
   }
@@ -350,35 +359,43 @@ public class LeadService extends BaseService implements ILeadSubTranslator {
       int successCount = 0;
       int failureCount = 0;
 
-      // Process each lead individually
-      for (LeadRequestModel leadRequest : leads) {
-        try {
-          // Call createLead with explicit createdUser and shouldLog = false (bulk logs
-          // collectively)
-          createLead(
-              leadRequest, requestingUserLoginName, false, requestingClientId, requestingUserId);
-
-          // If we get here, lead was created successfully
-          // Fetch the created lead to get the leadId
-          Lead createdLead =
-              leadRepository.findLeadWithDetailsByEmail(leadRequest.getEmail(), requestingClientId);
-          if (createdLead != null) {
-            response.addSuccess(leadRequest.getEmail(), createdLead.getLeadId());
-            successCount++;
-          }
-
-        } catch (BadRequestException bre) {
+      // Validate every lead up front, then insert the valid ones in chunked transactions
+      List<BulkInsertPipeline.RowOutcome<LeadRequestModel>> outcomes =
+          bulkInsertPipeline.insert(
+              leads,
+              leadRequest -> {
+                leadRequest.setClientId(requestingClientId);
+                leadRequest.setCreatedById(requestingUserId);
+                new Lead(leadRequest, requestingUserLoginName);
+              },
+              // shouldLog = false (bulk logs collectively)
+              leadRequest ->
+                  createLead(
+                          leadRequest,
+                          requestingUserLoginName,
+                          false,
+                          requestingClientId,
+                          requestingUserId)
+                      .getLeadId());
+
+      for (BulkInsertPipeline.RowOutcome<LeadRequestModel> outcome : outcomes) {
+        LeadRequestModel leadRequest = outcome.row();
+        if (outcome.succeeded()) {
+          response.addSuccess(leadRequest.getEmail(), outcome.id());
+          successCount++;
+        } else if (outcome.error() instanceof BadRequestException) {
           // Validation or business logic error
           response.addFailure(
               leadRequest.getEmail() != null ? leadRequest.getEmail() : UNKNOWN_VALUE,
-              bre.getMessage());
+              outcome.error().getMessage());
           failureCount++;
-        } catch (Exception e) {
+        } else {
           // Unexpected error
           response.addFailure(
               leadRequest.getEmail() != null ? leadRequest.getEmail() : UNKNOWN_VALUE,
               String.format(
-                  ErrorMessages.LeadsErrorMessages.BULK_ITEM_ERROR_FORMAT, e.getMessage()));
+                  ErrorMessages.LeadsErrorMessages.BULK_ITEM_ERROR_FORMAT,
+                  outcome.error().getMessage()));
           failureCount++;
         }
       }
@@ -508,10 +525,11 @@ public class LeadService extends BaseService implements ILeadSubTranslator {
    * @param shouldLog Whether to log this individual lead creation (false for bulk operations)
    * @param clientId The client ID captured from authenticated context
    * @param userId The user ID captured from authenticated context
+   * @return The saved lead
    * @throws BadRequestException if the lead data is invalid or incomplete
    */
   @Transactional
-  private void createLead(
+  private Lead createLead(
       LeadRequestModel leadRequestModel,
       String createdUser,
       boolean shouldLog,
@@ -539,6 +557,7 @@ public class LeadService extends BaseService implements ILeadSubTranslator {
           SuccessMessages.LeadSuccessMessages.INSERT_LEAD + savedLead.getLeadId(),
           ApiRoutes.LeadsSubRoute.CREATE_LEAD);
     }
+    return savedLead;
   }
 
   /**
@@ -1,5 +1,6 @@
 package com.example.SpringApi.Services;
 
+import com.example.SpringApi.Authentication.AuthenticationDenyList;
 import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.ApplicationException;
@@ -44,6 +45,7 @@ public class LoginService extends BaseService implements ILoginSubTranslator {
   private final UserClientPermissionMappingRepository userClientPermissionMappingRepository;
   private final ClientRepository clientRepository;
   private final Environment environment;
+  private final AuthenticationDenyList authenticationDenyList;
 
   @Autowired
   public LoginService(
@@ -53,6 +55,7 @@ public class LoginService extends BaseService implements ILoginSubTranslator {
       ClientRepository clientRepository,
       JwtTokenProvider jwtTokenProvider,
       Environment environment,
+      AuthenticationDenyList authenticationDenyList,
       HttpServletRequest request,
       ApplicationContext applicationContext) {
     super(jwtTokenProvider, request);
@@ -62,6 +65,7 @@ public class LoginService extends BaseService implements ILoginSubTranslator {
     this.clientRepository = clientRepository;
     this.jwtTokenProvider = jwtTokenProvider;
     this.environment = environment;
+    this.authenticationDenyList = authenticationDenyList;
   }
 
   /**
@@ -198,6 +202,7 @@ public class LoginService extends BaseService implements ILoginSubTranslator {
     if (user.getLoginAttempts() == 0) {
       user.setLocked(true);
       userRepository.save(user);
+      authenticationDenyList.update(user);
       throw new UnauthorizedException(ErrorMessages.LoginErrorMessages.ER007);
     } else {
       userRepository.save(user);
@@ -291,6 +296,7 @@ public class LoginService extends BaseService implements ILoginSubTranslator {
 
       // Save the user with updated password, salt, locked status, and login attempts
       userRepository.save(user);
+      authenticationDenyList.update(user);
 
       return true;
     } else {
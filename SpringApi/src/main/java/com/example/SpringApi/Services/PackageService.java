@@ -4,8 +4,14 @@ import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.PackageFilterQueryBuilder;
 import com.example.SpringApi.Helpers.BulkInsertHelper;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
+import com.example.SpringApi.Helpers.StockLocationLoader;
 import com.example.SpringApi.Models.ApiRoutes;
 import com.example.SpringApi.Models.DatabaseModels.Package;
 import com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping;
@@ -30,7 +36,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -55,6 +60,8 @@ public class PackageService extends BaseService implements IPackageSubTranslator
   private final UserLogService userLogService;
   private final PackageFilterQueryBuilder packageFilterQueryBuilder;
   private final MessageService messageService;
+  private final BulkInsertPipeline bulkInsertPipeline;
+  private final StockLocationLoader stockLocationLoader;
 
   @Autowired
   public PackageService(
@@ -64,6 +71,8 @@ public class PackageService extends BaseService implements IPackageSubTranslator
       UserLogService userLogService,
       PackageFilterQueryBuilder packageFilterQueryBuilder,
       MessageService messageService,
+      BulkInsertPipeline bulkInsertPipeline,
+      StockLocationLoader stockLocationLoader,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -73,6 +82,8 @@ public class PackageService extends BaseService implements IPackageSubTranslator
     this.userLogService = userLogService;
     this.packageFilterQueryBuilder = packageFilterQueryBuilder;
     this.messageService = messageService;
+    this.bulkInsertPipeline = bulkInsertPipeline;
+    this.stockLocationLoader = stockLocationLoader;
   }
 
   /**
@@ -158,14 +169,14 @@ public class PackageService extends BaseService implements IPackageSubTranslator
 
     int limit = end - start;
 
-    // Create custom Pageable with exact OFFSET and LIMIT for database-level pagination
+    // Exact offset for the first page; seek past the cursor when the client sends one
     org.springframework.data.domain.Pageable pageable =
-        new PageRequest(0, limit, Sort.by("packageId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            limit,
+            Sort.by("packageId").descending(),
+            KeysetCursor.decode(paginationBaseRequestModel.getCursor()),
+            CountMode.fromValue(paginationBaseRequestModel.getCountMode()));
 
     // Use filter query builder for dynamic filtering
     Page<Package> page =
@@ -213,6 +224,8 @@ public class PackageService extends BaseService implements IPackageSubTranslator
     // Set the total count of all filtered records
     response.setData(packageResponseModels);
     response.setTotalDataCount(page.getTotalElements());
+    response.setNextCursor(KeysetCursor.next(page, pkg -> KeysetCursor.of(pkg.getPackageId())));
+    response.setHasMore(GridPage.hasMoreOf(page));
 
     return response;
   }
@@ -299,6 +312,7 @@ public class PackageService extends BaseService implements IPackageSubTranslator
 
     // Delete existing mappings
     packagePickupLocationMappingRepository.deleteByPackageId(updatedPackage.getPackageId());
+    invalidatePackageLocations(existingMappingsMap.keySet());
 
     // Create new mappings with lastRestockDate logic (only update if quantity increased)
     if (packageRequest.getPickupLocationQuantities() != null
@@ -391,35 +405,43 @@ public class PackageService extends BaseService implements IPackageSubTranslator
       int successCount = 0;
       int failureCount = 0;
 
-      // Process each package individually
-      for (PackageRequestModel packageRequest : packages) {
-        try {
-          // Call createPackage with explicit createdUser, clientId, and shouldLog = false (bulk
-          // logs collectively)
-          createPackage(
-              packageRequest, requestingUserLoginName, requestingClientId, requestingUserId, false);
-
-          // If we get here, package was created successfully
-          // The packageId is set by persistPackage method
-          response.addSuccess(packageRequest.getPackageName(), packageRequest.getPackageId());
+      // Validate every package up front, then insert the valid ones in chunked transactions
+      List<BulkInsertPipeline.RowOutcome<PackageRequestModel>> outcomes =
+          bulkInsertPipeline.insert(
+              packages,
+              packageRequest ->
+                  new Package(packageRequest, requestingUserLoginName, requestingClientId),
+              // shouldLog = false (bulk logs collectively); persistPackage sets the generated ID
+              packageRequest -> {
+                createPackage(
+                    packageRequest,
+                    requestingUserLoginName,
+                    requestingClientId,
+                    requestingUserId,
+                    false);
+                return packageRequest.getPackageId();
+              });
+
+      for (BulkInsertPipeline.RowOutcome<PackageRequestModel> outcome : outcomes) {
+        PackageRequestModel packageRequest = outcome.row();
+        String packageName =
+            packageRequest.getPackageName() != null
+                ? packageRequest.getPackageName()
+                : ErrorMessages.PackageErrorMessages.UNKNOWN_PACKAGE_NAME;
+        if (outcome.succeeded()) {
+          response.addSuccess(packageRequest.getPackageName(), outcome.id());
           successCount++;
-
-        } catch (BadRequestException badRequestException) {
+        } else if (outcome.error() instanceof BadRequestException) {
           // Validation or business logic error
-          response.addFailure(
-              packageRequest.getPackageName() != null
-                  ? packageRequest.getPackageName()
-                  : ErrorMessages.PackageErrorMessages.UNKNOWN_PACKAGE_NAME,
-              badRequestException.getMessage());
+          response.addFailure(packageName, outcome.error().getMessage());
           failureCount++;
-        } catch (Exception e) {
+        } else {
           // Unexpected error
           response.addFailure(
-              packageRequest.getPackageName() != null
-                  ? packageRequest.getPackageName()
-                  : ErrorMessages.PackageErrorMessages.UNKNOWN_PACKAGE_NAME,
+              packageName,
               String.format(
-                  ErrorMessages.PackageErrorMessages.BULK_ITEM_ERROR_FORMAT, e.getMessage()));
+                  ErrorMessages.PackageErrorMessages.BULK_ITEM_ERROR_FORMAT,
+                  outcome.error().getMessage()));
           failureCount++;
         }
       }
@@ -702,6 +724,20 @@ public class PackageService extends BaseService implements IPackageSubTranslator
     // Save all mappings in a single batch operation for better performance
     if (!mappings.isEmpty()) {
       packagePickupLocationMappingRepository.saveAll(mappings);
+      invalidatePackageLocations(
+          mappings.stream().map(PackagePickupLocationMapping::getPickupLocationId).toList());
+    }
+  }
+
+  /**
+   * Drops cached package availability (and packaging estimates) of the given pickup locations so
+   * order optimisation sees the new package quantities and dimensions.
+   *
+   * @param pickupLocationIds The pickup locations whose package mappings changed
+   */
+  private void invalidatePackageLocations(java.util.Collection<Long> pickupLocationIds) {
+    if (!pickupLocationIds.isEmpty()) {
+      stockLocationLoader.invalidateLocations(pickupLocationIds);
     }
   }
 }
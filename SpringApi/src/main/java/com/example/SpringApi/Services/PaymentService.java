@@ -5,7 +5,9 @@ import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
 import com.example.SpringApi.Helpers.HTMLHelper;
+import com.example.SpringApi.Helpers.InvoiceTemplateEngine;
 import com.example.SpringApi.Helpers.PDFHelper;
+import com.example.SpringApi.Helpers.PDFRenderer;
 import com.example.SpringApi.Models.ApiRoutes;
 import com.example.SpringApi.Models.DatabaseModels.Client;
 import com.example.SpringApi.Models.DatabaseModels.OrderSummary;
@@ -25,12 +27,9 @@ import com.itextpdf.text.DocumentException;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -67,6 +66,8 @@ public class PaymentService extends BaseService implements IPaymentSubTranslator
   private final ClientRepository clientRepository;
   private final UserLogService userLogService;
   private final Environment environment;
+  private final InvoiceTemplateEngine invoiceTemplateEngine;
+  private final PDFRenderer pdfRenderer;
 
   // JSON field names reused for Razorpay requests/responses
   private static final String RAZORPAY_JSON_FIELD_AMOUNT = "amount";
@@ -81,6 +82,8 @@ public class PaymentService extends BaseService implements IPaymentSubTranslator
       ClientRepository clientRepository,
       UserLogService userLogService,
       Environment environment,
+      InvoiceTemplateEngine invoiceTemplateEngine,
+      PDFRenderer pdfRenderer,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -90,6 +93,8 @@ public class PaymentService extends BaseService implements IPaymentSubTranslator
     this.clientRepository = clientRepository;
     this.userLogService = userLogService;
     this.environment = environment;
+    this.invoiceTemplateEngine = invoiceTemplateEngine;
+    this.pdfRenderer = pdfRenderer;
   }
 
   // ========================================================================
@@ -1029,14 +1034,18 @@ public class PaymentService extends BaseService implements IPaymentSubTranslator
             .findById(getClientId())
             .orElseThrow(() -> new NotFoundException(ErrorMessages.ClientErrorMessages.INVALID_ID));
 
-    // Generate HTML from template
-    String htmlContent = formPaymentReceiptHtml(client, payment, purchaseOrder);
-
-    // Replace br tags for PDF compatibility
-    htmlContent = HTMLHelper.replaceBrTags(htmlContent);
-
-    // Convert HTML to PDF
-    byte[] pdfBytes = PDFHelper.convertHtmlToPdf(htmlContent);
+    // Generate HTML from template and convert it to PDF, unless this version is already rendered
+    byte[] pdfBytes =
+        pdfRenderer.render(
+            new PDFRenderer.Key(
+                PDFRenderer.PAYMENT_RECEIPT,
+                getClientId(),
+                paymentId,
+                payment.getUpdatedAt() + "/" + purchaseOrder.getUpdatedAt()),
+            () ->
+                // Replace br tags for PDF compatibility
+                HTMLHelper.replaceBrTags(formPaymentReceiptHtml(client, payment, purchaseOrder)),
+            PDFHelper::convertHtmlToPdf);
 
     // Log the PDF generation
     userLogService.logData(
@@ -1168,13 +1177,6 @@ public class PaymentService extends BaseService implements IPaymentSubTranslator
   private String formPaymentReceiptHtml(Client client, Payment payment, PurchaseOrder purchaseOrder)
       throws IOException, TemplateException {
 
-    Configuration cfg = new Configuration(Configuration.VERSION_2_3_32);
-    cfg.setDefaultEncoding("UTF-8");
-    cfg.setClassLoaderForTemplateLoading(
-        Thread.currentThread().getContextClassLoader(), "InvoiceTemplates");
-
-    Template template = cfg.getTemplate("PaymentReceipt.ftl");
-
     Map<String, Object> templateData = new HashMap<>();
     templateData.put("companyName", client.getName());
     templateData.put("website", client.getWebsite() != null ? client.getWebsite() : "");
@@ -1237,8 +1239,6 @@ public class PaymentService extends BaseService implements IPaymentSubTranslator
     }
     templateData.put("purchaseOrder", purchaseOrder);
 
-    StringWriter writer = new StringWriter();
-    template.process(templateData, writer);
-    return writer.toString();
+    return invoiceTemplateEngine.render(InvoiceTemplateEngine.PAYMENT_RECEIPT, templateData);
   }
 }
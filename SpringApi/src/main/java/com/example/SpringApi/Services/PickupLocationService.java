@@ -4,9 +4,15 @@ import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.PickupLocationFilterQueryBuilder;
 import com.example.SpringApi.Helpers.BulkInsertHelper;
 import com.example.SpringApi.Helpers.ShipRocketHelper;
+import com.example.SpringApi.Helpers.ShipRocketHelperRegistry;
+import com.example.SpringApi.Helpers.StockLocationLoader;
 import com.example.SpringApi.Models.ApiRoutes;
 import com.example.SpringApi.Models.DatabaseModels.Address;
 import com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping;
@@ -40,7 +46,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
@@ -70,6 +75,8 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
   private final PickupLocationFilterQueryBuilder pickupLocationFilterQueryBuilder;
   private final ShipRocketHelper shipRocketHelper;
   private final MessageService messageService;
+  private final ShipRocketHelperRegistry shipRocketHelperRegistry;
+  private final StockLocationLoader stockLocationLoader;
   private static final String UNKNOWN_NAME = "unknown";
 
   @Autowired
@@ -82,6 +89,8 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
       ClientService clientService,
       PickupLocationFilterQueryBuilder pickupLocationFilterQueryBuilder,
       MessageService messageService,
+      ShipRocketHelperRegistry shipRocketHelperRegistry,
+      StockLocationLoader stockLocationLoader,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -94,6 +103,8 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
     this.shipRocketHelper = null;
     this.pickupLocationFilterQueryBuilder = pickupLocationFilterQueryBuilder;
     this.messageService = messageService;
+    this.shipRocketHelperRegistry = shipRocketHelperRegistry;
+    this.stockLocationLoader = stockLocationLoader;
   }
 
   // ============================================================================
@@ -190,14 +201,14 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
       throw new BadRequestException(ErrorMessages.CommonErrorMessages.INVALID_PAGINATION);
     }
 
-    // Create custom Pageable with proper offset handling
+    // Exact offset for the first page; seek past the cursor when the client sends one
     Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("pickupLocationId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("pickupLocationId").descending(),
+            KeysetCursor.decode(paginationBaseRequestModel.getCursor()),
+            CountMode.fromValue(paginationBaseRequestModel.getCountMode()));
 
     // Use filter query builder for dynamic filtering
     Page<PickupLocation> result =
@@ -255,6 +266,10 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
                 })
             .collect(Collectors.toCollection(ArrayList::new)));
     response.setTotalDataCount(result.getTotalElements());
+    response.setNextCursor(
+        KeysetCursor.next(
+            result, pickupLocation -> KeysetCursor.of(pickupLocation.getPickupLocationId())));
+    response.setHasMore(GridPage.hasMoreOf(result));
 
     return response;
   }
@@ -425,6 +440,10 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
       updatedPickupLocation = existingPickupLocation;
     }
 
+    // Cached stock lookups carry the location and its address, so every product stocked here
+    // before or after the update is reloaded
+    Set<Long> affectedProductIds = productIdsAt(updatedPickupLocation.getPickupLocationId());
+
     // Update product mappings if provided (delete existing and recreate)
     if (pickupLocationRequestModel.getProductMappings() != null) {
       productMappingRepository.deleteByPickupLocationId(
@@ -432,12 +451,21 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
       saveProductMappings(
           updatedPickupLocation.getPickupLocationId(),
           pickupLocationRequestModel.getProductMappings());
+      for (ProductPickupLocationMappingRequestModel mapping :
+          pickupLocationRequestModel.getProductMappings()) {
+        if (mapping.getProductId() != null) {
+          affectedProductIds.add(mapping.getProductId());
+        }
+      }
     }
+    stockLocationLoader.invalidateProducts(affectedProductIds);
 
     // Update package mappings if provided (delete existing and recreate)
     if (pickupLocationRequestModel.getPackageMappings() != null) {
       packageMappingRepository.deleteByPickupLocationId(
           updatedPickupLocation.getPickupLocationId());
+      stockLocationLoader.invalidateLocations(
+          List.of(updatedPickupLocation.getPickupLocationId()));
       savePackageMappings(
           updatedPickupLocation.getPickupLocationId(),
           pickupLocationRequestModel.getPackageMappings());
@@ -475,6 +503,7 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
     pickupLocation.setIsDeleted(!pickupLocation.getIsDeleted());
     pickupLocation.setModifiedBy(getUser());
     pickupLocationRepository.save(pickupLocation);
+    stockLocationLoader.invalidateProducts(productIdsAt(pickupLocationId));
 
     // Log the toggle action
     userLogService.logData(
@@ -673,22 +702,18 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
   // ============================================================================
 
   /**
-   * Creates a ShipRocketHelper instance initialized with the current client's ShipRocket
-   * credentials. For testing, returns the injected mock if available.
+   * Returns the current client's ShipRocketHelper from the shared registry, so its auth token is
+   * reused across calls. For testing, returns the injected mock if available.
    *
    * @return ShipRocketHelper instance with client credentials
    */
   private ShipRocketHelper getShipRocketHelper() {
-    if (shipRocketHelper != null) {
-      return shipRocketHelper; // For testing with mock
-    }
-    ClientResponseModel client = clientService.getClientById(getClientId());
-    return new ShipRocketHelper(client.getShipRocketEmail(), client.getShipRocketPassword());
+    return getShipRocketHelper(getClientId());
   }
 
   /**
-   * Creates a ShipRocketHelper instance initialized with a specific client's ShipRocket
-   * credentials. Used for bulk operations where clientId is passed explicitly.
+   * Returns a specific client's ShipRocketHelper from the shared registry. Used for bulk operations
+   * where clientId is passed explicitly.
    *
    * @param clientId The client ID to get credentials for
    * @return ShipRocketHelper instance with client credentials
@@ -698,7 +723,18 @@ public class PickupLocationService extends BaseService implements IPickupLocatio
       return shipRocketHelper; // For testing with mock
     }
     ClientResponseModel client = clientService.getClientById(clientId);
-    return new ShipRocketHelper(client.getShipRocketEmail(), client.getShipRocketPassword());
+    return shipRocketHelperRegistry.getHelper(
+        clientId, client.getShipRocketEmail(), client.getShipRocketPassword());
+  }
+
+  /** Returns the IDs of the products with a stock mapping at the pickup location. */
+  private Set<Long> productIdsAt(Long pickupLocationId) {
+    Set<Long> productIds = new HashSet<>();
+    for (ProductPickupLocationMapping mapping :
+        productMappingRepository.findByPickupLocationId(pickupLocationId)) {
+      productIds.add(mapping.getProductId());
+    }
+    return productIds;
   }
 
   /**
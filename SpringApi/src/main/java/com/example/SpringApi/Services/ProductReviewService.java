@@ -4,6 +4,10 @@ import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.ProductReviewFilterQueryBuilder;
 import com.example.SpringApi.Models.ApiRoutes;
 import com.example.SpringApi.Models.DatabaseModels.ProductReview;
@@ -22,7 +26,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -154,12 +157,12 @@ public class ProductReviewService extends BaseService implements IProductReviewS
     }
 
     Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("reviewId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("reviewId").descending(),
+            KeysetCursor.decode(paginationBaseRequestModel.getCursor()),
+            CountMode.fromValue(paginationBaseRequestModel.getCountMode()));
 
     Page<ProductReview> reviewPage =
         productReviewFilterQueryBuilder.findPaginatedEntitiesWithMultipleFilters(
@@ -180,6 +183,9 @@ public class ProductReviewService extends BaseService implements IProductReviewS
             .map(ProductReviewResponseModel::new)
             .collect(Collectors.toCollection(ArrayList::new)));
     response.setTotalDataCount(reviewPage.getTotalElements());
+    response.setNextCursor(
+        KeysetCursor.next(reviewPage, review -> KeysetCursor.of(review.getReviewId())));
+    response.setHasMore(GridPage.hasMoreOf(reviewPage));
 
     return response;
   }
@@ -5,10 +5,18 @@ import com.example.SpringApi.Constants.ProductImageConstants;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.ProductFilterQueryBuilder;
 import com.example.SpringApi.Helpers.BulkInsertHelper;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Helpers.ImgbbHelper;
+import com.example.SpringApi.Helpers.ProductImageUploader;
+import com.example.SpringApi.Helpers.StockLocationLoader;
 import com.example.SpringApi.Models.ApiRoutes;
+import com.example.SpringApi.Models.DTOs.ProductImageVariants;
 import com.example.SpringApi.Models.DatabaseModels.Client;
 import com.example.SpringApi.Models.DatabaseModels.Product;
 import com.example.SpringApi.Models.DatabaseModels.ProductCategory;
@@ -25,17 +33,13 @@ import com.example.SpringApi.Repositories.ProductPickupLocationMappingRepository
 import com.example.SpringApi.Repositories.ProductRepository;
 import com.example.SpringApi.Services.Interface.IProductSubTranslator;
 import com.example.SpringApi.SuccessMessages;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import jakarta.servlet.http.HttpServletRequest;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URI;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Base64;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -50,7 +54,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
@@ -70,6 +73,16 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductService extends BaseService implements IProductSubTranslator {
   private static final String PRODUCT_ENTITY_LABEL = "Product";
   private static final String UNKNOWN_TITLE = "unknown";
+  // Required images (excluding defect which is optional)
+  private static final String[] REQUIRED_IMAGE_TYPES = {
+    ProductImageConstants.MAIN, ProductImageConstants.TOP, ProductImageConstants.BOTTOM,
+    ProductImageConstants.FRONT, ProductImageConstants.BACK, ProductImageConstants.RIGHT,
+    ProductImageConstants.LEFT, ProductImageConstants.DETAILS
+  };
+  private static final String[] OPTIONAL_IMAGE_TYPES = {
+    ProductImageConstants.DEFECT, ProductImageConstants.ADDITIONAL_1,
+    ProductImageConstants.ADDITIONAL_2, ProductImageConstants.ADDITIONAL_3
+  };
 
   private final Logger logger;
 
@@ -84,6 +97,9 @@ public class ProductService extends BaseService implements IProductSubTranslator
   private final ProductFilterQueryBuilder productFilterQueryBuilder;
   private final MessageService messageService;
   private final Environment environment;
+  private final BulkInsertPipeline bulkInsertPipeline;
+  private final StockLocationLoader stockLocationLoader;
+  private final ProductImageUploader productImageUploader;
 
   @Value("${imageLocation:firebase}")
   private String imageLocation;
@@ -101,6 +117,9 @@ public class ProductService extends BaseService implements IProductSubTranslator
       ProductFilterQueryBuilder productFilterQueryBuilder,
       MessageService messageService,
       Environment environment,
+      BulkInsertPipeline bulkInsertPipeline,
+      StockLocationLoader stockLocationLoader,
+      ProductImageUploader productImageUploader,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -115,6 +134,9 @@ public class ProductService extends BaseService implements IProductSubTranslator
     this.productFilterQueryBuilder = productFilterQueryBuilder;
     this.messageService = messageService;
     this.environment = environment;
+    this.bulkInsertPipeline = bulkInsertPipeline;
+    this.stockLocationLoader = stockLocationLoader;
+    this.productImageUploader = productImageUploader;
   }
 
   /**
@@ -388,14 +410,14 @@ public class ProductService extends BaseService implements IProductSubTranslator
       throw new BadRequestException(ErrorMessages.CommonErrorMessages.INVALID_PAGINATION);
     }
 
-    // Create custom Pageable with proper offset handling
+    // Exact offset for the first page; seek past the cursor when the client sends one
     Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("productId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("productId").descending(),
+            KeysetCursor.decode(paginationBaseRequestModel.getCursor()),
+            CountMode.fromValue(paginationBaseRequestModel.getCountMode()));
 
     // Use filter query builder for dynamic filtering
     Page<Product> productPage =
@@ -414,11 +436,14 @@ public class ProductService extends BaseService implements IProductSubTranslator
         new PaginationBaseResponseModel<>();
     response.setData(
         productPage.getContent().stream()
-            .map(ProductResponseModel::new)
+            .map(ProductResponseModel::forGrid)
             .collect(Collectors.toCollection(ArrayList::new)));
 
     // Set pagination metadata
     response.setTotalDataCount(productPage.getTotalElements());
+    response.setNextCursor(
+        KeysetCursor.next(productPage, product -> KeysetCursor.of(product.getProductId())));
+    response.setHasMore(GridPage.hasMoreOf(productPage));
 
     return response;
   }
@@ -462,32 +487,57 @@ public class ProductService extends BaseService implements IProductSubTranslator
       int successCount = 0;
       int failureCount = 0;
 
-      // Process each product individually
-      for (ProductRequestModel productRequest : products) {
-        try {
-          // Call persistProduct with explicit createdUser and shouldLog = false (bulk
-          // logs collectively)
-          Product createdProduct =
-              persistProduct(
-                  productRequest,
-                  requestingUserLoginName,
-                  requestingClientId,
-                  requestingUserId,
-                  false);
-          response.addSuccess(productRequest.getTitle(), createdProduct.getProductId());
+      // Validate every product up front and upload its images outside any transaction, then
+      // insert the rows in chunked transactions; a retried chunk never uploads again
+      Map<Long, Boolean> categoryExists = new HashMap<>();
+      Supplier<ImgbbHelper> imgbbHelper =
+          Suppliers.memoize(() -> getImgbbHelper(requestingClientId));
+      List<BulkInsertPipeline.RowOutcome<ProductRequestModel>> outcomes =
+          bulkInsertPipeline.insert(
+              products,
+              productRequest ->
+                  validateProductForInsert(
+                      productRequest, requestingUserLoginName, requestingClientId, categoryExists),
+              new BulkInsertPipeline.Upload<
+                  ProductRequestModel, List<ProductImageUploader.UploadResult>>() {
+                @Override
+                public List<ProductImageUploader.UploadResult> upload(
+                    ProductRequestModel productRequest) {
+                  return uploadProductImages(
+                      imgbbHelper.get(),
+                      productRequest,
+                      new Product(productRequest, requestingUserLoginName, requestingClientId),
+                      false,
+                      requestingClientId);
+                }
+
+                @Override
+                public void discard(List<ProductImageUploader.UploadResult> images) {
+                  productImageUploader.deleteAll(
+                      imgbbHelper.get(), getUploadedDeleteHashes(images));
+                }
+              },
+              (productRequest, images) ->
+                  insertProduct(
+                          productRequest, images, requestingUserLoginName, requestingClientId)
+                      .getProductId());
+
+      for (BulkInsertPipeline.RowOutcome<ProductRequestModel> outcome : outcomes) {
+        ProductRequestModel productRequest = outcome.row();
+        if (outcome.succeeded()) {
+          response.addSuccess(productRequest.getTitle(), outcome.id());
           successCount++;
-
-        } catch (BadRequestException bre) {
+        } else if (outcome.error() instanceof BadRequestException) {
           // Validation or business logic error
           response.addFailure(
               productRequest.getTitle() != null ? productRequest.getTitle() : UNKNOWN_TITLE,
-              bre.getMessage());
+              outcome.error().getMessage());
           failureCount++;
-        } catch (Exception e) {
+        } else {
           // Unexpected error
           response.addFailure(
               productRequest.getTitle() != null ? productRequest.getTitle() : UNKNOWN_TITLE,
-              "Error: " + e.getMessage());
+              "Error: " + outcome.error().getMessage());
           failureCount++;
         }
       }
@@ -688,8 +738,9 @@ public class ProductService extends BaseService implements IProductSubTranslator
   /**
    * Processes and uploads product images to ImgBB storage. This method handles multiple product
    * images including required images (main, top, bottom, front, back, right, left, details) and
-   * optional images (defect, additional_1, additional_2, additional_3). It converts URLs to base64
-   * format and uploads them to ImgBB with structured filenames using the saved product ID.
+   * optional images (defect, additional_1, additional_2, additional_3). Changed images are uploaded
+   * concurrently as raw bytes with structured filenames using the saved product ID; images whose
+   * content is unchanged are not uploaded again.
    *
    * @param productRequestModel The product request model containing image data
    * @param savedProduct The saved product entity with generated ID
@@ -698,8 +749,31 @@ public class ProductService extends BaseService implements IProductSubTranslator
    */
   private void processAndUploadProductImages(
       ProductRequestModel productRequestModel, Product savedProduct, boolean isUpdate) {
-    // Get client and validate ImgBB API key
     Long clientId = getClientId();
+    ImgbbHelper imgbbHelper = getImgbbHelper(clientId);
+
+    // Upload concurrently; the first failed image (in slot order) is reported
+    List<ProductImageUploader.UploadResult> results =
+        uploadProductImages(imgbbHelper, productRequestModel, savedProduct, isUpdate, clientId);
+    List<String> replacedDeleteHashes =
+        applyProductImages(savedProduct, productRequestModel, results, isUpdate);
+
+    // Old images are deleted from ImgBB only once every new image is stored
+    productImageUploader.deleteAll(imgbbHelper, replacedDeleteHashes);
+
+    // Save the updated product with image URLs and deleteHashes
+    productRepository.save(savedProduct);
+  }
+
+  /**
+   * Gets an ImgBB helper for the client's API key.
+   *
+   * @param clientId The client whose ImgBB account stores the images
+   * @return The helper
+   * @throws NotFoundException if the client does not exist
+   * @throws BadRequestException if the client has no ImgBB API key
+   */
+  private ImgbbHelper getImgbbHelper(Long clientId) {
     Client client =
         clientRepository
             .findById(clientId)
@@ -709,20 +783,147 @@ public class ProductService extends BaseService implements IProductSubTranslator
       throw new BadRequestException(
           ErrorMessages.ConfigurationErrorMessages.IMGBB_API_KEY_NOT_CONFIGURED);
     }
+    return new ImgbbHelper(client.getImgbbApiKey());
+  }
 
+  /**
+   * Uploads every image in the request that is not already stored for the product. Required
+   * images are validated before this is called.
+   *
+   * @param imgbbHelper The client's ImgBB helper
+   * @param productRequestModel The product request model containing image data
+   * @param product The product the images belong to; its ID, if any, goes in the file names
+   * @param isUpdate Whether the product already has images
+   * @param clientId The client the product belongs to
+   * @return One result per uploaded image, in slot order
+   * @throws BadRequestException for the first image that could not be stored
+   */
+  private List<ProductImageUploader.UploadResult> uploadProductImages(
+      ImgbbHelper imgbbHelper,
+      ProductRequestModel productRequestModel,
+      Product product,
+      boolean isUpdate,
+      Long clientId) {
     ClientResponseModel clientDetails = clientService.getClientById(clientId);
-    ImgbbHelper imgbbHelper = new ImgbbHelper(client.getImgbbApiKey());
     String environmentName =
         environment.getActiveProfiles().length > 0 ? environment.getActiveProfiles()[0] : "default";
 
-    // Define image types and their corresponding request fields
-    // Required images (excluding defect which is optional)
-    String[] requiredImageTypes = {
-      ProductImageConstants.MAIN, ProductImageConstants.TOP, ProductImageConstants.BOTTOM,
-      ProductImageConstants.FRONT, ProductImageConstants.BACK, ProductImageConstants.RIGHT,
-      ProductImageConstants.LEFT, ProductImageConstants.DETAILS
-    };
-    String[] requiredImageData = {
+    String[] requiredImageData = getRequiredImageData(productRequestModel);
+    String[] optionalImageData = getOptionalImageData(productRequestModel);
+    ProductImageVariants storedImages = ProductImageVariants.fromJson(product.getImageVariants());
+
+    // Collect every image that needs storing; unchanged URLs are kept as they are
+    List<ProductImageUploader.ImageUpload> uploads = new ArrayList<>();
+    for (int i = 0; i < requiredImageData.length; i++) {
+      addImageUpload(
+          uploads,
+          product,
+          storedImages,
+          isUpdate,
+          REQUIRED_IMAGE_TYPES[i],
+          requiredImageData[i],
+          String.format(ErrorMessages.ProductErrorMessages.ER010, REQUIRED_IMAGE_TYPES[i]),
+          environmentName,
+          clientDetails.getName());
+    }
+    for (int i = 0; i < optionalImageData.length; i++) {
+      if (optionalImageData[i] != null && !optionalImageData[i].trim().isEmpty()) {
+        String failureMessage =
+            ProductImageConstants.DEFECT.equals(OPTIONAL_IMAGE_TYPES[i])
+                ? String.format(ErrorMessages.ProductErrorMessages.ER010, OPTIONAL_IMAGE_TYPES[i])
+                : String.format(ErrorMessages.ProductErrorMessages.ER011, i); // Additional images
+        addImageUpload(
+            uploads,
+            product,
+            storedImages,
+            isUpdate,
+            OPTIONAL_IMAGE_TYPES[i],
+            optionalImageData[i],
+            failureMessage,
+            environmentName,
+            clientDetails.getName());
+      }
+    }
+
+    return productImageUploader.uploadAll(imgbbHelper, uploads);
+  }
+
+  /**
+   * Stores uploaded images on the product and clears optional slots the request left empty.
+   *
+   * @param product The product to update
+   * @param productRequestModel The product request model containing image data
+   * @param results The uploaded images
+   * @param isUpdate Whether the product already has images
+   * @return The delete hashes of the images that were replaced
+   */
+  private List<String> applyProductImages(
+      Product product,
+      ProductRequestModel productRequestModel,
+      List<ProductImageUploader.UploadResult> results,
+      boolean isUpdate) {
+    ProductImageVariants imageVariants =
+        ProductImageVariants.fromJson(product.getImageVariants());
+
+    String[] optionalImageData = getOptionalImageData(productRequestModel);
+    for (int i = 0; i < optionalImageData.length; i++) {
+      if (optionalImageData[i] == null || optionalImageData[i].trim().isEmpty()) {
+        // Clear optional image fields if not provided
+        setProductImageUrlAndHash(product, OPTIONAL_IMAGE_TYPES[i], null, null);
+        imageVariants.remove(OPTIONAL_IMAGE_TYPES[i]);
+      }
+    }
+
+    List<String> replacedDeleteHashes = new ArrayList<>();
+    for (ProductImageUploader.UploadResult result : results) {
+      if (result.unchanged()) {
+        continue;
+      }
+      if (isUpdate) {
+        String deleteHash = getExistingImageDeleteHash(product, result.imageType());
+        if (deleteHash != null && !deleteHash.isEmpty()) {
+          replacedDeleteHashes.add(deleteHash);
+        }
+        for (ProductImageVariants.StoredImage variant :
+            imageVariants.get(result.imageType()).values()) {
+          if (variant.deleteHash() != null && !variant.deleteHash().isEmpty()) {
+            replacedDeleteHashes.add(variant.deleteHash());
+          }
+        }
+      }
+      // Save URL, deleteHash, content hash and resized copies to product entity
+      setProductImageUrlAndHash(product, result.imageType(), result.url(), result.deleteHash());
+      imageVariants.put(result.imageType(), result.contentHash(), result.variants());
+    }
+    product.setImageVariants(imageVariants.toJson());
+    return replacedDeleteHashes;
+  }
+
+  /**
+   * Gets the delete hashes of uploaded images and their resized copies.
+   *
+   * @param results The uploaded images
+   * @return Every delete hash, for removing the images again
+   */
+  private static List<String> getUploadedDeleteHashes(
+      List<ProductImageUploader.UploadResult> results) {
+    List<String> deleteHashes = new ArrayList<>();
+    for (ProductImageUploader.UploadResult result : results) {
+      if (result.unchanged()) {
+        continue;
+      }
+      deleteHashes.add(result.deleteHash());
+      for (ProductImageVariants.StoredImage variant : result.variants().values()) {
+        if (variant.deleteHash() != null && !variant.deleteHash().isEmpty()) {
+          deleteHashes.add(variant.deleteHash());
+        }
+      }
+    }
+    return deleteHashes;
+  }
+
+  private static String[] getRequiredImageData(ProductRequestModel productRequestModel) {
+    return new String[] {
       productRequestModel.getMainImage(),
       productRequestModel.getTopImage(),
       productRequestModel.getBottomImage(),
@@ -732,127 +933,53 @@ public class ProductService extends BaseService implements IProductSubTranslator
       productRequestModel.getLeftImage(),
       productRequestModel.getDetailsImage()
     };
+  }
 
-    // Optional images
-    String[] optionalImageTypes = {
-      ProductImageConstants.DEFECT, ProductImageConstants.ADDITIONAL_1,
-      ProductImageConstants.ADDITIONAL_2, ProductImageConstants.ADDITIONAL_3
-    };
-    String[] optionalImageData = {
+  private static String[] getOptionalImageData(ProductRequestModel productRequestModel) {
+    return new String[] {
       productRequestModel.getDefectImage(),
       productRequestModel.getAdditionalImage1(),
       productRequestModel.getAdditionalImage2(),
       productRequestModel.getAdditionalImage3()
     };
+  }
 
-    // Required images are already validated in persistProduct/editProduct before
-    // calling this
-
-    // Process required images - check if they changed before uploading
-    for (int i = 0; i < requiredImageData.length; i++) {
-      String incomingImageData = requiredImageData[i];
-
-      // Check if this is an existing URL that hasn't changed
-      boolean imageUnchanged = false;
-      if (isUpdate && incomingImageData != null && incomingImageData.startsWith("http")) {
-        String existingUrl = getExistingImageUrl(savedProduct, requiredImageTypes[i]);
-        if (incomingImageData.equals(existingUrl)) {
-          imageUnchanged = true;
-        }
-      }
-
-      if (!imageUnchanged) {
-        // Delete old image from ImgBB if updating
-        if (isUpdate) {
-          String deleteHash = getExistingImageDeleteHash(savedProduct, requiredImageTypes[i]);
-          if (deleteHash != null && !deleteHash.isEmpty()) {
-            imgbbHelper.deleteImage(deleteHash);
-          }
-        }
-
-        String base64Image = convertToBase64(incomingImageData);
-        String customFileName =
-            ImgbbHelper.generateCustomFileNameForProductImage(
-                environmentName,
-                clientDetails.getName(),
-                savedProduct.getProductId(),
-                requiredImageTypes[i]);
-
-        ImgbbHelper.ImgbbUploadResponse uploadResponse =
-            imgbbHelper.uploadFileToImgbb(base64Image, customFileName);
-
-        if (uploadResponse == null || uploadResponse.getUrl() == null) {
-          throw new BadRequestException(
-              String.format(ErrorMessages.ProductErrorMessages.ER010, requiredImageTypes[i]));
-        }
-
-        // Save URL and deleteHash to product entity
-        setProductImageUrlAndHash(
-            savedProduct,
-            requiredImageTypes[i],
-            uploadResponse.getUrl(),
-            uploadResponse.getDeleteHash());
-      }
-    }
-
-    // Process optional images
-    for (int i = 0; i < optionalImageData.length; i++) {
-      if (optionalImageData[i] != null && !optionalImageData[i].trim().isEmpty()) {
-        String incomingImageData = optionalImageData[i];
-
-        // Check if this is an existing URL that hasn't changed
-        boolean imageUnchanged = false;
-        if (isUpdate && incomingImageData.startsWith("http")) {
-          String existingUrl = getExistingImageUrl(savedProduct, optionalImageTypes[i]);
-          if (incomingImageData.equals(existingUrl)) {
-            imageUnchanged = true;
-          }
-        }
-
-        if (!imageUnchanged) {
-          // Delete old image from ImgBB if updating
-          if (isUpdate) {
-            String deleteHash = getExistingImageDeleteHash(savedProduct, optionalImageTypes[i]);
-            if (deleteHash != null && !deleteHash.isEmpty()) {
-              imgbbHelper.deleteImage(deleteHash);
-            }
-          }
-
-          String base64Image = convertToBase64(incomingImageData);
-          String customFileName =
-              ImgbbHelper.generateCustomFileNameForProductImage(
-                  environmentName,
-                  clientDetails.getName(),
-                  savedProduct.getProductId(),
-                  optionalImageTypes[i]);
-
-          ImgbbHelper.ImgbbUploadResponse uploadResponse =
-              imgbbHelper.uploadFileToImgbb(base64Image, customFileName);
-
-          if (uploadResponse == null || uploadResponse.getUrl() == null) {
-            String errorMsg =
-                ProductImageConstants.DEFECT.equals(optionalImageTypes[i])
-                    ? String.format(ErrorMessages.ProductErrorMessages.ER010, optionalImageTypes[i])
-                    : String.format(
-                        ErrorMessages.ProductErrorMessages.ER011, i); // For additional images
-            throw new BadRequestException(errorMsg);
-          }
-
-          // Save URL and deleteHash to product entity
-          setProductImageUrlAndHash(
-              savedProduct,
-              optionalImageTypes[i],
-              uploadResponse.getUrl(),
-              uploadResponse.getDeleteHash());
-        }
-      } else {
-        // Clear optional image fields if not provided
-        setProductImageUrlAndHash(savedProduct, optionalImageTypes[i], null, null);
-      }
+  /**
+   * Adds an upload for an image slot unless the request repeats the URL already stored for it.
+   *
+   * @param uploads The uploads collected so far
+   * @param savedProduct The product the image belongs to
+   * @param storedImages What is stored for the product's images, for their content hashes
+   * @param isUpdate Whether the product already has images
+   * @param imageType The type of image (main, top, bottom, etc.)
+   * @param imageData The image as a data URL, base64 string or URL
+   * @param failureMessage The message to report if the image cannot be stored
+   * @param environmentName The active environment, used in the file name
+   * @param clientName The client name, used in the file name
+   */
+  private void addImageUpload(
+      List<ProductImageUploader.ImageUpload> uploads,
+      Product savedProduct,
+      ProductImageVariants storedImages,
+      boolean isUpdate,
+      String imageType,
+      String imageData,
+      String failureMessage,
+      String environmentName,
+      String clientName) {
+    if (isUpdate
+        && imageData.startsWith("http")
+        && imageData.equals(getExistingImageUrl(savedProduct, imageType))) {
+      return;
     }
-
-    // Save the updated product with image URLs and deleteHashes
-    productRepository.save(savedProduct);
+    uploads.add(
+        new ProductImageUploader.ImageUpload(
+            imageType,
+            imageData,
+            ImgbbHelper.generateCustomFileNameForProductImage(
+                environmentName, clientName, savedProduct.getProductId(), imageType),
+            isUpdate ? storedImages.getContentHash(imageType) : null,
+            failureMessage));
   }
 
   /**
@@ -996,70 +1123,6 @@ public class ProductService extends BaseService implements IProductSubTranslator
     }
   }
 
-  /**
-   * Converts a URL or base64 string to base64 format. Strips the data:image/png;base64, prefix if
-   * present. If the input is a URL, fetches the image and converts it to base64.
-   *
-   * @param imageData The image data (URL or base64 string)
-   * @return Base64 encoded image string (without data:image prefix)
-   * @throws BadRequestException if conversion fails
-   */
-  private String convertToBase64(String imageData) {
-    if (imageData == null || imageData.trim().isEmpty()) {
-      return null;
-    }
-
-    // Check if it's already base64 (starts with data:image or just base64 content)
-    if (imageData.startsWith("data:image")) {
-      // Strip the data:image/...;base64, prefix
-      int commaIndex = imageData.indexOf(',');
-      if (commaIndex != -1 && commaIndex < imageData.length() - 1) {
-        return imageData.substring(commaIndex + 1);
-      }
-      return imageData; // If no comma found, return as-is
-    }
-
-    if (!imageData.startsWith("http")) {
-      // Already a base64 string without prefix
-      return imageData;
-    }
-
-    // It's a URL, fetch and convert to base64
-    try {
-      URL url = URI.create(imageData).toURL();
-      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-      connection.setRequestMethod("GET");
-      connection.setConnectTimeout(10000);
-      connection.setReadTimeout(10000);
-      connection.connect();
-
-      int responseCode = connection.getResponseCode();
-      if (responseCode != 200) {
-        throw new IOException(
-            String.format(
-                ErrorMessages.ProductErrorMessages.HTTP_ERROR_WHEN_FETCHING_IMAGE_FORMAT,
-                responseCode));
-      }
-
-      try (InputStream inputStream = connection.getInputStream();
-          ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-
-        byte[] buffer = new byte[4096];
-        int bytesRead;
-        while ((bytesRead = inputStream.read(buffer)) != -1) {
-          outputStream.write(buffer, 0, bytesRead);
-        }
-
-        byte[] imageBytes = outputStream.toByteArray();
-        // Return just the base64 string (ImgBB doesn't need the data:image prefix)
-        return Base64.getEncoder().encodeToString(imageBytes);
-      }
-    } catch (IOException e) {
-      throw new BadRequestException(
-          String.format(ErrorMessages.ProductErrorMessages.ER012, imageData));
-    }
-  }
-
   /**
    * Creates pickup location mappings for a product. Uses batch insert for optimized database
    * performance.
@@ -1078,6 +1141,39 @@ public class ProductService extends BaseService implements IProductSubTranslator
 
     // Save all mappings in a single batch operation for better performance
     productPickupLocationMappingRepository.saveAll(mappings);
+    stockLocationLoader.invalidateProducts(List.of(productId));
+  }
+
+  /**
+   * Runs the checks persistProduct applies before writing, without writing anything. Used to
+   * validate a whole bulk import before its first insert.
+   *
+   * @param productRequestModel The product to validate
+   * @param createdUser The loginName of the user creating this product
+   * @param clientId The client ID the product will belong to
+   * @param categoryExists Category lookups already made for this import, by category ID
+   * @throws BadRequestException if validation fails
+   * @throws NotFoundException if the category does not exist
+   */
+  private void validateProductForInsert(
+      ProductRequestModel productRequestModel,
+      String createdUser,
+      Long clientId,
+      Map<Long, Boolean> categoryExists) {
+    Long categoryId = productRequestModel.getCategoryId();
+    if (categoryId == null) {
+      throw new BadRequestException(ErrorMessages.ProductErrorMessages.INVALID_CATEGORY_ID);
+    }
+    if (!categoryExists.computeIfAbsent(
+        categoryId, id -> productCategoryRepository.findById(id).isPresent())) {
+      throw new NotFoundException(
+          String.format(ErrorMessages.ProductErrorMessages.ER008, categoryId));
+    }
+    if (clientId == null || clientId == 0) {
+      throw new BadRequestException(ErrorMessages.ClientErrorMessages.INVALID_ID);
+    }
+    validateRequiredImagesPresent(productRequestModel);
+    new Product(productRequestModel, createdUser, clientId);
   }
 
   /**
@@ -1169,6 +1265,33 @@ public class ProductService extends BaseService implements IProductSubTranslator
     return savedProduct;
   }
 
+  /**
+   * Inserts a bulk-imported product whose images are already uploaded. Runs inside a bulk insert
+   * chunk, so it only writes to the database.
+   *
+   * @param productRequestModel The product to insert, already validated
+   * @param images The product's uploaded images
+   * @param createdUser The loginName of the user creating this product
+   * @param clientId The client the product belongs to
+   * @return The saved product entity
+   */
+  private Product insertProduct(
+      ProductRequestModel productRequestModel,
+      List<ProductImageUploader.UploadResult> images,
+      String createdUser,
+      Long clientId) {
+    Product product = new Product(productRequestModel, createdUser, clientId);
+    applyProductImages(product, productRequestModel, images, false);
+    Product savedProduct = productRepository.save(product);
+    productRequestModel.setProductId(savedProduct.getProductId());
+
+    createPickupLocationMappings(
+        savedProduct.getProductId(),
+        productRequestModel.getPickupLocationQuantities(),
+        createdUser);
+    return savedProduct;
+  }
+
   /**
    * Builds the full hierarchical path for a category by traversing parent categories. Uses " > " as
    * the separator between category names.
@@ -1248,12 +1371,13 @@ public class ProductService extends BaseService implements IProductSubTranslator
     // Fetch product to get its dimensions
     Product product = productRepository.findById(productId).orElse(null);
 
-    // Fetch product pickup location mappings with error handling for missing table
+    // Fetch product pickup location mappings and their locations' packages with error handling
+    // for missing table
     java.util.List<ProductPickupLocationMapping> mappings;
+    StockLocationLoader.StockSnapshot snapshot = null;
     try {
-      mappings =
-          productPickupLocationMappingRepository.findByProductIdWithPickupLocationAndAddress(
-              productId);
+      snapshot = stockLocationLoader.load(List.of(productId));
+      mappings = snapshot.mappings(productId);
 
       // Log when no mappings are found (helps debug stock availability issues)
       if (mappings.isEmpty()) {
@@ -1302,32 +1426,13 @@ public class ProductService extends BaseService implements IProductSubTranslator
       mappings = new java.util.ArrayList<>();
     }
 
-    // Get all pickup location IDs
-    java.util.List<Long> pickupLocationIds =
-        mappings.stream()
-            .map(ProductPickupLocationMapping::getPickupLocationId)
-            .collect(java.util.stream.Collectors.toCollection(java.util.ArrayList::new));
-
-    // Fetch package info for all locations in one query
+    // Package info for all locations, loaded with the mappings
     java.util.Map<
             Long,
             java.util.List<
                 com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping>>
-        packagesByLocation = new java.util.HashMap<>();
-
-    if (!pickupLocationIds.isEmpty()) {
-      java.util.List<com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping>
-          packageMappings =
-              packagePickupLocationMappingRepository.findByPickupLocationIdsWithPackages(
-                  pickupLocationIds);
-
-      for (com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping pm :
-          packageMappings) {
-        packagesByLocation
-            .computeIfAbsent(pm.getPickupLocationId(), k -> new java.util.ArrayList<>())
-            .add(pm);
-      }
-    }
+        packagesByLocation =
+            snapshot != null ? snapshot.packagesByLocationId() : java.util.Map.of();
 
     // Create PackagingHelper for calculations
     com.example.SpringApi.Helpers.PackagingHelper packagingHelper =
@@ -4,8 +4,13 @@ import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.PromoFilterQueryBuilder;
 import com.example.SpringApi.Helpers.BulkInsertHelper;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Models.ApiRoutes;
 import com.example.SpringApi.Models.DatabaseModels.Promo;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel;
@@ -17,14 +22,13 @@ import com.example.SpringApi.Repositories.PromoRepository;
 import com.example.SpringApi.Services.Interface.IPromoSubTranslator;
 import com.example.SpringApi.SuccessMessages;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -49,6 +53,7 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
   private final UserLogService userLogService;
   private final PromoFilterQueryBuilder promoFilterQueryBuilder;
   private final MessageService messageService;
+  private final BulkInsertPipeline bulkInsertPipeline;
 
   @Autowired
   public PromoService(
@@ -56,6 +61,7 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
       UserLogService userLogService,
       PromoFilterQueryBuilder promoFilterQueryBuilder,
       MessageService messageService,
+      BulkInsertPipeline bulkInsertPipeline,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -63,6 +69,7 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
     this.userLogService = userLogService;
     this.promoFilterQueryBuilder = promoFilterQueryBuilder;
     this.messageService = messageService;
+    this.bulkInsertPipeline = bulkInsertPipeline;
   }
 
   /**
@@ -141,14 +148,14 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
       throw new BadRequestException(ErrorMessages.CommonErrorMessages.INVALID_PAGINATION);
     }
 
-    // Create custom Pageable with proper offset handling
+    // Exact offset for the first page; seek past the cursor when the client sends one
     org.springframework.data.domain.Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("promoId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("promoId").descending(),
+            KeysetCursor.decode(paginationBaseRequestModel.getCursor()),
+            CountMode.fromValue(paginationBaseRequestModel.getCountMode()));
 
     // Use filter query builder for dynamic filtering
     Page<Promo> page =
@@ -165,6 +172,8 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
     PaginationBaseResponseModel<Promo> response = new PaginationBaseResponseModel<>();
     response.setData(page.getContent());
     response.setTotalDataCount(page.getTotalElements());
+    response.setNextCursor(KeysetCursor.next(page, promo -> KeysetCursor.of(promo.getPromoId())));
+    response.setHasMore(GridPage.hasMoreOf(page));
 
     return response;
   }
@@ -290,34 +299,35 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
       int successCount = 0;
       int failureCount = 0;
 
-      // Process each promo individually
-      for (PromoRequestModel promoRequest : promos) {
-        try {
-          // Call createPromo with explicit createdUser and shouldLog = false (bulk logs
-          // collectively)
-          createPromo(promoRequest, requestingUserLoginName, false);
-
-          // If we get here, promo was created successfully
-          // Fetch the created promo to get the promoId
-          Optional<Promo> createdPromo =
-              promoRepository.findByPromoCodeAndClientId(
-                  promoRequest.getPromoCode().toUpperCase(), requestingClientId);
-          if (createdPromo.isPresent()) {
-            response.addSuccess(promoRequest.getPromoCode(), createdPromo.get().getPromoId());
-            successCount++;
-          }
-
-        } catch (BadRequestException bre) {
+      // Validate every promo up front, then insert the valid ones in chunked transactions
+      List<PromoRequestModel> batchPromos = new ArrayList<>();
+      List<BulkInsertPipeline.RowOutcome<PromoRequestModel>> outcomes =
+          bulkInsertPipeline.insert(
+              promos,
+              promoRequest ->
+                  validatePromoForInsert(promoRequest, requestingUserLoginName, batchPromos),
+              // Already validated above, so the overlap check is not repeated per row
+              promoRequest ->
+                  promoRepository
+                      .save(new Promo(promoRequest, requestingUserLoginName, getClientId()))
+                      .getPromoId());
+
+      for (BulkInsertPipeline.RowOutcome<PromoRequestModel> outcome : outcomes) {
+        PromoRequestModel promoRequest = outcome.row();
+        String promoCode =
+            promoRequest != null && promoRequest.getPromoCode() != null
+                ? promoRequest.getPromoCode()
+                : "unknown";
+        if (outcome.succeeded()) {
+          response.addSuccess(promoCode, outcome.id());
+          successCount++;
+        } else if (outcome.error() instanceof BadRequestException) {
           // Validation or business logic error
-          response.addFailure(
-              promoRequest.getPromoCode() != null ? promoRequest.getPromoCode() : "unknown",
-              bre.getMessage());
+          response.addFailure(promoCode, outcome.error().getMessage());
           failureCount++;
-        } catch (Exception e) {
+        } else {
           // Unexpected error
-          response.addFailure(
-              promoRequest.getPromoCode() != null ? promoRequest.getPromoCode() : "unknown",
-              "Error: " + e.getMessage());
+          response.addFailure(promoCode, "Error: " + outcome.error().getMessage());
           failureCount++;
         }
       }
@@ -372,31 +382,17 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
    * @param promoRequestModel The promo data to create
    * @param createdUser The loginName of the user creating this promo (for async operations)
    * @param shouldLog Whether to log this individual promo creation (false for bulk operations)
+   * @return The saved promo
    * @throws BadRequestException if promo code already exists
    */
   @Transactional
-  protected void createPromo(
+  protected Promo createPromo(
       PromoRequestModel promoRequestModel, String createdUser, boolean shouldLog) {
     // Get security context
     Long currentClientId = getClientId();
     Long currentUserId = getUserId();
 
-    // Validate request model and required fields
-    if (promoRequestModel == null) {
-      throw new BadRequestException(ErrorMessages.PromoErrorMessages.INVALID_REQUEST);
-    }
-
-    // Validate promo code is not null or empty
-    if (promoRequestModel.getPromoCode() == null
-        || promoRequestModel.getPromoCode().trim().isEmpty()) {
-      throw new BadRequestException(ErrorMessages.PromoErrorMessages.INVALID_PROMO_CODE);
-    }
-
-    // Client ID consistency check (Service level responsibility)
-    if (promoRequestModel.getClientId() != null
-        && !promoRequestModel.getClientId().equals(currentClientId)) {
-      throw new BadRequestException(ErrorMessages.PromoErrorMessages.CLIENT_ID_MISMATCH);
-    }
+    validatePromoRequest(promoRequestModel, currentClientId);
 
     // Check for overlapping promo codes in the same date range
     java.util.List<Promo> overlappingPromos =
@@ -412,7 +408,7 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
 
     // Create and save promo
     Promo promo = new Promo(promoRequestModel, createdUser, currentClientId);
-    promoRepository.save(promo);
+    Promo savedPromo = promoRepository.save(promo);
 
     // Log promo creation (skip for bulk operations as they log collectively)
     if (shouldLog) {
@@ -421,5 +417,77 @@ public class PromoService extends BaseService implements IPromoSubTranslator {
           SuccessMessages.PromoSuccessMessages.CREATE_PROMO + promoRequestModel.getPromoCode(),
           ApiRoutes.PromosSubRoute.CREATE_PROMO);
     }
+    return savedPromo;
+  }
+
+  /**
+   * Runs the checks createPromo applies, without writing anything. Used to validate a whole bulk
+   * import before its first insert.
+   *
+   * @param promoRequestModel The promo data to validate
+   * @param createdUser The loginName of the user creating this promo
+   * @param batchPromos Promos already accepted earlier in this import
+   * @throws BadRequestException if the promo data is invalid or its code overlaps another promo
+   */
+  private void validatePromoForInsert(
+      PromoRequestModel promoRequestModel,
+      String createdUser,
+      List<PromoRequestModel> batchPromos) {
+    Long currentClientId = getClientId();
+    validatePromoRequest(promoRequestModel, currentClientId);
+    new Promo(promoRequestModel, createdUser, currentClientId);
+
+    String promoCode = promoRequestModel.getPromoCode().toUpperCase();
+    boolean overlapsBatch =
+        batchPromos.stream()
+            .anyMatch(
+                other ->
+                    other.getPromoCode().equalsIgnoreCase(promoCode)
+                        && datesOverlap(other, promoRequestModel));
+    if (overlapsBatch
+        || !promoRepository
+            .findOverlappingPromos(
+                promoCode,
+                currentClientId,
+                promoRequestModel.getStartDate(),
+                promoRequestModel.getExpiryDate())
+            .isEmpty()) {
+      throw new BadRequestException(ErrorMessages.PromoErrorMessages.OVERLAPPING_PROMO_CODE);
+    }
+    batchPromos.add(promoRequestModel);
+  }
+
+  /** Whether two promos are active on a common day; a missing expiry date never ends. */
+  private static boolean datesOverlap(PromoRequestModel first, PromoRequestModel second) {
+    return (first.getExpiryDate() == null
+            || !first.getExpiryDate().isBefore(second.getStartDate()))
+        && (second.getExpiryDate() == null
+            || !second.getExpiryDate().isBefore(first.getStartDate()));
+  }
+
+  /**
+   * Validates the request model, promo code and client ID of a promo being created.
+   *
+   * @param promoRequestModel The promo data to validate
+   * @param currentClientId The client ID from the security context
+   * @throws BadRequestException if the promo data is invalid
+   */
+  private void validatePromoRequest(PromoRequestModel promoRequestModel, Long currentClientId) {
+    // Validate request model and required fields
+    if (promoRequestModel == null) {
+      throw new BadRequestException(ErrorMessages.PromoErrorMessages.INVALID_REQUEST);
+    }
+
+    // Validate promo code is not null or empty
+    if (promoRequestModel.getPromoCode() == null
+        || promoRequestModel.getPromoCode().trim().isEmpty()) {
+      throw new BadRequestException(ErrorMessages.PromoErrorMessages.INVALID_PROMO_CODE);
+    }
+
+    // Client ID consistency check (Service level responsibility)
+    if (promoRequestModel.getClientId() != null
+        && !promoRequestModel.getClientId().equals(currentClientId)) {
+      throw new BadRequestException(ErrorMessages.PromoErrorMessages.CLIENT_ID_MISMATCH);
+    }
   }
 }
@@ -5,11 +5,19 @@ import com.example.SpringApi.Constants.EntityType;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.PurchaseOrderFilterQueryBuilder;
 import com.example.SpringApi.Helpers.BulkInsertHelper;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Helpers.HTMLHelper;
 import com.example.SpringApi.Helpers.ImgbbHelper;
+import com.example.SpringApi.Helpers.InventoryEngine;
+import com.example.SpringApi.Helpers.InvoiceTemplateEngine;
 import com.example.SpringApi.Helpers.PDFHelper;
+import com.example.SpringApi.Helpers.PDFRenderer;
 import com.example.SpringApi.Models.ApiRoutes;
 import com.example.SpringApi.Models.DTOs.AddressDuplicateCriteria;
 import com.example.SpringApi.Models.DTOs.PurchaseOrderWithDetails;
@@ -47,12 +55,9 @@ import com.example.SpringApi.Repositories.UserRepository;
 import com.example.SpringApi.Services.Interface.IPurchaseOrderSubTranslator;
 import com.example.SpringApi.SuccessMessages;
 import com.itextpdf.text.DocumentException;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -65,7 +70,6 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Async;
@@ -102,6 +106,10 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
   private final Environment environment;
   private final PurchaseOrderFilterQueryBuilder purchaseOrderFilterQueryBuilder;
   private final MessageService messageService;
+  private final InventoryEngine inventoryEngine;
+  private final InvoiceTemplateEngine invoiceTemplateEngine;
+  private final BulkInsertPipeline bulkInsertPipeline;
+  private final PDFRenderer pdfRenderer;
 
   @Autowired
   public PurchaseOrderService(
@@ -121,6 +129,10 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
       PurchaseOrderFilterQueryBuilder purchaseOrderFilterQueryBuilder,
       MessageService messageService,
       Environment environment,
+      InvoiceTemplateEngine invoiceTemplateEngine,
+      BulkInsertPipeline bulkInsertPipeline,
+      InventoryEngine inventoryEngine,
+      PDFRenderer pdfRenderer,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -140,6 +152,10 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
     this.purchaseOrderFilterQueryBuilder = purchaseOrderFilterQueryBuilder;
     this.messageService = messageService;
     this.environment = environment;
+    this.invoiceTemplateEngine = invoiceTemplateEngine;
+    this.bulkInsertPipeline = bulkInsertPipeline;
+    this.inventoryEngine = inventoryEngine;
+    this.pdfRenderer = pdfRenderer;
   }
 
   /**
@@ -224,14 +240,14 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
       throw new BadRequestException(ErrorMessages.PurchaseOrderErrorMessages.INVALID_PAGINATION);
     }
 
-    // Create custom Pageable with proper offset handling
+    // Exact offset for the first page; seek past the cursor when the client sends one
     Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("purchaseOrderId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("purchaseOrderId").descending(),
+            KeysetCursor.decode(paginationBaseRequestModel.getCursor()),
+            CountMode.fromValue(paginationBaseRequestModel.getCountMode()));
 
     // selectedProductIds can be passed as a separate parameter if needed in the future
     // For now, we'll use null to indicate no product filtering
@@ -258,6 +274,10 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
         new PaginationBaseResponseModel<>();
     response.setData(purchaseOrderResponseModels);
     response.setTotalDataCount(page.getTotalElements());
+    response.setNextCursor(
+        KeysetCursor.next(
+            page, details -> KeysetCursor.of(details.getPurchaseOrder().getPurchaseOrderId())));
+    response.setHasMore(GridPage.hasMoreOf(page));
 
     return response;
   }
@@ -407,6 +427,8 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
       shipmentPackageRepository.deleteByShipmentId(existingShipment.getShipmentId());
       shipmentProductRepository.deleteByShipmentId(existingShipment.getShipmentId());
     }
+    inventoryEngine.release(
+        existingShipments.stream().map(Shipment::getShipmentId).toList(), getUser());
     shipmentRepository.deleteAll(existingShipments);
 
     // Create new Shipments with all related data
@@ -429,8 +451,9 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
         shipment = shipmentRepository.save(shipment);
 
         // Step 5.3: Create ShipmentProducts
+        List<ShipmentProduct> shipmentProducts = new ArrayList<>();
+        List<ShipmentPackage> shipmentPackages = new ArrayList<>();
         if (shipmentData.getProducts() != null && !shipmentData.getProducts().isEmpty()) {
-          List<ShipmentProduct> shipmentProducts = new ArrayList<>();
           for (PurchaseOrderRequestModel.ShipmentProductData productData :
               shipmentData.getProducts()) {
             // Ensure allocatedPrice always matches PO-level custom price from request.products[]
@@ -456,6 +479,7 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
             ShipmentPackage shipmentPackage =
                 new ShipmentPackage(shipment.getShipmentId(), packageData);
             shipmentPackage = shipmentPackageRepository.save(shipmentPackage);
+            shipmentPackages.add(shipmentPackage);
 
             // Step 5.5: Create ShipmentPackageProducts
             if (packageData.getProducts() != null && !packageData.getProducts().isEmpty()) {
@@ -476,6 +500,9 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
           throw new BadRequestException(
               ErrorMessages.ShipmentPackageErrorMessages.AT_LEAST_ONE_PACKAGE_REQUIRED);
         }
+
+        // Step 5.6: Hold the shipment's stock and packages until payment
+        reserveInventory(shipment, shipmentProducts, shipmentPackages, getUser());
       }
     } else {
       throw new BadRequestException(
@@ -643,6 +670,11 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
     // Toggle the isDeleted flag
     purchaseOrder.setIsDeleted(!purchaseOrder.getIsDeleted());
 
+    // A deleted order no longer holds stock
+    if (Boolean.TRUE.equals(purchaseOrder.getIsDeleted())) {
+      releaseInventory(purchaseOrder);
+    }
+
     // Update modified user
     purchaseOrder.setModifiedUser(getUser());
 
@@ -732,6 +764,9 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
     // Set rejection fields (also clears approval fields and updates modified user)
     purchaseOrder.setRejectionFields(getUser(), getUserId());
 
+    // A rejected order no longer holds stock
+    releaseInventory(purchaseOrder);
+
     // Save the updated purchase order
     purchaseOrderRepository.save(purchaseOrder);
 
@@ -772,6 +807,40 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
 
     PurchaseOrder purchaseOrder = purchaseOrderOptional.get();
 
+    // Generate HTML from template and convert it to PDF, unless this version is already rendered.
+    // The current user is printed on the document, so they are part of its version. The rows the
+    // document shows are only looked up when it has to be rendered.
+    byte[] pdfBytes =
+        pdfRenderer.render(
+            new PDFRenderer.Key(
+                PDFRenderer.PURCHASE_ORDER,
+                getClientId(),
+                id,
+                purchaseOrder.getUpdatedAt() + "/" + getUserId()),
+            () -> buildPurchaseOrderHtml(purchaseOrder),
+            PDFHelper::convertPurchaseOrderHtmlToPdf);
+
+    // Log the PDF generation
+    userLogService.logData(
+        getUserId(),
+        SuccessMessages.PurchaseOrderSuccessMessages.GET_PURCHASE_ORDER_PDF + " " + id,
+        ApiRoutes.PurchaseOrderSubRoute.GET_PURCHASE_ORDER_PDF);
+
+    // Return PDF as byte array
+    return pdfBytes;
+  }
+
+  /**
+   * Looks up everything a purchase order PDF shows and renders its HTML.
+   *
+   * @param purchaseOrder The purchase order, with its relations loaded
+   * @return The HTML, with br tags replaced for PDF compatibility
+   * @throws NotFoundException if a row the document shows is missing
+   * @throws TemplateException if PDF template processing fails
+   * @throws IOException if the template cannot be loaded
+   */
+  private String buildPurchaseOrderHtml(PurchaseOrder purchaseOrder)
+      throws TemplateException, IOException {
     // Fetch OrderSummary to get shipping address
     OrderSummary orderSummary =
         orderSummaryRepository
@@ -836,8 +905,8 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
     // Get product quantity map
     Map<Product, Integer> productQuantityMap = getProductQuantityMap(purchaseOrder);
 
-    // Generate HTML from template
-    String htmlContent =
+    // Replace br tags for PDF compatibility
+    return HTMLHelper.replaceBrTags(
         formPurchaseOrderPdf(
             client,
             purchaseOrder,
@@ -845,22 +914,7 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
             purchaseOrderCreatedBy,
             purchaseOrderApprovedBy,
             lead,
-            productQuantityMap);
-
-    // Replace br tags for PDF compatibility
-    htmlContent = HTMLHelper.replaceBrTags(htmlContent);
-
-    // Convert HTML to PDF
-    byte[] pdfBytes = PDFHelper.convertPurchaseOrderHtmlToPdf(htmlContent);
-
-    // Log the PDF generation
-    userLogService.logData(
-        getUserId(),
-        SuccessMessages.PurchaseOrderSuccessMessages.GET_PURCHASE_ORDER_PDF + " " + id,
-        ApiRoutes.PurchaseOrderSubRoute.GET_PURCHASE_ORDER_PDF);
-
-    // Return PDF as byte array
-    return pdfBytes;
+            productQuantityMap));
   }
 
   /**
@@ -887,15 +941,6 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
       Map<Product, Integer> productQuantityMap)
       throws IOException, TemplateException {
 
-    // Configure FreeMarker
-    Configuration cfg = new Configuration(Configuration.VERSION_2_3_32);
-    cfg.setDefaultEncoding("UTF-8");
-    cfg.setClassLoaderForTemplateLoading(
-        Thread.currentThread().getContextClassLoader(), "InvoiceTemplates");
-
-    // Load template
-    Template template = cfg.getTemplate("PurchaseOrder.ftl");
-
     // Prepare template data
     Map<String, Object> templateData = new HashMap<>();
 
@@ -940,10 +985,35 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
     templateData.put("purchaseOrdersProductQuantityMaps", productQuantityMap);
 
     // Process template
-    StringWriter out = new StringWriter();
-    template.process(templateData, out);
+    return invoiceTemplateEngine.render(InvoiceTemplateEngine.PURCHASE_ORDER, templateData);
+  }
 
-    return out.toString();
+  /** Holds a saved shipment's stock and packages at its pickup location until payment. */
+  private void reserveInventory(
+      Shipment shipment,
+      List<ShipmentProduct> shipmentProducts,
+      List<ShipmentPackage> shipmentPackages,
+      String userName) {
+    inventoryEngine.reserve(
+        shipment.getShipmentId(),
+        InventoryEngine.linesFor(
+            shipment.getPickupLocationId(), shipmentProducts, shipmentPackages),
+        userName);
+  }
+
+  /** Puts the stock still held for a purchase order's shipments back at their locations. */
+  private void releaseInventory(PurchaseOrder purchaseOrder) {
+    orderSummaryRepository
+        .findByEntityTypeAndEntityId(
+            OrderSummary.EntityType.PURCHASE_ORDER.getValue(), purchaseOrder.getPurchaseOrderId())
+        .ifPresent(
+            orderSummary ->
+                inventoryEngine.release(
+                    shipmentRepository.findByOrderSummaryId(orderSummary.getOrderSummaryId())
+                        .stream()
+                        .map(Shipment::getShipmentId)
+                        .toList(),
+                    getUser()));
   }
 
   /**
@@ -1084,32 +1154,55 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
       int successCount = 0;
       int failureCount = 0;
 
-      // Process each purchase order individually
-      for (PurchaseOrderRequestModel poRequest : purchaseOrders) {
-        try {
-          // Call createPurchaseOrderWithContext with explicit security context (shouldLog = false
-          // for bulk)
-          Long createdPurchaseOrderId =
-              createPurchaseOrderWithContext(
-                  poRequest, requestingUserLoginName, requestingClientId, requestingUserId, false);
+      // Validate every purchase order up front, then insert the valid ones in chunked
+      // transactions
+      List<BulkInsertPipeline.RowOutcome<PurchaseOrderRequestModel>> outcomes =
+          bulkInsertPipeline.insert(
+              purchaseOrders,
+              poRequest ->
+                  new PurchaseOrder(poRequest, requestingUserLoginName, requestingClientId),
+              // Attachments are uploaded once, outside the chunk transactions
+              new BulkInsertPipeline.Upload<PurchaseOrderRequestModel, StoredAttachments>() {
+                @Override
+                public StoredAttachments upload(PurchaseOrderRequestModel poRequest) {
+                  return storeAttachments(poRequest.getAttachments(), null, requestingClientId);
+                }
+
+                @Override
+                public void discard(StoredAttachments storedAttachments) {
+                  discardAttachments(storedAttachments);
+                }
+              },
+              // shouldLog = false (bulk logs collectively)
+              (poRequest, storedAttachments) ->
+                  createPurchaseOrderWithContext(
+                      poRequest,
+                      storedAttachments,
+                      requestingUserLoginName,
+                      requestingClientId,
+                      requestingUserId,
+                      false));
+
+      for (BulkInsertPipeline.RowOutcome<PurchaseOrderRequestModel> outcome : outcomes) {
+        PurchaseOrderRequestModel poRequest = outcome.row();
+        if (outcome.succeeded()) {
           String identifier =
               poRequest.getVendorNumber() != null
                   ? poRequest.getVendorNumber()
-                  : "PO-" + createdPurchaseOrderId;
-          response.addSuccess(identifier, createdPurchaseOrderId);
+                  : "PO-" + outcome.id();
+          response.addSuccess(identifier, outcome.id());
           successCount++;
-
-        } catch (BadRequestException bre) {
+        } else if (outcome.error() instanceof BadRequestException) {
           // Validation or business logic error
           response.addFailure(
               poRequest.getVendorNumber() != null ? poRequest.getVendorNumber() : "unknown",
-              bre.getMessage());
+              outcome.error().getMessage());
           failureCount++;
-        } catch (Exception e) {
+        } else {
           // Unexpected error
           response.addFailure(
               poRequest.getVendorNumber() != null ? poRequest.getVendorNumber() : "unknown",
-              "Error: " + e.getMessage());
+              "Error: " + outcome.error().getMessage());
           failureCount++;
         }
       }
@@ -1174,6 +1267,31 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
       Long clientId,
       Long userId,
       boolean shouldLog) {
+    return createPurchaseOrderWithContext(
+        purchaseOrderRequestModel, null, createdUser, clientId, userId, shouldLog);
+  }
+
+  /**
+   * Creates a purchase order whose attachments may already have been uploaded. Bulk import
+   * uploads attachments before its chunked transactions so a retried chunk records them instead
+   * of uploading them again.
+   *
+   * @param purchaseOrderRequestModel The purchase order to create
+   * @param storedAttachments Attachments already uploaded for this purchase order, or null to
+   *     upload the request's attachments here
+   * @param createdUser The login name of the user creating the purchase order
+   * @param clientId The client ID for the purchase order
+   * @param userId The user ID creating the purchase order
+   * @param shouldLog Whether to log this individual operation (false for bulk operations)
+   * @return The ID of the created purchase order
+   */
+  private Long createPurchaseOrderWithContext(
+      PurchaseOrderRequestModel purchaseOrderRequestModel,
+      StoredAttachments storedAttachments,
+      String createdUser,
+      Long clientId,
+      Long userId,
+      boolean shouldLog) {
     // Step 1: Create the purchase order entity (validations are done in constructor, including
     // OrderSummary check)
     PurchaseOrder purchaseOrder =
@@ -1224,8 +1342,9 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
         shipment = shipmentRepository.save(shipment);
 
         // Step 5.3: Create ShipmentProducts
+        List<ShipmentProduct> shipmentProducts = new ArrayList<>();
+        List<ShipmentPackage> shipmentPackages = new ArrayList<>();
         if (shipmentData.getProducts() != null && !shipmentData.getProducts().isEmpty()) {
-          List<ShipmentProduct> shipmentProducts = new ArrayList<>();
           for (PurchaseOrderRequestModel.ShipmentProductData productData :
               shipmentData.getProducts()) {
             // Ensure allocatedPrice always matches PO-level custom price from request.products[]
@@ -1251,6 +1370,7 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
             ShipmentPackage shipmentPackage =
                 new ShipmentPackage(shipment.getShipmentId(), packageData);
             shipmentPackage = shipmentPackageRepository.save(shipmentPackage);
+            shipmentPackages.add(shipmentPackage);
 
             // Step 5.5: Create ShipmentPackageProducts
             if (packageData.getProducts() != null && !packageData.getProducts().isEmpty()) {
@@ -1271,6 +1391,9 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
           throw new BadRequestException(
               ErrorMessages.ShipmentPackageErrorMessages.AT_LEAST_ONE_PACKAGE_REQUIRED);
         }
+
+        // Step 5.6: Hold the shipment's stock and packages until payment
+        reserveInventory(shipment, shipmentProducts, shipmentPackages, createdUser);
       }
     } else {
       throw new BadRequestException(
@@ -1278,7 +1401,9 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
     }
 
     // Step 6: Handle attachments if provided
-    if (purchaseOrderRequestModel.getAttachments() != null
+    if (storedAttachments != null) {
+      saveAttachments(storedAttachments, purchaseOrder.getPurchaseOrderId());
+    } else if (purchaseOrderRequestModel.getAttachments() != null
         && !purchaseOrderRequestModel.getAttachments().isEmpty()) {
 
       uploadPurchaseOrderAttachmentsWithContext(
@@ -1427,8 +1552,26 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
    */
   private void uploadPurchaseOrderAttachmentsWithContext(
       Map<String, String> attachments, Long purchaseOrderId, Long clientId) {
+    saveAttachments(storeAttachments(attachments, purchaseOrderId, clientId), purchaseOrderId);
+  }
+
+  /**
+   * Uploads purchase order attachments without recording them. New base64 attachments go to
+   * ImgBB when it is configured; existing URLs, and base64 data when ImgBB is not configured, are
+   * kept as they are.
+   *
+   * @param attachments Map of attachments (key: fileName, value: base64 data or URL)
+   * @param purchaseOrderId The purchase order ID used in file names, or null before it exists
+   * @param clientId The client ID
+   * @return The attachments to record
+   * @throws BadRequestException if an attachment is invalid, ImgBB is not configured or an upload
+   *     fails
+   */
+  private StoredAttachments storeAttachments(
+      Map<String, String> attachments, Long purchaseOrderId, Long clientId) {
+    List<Resources> resources = new ArrayList<>();
     if (attachments == null || attachments.isEmpty()) {
-      return; // No attachments to process
+      return new StoredAttachments(null, resources); // No attachments to process
     }
 
     // Check image location from application properties
@@ -1437,7 +1580,6 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
 
     // Prepare attachments for processing
     List<Map.Entry<String, String>> newAttachments = new ArrayList<>();
-    List<Map.Entry<String, String>> existingAttachments = new ArrayList<>();
 
     for (Map.Entry<String, String> attachment : attachments.entrySet()) {
       String fileName = attachment.getKey();
@@ -1451,108 +1593,118 @@ public class PurchaseOrderService extends BaseService implements IPurchaseOrderS
       // Separate new base64 uploads from existing URLs
       if (data.startsWith("http")) {
         // Existing URL - save directly to database
-        existingAttachments.add(attachment);
+        resources.add(
+            new Resources(purchaseOrderId, EntityType.PURCHASE_ORDER, fileName, data, null));
       } else {
         // New base64 data - needs processing
         newAttachments.add(attachment);
       }
     }
 
-    // Save existing URLs directly to database
-    for (Map.Entry<String, String> attachment : existingAttachments) {
-      Resources resource =
-          new Resources(
-              purchaseOrderId,
-              EntityType.PURCHASE_ORDER,
-              attachment.getKey(),
-              attachment.getValue(),
-              null);
-      resourcesRepository.save(resource);
-    }
-
     // Process new base64 attachments
     if (newAttachments.isEmpty()) {
-      return; // No new attachments to process
+      return new StoredAttachments(null, resources); // No new attachments to process
     }
 
-    if (isImgbbConfigured) {
-      // Upload to ImgBB and save URLs
-      Client client =
-          clientRepository
-              .findById(clientId)
-              .orElseThrow(
-                  () -> new NotFoundException(ErrorMessages.ClientErrorMessages.INVALID_ID));
-      String imgbbApiKey = client.getImgbbApiKey();
-
-      if (imgbbApiKey == null || imgbbApiKey.trim().isEmpty()) {
-        throw new BadRequestException(
-            ErrorMessages.PurchaseOrderErrorMessages.IMGBB_API_KEY_NOT_CONFIGURED);
-      }
-
-      // Get environment name for custom file naming
-      String environmentName =
-          environment.getActiveProfiles().length > 0
-              ? environment.getActiveProfiles()[0]
-              : "default";
-
-      // Prepare attachment upload requests (keep track of fileName -> request mapping)
-      List<ImgbbHelper.AttachmentUploadRequest> uploadRequests = new ArrayList<>();
-      Map<Integer, String> indexToFileNameMap = new HashMap<>(); // Track index -> fileName mapping
-
-      int index = 0;
-      for (Map.Entry<String, String> attachment : newAttachments) {
-        String fileName = attachment.getKey();
-        String base64Data = attachment.getValue();
-
-        // Store fileName for this index
-        indexToFileNameMap.put(index, fileName);
-        uploadRequests.add(new ImgbbHelper.AttachmentUploadRequest(fileName, base64Data, null));
-        index++;
-      }
-
-      // Upload all attachments using ImgbbHelper
-      ImgbbHelper imgbbHelper = new ImgbbHelper(imgbbApiKey);
-      List<ImgbbHelper.AttachmentUploadResult> uploadResults;
-      try {
-        uploadResults =
-            imgbbHelper.uploadPurchaseOrderAttachments(
-                uploadRequests, environmentName, client.getName(), purchaseOrderId);
-      } catch (IOException e) {
-        throw new BadRequestException(
-            String.format(
-                ErrorMessages.PurchaseOrderErrorMessages.FAILED_TO_UPLOAD_ATTACHMENTS,
-                e.getMessage()));
-      }
-
-      // Save resource records to database with ImgBB URLs
-      for (int i = 0; i < uploadResults.size(); i++) {
-        ImgbbHelper.AttachmentUploadResult result = uploadResults.get(i);
-        String fileName = indexToFileNameMap.get(i);
-
-        Resources resource =
-            new Resources(
-                purchaseOrderId,
-                EntityType.PURCHASE_ORDER,
-                fileName,
-                result.getUrl(),
-                result.getDeleteHash(),
-                result.getNotes());
-        resourcesRepository.save(resource);
-      }
-    } else {
+    if (!isImgbbConfigured) {
       // ImgBB not configured - save base64 data directly to database
       // Note: This stores base64 in the value field, which may be large
       // Consider implementing a file storage solution for production
       for (Map.Entry<String, String> attachment : newAttachments) {
-        Resources resource =
+        resources.add(
             new Resources(
                 purchaseOrderId,
                 EntityType.PURCHASE_ORDER,
                 attachment.getKey(),
                 "data:image/png;base64," + attachment.getValue(),
-                null);
-        resourcesRepository.save(resource);
+                null));
+      }
+      return new StoredAttachments(null, resources);
+    }
+
+    // Upload to ImgBB and save URLs
+    Client client =
+        clientRepository
+            .findById(clientId)
+            .orElseThrow(() -> new NotFoundException(ErrorMessages.ClientErrorMessages.INVALID_ID));
+    String imgbbApiKey = client.getImgbbApiKey();
+
+    if (imgbbApiKey == null || imgbbApiKey.trim().isEmpty()) {
+      throw new BadRequestException(
+          ErrorMessages.PurchaseOrderErrorMessages.IMGBB_API_KEY_NOT_CONFIGURED);
+    }
+
+    // Get environment name for custom file naming
+    String environmentName =
+        environment.getActiveProfiles().length > 0 ? environment.getActiveProfiles()[0] : "default";
+
+    // Prepare attachment upload requests in the same order as newAttachments
+    List<ImgbbHelper.AttachmentUploadRequest> uploadRequests = new ArrayList<>();
+    for (Map.Entry<String, String> attachment : newAttachments) {
+      String fileName = attachment.getKey();
+      String base64Data = attachment.getValue();
+      uploadRequests.add(new ImgbbHelper.AttachmentUploadRequest(fileName, base64Data, null));
+    }
+
+    // Upload all attachments using ImgbbHelper
+    ImgbbHelper imgbbHelper = new ImgbbHelper(imgbbApiKey);
+    List<ImgbbHelper.AttachmentUploadResult> uploadResults;
+    try {
+      uploadResults =
+          imgbbHelper.uploadPurchaseOrderAttachments(
+              uploadRequests, environmentName, client.getName(), purchaseOrderId);
+    } catch (IOException e) {
+      throw new BadRequestException(
+          String.format(
+              ErrorMessages.PurchaseOrderErrorMessages.FAILED_TO_UPLOAD_ATTACHMENTS,
+              e.getMessage()));
+    }
+
+    for (int i = 0; i < uploadResults.size(); i++) {
+      ImgbbHelper.AttachmentUploadResult result = uploadResults.get(i);
+      resources.add(
+          new Resources(
+              purchaseOrderId,
+              EntityType.PURCHASE_ORDER,
+              newAttachments.get(i).getKey(),
+              result.getUrl(),
+              result.getDeleteHash(),
+              result.getNotes()));
+    }
+    return new StoredAttachments(imgbbHelper, resources);
+  }
+
+  /** Attachments uploaded for a purchase order but not yet recorded against it. */
+  private record StoredAttachments(ImgbbHelper imgbbHelper, List<Resources> resources) {}
+
+  /**
+   * Records stored attachments against a purchase order.
+   *
+   * @param storedAttachments The attachments returned by storeAttachments
+   * @param purchaseOrderId The purchase order ID
+   */
+  private void saveAttachments(StoredAttachments storedAttachments, Long purchaseOrderId) {
+    for (Resources resource : storedAttachments.resources()) {
+      resource.setEntityId(purchaseOrderId);
+      resourcesRepository.save(resource);
+    }
+  }
+
+  /**
+   * Deletes attachments that were uploaded to ImgBB but never recorded.
+   *
+   * @param storedAttachments The attachments returned by storeAttachments
+   */
+  private void discardAttachments(StoredAttachments storedAttachments) {
+    if (storedAttachments.imgbbHelper() == null) {
+      return;
+    }
+    List<String> deleteHashes = new ArrayList<>();
+    for (Resources resource : storedAttachments.resources()) {
+      if (resource.getDeleteHashValue() != null && !resource.getDeleteHashValue().isEmpty()) {
+        deleteHashes.add(resource.getDeleteHashValue());
       }
     }
+    storedAttachments.imgbbHelper().deleteMultipleImages(deleteHashes);
   }
 }
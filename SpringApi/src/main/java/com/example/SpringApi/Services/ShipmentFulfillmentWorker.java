@@ -0,0 +1,175 @@
+package com.example.SpringApi.Services;
+
+import com.example.SpringApi.Models.DatabaseModels.Shipment;
+import com.example.SpringApi.Repositories.ShipmentRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Background pipeline that creates ShipRocket orders for shipments queued at payment approval.
+ *
+ * <p>Payment approval stores each shipment's ShipRocket order request with a {@code PENDING}
+ * fulfillment status in the transaction that reserves stock, so the shipment rows act as the
+ * outbox. Once that transaction commits, the queued shipments are handed to this worker, which
+ * runs {@link ShippingService#fulfillShipment(Long)} for each shipment on its own virtual thread,
+ * at most {@code maxConcurrent} at a time. A poller picks up retries that are due and shipments
+ * left in progress by a worker that stopped (e.g. on a restart).
+ *
+ * <p>A shipment is claimed with a conditional update that leases it for {@code leaseSeconds}, so
+ * only one worker across instances processes it at a time. Failed shipments are retried with
+ * exponential backoff from {@code retryBaseSeconds}; after {@code maxAttempts} they are marked
+ * {@code FAILED} with the last error.
+ */
+@Service
+public class ShipmentFulfillmentWorker {
+  static final int DEFAULT_MAX_CONCURRENT = 8;
+  static final int DEFAULT_MAX_ATTEMPTS = 5;
+  static final long DEFAULT_RETRY_BASE_SECONDS = 30;
+  static final long DEFAULT_LEASE_SECONDS = 300;
+  static final int POLL_BATCH_SIZE = 50;
+  private static final long MAX_RETRY_DELAY_SECONDS = 3600;
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final Logger logger = LoggerFactory.getLogger(ShipmentFulfillmentWorker.class);
+
+  /** Published by payment approval for the shipments it queued. */
+  public record ShipmentsQueued(List<Long> shipmentIds) {}
+
+  private final ShipmentRepository shipmentRepository;
+  private final ShippingService shippingService;
+  private final Semaphore permits;
+  private final int maxAttempts;
+  private final long retryBaseSeconds;
+  private final long leaseSeconds;
+  private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("shipment-fulfillment-", 0).factory());
+
+  @Autowired
+  public ShipmentFulfillmentWorker(
+      ShipmentRepository shipmentRepository,
+      ShippingService shippingService,
+      @Value("${shipping.fulfillment.max-concurrent:" + DEFAULT_MAX_CONCURRENT + "}")
+          int maxConcurrent,
+      @Value("${shipping.fulfillment.max-attempts:" + DEFAULT_MAX_ATTEMPTS + "}") int maxAttempts,
+      @Value("${shipping.fulfillment.retry-base-seconds:" + DEFAULT_RETRY_BASE_SECONDS + "}")
+          long retryBaseSeconds,
+      @Value("${shipping.fulfillment.lease-seconds:" + DEFAULT_LEASE_SECONDS + "}")
+          long leaseSeconds) {
+    this.shipmentRepository = shipmentRepository;
+    this.shippingService = shippingService;
+    this.permits = new Semaphore(Math.max(maxConcurrent, 1));
+    this.maxAttempts = Math.max(maxAttempts, 1);
+    this.retryBaseSeconds = Math.max(retryBaseSeconds, 1);
+    this.leaseSeconds = Math.max(leaseSeconds, 1);
+  }
+
+  /** Starts the queued shipments once the approval transaction has committed. */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onShipmentsQueued(ShipmentsQueued event) {
+    event.shipmentIds().forEach(this::submit);
+  }
+
+  /** Starts shipments whose retry is due or whose lease has expired. */
+  @Scheduled(
+      fixedDelayString = "${shipping.fulfillment.poll-interval-millis:15000}",
+      initialDelayString = "${shipping.fulfillment.poll-interval-millis:15000}")
+  public void pollDueShipments() {
+    shipmentRepository
+        .findFulfillmentDueIds(LocalDateTime.now(), PageRequest.of(0, POLL_BATCH_SIZE))
+        .forEach(this::submit);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Runs a shipment in the background unless it is already running on this instance. */
+  private void submit(Long shipmentId) {
+    if (!inFlight.add(shipmentId)) {
+      return;
+    }
+    executor.execute(
+        () -> {
+          try {
+            permits.acquire();
+            try {
+              process(shipmentId);
+            } finally {
+              permits.release();
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            inFlight.remove(shipmentId);
+          }
+        });
+  }
+
+  /**
+   * Claims a shipment and runs its ShipRocket steps, recording a failure for retry.
+   *
+   * @param shipmentId The shipment to process
+   * @return false if the shipment was not due or is held by another worker
+   */
+  public boolean process(Long shipmentId) {
+    LocalDateTime now = LocalDateTime.now();
+    if (shipmentRepository.claimFulfillment(shipmentId, now, now.plusSeconds(leaseSeconds)) == 0) {
+      return false;
+    }
+    try {
+      shippingService.fulfillShipment(shipmentId);
+    } catch (RuntimeException e) {
+      logger.warn("ShipRocket fulfillment failed for shipment {}", shipmentId, e);
+      recordFailure(shipmentId, e);
+    }
+    return true;
+  }
+
+  /** Schedules the next attempt with exponential backoff, or marks the shipment failed. */
+  private void recordFailure(Long shipmentId, RuntimeException failure) {
+    Shipment shipment = shipmentRepository.findById(shipmentId).orElse(null);
+    if (shipment == null) {
+      return;
+    }
+    int attempts =
+        (shipment.getFulfillmentAttempts() != null ? shipment.getFulfillmentAttempts() : 0) + 1;
+    String error =
+        failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+
+    shipment.setFulfillmentAttempts(attempts);
+    shipment.setFulfillmentLastError(
+        error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+    if (attempts >= maxAttempts) {
+      shipment.setFulfillmentStatus(Shipment.FulfillmentStatus.FAILED.getValue());
+      shipment.setFulfillmentNextAttemptAt(null);
+    } else {
+      shipment.setFulfillmentStatus(Shipment.FulfillmentStatus.PENDING.getValue());
+      shipment.setFulfillmentNextAttemptAt(
+          LocalDateTime.now().plusSeconds(retryDelaySeconds(attempts)));
+    }
+    shipmentRepository.save(shipment);
+  }
+
+  /** Delay before the attempt after {@code attempts} failures, doubling up to an hour. */
+  private long retryDelaySeconds(int attempts) {
+    int doublings = Math.min(attempts - 1, 20);
+    return Math.min(retryBaseSeconds << doublings, MAX_RETRY_DELAY_SECONDS);
+  }
+}
@@ -4,9 +4,21 @@ import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.ShipmentFilterQueryBuilder;
+import com.example.SpringApi.Helpers.InventoryEngine;
+import com.example.SpringApi.Helpers.OrderAllocator;
+import com.example.SpringApi.Helpers.OutboundCallExecutor;
 import com.example.SpringApi.Helpers.PackagingHelper;
+import com.example.SpringApi.Helpers.PackagingResultCache;
+import com.example.SpringApi.Helpers.RouteCapabilityStore;
 import com.example.SpringApi.Helpers.ShipRocketHelper;
+import com.example.SpringApi.Helpers.ShipRocketHelperRegistry;
+import com.example.SpringApi.Helpers.ShippingRateCache;
+import com.example.SpringApi.Helpers.StockLocationLoader;
 import com.example.SpringApi.Models.DatabaseModels.*;
 import com.example.SpringApi.Models.RequestModels.*;
 import com.example.SpringApi.Models.ResponseModels.*;
@@ -28,8 +40,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -98,6 +110,15 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
   private final ClientRepository clientRepository;
   private final UserLogService userLogService;
   private final ShipmentFilterQueryBuilder shipmentFilterQueryBuilder;
+  private final ShipRocketHelperRegistry shipRocketHelperRegistry;
+  private final ShippingRateCache shippingRateCache;
+  private final RouteCapabilityStore routeCapabilityStore;
+  private final OutboundCallExecutor outboundCallExecutor;
+  private final OrderAllocator orderAllocator;
+  private final StockLocationLoader stockLocationLoader;
+  private final PackagingResultCache packagingResultCache;
+  private final InventoryEngine inventoryEngine;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
   public ShippingService(
@@ -120,6 +141,15 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
       ClientRepository clientRepository,
       UserLogService userLogService,
       ShipmentFilterQueryBuilder shipmentFilterQueryBuilder,
+      ShipRocketHelperRegistry shipRocketHelperRegistry,
+      ShippingRateCache shippingRateCache,
+      RouteCapabilityStore routeCapabilityStore,
+      OutboundCallExecutor outboundCallExecutor,
+      OrderAllocator orderAllocator,
+      StockLocationLoader stockLocationLoader,
+      PackagingResultCache packagingResultCache,
+      InventoryEngine inventoryEngine,
+      ApplicationEventPublisher eventPublisher,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -141,6 +171,15 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     this.clientRepository = clientRepository;
     this.userLogService = userLogService;
     this.shipmentFilterQueryBuilder = shipmentFilterQueryBuilder;
+    this.shipRocketHelperRegistry = shipRocketHelperRegistry;
+    this.shippingRateCache = shippingRateCache;
+    this.routeCapabilityStore = routeCapabilityStore;
+    this.outboundCallExecutor = outboundCallExecutor;
+    this.orderAllocator = orderAllocator;
+    this.stockLocationLoader = stockLocationLoader;
+    this.packagingResultCache = packagingResultCache;
+    this.inventoryEngine = inventoryEngine;
+    this.eventPublisher = eventPublisher;
   }
 
   // ============================================================================
@@ -187,12 +226,12 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     }
 
     Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("createdAt").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("createdAt").descending(),
+            KeysetCursor.decode(paginationBaseRequestModel.getCursor()),
+            CountMode.fromValue(paginationBaseRequestModel.getCountMode()));
 
     Page<Shipment> result =
         shipmentFilterQueryBuilder.findPaginatedEntitiesWithMultipleFilters(
@@ -213,7 +252,14 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
                 })
             .collect(Collectors.toCollection(ArrayList::new));
 
-    return new PaginationBaseResponseModel<>(data, result.getTotalElements());
+    PaginationBaseResponseModel<ShipmentResponseModel> response =
+        new PaginationBaseResponseModel<>(data, result.getTotalElements());
+    response.setNextCursor(
+        KeysetCursor.next(
+            result,
+            shipment -> KeysetCursor.of(shipment.getCreatedAt(), shipment.getShipmentId())));
+    response.setHasMore(GridPage.hasMoreOf(result));
+    return response;
   }
 
   /** Retrieves detailed information about a specific shipment by ID. */
@@ -249,6 +295,41 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     return new ShipmentResponseModel(shipment);
   }
 
+  /**
+   * Retrieves the ShipRocket fulfillment progress of each shipment of a purchase order.
+   *
+   * @param purchaseOrderId The purchase order whose shipments to report
+   * @return One status per shipment
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<ShipmentFulfillmentStatusResponseModel> getFulfillmentStatus(Long purchaseOrderId) {
+    Long clientId = getClientId();
+
+    PurchaseOrder purchaseOrder =
+        purchaseOrderRepository
+            .findById(purchaseOrderId)
+            .orElseThrow(
+                () -> new NotFoundException(ErrorMessages.PurchaseOrderErrorMessages.INVALID_ID));
+    if (!purchaseOrder.getClientId().equals(clientId)) {
+      throw new BadRequestException(
+          ErrorMessages.CommonErrorMessages.ACCESS_DENIED_TO_PURCHASE_ORDER);
+    }
+
+    OrderSummary orderSummary =
+        orderSummaryRepository
+            .findByEntityTypeAndEntityId(
+                OrderSummary.EntityType.PURCHASE_ORDER.getValue(), purchaseOrderId)
+            .orElseThrow(
+                () -> new NotFoundException(ErrorMessages.OrderSummaryNotFoundMessage.NOT_FOUND));
+
+    return shipmentRepository
+        .findByOrderSummaryIdAndClientId(orderSummary.getOrderSummaryId(), clientId)
+        .stream()
+        .map(ShipmentFulfillmentStatusResponseModel::new)
+        .collect(Collectors.toCollection(ArrayList::new));
+  }
+
   /** Initializes lazy-loaded entities on a shipment for response mapping. */
   private void initializeShipmentLazyFields(Shipment shipment) {
     Hibernate.initialize(shipment.getOrderSummary());
@@ -289,7 +370,11 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
   // SHIPMENT PROCESSING SERVICE METHODS
   // ============================================================================
 
-  /** Processes shipments after cash payment approval. */
+  /**
+   * Processes shipments after cash payment approval. Commits the stock and packages held for the
+   * shipments, records the payment, and queues each shipment for ShipRocket order creation, which
+   * runs in the background once this transaction commits (see {@link #fulfillShipment(Long)}).
+   */
   @Transactional
   public PaymentVerificationResponseModel processShipmentsAfterPaymentApproval(
       Long purchaseOrderId, CashPaymentRequestModel cashPaymentRequest) {
@@ -328,7 +413,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
       throw new BadRequestException(ErrorMessages.ShipmentErrorMessages.NO_SHIPMENTS_FOUND);
     }
 
-    validateProductAndPackageAvailability(shipments);
+    commitInventory(shipments, userName);
 
     PaymentVerificationResponseModel paymentResponse =
         paymentService.recordCashPayment(cashPaymentRequest);
@@ -341,10 +426,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
               paymentResponse.getMessage()));
     }
 
-    updateInventory(shipments, userName);
-
-    createShipRocketOrdersAndUpdateShipments(
-        shipments, orderSummary, purchaseOrder, clientId, userName);
+    queueShipRocketOrders(shipments, orderSummary, purchaseOrder, clientId, userName);
 
     userLogService.logData(
         userId,
@@ -359,7 +441,11 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     return paymentResponse;
   }
 
-  /** Processes shipments after online payment approval. */
+  /**
+   * Processes shipments after online payment approval. Commits the stock and packages held for the
+   * shipments, verifies the payment, and queues each shipment for ShipRocket order creation, which
+   * runs in the background once this transaction commits (see {@link #fulfillShipment(Long)}).
+   */
   @Transactional
   public PaymentVerificationResponseModel processShipmentsAfterPaymentApproval(
       Long purchaseOrderId, RazorpayVerifyRequestModel razorpayVerifyRequest) {
@@ -398,7 +484,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
       throw new BadRequestException(ErrorMessages.ShipmentErrorMessages.NO_SHIPMENTS_FOUND);
     }
 
-    validateProductAndPackageAvailability(shipments);
+    commitInventory(shipments, userName);
 
     PaymentVerificationResponseModel paymentResponse =
         paymentService.verifyPayment(razorpayVerifyRequest);
@@ -411,10 +497,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
               paymentResponse.getMessage()));
     }
 
-    updateInventory(shipments, userName);
-
-    createShipRocketOrdersAndUpdateShipments(
-        shipments, orderSummary, purchaseOrder, clientId, userName);
+    queueShipRocketOrders(shipments, orderSummary, purchaseOrder, clientId, userName);
 
     userLogService.logData(
         userId,
@@ -429,106 +512,30 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     return paymentResponse;
   }
 
-  /** Validates product and package availability at each pickup location. */
-  private void validateProductAndPackageAvailability(List<Shipment> shipments) {
-    for (Shipment shipment : shipments) {
-      Long pickupLocationId = shipment.getPickupLocationId();
-
-      List<ShipmentProduct> shipmentProducts =
-          shipmentProductRepository.findByShipmentId(shipment.getShipmentId());
-      for (ShipmentProduct shipmentProduct : shipmentProducts) {
-        ProductPickupLocationMapping mapping =
-            productPickupLocationMappingRepository
-                .findByProductIdAndPickupLocationId(
-                    shipmentProduct.getProductId(), pickupLocationId)
-                .orElseThrow(
-                    () ->
-                        new BadRequestException(
-                            String.format(
-                                ErrorMessages.ShipmentProcessingErrorMessages
-                                    .PRODUCT_NOT_AVAILABLE_AT_PICKUP_LOCATION_FORMAT,
-                                shipmentProduct.getProductId(),
-                                pickupLocationId)));
-
-        if (mapping.getAvailableStock() < shipmentProduct.getAllocatedQuantity()) {
-          throw new BadRequestException(
-              String.format(
-                  ErrorMessages.ShipmentProcessingErrorMessages.INSUFFICIENT_PRODUCT_STOCK_FORMAT,
-                  shipmentProduct.getProductId(),
-                  pickupLocationId,
-                  mapping.getAvailableStock(),
-                  shipmentProduct.getAllocatedQuantity()));
-        }
-      }
-
-      List<ShipmentPackage> shipmentPackages =
-          shipmentPackageRepository.findByShipmentId(shipment.getShipmentId());
-      for (ShipmentPackage shipmentPackage : shipmentPackages) {
-        PackagePickupLocationMapping mapping =
-            packagePickupLocationMappingRepository
-                .findByPackageIdAndPickupLocationId(
-                    shipmentPackage.getPackageId(), pickupLocationId)
-                .orElseThrow(
-                    () ->
-                        new BadRequestException(
-                            String.format(
-                                ErrorMessages.ShipmentProcessingErrorMessages
-                                    .PACKAGE_NOT_AVAILABLE_AT_PICKUP_LOCATION_FORMAT,
-                                shipmentPackage.getPackageId(),
-                                pickupLocationId)));
-
-        if (mapping.getAvailableQuantity() < shipmentPackage.getQuantityUsed()) {
-          throw new BadRequestException(
-              String.format(
-                  ErrorMessages.ShipmentProcessingErrorMessages.INSUFFICIENT_PACKAGE_STOCK_FORMAT,
-                  shipmentPackage.getPackageId(),
-                  pickupLocationId,
-                  mapping.getAvailableQuantity(),
-                  shipmentPackage.getQuantityUsed()));
-        }
-      }
-    }
-  }
-
-  /** Updates inventory by reducing product and package quantities. */
-  private void updateInventory(List<Shipment> shipments, String userName) {
+  /**
+   * Makes each shipment's stock and package deduction final, committing the holds placed when the
+   * purchase order was created. Runs before the payment is recorded, so an order whose stock is
+   * gone fails without taking payment, and the deduction rolls back if the payment then fails.
+   */
+  private void commitInventory(List<Shipment> shipments, String userName) {
     for (Shipment shipment : shipments) {
-      Long pickupLocationId = shipment.getPickupLocationId();
-
-      List<ShipmentProduct> shipmentProducts =
-          shipmentProductRepository.findByShipmentId(shipment.getShipmentId());
-      for (ShipmentProduct shipmentProduct : shipmentProducts) {
-        ProductPickupLocationMapping mapping =
-            productPickupLocationMappingRepository
-                .findByProductIdAndPickupLocationId(
-                    shipmentProduct.getProductId(), pickupLocationId)
-                .orElse(null);
-
-        if (mapping != null) {
-          mapping.reduceStock(shipmentProduct.getAllocatedQuantity(), userName);
-          productPickupLocationMappingRepository.save(mapping);
-        }
-      }
-
-      List<ShipmentPackage> shipmentPackages =
-          shipmentPackageRepository.findByShipmentId(shipment.getShipmentId());
-      for (ShipmentPackage shipmentPackage : shipmentPackages) {
-        PackagePickupLocationMapping mapping =
-            packagePickupLocationMappingRepository
-                .findByPackageIdAndPickupLocationId(
-                    shipmentPackage.getPackageId(), pickupLocationId)
-                .orElse(null);
-
-        if (mapping != null) {
-          mapping.reduceQuantity(shipmentPackage.getQuantityUsed(), userName);
-          packagePickupLocationMappingRepository.save(mapping);
-        }
-      }
+      inventoryEngine.commit(
+          shipment.getShipmentId(),
+          InventoryEngine.linesFor(
+              shipment.getPickupLocationId(),
+              shipmentProductRepository.findByShipmentId(shipment.getShipmentId()),
+              shipmentPackageRepository.findByShipmentId(shipment.getShipmentId())),
+          userName);
     }
   }
 
-  /** Creates ShipRocket orders for each shipment and updates shipment records. */
-  private void createShipRocketOrdersAndUpdateShipments(
+  /**
+   * Builds each shipment's ShipRocket order request and queues the shipment for the background
+   * fulfillment pipeline. The requests are stored on the shipments in the approval transaction, so
+   * the queue commits or rolls back together with the stock reservation; no ShipRocket call is made
+   * here.
+   */
+  private void queueShipRocketOrders(
       List<Shipment> shipments,
       OrderSummary orderSummary,
       PurchaseOrder purchaseOrder,
@@ -539,17 +546,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
         clientRepository
             .findById(clientId)
             .orElseThrow(() -> new NotFoundException(ErrorMessages.ClientErrorMessages.INVALID_ID));
-
-    if (client.getShipRocketEmail() == null
-        || client.getShipRocketEmail().trim().isEmpty()
-        || client.getShipRocketPassword() == null
-        || client.getShipRocketPassword().trim().isEmpty()) {
-      throw new BadRequestException(
-          ErrorMessages.ShippingErrorMessages.SHIP_ROCKET_CREDENTIALS_NOT_CONFIGURED);
-    }
-
-    ShipRocketHelper shipRocketHelper =
-        createShipRocketHelper(client.getShipRocketEmail(), client.getShipRocketPassword());
+    validateShipRocketCredentials(client);
 
     Address deliveryAddress = orderSummary.getEntityAddress();
     if (deliveryAddress == null) {
@@ -570,6 +567,9 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
       pickupLocationMap.put(shipment.getPickupLocationId(), pickupLocation);
     }
 
+    Gson gson = new Gson();
+    LocalDateTime now = LocalDateTime.now();
+    List<Long> queuedShipmentIds = new ArrayList<>();
     for (Shipment shipment : shipments) {
       PickupLocation pickupLocation = pickupLocationMap.get(shipment.getPickupLocationId());
 
@@ -577,14 +577,108 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
           buildShipRocketOrderRequest(
               shipment, orderSummary, purchaseOrder, deliveryAddress, pickupLocation, clientId);
 
-      ShipRocketOrderResponseModel shipRocketResponse =
-          shipRocketHelper.createCustomOrder(orderRequest);
+      shipment.setShipRocketOrderRequest(gson.toJson(orderRequest));
+      shipment.setFulfillmentStatus(Shipment.FulfillmentStatus.PENDING.getValue());
+      shipment.setFulfillmentAttempts(0);
+      shipment.setFulfillmentNextAttemptAt(now);
+      shipment.setFulfillmentLastError(null);
+      shipment.setModifiedUser(userName);
+      shipmentRepository.save(shipment);
+      queuedShipmentIds.add(shipment.getShipmentId());
+    }
+
+    eventPublisher.publishEvent(new ShipmentFulfillmentWorker.ShipmentsQueued(queuedShipmentIds));
+  }
+
+  /** Throws if the client has no ShipRocket credentials configured. */
+  private void validateShipRocketCredentials(Client client) {
+    if (client.getShipRocketEmail() == null
+        || client.getShipRocketEmail().trim().isEmpty()
+        || client.getShipRocketPassword() == null
+        || client.getShipRocketPassword().trim().isEmpty()) {
+      throw new BadRequestException(
+          ErrorMessages.ShippingErrorMessages.SHIP_ROCKET_CREDENTIALS_NOT_CONFIGURED);
+    }
+  }
+
+  /**
+   * Creates the ShipRocket order for a shipment queued at payment approval and completes its
+   * follow-up steps: AWB assignment, pickup, manifest, label, invoice, tracking and order details.
+   *
+   * <p>Each step's result is saved on the shipment as soon as the step succeeds, and steps whose
+   * result is already saved are skipped, so a retry resumes at the step that failed. The shipment
+   * is marked {@code COMPLETED} at the end. Called by {@link ShipmentFulfillmentWorker} outside any
+   * request or transaction, so it only uses the IDs and user stored on the shipment.
+   *
+   * @param shipmentId The queued shipment
+   * @throws NotFoundException if the shipment or its client does not exist
+   * @throws BadRequestException if a ShipRocket step fails
+   */
+  public void fulfillShipment(Long shipmentId) {
+    Shipment shipment =
+        shipmentRepository
+            .findById(shipmentId)
+            .orElseThrow(
+                () ->
+                    new NotFoundException(
+                        String.format(ErrorMessages.ShipmentErrorMessages.NOT_FOUND, shipmentId)));
+
+    Client client =
+        clientRepository
+            .findById(shipment.getClientId())
+            .orElseThrow(() -> new NotFoundException(ErrorMessages.ClientErrorMessages.INVALID_ID));
+    validateShipRocketCredentials(client);
+
+    ShipRocketHelper shipRocketHelper =
+        createShipRocketHelper(
+            shipment.getClientId(), client.getShipRocketEmail(), client.getShipRocketPassword());
+
+    if (shipment.getShipRocketShipmentId() == null) {
+      createShipRocketOrder(shipment, shipRocketHelper);
+    }
+    completeShipRocketSteps(shipment, shipRocketHelper);
 
-      validateShipRocketOrderResponse(shipRocketResponse, shipment.getShipmentId());
+    shipment.setFulfillmentStatus(Shipment.FulfillmentStatus.COMPLETED.getValue());
+    shipment.setFulfillmentNextAttemptAt(null);
+    shipment.setFulfillmentLastError(null);
+    shipmentRepository.save(shipment);
+  }
 
-      updateShipmentWithShipRocketResponse(
-          shipment, shipRocketResponse, shipRocketHelper, userName);
+  /** Creates the ShipRocket order from the request stored at payment approval. */
+  private void createShipRocketOrder(Shipment shipment, ShipRocketHelper shipRocketHelper) {
+    if (shipment.getShipRocketOrderRequest() == null) {
+      throw new BadRequestException(
+          String.format(
+              ErrorMessages.ShippingErrorMessages.SHIP_ROCKET_ORDER_REQUEST_MISSING,
+              shipment.getShipmentId()));
     }
+    ShipRocketOrderRequestModel orderRequest =
+        new Gson()
+            .fromJson(shipment.getShipRocketOrderRequest(), ShipRocketOrderRequestModel.class);
+
+    ShipRocketOrderResponseModel shipRocketResponse =
+        shipRocketHelper.createCustomOrder(orderRequest);
+    validateShipRocketOrderResponse(shipRocketResponse, shipment.getShipmentId());
+
+    shipment.populateFromShipRocketOrderResponse(shipRocketResponse);
+    shipment.setShipRocketAwbCode(shipRocketResponse.getAwbCode());
+
+    // Kept as the full response unless the order details can be fetched later
+    try {
+      ObjectMapper objectMapper = new ObjectMapper();
+      shipment.setShipRocketFullResponse(objectMapper.writeValueAsString(shipRocketResponse));
+    } catch (Exception serializationEx) {
+      BadRequestException exception =
+          new BadRequestException(
+              String.format(
+                  ErrorMessages.ShippingErrorMessages
+                      .FAILED_TO_SERIALIZE_SHIP_ROCKET_RESPONSE_FORMAT,
+                  shipment.getShipmentId(),
+                  serializationEx.getMessage()));
+      exception.initCause(serializationEx);
+      throw exception;
+    }
+    shipmentRepository.save(shipment);
   }
 
   /** Builds ShipRocket order request model. */
@@ -868,21 +962,18 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     }
   }
 
-  /** Updates shipment with ShipRocket response data. */
-  private void updateShipmentWithShipRocketResponse(
-      Shipment shipment,
-      ShipRocketOrderResponseModel shipRocketResponse,
-      ShipRocketHelper shipRocketHelper,
-      String userName) {
-
-    shipment.populateFromShipRocketOrderResponse(shipRocketResponse);
-    String shipRocketOrderId = shipRocketResponse.getOrderIdAsString();
+  /**
+   * Runs the ShipRocket steps that follow order creation, skipping those whose result is already
+   * saved on the shipment and saving the shipment after each step.
+   */
+  private void completeShipRocketSteps(Shipment shipment, ShipRocketHelper shipRocketHelper) {
+    Long shipRocketShipmentId = shipment.getShipRocketShipmentId();
 
     try {
-      Long shipRocketShipmentId = shipRocketResponse.getShipmentId();
       Long courierId = shipment.getSelectedCourierCompanyId();
-
-      if (shipRocketShipmentId != null && courierId != null) {
+      if (shipRocketShipmentId != null
+          && courierId != null
+          && shipment.getShipRocketAwbMetadata() == null) {
         String awbMetadataJson = shipRocketHelper.assignAwbAsJson(shipRocketShipmentId, courierId);
         shipment.setShipRocketAwbMetadata(awbMetadataJson);
 
@@ -895,81 +986,81 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
 
         if (awbResponse != null && awbResponse.isSuccess() && awbResponse.getAwbCode() != null) {
           shipment.setShipRocketAwbCode(awbResponse.getAwbCode());
-        } else {
-          shipment.setShipRocketAwbCode(shipRocketResponse.getAwbCode());
         }
-      } else {
-        shipment.setShipRocketAwbCode(shipRocketResponse.getAwbCode());
+        shipmentRepository.save(shipment);
       }
     } catch (Exception e) {
       throw new BadRequestException(
           String.format(
               ErrorMessages.ShippingErrorMessages.AWB_ASSIGNMENT_FAILED,
-              shipRocketResponse.getShipmentId(),
+              shipRocketShipmentId,
               e.getMessage()));
     }
 
     try {
-      Long shipRocketShipmentId = shipRocketResponse.getShipmentId();
-      if (shipRocketShipmentId != null) {
+      if (shipRocketShipmentId != null && shipment.getShipRocketPickupMetadata() == null) {
         String pickupMetadataJson = shipRocketHelper.generatePickupAsJson(shipRocketShipmentId);
         shipment.setShipRocketPickupMetadata(pickupMetadataJson);
+        shipmentRepository.save(shipment);
       }
     } catch (Exception e) {
       throw new BadRequestException(
           String.format(
               ErrorMessages.ShippingErrorMessages.PICKUP_GENERATION_FAILED,
-              shipRocketResponse.getShipmentId(),
+              shipRocketShipmentId,
               e.getMessage()));
     }
 
     try {
-      Long shipRocketShipmentId = shipRocketResponse.getShipmentId();
-      if (shipRocketShipmentId != null) {
+      if (shipRocketShipmentId != null && shipment.getShipRocketGeneratedManifestUrl() == null) {
         String manifestUrl = shipRocketHelper.generateManifest(shipRocketShipmentId);
         shipment.setShipRocketGeneratedManifestUrl(manifestUrl);
+        shipmentRepository.save(shipment);
       }
     } catch (Exception e) {
       throw new BadRequestException(
           String.format(
               ErrorMessages.ShippingErrorMessages.MANIFEST_GENERATION_FAILED,
-              shipRocketResponse.getShipmentId(),
+              shipRocketShipmentId,
               e.getMessage()));
     }
 
     try {
-      Long shipRocketShipmentId = shipRocketResponse.getShipmentId();
-      if (shipRocketShipmentId != null) {
+      if (shipRocketShipmentId != null && shipment.getShipRocketGeneratedLabelUrl() == null) {
         String labelUrl = shipRocketHelper.generateLabel(shipRocketShipmentId);
         shipment.setShipRocketGeneratedLabelUrl(labelUrl);
+        shipmentRepository.save(shipment);
       }
     } catch (Exception e) {
       throw new BadRequestException(
           String.format(
               ErrorMessages.ShippingErrorMessages.LABEL_GENERATION_FAILED,
-              shipRocketResponse.getShipmentId(),
+              shipRocketShipmentId,
               e.getMessage()));
     }
 
     try {
-      Long shipRocketShipmentId = shipRocketResponse.getShipmentId();
-      if (shipRocketShipmentId != null) {
+      if (shipRocketShipmentId != null && shipment.getShipRocketGeneratedInvoiceUrl() == null) {
         String invoiceUrl = shipRocketHelper.generateInvoice(shipRocketShipmentId);
         shipment.setShipRocketGeneratedInvoiceUrl(invoiceUrl);
+        shipmentRepository.save(shipment);
       }
     } catch (Exception e) {
       throw new BadRequestException(
           String.format(
               ErrorMessages.ShippingErrorMessages.INVOICE_GENERATION_FAILED,
-              shipRocketResponse.getShipmentId(),
+              shipRocketShipmentId,
               e.getMessage()));
     }
 
     try {
       String awbCode = shipment.getShipRocketAwbCode();
-      if (awbCode != null && !awbCode.trim().isEmpty()) {
+      if (awbCode != null
+          && !awbCode.trim().isEmpty()
+          && shipment.getShipRocketTrackingMetadata() == null) {
         String trackingJson = shipRocketHelper.getTrackingAsJson(awbCode);
         shipment.setShipRocketTrackingMetadata(trackingJson);
+        shipmentRepository.save(shipment);
       }
     } catch (Exception e) {
       throw new BadRequestException(
@@ -980,28 +1071,12 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     }
 
     try {
-      String orderDetailsJson = shipRocketHelper.getOrderDetailsAsJson(shipRocketOrderId);
+      String orderDetailsJson =
+          shipRocketHelper.getOrderDetailsAsJson(shipment.getShipRocketOrderId());
       shipment.setShipRocketFullResponse(orderDetailsJson);
     } catch (Exception e) {
-      try {
-        ObjectMapper objectMapper = new ObjectMapper();
-        String fullResponseJson = objectMapper.writeValueAsString(shipRocketResponse);
-        shipment.setShipRocketFullResponse(fullResponseJson);
-      } catch (Exception serializationEx) {
-        BadRequestException exception =
-            new BadRequestException(
-                String.format(
-                    ErrorMessages.ShippingErrorMessages
-                        .FAILED_TO_SERIALIZE_SHIP_ROCKET_RESPONSE_FORMAT,
-                    shipment.getShipmentId(),
-                    serializationEx.getMessage()));
-        exception.initCause(serializationEx);
-        throw exception;
-      }
+      // The order creation response saved with the order stays as the full response
     }
-
-    shipment.setModifiedUser(userName);
-    shipmentRepository.save(shipment);
   }
 
   /** Cleans phone number by removing formatting and ensuring it's exactly 10 digits. */
@@ -1061,19 +1136,19 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
 
       try {
         ShippingOptionsResponseModel shippingOptions =
-            shipRocketHelper.getAvailableShippingOptions(
-                location.getPickupPostcode(), deliveryPostcode, isCod, weight.toString());
+            getShippingOptions(
+                clientId,
+                shipRocketHelper,
+                location.getPickupPostcode(),
+                deliveryPostcode,
+                isCod,
+                weight.toString());
 
         if (shippingOptions != null
             && shippingOptions.getData() != null
             && shippingOptions.getData().getAvailableCourierCompanies() != null) {
 
-          shippingOptions
-              .getData()
-              .getAvailableCourierCompanies()
-              .sort((a, b) -> Double.compare(a.getRate(), b.getRate()));
-
-          for (var courier : shippingOptions.getData().getAvailableCourierCompanies()) {
+          for (var courier : couriersByRate(shippingOptions)) {
             locationOptions
                 .getAvailableCouriers()
                 .add(ShippingCalculationResponseModel.CourierOption.fromShiprocketCourier(courier));
@@ -1096,15 +1171,19 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     return response;
   }
 
-  /** Creates a ShiprocketHelper instance with the current client's ShipRocket credentials. */
+  /** Returns the client's ShiprocketHelper for its current ShipRocket credentials. */
   protected ShipRocketHelper getShiprocketHelper(Long clientId) {
     ClientResponseModel client = clientService.getClientById(clientId);
-    return createShipRocketHelper(client.getShipRocketEmail(), client.getShipRocketPassword());
+    return createShipRocketHelper(
+        clientId, client.getShipRocketEmail(), client.getShipRocketPassword());
   }
 
-  /** Factory method for ShipRocketHelper to allow test overrides. */
-  protected ShipRocketHelper createShipRocketHelper(String email, String password) {
-    return new ShipRocketHelper(email, password);
+  /**
+   * Returns the client's long-lived ShipRocketHelper from the shared registry, so the Shiprocket
+   * auth token is reused across requests. Overridable for tests.
+   */
+  protected ShipRocketHelper createShipRocketHelper(Long clientId, String email, String password) {
+    return shipRocketHelperRegistry.getHelper(clientId, email, password);
   }
 
   /**
@@ -1136,6 +1215,8 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
       }
 
       Map<Long, LocationInfo> locationInfoMap = fetchLocationData(productInfoMap);
+      String deliveryPostcode = request.getDeliveryPostcode();
+      boolean isCod = Boolean.TRUE.equals(request.getIsCod());
 
       List<AllocationCandidate> candidates;
 
@@ -1158,7 +1239,13 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
         }
 
         candidates =
-            generateCandidates(productInfoMap, locationInfoMap, request.getProductQuantities());
+            generateCandidates(
+                clientId,
+                productInfoMap,
+                locationInfoMap,
+                request.getProductQuantities(),
+                deliveryPostcode,
+                isCod);
 
         if (candidates.isEmpty()) {
           return OrderOptimizationResponseModel.error(
@@ -1167,12 +1254,11 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
       }
 
       ShipRocketHelper shipRocketHelper = getShiprocketHelper(clientId);
-      String deliveryPostcode = request.getDeliveryPostcode();
-      boolean isCod = Boolean.TRUE.equals(request.getIsCod());
       boolean isCustomAllocation =
           request.getCustomAllocations() != null && !request.getCustomAllocations().isEmpty();
 
       evaluateCandidates(
+          clientId,
           candidates,
           productInfoMap,
           locationInfoMap,
@@ -1245,6 +1331,8 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
   }
 
   private static class LocationInfo {
+    Long locationId;
+    long packageVersion;
     PickupLocation pickupLocationEntity;
     String locationName;
     String postalCode;
@@ -1325,7 +1413,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
 
     ShipRocketHelper shiprocketHelper =
         createShipRocketHelper(
-            clientResponse.getShipRocketEmail(), clientResponse.getShipRocketPassword());
+            clientId, clientResponse.getShipRocketEmail(), clientResponse.getShipRocketPassword());
 
     try {
       Long shipRocketOrderIdLong = Long.parseLong(shipRocketOrderId);
@@ -1570,7 +1658,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
 
     ShipRocketHelper shipRocketHelper =
         createShipRocketHelper(
-            clientResponse.getShipRocketEmail(), clientResponse.getShipRocketPassword());
+            clientId, clientResponse.getShipRocketEmail(), clientResponse.getShipRocketPassword());
 
     String returnOrderJson;
     ShipRocketReturnOrderResponseModel returnOrderResponse;
@@ -1665,7 +1753,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
 
     ShipRocketHelper shiprocketHelper =
         createShipRocketHelper(
-            clientResponse.getShipRocketEmail(), clientResponse.getShipRocketPassword());
+            clientId, clientResponse.getShipRocketEmail(), clientResponse.getShipRocketPassword());
 
     try {
       Long shipRocketReturnOrderIdLong = Long.parseLong(shipRocketReturnOrderId);
@@ -1701,7 +1789,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
 
     ShipRocketHelper shiprocketHelper =
         createShipRocketHelper(
-            clientResponse.getShipRocketEmail(), clientResponse.getShipRocketPassword());
+            clientId, clientResponse.getShipRocketEmail(), clientResponse.getShipRocketPassword());
 
     return shiprocketHelper.getWalletBalance();
   }
@@ -1741,12 +1829,12 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
    */
   private Map<Long, LocationInfo> fetchLocationData(Map<Long, ProductLocationInfo> productInfoMap) {
     Map<Long, LocationInfo> locationInfoMap = new HashMap<>();
+    StockLocationLoader.StockSnapshot snapshot =
+        stockLocationLoader.load(productInfoMap.keySet());
 
     for (Map.Entry<Long, ProductLocationInfo> productEntry : productInfoMap.entrySet()) {
       Long productId = productEntry.getKey();
-      List<ProductPickupLocationMapping> mappings =
-          productPickupLocationMappingRepository.findByProductIdWithPickupLocationAndAddress(
-              productId);
+      List<ProductPickupLocationMapping> mappings = snapshot.mappings(productId);
 
       ProductLocationInfo productInfo = productEntry.getValue();
 
@@ -1755,6 +1843,8 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
 
         if (!locationInfoMap.containsKey(locationId)) {
           LocationInfo locInfo = new LocationInfo();
+          locInfo.locationId = locationId;
+          locInfo.packageVersion = snapshot.packageVersion(locationId);
           locInfo.pickupLocationEntity = mapping.getPickupLocation();
           locInfo.locationName =
               mapping.getPickupLocation() != null
@@ -1775,13 +1865,8 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
       }
     }
 
-    if (!locationInfoMap.isEmpty()) {
-      List<Long> locationIds = new ArrayList<>(locationInfoMap.keySet());
-
-      List<PackagePickupLocationMapping> packageMappings =
-          packagePickupLocationMappingRepository.findByPickupLocationIdsWithPackages(locationIds);
-
-      for (PackagePickupLocationMapping pm : packageMappings) {
+    for (Long locationId : locationInfoMap.keySet()) {
+      for (PackagePickupLocationMapping pm : snapshot.packages(locationId)) {
         LocationInfo locInfo = locationInfoMap.get(pm.getPickupLocationId());
         if (locInfo != null && pm.getPackageEntity() != null) {
           var pkg = pm.getPackageEntity();
@@ -1843,7 +1928,13 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
                     productInfo.weightKgs,
                     stock.availableStock);
             PackagingHelper.PackagingEstimateResult estimate =
-                packagingHelper.calculatePackaging(productDim, locInfo.packageDimensions);
+                packagingResultCache.get(
+                    locationId,
+                    locInfo.packageVersion,
+                    productDim,
+                    () ->
+                        packagingHelper.calculatePackaging(
+                            productDim, locInfo.packageDimensions));
             stock.maxItemsPackable = estimate.getMaxItemsPackable();
 
             if (stock.maxItemsPackable == 0 && canFitInAnyPackageType && stock.availableStock > 0) {
@@ -2030,37 +2121,103 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     return null;
   }
 
-  /** Generate candidate allocation strategies */
+  /**
+   * Generate candidate allocation strategies: the cheapest few allocations from a branch-and-bound
+   * search over the location-by-product feasibility matrix, ranked by lower bounds from cached
+   * Shiprocket rates. The greedy heuristics seed the search, so it has an answer even if its time
+   * budget runs out. These candidates and every location that can ship the whole order alone are
+   * quoted.
+   */
   private List<AllocationCandidate> generateCandidates(
+      Long clientId,
       Map<Long, ProductLocationInfo> productInfoMap,
       Map<Long, LocationInfo> locationInfoMap,
-      Map<Long, Integer> productQuantities) {
-
-    List<AllocationCandidate> candidates = new ArrayList<>();
+      Map<Long, Integer> productQuantities,
+      String deliveryPostcode,
+      boolean isCod) {
 
-    for (Long locationId : locationInfoMap.keySet()) {
-      if (canLocationFulfillAll(locationId, productInfoMap, productQuantities, locationInfoMap)) {
-        AllocationCandidate candidate =
-            createSingleLocationCandidate(locationId, productQuantities);
-        candidates.add(candidate);
+    List<Long> locationIds = new ArrayList<>(locationInfoMap.keySet());
+    Collections.sort(locationIds);
+    List<Long> productIds = new ArrayList<>(productQuantities.keySet());
+    Collections.sort(productIds);
+
+    int[] requested = new int[productIds.size()];
+    double[] unitWeightKg = new double[productIds.size()];
+    int[][] capacity = new int[locationIds.size()][productIds.size()];
+    for (int p = 0; p < productIds.size(); p++) {
+      ProductLocationInfo info = productInfoMap.get(productIds.get(p));
+      requested[p] = productQuantities.get(productIds.get(p));
+      unitWeightKg[p] = info.weightKgs.doubleValue();
+      for (int l = 0; l < locationIds.size(); l++) {
+        LocationStock stock = info.stockByLocation.get(locationIds.get(l));
+        if (stock != null && !locationInfoMap.get(locationIds.get(l)).packageDimensions.isEmpty()) {
+          capacity[l][p] = Math.max(Math.min(stock.availableStock, stock.maxItemsPackable), 0);
+        }
       }
     }
 
-    AllocationCandidate greedyConsolidation =
-        createGreedyConsolidationCandidate(productInfoMap, locationInfoMap, productQuantities);
-    if (greedyConsolidation.canFulfillOrder) {
-      candidates.add(greedyConsolidation);
+    // Each location's cached quotes bound its shipment cost from below; the bound never decreases
+    // with weight, as the allocator's pruning requires
+    ShippingRateCache.RouteRates[] routeRates =
+        new ShippingRateCache.RouteRates[locationIds.size()];
+    for (int l = 0; l < locationIds.size(); l++) {
+      routeRates[l] =
+          shippingRateCache.routeRates(
+              clientId,
+              locationInfoMap.get(locationIds.get(l)).postalCode,
+              deliveryPostcode,
+              isCod);
+    }
+    OrderAllocator.ShipmentCostEstimate cost =
+        (location, weightKg) ->
+            routeRates[location].lowerBound(shippingRateCache.billedWeightKg(weightKg));
+
+    List<int[][]> seeds = new ArrayList<>();
+    for (AllocationCandidate greedy :
+        List.of(
+            createGreedyConsolidationCandidate(productInfoMap, locationInfoMap, productQuantities),
+            createGreedyStockCandidate(productInfoMap, locationInfoMap, productQuantities))) {
+      if (greedy.canFulfillOrder) {
+        int[][] quantities = new int[locationIds.size()][productIds.size()];
+        for (Map.Entry<Long, Map<Long, Integer>> locEntry :
+            greedy.locationProductQuantities.entrySet()) {
+          int l = locationIds.indexOf(locEntry.getKey());
+          for (Map.Entry<Long, Integer> prodEntry : locEntry.getValue().entrySet()) {
+            quantities[l][productIds.indexOf(prodEntry.getKey())] = prodEntry.getValue();
+          }
+        }
+        seeds.add(quantities);
+      }
     }
 
-    AllocationCandidate greedyStock =
-        createGreedyStockCandidate(productInfoMap, locationInfoMap, productQuantities);
-    if (greedyStock.canFulfillOrder) {
-      candidates.add(greedyStock);
-    }
+    OrderAllocator.Result result =
+        orderAllocator.allocate(requested, capacity, unitWeightKg, cost, seeds);
 
-    candidates = removeDuplicateCandidates(candidates);
+    // Single-location candidates are always quoted, since estimates can miss the cheapest route
+    List<AllocationCandidate> candidates = new ArrayList<>();
+    for (Long locationId : locationIds) {
+      if (canLocationFulfillAll(locationId, productInfoMap, productQuantities, locationInfoMap)) {
+        candidates.add(createSingleLocationCandidate(locationId, productQuantities));
+      }
+    }
+    for (OrderAllocator.Allocation allocation : result.allocations()) {
+      AllocationCandidate candidate = new AllocationCandidate();
+      for (int l = 0; l < locationIds.size(); l++) {
+        Map<Long, Integer> productQtys = new HashMap<>();
+        for (int p = 0; p < productIds.size(); p++) {
+          if (allocation.quantities()[l][p] > 0) {
+            productQtys.put(productIds.get(p), allocation.quantities()[l][p]);
+          }
+        }
+        if (!productQtys.isEmpty()) {
+          candidate.locationProductQuantities.put(locationIds.get(l), productQtys);
+        }
+      }
+      candidate.canFulfillOrder = true;
+      candidates.add(candidate);
+    }
 
-    return candidates;
+    return removeDuplicateCandidates(candidates);
   }
 
   private boolean canLocationFulfillAll(
@@ -2464,6 +2621,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
   }
 
   private void evaluateCandidates(
+      Long clientId,
       List<AllocationCandidate> candidates,
       Map<Long, ProductLocationInfo> productInfoMap,
       Map<Long, LocationInfo> locationInfoMap,
@@ -2478,6 +2636,10 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
       // Continue anyway
     }
 
+    // One budget for all Shiprocket calls made while evaluating this order
+    long deadline =
+        OutboundCallExecutor.deadlineAfter(SHIPPING_API_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
     Map<String, BigDecimal> routeMaxWeights = new ConcurrentHashMap<>();
     Set<String> uniquePickupPostcodes = new HashSet<>();
 
@@ -2497,11 +2659,14 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     for (String pickupPostcode : uniquePickupPostcodes) {
       final String postcode = pickupPostcode;
       maxWeightFutures.add(
-          CompletableFuture.runAsync(
+          outboundCallExecutor.run(
+              clientId,
+              deadline,
               () -> {
                 try {
                   double maxWeight =
-                      findMaxWeightForRoute(shipRocketHelper, postcode, deliveryPostcode, isCod);
+                      findMaxWeightForRoute(
+                          clientId, shipRocketHelper, postcode, deliveryPostcode, isCod);
                   if (maxWeight > 0) {
                     routeMaxWeights.put(postcode, BigDecimal.valueOf(maxWeight));
                   } else {
@@ -2516,8 +2681,9 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     try {
       CompletableFuture<Void> allMaxWeights =
           CompletableFuture.allOf(maxWeightFutures.toArray(new CompletableFuture[0]));
-      allMaxWeights.get(SHIPPING_API_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      allMaxWeights.get(OutboundCallExecutor.remainingNanos(deadline), TimeUnit.NANOSECONDS);
     } catch (Exception e) {
+      OutboundCallExecutor.cancelIncomplete(maxWeightFutures);
       for (String postcode : uniquePickupPostcodes) {
         if (!routeMaxWeights.containsKey(postcode)) {
           routeMaxWeights.put(postcode, MAX_WEIGHT_PER_SHIPMENT);
@@ -2664,11 +2830,18 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
               final String finalWeight = weight.toString();
               shippingFutures.put(
                   cacheKey,
-                  CompletableFuture.supplyAsync(
+                  outboundCallExecutor.supply(
+                      clientId,
+                      deadline,
                       () -> {
                         try {
-                          return shipRocketHelper.getAvailableShippingOptions(
-                              finalPickupPostcode, deliveryPostcode, isCod, finalWeight);
+                          return getShippingOptions(
+                              clientId,
+                              shipRocketHelper,
+                              finalPickupPostcode,
+                              deliveryPostcode,
+                              isCod,
+                              finalWeight);
                         } catch (Exception e) {
                           return null;
                         }
@@ -2682,9 +2855,10 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     try {
       CompletableFuture<Void> allShipping =
           CompletableFuture.allOf(shippingFutures.values().toArray(new CompletableFuture[0]));
-      allShipping.get(SHIPPING_API_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      allShipping.get(OutboundCallExecutor.remainingNanos(deadline), TimeUnit.NANOSECONDS);
     } catch (Exception e) {
-      // Continue with available results
+      // Continue with available results; stop the lookups that missed the deadline
+      OutboundCallExecutor.cancelIncomplete(shippingFutures.values());
     }
 
     Map<String, ShippingOptionsResponseModel> shippingResults = new HashMap<>();
@@ -2747,12 +2921,7 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
               && shippingOpts.getData().getAvailableCourierCompanies() != null
               && !shippingOpts.getData().getAvailableCourierCompanies().isEmpty()) {
 
-            shippingOpts
-                .getData()
-                .getAvailableCourierCompanies()
-                .sort((a, b) -> Double.compare(a.getRate(), b.getRate()));
-
-            for (var courier : shippingOpts.getData().getAvailableCourierCompanies()) {
+            for (var courier : couriersByRate(shippingOpts)) {
               shipment
                   .getAvailableCouriers()
                   .add(
@@ -3050,8 +3219,13 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     }
 
     PackagingHelper.MultiProductPackagingResult estimate =
-        packagingHelper.calculatePackagingForMultipleProducts(
-            productDimensions, locInfo.packageDimensions);
+        packagingResultCache.get(
+            locInfo.locationId,
+            locInfo.packageVersion,
+            productDimensions,
+            () ->
+                packagingHelper.calculatePackagingForMultipleProducts(
+                    productDimensions, locInfo.packageDimensions));
 
     for (PackagingHelper.MultiProductPackageUsageResult usage : estimate.getPackagesUsed()) {
       OrderOptimizationResponseModel.PackageUsage pkgUsage =
@@ -3150,30 +3324,70 @@ public class ShippingService extends BaseService implements IShippingSubTranslat
     }
   }
 
+  /**
+   * Heaviest weight level (100-500 kg) the route accepts, from the route capability store. Probes
+   * Shiprocket on a miss, within the shipping API timeout; a probe that throws or times out counts
+   * as unserviceable.
+   */
   private double findMaxWeightForRoute(
+      Long clientId,
       ShipRocketHelper shipRocketHelper,
       String pickupPostcode,
       String deliveryPostcode,
       boolean isCod) {
-    double[] weightsToTry = {500, 400, 300, 200, 100};
+    return routeCapabilityStore.getMaxWeight(
+        clientId,
+        pickupPostcode,
+        deliveryPostcode,
+        isCod,
+        OutboundCallExecutor.deadlineAfter(SHIPPING_API_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+        weight -> {
+          String weightInKgs = String.valueOf(weight);
+          ShippingOptionsResponseModel response =
+              shippingRateCache.probe(
+                  clientId,
+                  pickupPostcode,
+                  deliveryPostcode,
+                  isCod,
+                  weightInKgs,
+                  () ->
+                      shipRocketHelper.getAvailableShippingOptions(
+                          pickupPostcode, deliveryPostcode, isCod, weightInKgs));
+          return response != null
+              && response.getData() != null
+              && response.getData().getAvailableCourierCompanies() != null
+              && !response.getData().getAvailableCourierCompanies().isEmpty();
+        });
+  }
 
-    for (double weight : weightsToTry) {
-      try {
-        ShippingOptionsResponseModel response =
+  /** Looks up courier serviceability for a route through the shared rate cache. */
+  private ShippingOptionsResponseModel getShippingOptions(
+      Long clientId,
+      ShipRocketHelper shipRocketHelper,
+      String pickupPostcode,
+      String deliveryPostcode,
+      boolean isCod,
+      String weightInKgs) {
+    return shippingRateCache.get(
+        clientId,
+        pickupPostcode,
+        deliveryPostcode,
+        isCod,
+        weightInKgs,
+        () ->
             shipRocketHelper.getAvailableShippingOptions(
-                pickupPostcode, deliveryPostcode, isCod, String.valueOf(weight));
-
-        if (response != null
-            && response.getData() != null
-            && response.getData().getAvailableCourierCompanies() != null
-            && !response.getData().getAvailableCourierCompanies().isEmpty()) {
-          return weight;
-        }
-      } catch (Exception e) {
-        // Continue to next weight
-      }
-    }
+                pickupPostcode, deliveryPostcode, isCod, weightInKgs));
+  }
 
-    return 0;
+  /**
+   * Available couriers cheapest first. Sorts a copy, since the response may be a cached instance
+   * shared with other requests.
+   */
+  private static List<ShippingOptionsResponseModel.AvailableCourierCompany> couriersByRate(
+      ShippingOptionsResponseModel shippingOptions) {
+    List<ShippingOptionsResponseModel.AvailableCourierCompany> couriers =
+        new ArrayList<>(shippingOptions.getData().getAvailableCourierCompanies());
+    couriers.sort((a, b) -> Double.compare(a.getRate(), b.getRate()));
+    return couriers;
   }
 }
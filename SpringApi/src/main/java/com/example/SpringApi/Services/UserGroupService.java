@@ -1,9 +1,14 @@
 package com.example.SpringApi.Services;
 
 import com.example.SpringApi.Authentication.JwtTokenProvider;
+import com.example.SpringApi.Authentication.PermissionCodeResolver;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.UserGroupFilterQueryBuilder;
 import com.example.SpringApi.Helpers.BulkInsertHelper;
 import com.example.SpringApi.Models.ApiRoutes;
@@ -22,7 +27,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.util.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -48,6 +52,7 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
   private final UserLogService userLogService;
   private final UserGroupFilterQueryBuilder userGroupFilterQueryBuilder;
   private final MessageService messageService;
+  private final PermissionCodeResolver permissionCodeResolver;
 
   @Autowired
   public UserGroupService(
@@ -57,6 +62,7 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
       UserRepository userRepository,
       UserGroupFilterQueryBuilder userGroupFilterQueryBuilder,
       MessageService messageService,
+      PermissionCodeResolver permissionCodeResolver,
       JwtTokenProvider jwtTokenProvider,
       HttpServletRequest request) {
     super(jwtTokenProvider, request);
@@ -65,6 +71,7 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
     this.userGroupUserMapRepository = userGroupUserMapRepository;
     this.userGroupFilterQueryBuilder = userGroupFilterQueryBuilder;
     this.messageService = messageService;
+    this.permissionCodeResolver = permissionCodeResolver;
   }
 
   /**
@@ -83,6 +90,10 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
     if (userGroup.isPresent()) {
       userGroup.get().setIsDeleted(!userGroup.get().getIsDeleted());
       userGroupRepository.save(userGroup.get());
+      permissionCodeResolver.invalidateAfterCommit(
+          userGroupUserMapRepository.findByGroupId(groupId).stream()
+              .map(UserGroupUserMap::getUserId)
+              .toList());
       userLogService.logData(
           getUserId(),
           SuccessMessages.UserGroupSuccessMessages.TOGGLE_GROUP
@@ -260,14 +271,14 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
       }
     }
 
-    // Create custom Pageable with exact OFFSET and LIMIT for database-level pagination
+    // Exact offset for the first page; seek past the cursor when the client sends one
     Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("groupId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("groupId").descending(),
+            KeysetCursor.decode(userGroupRequestModel.getCursor()),
+            CountMode.fromValue(userGroupRequestModel.getCountMode()));
 
     // Use the filter query builder for multi-filter support
     String logicOperator =
@@ -294,6 +305,9 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
 
     paginationBaseResponseModel.setData(userGroupResponseModels);
     paginationBaseResponseModel.setTotalDataCount(userGroups.getTotalElements());
+    paginationBaseResponseModel.setNextCursor(
+        KeysetCursor.next(userGroups, userGroup -> KeysetCursor.of(userGroup.getGroupId())));
+    paginationBaseResponseModel.setHasMore(GridPage.hasMoreOf(userGroups));
     return paginationBaseResponseModel;
   }
 
@@ -533,6 +547,7 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
         mappings.add(mapping);
       }
       userGroupUserMapRepository.saveAll(mappings);
+      permissionCodeResolver.invalidateAfterCommit(userGroupRequest.getUserIds());
     }
   }
 
@@ -548,7 +563,9 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
     // Delete existing user-group mappings
     List<UserGroupUserMap> existingMappings =
         userGroupUserMapRepository.findByGroupId(userGroupRequest.getGroupId());
+    Set<Long> affectedUserIds = new HashSet<>();
     if (!existingMappings.isEmpty()) {
+      existingMappings.forEach(mapping -> affectedUserIds.add(mapping.getUserId()));
       userGroupUserMapRepository.deleteAll(existingMappings);
     }
 
@@ -561,6 +578,8 @@ public class UserGroupService extends BaseService implements IUserGroupSubTransl
         mappings.add(mapping);
       }
       userGroupUserMapRepository.saveAll(mappings);
+      affectedUserIds.addAll(userGroupRequest.getUserIds());
     }
+    permissionCodeResolver.invalidateAfterCommit(affectedUserIds);
   }
 }
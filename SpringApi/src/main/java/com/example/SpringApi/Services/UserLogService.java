@@ -3,6 +3,10 @@ package com.example.SpringApi.Services;
 import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetCursor;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.UserLogFilterQueryBuilder;
 import com.example.SpringApi.Models.DatabaseModels.UserLog;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.FilterCondition;
@@ -17,7 +21,6 @@ import java.util.HashSet;
 import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -186,14 +189,14 @@ public class UserLogService extends BaseService implements IUserLogSubTranslator
       }
     }
 
-    // Create custom Pageable with proper offset handling
+    // Exact offset for the first page; seek past the cursor when the client sends one
     Pageable pageable =
-        new PageRequest(0, pageSize, Sort.by("logId").descending()) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            pageSize,
+            Sort.by("logId").descending(),
+            KeysetCursor.decode(getUserLogsRequestModel.getCursor()),
+            CountMode.fromValue(getUserLogsRequestModel.getCountMode()));
 
     // Use the filter query builder for multi-filter support
     String logicOperator =
@@ -213,6 +216,9 @@ public class UserLogService extends BaseService implements IUserLogSubTranslator
         new PaginationBaseResponseModel<>();
     paginationBaseResponseModel.setData(userLogs.map(UserLogsResponseModel::new).getContent());
     paginationBaseResponseModel.setTotalDataCount(userLogs.getTotalElements());
+    paginationBaseResponseModel.setNextCursor(
+        KeysetCursor.next(userLogs, userLog -> KeysetCursor.of(userLog.getLogId())));
+    paginationBaseResponseModel.setHasMore(GridPage.hasMoreOf(userLogs));
 
     return paginationBaseResponseModel;
   }
@@ -1,12 +1,18 @@
 package com.example.SpringApi.Services;
 
+import com.example.SpringApi.Authentication.AuthenticationDenyList;
 import com.example.SpringApi.Authentication.JwtTokenProvider;
+import com.example.SpringApi.Authentication.PermissionCodeResolver;
 import com.example.SpringApi.Constants.ImageLocationConstants;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.FilterQueryBuilder.CountMode;
+import com.example.SpringApi.FilterQueryBuilder.GridPage;
+import com.example.SpringApi.FilterQueryBuilder.KeysetPageRequest;
 import com.example.SpringApi.FilterQueryBuilder.UserFilterQueryBuilder;
 import com.example.SpringApi.Helpers.BulkInsertHelper;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Helpers.EmailTemplates;
 import com.example.SpringApi.Helpers.FirebaseHelper;
 import com.example.SpringApi.Helpers.ImgbbHelper;
@@ -68,6 +74,11 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Transactional
 public class UserService extends BaseService implements IUserSubTranslator {
+  private static final String LOGIN_NAME_EXISTS =
+      ErrorMessages.UserErrorMessages.INVALID_EMAIL + " - Login name (email) already exists";
+
+  /** A bulk-imported user's profile picture, stored on ImgBB before the user row exists. */
+  private record StoredProfilePicture(ImgbbHelper imgbbHelper, String url, String deleteHash) {}
 
   private final UserRepository userRepository;
   private final UserFilterQueryBuilder userFilterQueryBuilder;
@@ -82,7 +93,10 @@ public class UserService extends BaseService implements IUserSubTranslator {
   private final UserLogService userLogService;
   private final ClientService clientService;
   private final MessageService messageService;
+  private final AuthenticationDenyList authenticationDenyList;
+  private final PermissionCodeResolver permissionCodeResolver;
   private final ContextualLogger logger;
+  private final BulkInsertPipeline bulkInsertPipeline;
 
   @Value("${imageLocation:firebase}")
   private String imageLocation;
@@ -102,6 +116,9 @@ public class UserService extends BaseService implements IUserSubTranslator {
       UserLogService userLogService,
       ClientService clientService,
       MessageService messageService,
+      AuthenticationDenyList authenticationDenyList,
+      PermissionCodeResolver permissionCodeResolver,
+      BulkInsertPipeline bulkInsertPipeline,
       HttpServletRequest request,
       JwtTokenProvider jwtTokenProvider) {
     super(jwtTokenProvider, request);
@@ -118,6 +135,9 @@ public class UserService extends BaseService implements IUserSubTranslator {
     this.userLogService = userLogService;
     this.clientService = clientService;
     this.messageService = messageService;
+    this.authenticationDenyList = authenticationDenyList;
+    this.permissionCodeResolver = permissionCodeResolver;
+    this.bulkInsertPipeline = bulkInsertPipeline;
     this.logger = ContextualLogger.getLogger(UserService.class);
   }
 
@@ -142,6 +162,8 @@ public class UserService extends BaseService implements IUserSubTranslator {
     user.setIsDeleted(!user.getIsDeleted());
     user.setModifiedUser(getUser());
     userRepository.save(user);
+    authenticationDenyList.update(user);
+    permissionCodeResolver.invalidateAfterCommit(List.of(user.getUserId()));
 
     // Log user toggle operation
     userLogService.logData(
@@ -249,6 +271,7 @@ public class UserService extends BaseService implements IUserSubTranslator {
 
     // 3. Update group mappings
     updateUserGroups(user, existingUser);
+    permissionCodeResolver.invalidateAfterCommit(List.of(existingUser.getUserId()));
 
     // 4. Update profile picture
     updateUserProfilePicture(user, existingUser);
@@ -362,16 +385,16 @@ public class UserService extends BaseService implements IUserSubTranslator {
     // pagination
     // Spring's PageRequest.of(page, size) uses: OFFSET = page * size, LIMIT = size
     // For arbitrary offsets (e.g., start=5, end=15), we need OFFSET=5, LIMIT=10
-    // Solution: Override getOffset() to return the exact start position
+    // Solution: KeysetPageRequest returns the exact start position as the offset. The user grid
+    // has no keyset cursor, so it always pages by offset.
     // Default sort: userId DESC (newest users first)
     org.springframework.data.domain.Pageable pageable =
-        new org.springframework.data.domain.PageRequest(
-            0, limit, Sort.by(Sort.Direction.DESC, "userId")) {
-          @Override
-          public long getOffset() {
-            return start;
-          }
-        };
+        new KeysetPageRequest(
+            start,
+            limit,
+            Sort.by(Sort.Direction.DESC, "userId"),
+            null,
+            CountMode.fromValue(userRequestModel.getCountMode()));
 
     // Always use UserFilterQueryBuilder for dynamic filtering
     Page<User> page =
@@ -396,6 +419,7 @@ public class UserService extends BaseService implements IUserSubTranslator {
     // Return the total count of all matching users, not just the current page
     paginationBaseResponseModel.setData(userResponseModels);
     paginationBaseResponseModel.setTotalDataCount(page.getTotalElements());
+    paginationBaseResponseModel.setHasMore(GridPage.hasMoreOf(page));
     return paginationBaseResponseModel;
   }
 
@@ -489,30 +513,46 @@ public class UserService extends BaseService implements IUserSubTranslator {
       int successCount = 0;
       int failureCount = 0;
 
-      // Process each user individually
-      for (UserRequestModel userRequest : users) {
-        try {
-          // Call createUser with sendEmail = false, explicit createdUser, and shouldLog =
-          // false (bulk logs collectively)
-          createUser(userRequest, false, requestingUserLoginName, false);
-
-          // If we get here, user was created successfully
-          // Fetch the created user to get the userId
-          User createdUser = userRepository.findByLoginName(userRequest.getLoginName());
-          response.addSuccess(userRequest.getLoginName(), createdUser.getUserId());
+      // Validate every user up front and upload ImgBB profile pictures outside any transaction,
+      // then insert the rows in chunked transactions; a retried chunk never uploads again
+      Set<String> batchLoginNames = new HashSet<>();
+      List<BulkInsertPipeline.RowOutcome<UserRequestModel>> outcomes =
+          bulkInsertPipeline.insert(
+              users,
+              userRequest ->
+                  validateUserForInsert(userRequest, requestingUserLoginName, batchLoginNames),
+              new BulkInsertPipeline.Upload<UserRequestModel, StoredProfilePicture>() {
+                @Override
+                public StoredProfilePicture upload(UserRequestModel userRequest) {
+                  return uploadProfilePictureForImport(userRequest);
+                }
+
+                @Override
+                public void discard(StoredProfilePicture profilePicture) {
+                  if (profilePicture != null) {
+                    profilePicture.imgbbHelper().deleteImage(profilePicture.deleteHash());
+                  }
+                }
+              },
+              // No email and no per-user log (bulk logs collectively)
+              (userRequest, profilePicture) ->
+                  insertImportedUser(userRequest, profilePicture, requestingUserLoginName)
+                      .getUserId());
+
+      for (BulkInsertPipeline.RowOutcome<UserRequestModel> outcome : outcomes) {
+        UserRequestModel userRequest = outcome.row();
+        String loginName =
+            userRequest.getLoginName() != null ? userRequest.getLoginName() : "unknown";
+        if (outcome.succeeded()) {
+          response.addSuccess(userRequest.getLoginName(), outcome.id());
           successCount++;
-
-        } catch (BadRequestException bre) {
+        } else if (outcome.error() instanceof BadRequestException) {
           // Validation or business logic error
-          response.addFailure(
-              userRequest.getLoginName() != null ? userRequest.getLoginName() : "unknown",
-              bre.getMessage());
+          response.addFailure(loginName, outcome.error().getMessage());
           failureCount++;
-        } catch (Exception e) {
+        } else {
           // Unexpected error
-          response.addFailure(
-              userRequest.getLoginName() != null ? userRequest.getLoginName() : "unknown",
-              "Error: " + e.getMessage());
+          response.addFailure(loginName, "Error: " + outcome.error().getMessage());
           failureCount++;
         }
       }
@@ -578,55 +618,141 @@ public class UserService extends BaseService implements IUserSubTranslator {
    * @param sendEmail Whether to send confirmation email to the user
    * @param createdUser The loginName of the user creating this user (for async operations)
    * @param shouldLog Whether to log this individual user creation (false for bulk operations)
+   * @return The saved user
    * @throws BadRequestException if the user data is invalid or incomplete
    */
   @Transactional
-  protected void createUser(
+  protected User createUser(
       UserRequestModel userRequestModel, boolean sendEmail, String createdUser, boolean shouldLog) {
     // 1. Check if user email already exists
     if (userRepository.findByLoginName(userRequestModel.getLoginName()) != null) {
-      throw new BadRequestException(
-          ErrorMessages.UserErrorMessages.INVALID_EMAIL + " - Login name (email) already exists");
+      throw new BadRequestException(LOGIN_NAME_EXISTS);
     }
 
-    // 2. Generate password and set security fields
+    // 2. Generate password
     String password = PasswordHelper.getRandomPassword();
+
+    // 3-7. Save the user, address, permissions, groups and client mapping
+    User savedUser = insertUser(userRequestModel, password, createdUser);
+
+    // 8. Upload profile picture if present
+    uploadUserProfilePicture(userRequestModel, savedUser);
+
+    // 9. Send account confirmation email (if requested)
+    if (sendEmail) {
+      sendUserConfirmationEmail(savedUser, password);
+    }
+
+    // 10. Log user creation (skip for bulk operations as they log collectively)
+    if (shouldLog) {
+      userLogService.logData(
+          getUserId(),
+          SuccessMessages.UserSuccessMessages.CREATE_USER + " " + savedUser.getUserId(),
+          ApiRoutes.UserSubRoute.CREATE_USER);
+    }
+    return savedUser;
+  }
+
+  /**
+   * Saves a user with its address, permissions, groups and client mapping.
+   *
+   * @param userRequestModel The user to save
+   * @param password The generated password, stored hashed
+   * @param createdUser The loginName of the user creating this user
+   * @return The saved user
+   */
+  private User insertUser(UserRequestModel userRequestModel, String password, String createdUser) {
+    // Set security fields
     String[] saltAndHash = PasswordHelper.getHashedPasswordAndSalt(password);
     userRequestModel.setSalt(saltAndHash[0]);
     userRequestModel.setPassword(saltAndHash[1]);
     userRequestModel.setApiKey(PasswordHelper.getToken(userRequestModel.getLoginName()));
     userRequestModel.setToken(PasswordHelper.getToken(userRequestModel.getLoginName()));
 
-    // 3. Create and save the user
+    // Create and save the user
     User newUser = new User(userRequestModel, createdUser);
     User savedUser = userRepository.save(newUser);
 
-    // 4. Create address if provided
     createUserAddress(userRequestModel, savedUser, createdUser);
-
-    // 5. Create permission mappings
     createUserPermissions(userRequestModel, savedUser, createdUser);
-
-    // 6. Create user group mappings
     createUserGroups(userRequestModel, savedUser, createdUser);
-
-    // 7. Create user-client mapping
     createUserClientMapping(userRequestModel, savedUser, createdUser);
+    permissionCodeResolver.invalidateAfterCommit(List.of(savedUser.getUserId()));
+    return savedUser;
+  }
 
-    // 8. Upload profile picture if present
-    uploadUserProfilePicture(userRequestModel, savedUser);
+  /**
+   * Inserts a bulk-imported user. Runs inside a bulk insert chunk, so it does not repeat the
+   * checks validateUserForInsert made and does not upload to ImgBB.
+   *
+   * @param userRequestModel The user to insert, already validated
+   * @param profilePicture The picture uploaded to ImgBB for the user, or null
+   * @param createdUser The loginName of the user creating this user
+   * @return The saved user
+   */
+  private User insertImportedUser(
+      UserRequestModel userRequestModel,
+      StoredProfilePicture profilePicture,
+      String createdUser) {
+    User savedUser = insertUser(userRequestModel, PasswordHelper.getRandomPassword(), createdUser);
+    if (profilePicture != null) {
+      savedUser.setProfilePicture(profilePicture.url());
+      savedUser.setProfilePictureDeleteHash(profilePicture.deleteHash());
+      userRepository.save(savedUser);
+    } else {
+      // Firebase pictures are stored under the user ID, so a retried chunk overwrites its own file
+      uploadUserProfilePicture(userRequestModel, savedUser);
+    }
+    return savedUser;
+  }
 
-    // 9. Send account confirmation email (if requested)
-    if (sendEmail) {
-      sendUserConfirmationEmail(savedUser, password);
+  /**
+   * Uploads a bulk-imported user's profile picture to ImgBB before the user is inserted, so a
+   * retried insert chunk does not upload it again.
+   *
+   * @param userRequestModel The user to import
+   * @return The stored picture, or null if the user has none or pictures are not kept on ImgBB
+   * @throws BadRequestException if ImgBB is not configured or the upload fails
+   */
+  private StoredProfilePicture uploadProfilePictureForImport(UserRequestModel userRequestModel) {
+    if (!hasProfilePicture(userRequestModel)
+        || !ImageLocationConstants.IMGBB.equalsIgnoreCase(imageLocation)) {
+      return null;
     }
 
-    // 10. Log user creation (skip for bulk operations as they log collectively)
-    if (shouldLog) {
-      userLogService.logData(
-          getUserId(),
-          SuccessMessages.UserSuccessMessages.CREATE_USER + " " + savedUser.getUserId(),
-          ApiRoutes.UserSubRoute.CREATE_USER);
+    Long clientId = getClientId();
+    ClientResponseModel clientDetails = clientService.getClientById(clientId);
+    String environmentName =
+        environment.getActiveProfiles().length > 0 ? environment.getActiveProfiles()[0] : "default";
+
+    ImgbbHelper imgbbHelper = new ImgbbHelper(getImgbbApiKey(clientId));
+    ImgbbHelper.ImgbbUploadResponse uploadResponse =
+        imgbbHelper.uploadFileToImgbb(
+            userRequestModel.getProfilePictureBase64(),
+            ImgbbHelper.generateCustomFileNameForUserProfile(
+                environmentName, clientDetails.getName(), null));
+    if (uploadResponse == null || uploadResponse.getUrl() == null) {
+      throw new BadRequestException(ErrorMessages.UserErrorMessages.ER010);
+    }
+    return new StoredProfilePicture(
+        imgbbHelper, uploadResponse.getUrl(), uploadResponse.getDeleteHash());
+  }
+
+  /**
+   * Runs the checks createUser applies before writing, without writing anything. Used to validate a
+   * whole bulk import before its first insert.
+   *
+   * @param userRequestModel The user to validate
+   * @param createdUser The loginName of the user creating this user
+   * @param batchLoginNames Login names already accepted earlier in this import
+   * @throws BadRequestException if the user is invalid or the login name is taken
+   */
+  private void validateUserForInsert(
+      UserRequestModel userRequestModel, String createdUser, Set<String> batchLoginNames) {
+    new User(userRequestModel, createdUser);
+    if (!batchLoginNames.add(userRequestModel.getLoginName())
+        || userRepository.findByLoginName(userRequestModel.getLoginName()) != null) {
+      throw new BadRequestException(LOGIN_NAME_EXISTS);
     }
   }
 
@@ -725,9 +851,7 @@ public class UserService extends BaseService implements IUserSubTranslator {
    * @param savedUser The saved user entity
    */
   private void uploadUserProfilePicture(UserRequestModel userRequestModel, User savedUser) {
-    if (userRequestModel.getProfilePictureBase64() == null
-        || userRequestModel.getProfilePictureBase64().isEmpty()
-        || userRequestModel.getProfilePictureBase64().isBlank()) {
+    if (!hasProfilePicture(userRequestModel)) {
       return;
     }
 
@@ -739,22 +863,13 @@ public class UserService extends BaseService implements IUserSubTranslator {
     boolean isSuccess;
 
     if (ImageLocationConstants.IMGBB.equalsIgnoreCase(imageLocation)) {
-      Client client =
-          clientRepository
-              .findById(clientId)
-              .orElseThrow(
-                  () -> new NotFoundException(ErrorMessages.ClientErrorMessages.INVALID_ID));
-
-      if (client.getImgbbApiKey() == null || client.getImgbbApiKey().trim().isEmpty()) {
-        throw new BadRequestException(
-            ErrorMessages.ConfigurationErrorMessages.IMGBB_API_KEY_NOT_CONFIGURED);
-      }
+      String imgbbApiKey = getImgbbApiKey(clientId);
 
       String customFileName =
           ImgbbHelper.generateCustomFileNameForUserProfile(
               environmentName, clientDetails.getName(), savedUser.getUserId());
 
-      ImgbbHelper imgbbHelper = new ImgbbHelper(client.getImgbbApiKey());
+      ImgbbHelper imgbbHelper = new ImgbbHelper(imgbbApiKey);
       ImgbbHelper.ImgbbUploadResponse uploadResponse =
           imgbbHelper.uploadFileToImgbb(userRequestModel.getProfilePictureBase64(), customFileName);
 
@@ -802,6 +917,32 @@ public class UserService extends BaseService implements IUserSubTranslator {
     }
   }
 
+  private static boolean hasProfilePicture(UserRequestModel userRequestModel) {
+    return userRequestModel.getProfilePictureBase64() != null
+        && !userRequestModel.getProfilePictureBase64().isBlank();
+  }
+
+  /**
+   * Gets the client's ImgBB API key.
+   *
+   * @param clientId The client ID
+   * @return The API key
+   * @throws NotFoundException if the client does not exist
+   * @throws BadRequestException if the client has no ImgBB API key
+   */
+  private String getImgbbApiKey(Long clientId) {
+    Client client =
+        clientRepository
+            .findById(clientId)
+            .orElseThrow(() -> new NotFoundException(ErrorMessages.ClientErrorMessages.INVALID_ID));
+
+    if (client.getImgbbApiKey() == null || client.getImgbbApiKey().trim().isEmpty()) {
+      throw new BadRequestException(
+          ErrorMessages.ConfigurationErrorMessages.IMGBB_API_KEY_NOT_CONFIGURED);
+    }
+    return client.getImgbbApiKey();
+  }
+
   /**
    * Sends confirmation email to newly created user.
    *
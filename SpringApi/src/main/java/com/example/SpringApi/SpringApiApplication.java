@@ -7,6 +7,7 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @SpringBootApplication
@@ -41,6 +42,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
     })
 @EntityScan(basePackages = {"com.example.SpringApi.Models.DatabaseModels"})
 @EnableAsync
+@EnableScheduling
 public class SpringApiApplication {
   public static void main(String[] args) {
     SpringApplication.run(SpringApiApplication.class, args);
@@ -4,20 +4,27 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.example.SpringApi.ErrorMessages;
+import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.FilterQueryBuilder.BaseFilterQueryBuilder.QueryResult;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.FilterCondition;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 @DisplayName("BaseFilterQueryBuilder Tests")
 class BaseFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
 
-  // Total Tests: 20
+  // Total Tests: 26
 
   private final BaseFilterQueryBuilder queryBuilder = new TestableFilterQueryBuilder();
 
@@ -414,8 +421,154 @@ class BaseFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
     assertNull(nullResult.getWhereClause());
   }
 
+  /**
+   * Purpose: Verify a repeated filter shape reuses the compiled clause but binds fresh values.
+   * Expected Result: Identical where clause instance, parameters from the second call only.
+   * Assertions: Clause identity and bound parameter values.
+   */
+  @Test
+  @DisplayName("buildFilterConditions - Same Shape Reuses Compiled Plan - Success")
+  void buildFilterConditions_s21_sameShapeReusesCompiledPlan_success() {
+    // Arrange
+    List<FilterCondition> first =
+        List.of(createFilter("name", "startsWith", "Al"), createFilter("age", ">", "30"));
+    List<FilterCondition> second =
+        List.of(createFilter("name", "startsWith", "Be"), createFilter("age", ">", "41"));
+
+    // Act
+    QueryResult firstResult = queryBuilder.buildFilterConditions(first, "AND");
+    QueryResult secondResult = queryBuilder.buildFilterConditions(second, "AND");
+
+    // Assert
+    assertSame(firstResult.getWhereClause(), secondResult.getWhereClause());
+    assertEquals("Be%", secondResult.getParameters().get("param0"));
+    assertEquals(41L, secondResult.getParameters().get("param1"));
+    assertEquals("Al%", firstResult.getParameters().get("param0"));
+  }
+
+  /**
+   * Purpose: Verify containsOneOf with a different number of terms compiles a new clause. Expected
+   * Result: One LIKE per term for each call. Assertions: Clause text and parameter count.
+   */
+  @Test
+  @DisplayName("buildFilterConditions - ContainsOneOf Term Count Changes Clause - Success")
+  void buildFilterConditions_s22_containsOneOfTermCountChangesClause_success() {
+    // Arrange
+    List<FilterCondition> twoTerms = List.of(createFilter("name", "containsOneOf", "a;b"));
+    List<FilterCondition> oneTerm = List.of(createFilter("name", "containsOneOf", "c; "));
+
+    // Act
+    QueryResult twoResult = queryBuilder.buildFilterConditions(twoTerms, "AND");
+    QueryResult oneResult = queryBuilder.buildFilterConditions(oneTerm, "AND");
+
+    // Assert
+    assertEquals(
+        "(LOWER(e.name) LIKE LOWER(:param0_0) OR LOWER(e.name) LIKE LOWER(:param0_1))",
+        twoResult.getWhereClause());
+    assertEquals("(LOWER(e.name) LIKE LOWER(:param0_0))", oneResult.getWhereClause());
+    assertEquals(Map.of("param0_0", "%c%"), oneResult.getParameters());
+  }
+
+  /**
+   * Purpose: Verify getColumnType resolves from the subclass column lists. Expected Result: Each
+   * configured column maps to its type and unknown columns are strings. Assertions: Returned type
+   * strings.
+   */
+  @Test
+  @DisplayName("getColumnType - Resolves From Column Lists - Success")
+  void getColumnType_s23_resolvesFromColumnLists_success() {
+    // Arrange
+
+    // Act & Assert
+    assertEquals("date", queryBuilder.getColumnType("createdAt"));
+    assertEquals("boolean", queryBuilder.getColumnType("isDeleted"));
+    assertEquals("number", queryBuilder.getColumnType("price"));
+    assertEquals("string", queryBuilder.getColumnType("name"));
+  }
+
+  /**
+   * Purpose: Verify keyset cursors round-trip and next() only emits a cursor for full pages.
+   * Expected Result: Decoded values match, short pages have no next cursor. Assertions: Cursor
+   * fields and next-cursor presence.
+   */
+  @Test
+  @DisplayName("KeysetCursor - Round Trip And Next Page - Success")
+  void keysetCursor_s24_roundTripAndNextPage_success() {
+    // Arrange
+    LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+    // Act
+    KeysetCursor idOnly = KeysetCursor.decode(KeysetCursor.of(42L).encode());
+    KeysetCursor withSortKey = KeysetCursor.decode(KeysetCursor.of(createdAt, 7L).encode());
+    String fullPageCursor =
+        KeysetCursor.next(
+            new PageImpl<>(List.of(9L, 8L), PageRequest.of(0, 2), 10), KeysetCursor::of);
+    String shortPageCursor =
+        KeysetCursor.next(new PageImpl<>(List.of(3L), PageRequest.of(0, 2), 10), KeysetCursor::of);
+
+    // Assert
+    assertEquals(42L, idOnly.getLastId());
+    assertNull(idOnly.getLastSortKey());
+    assertEquals(7L, withSortKey.getLastId());
+    assertEquals(createdAt, withSortKey.getLastSortKeyAsDateTime());
+    assertEquals(8L, KeysetCursor.decode(fullPageCursor).getLastId());
+    assertNull(shortPageCursor);
+    assertNull(KeysetCursor.decode(" "));
+  }
+
+  /**
+   * Purpose: Verify a tampered cursor is rejected. Expected Result: BadRequestException with the
+   * invalid cursor message. Assertions: Exception type and message.
+   */
+  @Test
+  @DisplayName("KeysetCursor - Malformed Cursor - Throws BadRequestException")
+  void keysetCursor_s25_malformedCursor_throwsBadRequestException() {
+    // Arrange
+    String malformed = "not-a-cursor!";
+
+    // Act
+    BadRequestException exception =
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(malformed));
+
+    // Assert
+    assertEquals(ErrorMessages.CommonErrorMessages.INVALID_CURSOR, exception.getMessage());
+  }
+
+  /**
+   * Purpose: Verify countMode parsing and the hasMore signal used when the count is skipped.
+   * Expected Result: Known modes parse case-insensitively, blank defaults to EXACT, unknown values
+   * are rejected; an uncounted page reports -1 and its look-ahead flag. Assertions: Parsed modes,
+   * error message, total and hasMore values.
+   */
+  @Test
+  @DisplayName("CountMode - Parse And Uncounted Page - Success")
+  void countMode_s26_parseAndUncountedPage_success() {
+    // Arrange
+    GridPage<Long> uncounted = new GridPage<>(List.of(5L, 4L), PageRequest.of(0, 2), -1, true);
+    GridPage<Long> lastUncounted = new GridPage<>(List.of(3L, 2L), PageRequest.of(0, 2), -1, false);
+
+    // Act
+    BadRequestException exception =
+        assertThrows(BadRequestException.class, () -> CountMode.fromValue("approximate"));
+
+    // Assert
+    assertEquals(CountMode.EXACT, CountMode.fromValue(null));
+    assertEquals(CountMode.EXACT, CountMode.fromValue(" "));
+    assertEquals(CountMode.CACHED, CountMode.fromValue("cached"));
+    assertEquals(CountMode.NONE, CountMode.fromValue("NONE"));
+    assertEquals(ErrorMessages.CommonErrorMessages.INVALID_COUNT_MODE, exception.getMessage());
+    assertEquals(-1, uncounted.getTotalElements());
+    assertTrue(GridPage.hasMoreOf(uncounted));
+    assertFalse(GridPage.hasMoreOf(lastUncounted));
+    assertNull(KeysetCursor.next(lastUncounted, KeysetCursor::of));
+  }
+
   private static final class TestableFilterQueryBuilder extends BaseFilterQueryBuilder {
 
+    private TestableFilterQueryBuilder() {
+      super(new GridCountCache(GridCountCache.DEFAULT_TTL_SECONDS));
+    }
+
     @Override
     protected String mapColumnToField(String column) {
       return "e." + column;
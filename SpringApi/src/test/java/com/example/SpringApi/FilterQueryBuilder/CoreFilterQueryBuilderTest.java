@@ -1,7 +1,11 @@
 package com.example.SpringApi.FilterQueryBuilder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.example.SpringApi.Models.DatabaseModels.Lead;
 import com.example.SpringApi.Models.DatabaseModels.PickupLocation;
@@ -12,15 +16,17 @@ import com.example.SpringApi.Models.DatabaseModels.User;
 import com.example.SpringApi.Models.DatabaseModels.UserGroup;
 import com.example.SpringApi.Models.DatabaseModels.UserLog;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.FilterCondition;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 
 @DisplayName("Core Filter Query Builder Tests")
 class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
 
-  // Total Tests: 8
+  // Total Tests: 12
 
   /**
    * Purpose: Verify lead query builder builds correct type mapping and paginated query clauses.
@@ -31,7 +37,7 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("leadFilterQueryBuilder - Query Generation - Success")
   void leadFilterQueryBuilder_s01_queryGeneration_success() {
     // Arrange
-    LeadFilterQueryBuilder builder = new LeadFilterQueryBuilder(entityManager);
+    LeadFilterQueryBuilder builder = new LeadFilterQueryBuilder(entityManager, gridCountCache);
     Lead lead = new Lead();
     lead.setLeadId(11L);
     QueryFixture<Lead> fixture = stubPagedQueries(Lead.class, List.of(lead), 21L);
@@ -63,7 +69,7 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("promoFilterQueryBuilder - SelectedIds And Filters - Success")
   void promoFilterQueryBuilder_s02_selectedIdsAndFilters_success() {
     // Arrange
-    PromoFilterQueryBuilder builder = new PromoFilterQueryBuilder(entityManager);
+    PromoFilterQueryBuilder builder = new PromoFilterQueryBuilder(entityManager, gridCountCache);
     Promo promo = new Promo();
     promo.setPromoId(19L);
     QueryFixture<Promo> fixture = stubPagedQueries(Promo.class, List.of(promo), 21L);
@@ -93,7 +99,8 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("productReviewFilterQueryBuilder - Product Scope And Filters - Success")
   void productReviewFilterQueryBuilder_s03_productScopeAndFilters_success() {
     // Arrange
-    ProductReviewFilterQueryBuilder builder = new ProductReviewFilterQueryBuilder(entityManager);
+    ProductReviewFilterQueryBuilder builder =
+        new ProductReviewFilterQueryBuilder(entityManager, gridCountCache);
     ProductReview review = new ProductReview();
     review.setReviewId(55L);
     QueryFixture<ProductReview> fixture =
@@ -125,10 +132,12 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("shipmentFilterQueryBuilder - ShipRocket Eligibility Filter - Success")
   void shipmentFilterQueryBuilder_s04_shipRocketEligibilityFilter_success() {
     // Arrange
-    ShipmentFilterQueryBuilder builder = new ShipmentFilterQueryBuilder(entityManager);
+    ShipmentFilterQueryBuilder builder =
+        new ShipmentFilterQueryBuilder(entityManager, gridCountCache);
     Shipment shipment = new Shipment();
     shipment.setShipmentId(10L);
-    QueryFixture<Shipment> fixture = stubPagedQueries(Shipment.class, List.of(shipment), 21L);
+    QueryFixture<Shipment> fixture =
+        stubTwoPhaseQueries(Shipment.class, List.of(shipment), 21L, Shipment::getShipmentId);
     List<FilterCondition> filters =
         List.of(createFilter("shipRocketStatus", "contains", "TRANSIT"));
 
@@ -142,8 +151,10 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
     assertEquals("date", builder.getColumnType("createdAt"));
     assertEquals(1, page.getContent().size());
     assertEquals(21L, page.getTotalElements());
-    assertTrue(fixture.getMainQueryString().contains("s.shipRocketOrderId IS NOT NULL"));
-    assertTrue(fixture.getMainQueryString().contains("s.shipmentId IN :selectedIds"));
+    assertTrue(fixture.getIdQueryString().contains("s.shipRocketOrderId IS NOT NULL"));
+    assertTrue(fixture.getIdQueryString().contains("s.shipmentId IN :selectedIds"));
+    assertTrue(fixture.getMainQueryString().contains("LEFT JOIN FETCH s.shipmentProducts sp"));
+    assertTrue(fixture.getMainQueryString().contains("WHERE s.shipmentId IN :shipmentIds"));
     assertTrue(
         fixture.getCountQueryString().contains("LOWER(s.shipRocketStatus) LIKE LOWER(:param0)"));
   }
@@ -157,7 +168,7 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("userFilterQueryBuilder - Joins And Selection Constraints - Success")
   void userFilterQueryBuilder_s05_joinsAndSelectionConstraints_success() {
     // Arrange
-    UserFilterQueryBuilder builder = new UserFilterQueryBuilder(entityManager);
+    UserFilterQueryBuilder builder = new UserFilterQueryBuilder(entityManager, gridCountCache);
     User user = new User();
     user.setUserId(5L);
     QueryFixture<User> fixture = stubPagedQueries(User.class, List.of(user), 30L);
@@ -188,7 +199,8 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("userGroupFilterQueryBuilder - Group Filters And Paging - Success")
   void userGroupFilterQueryBuilder_s06_groupFiltersAndPaging_success() {
     // Arrange
-    UserGroupFilterQueryBuilder builder = new UserGroupFilterQueryBuilder(entityManager);
+    UserGroupFilterQueryBuilder builder =
+        new UserGroupFilterQueryBuilder(entityManager, gridCountCache);
     UserGroup group = new UserGroup();
     group.setGroupId(32L);
     QueryFixture<UserGroup> fixture = stubPagedQueries(UserGroup.class, List.of(group), 21L);
@@ -218,7 +230,8 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("userLogFilterQueryBuilder - User Scope And Filters - Success")
   void userLogFilterQueryBuilder_s07_userScopeAndFilters_success() {
     // Arrange
-    UserLogFilterQueryBuilder builder = new UserLogFilterQueryBuilder(entityManager);
+    UserLogFilterQueryBuilder builder =
+        new UserLogFilterQueryBuilder(entityManager, gridCountCache);
     UserLog log = new UserLog();
     log.setLogId(900L);
     QueryFixture<UserLog> fixture = stubPagedQueries(UserLog.class, List.of(log), 60L);
@@ -249,7 +262,8 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("pickupLocationFilterQueryBuilder - Address Join And Filters - Success")
   void pickupLocationFilterQueryBuilder_s08_addressJoinAndFilters_success() {
     // Arrange
-    PickupLocationFilterQueryBuilder builder = new PickupLocationFilterQueryBuilder(entityManager);
+    PickupLocationFilterQueryBuilder builder =
+        new PickupLocationFilterQueryBuilder(entityManager, gridCountCache);
     PickupLocation pickupLocation = new PickupLocation();
     pickupLocation.setPickupLocationId(501L);
     QueryFixture<PickupLocation> fixture =
@@ -273,4 +287,124 @@ class CoreFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
     assertTrue(
         fixture.getCountQueryString().contains("LOWER(pl.addressNickName) LIKE LOWER(:param0)"));
   }
+
+  /**
+   * Purpose: Verify a keyset cursor turns the user log page into a seek instead of an offset.
+   * Expected Result: Main query seeks below the last log ID from offset 0; the count query is
+   * unchanged. Assertions: Query fragments and bound cursor parameter.
+   */
+  @Test
+  @DisplayName("userLogFilterQueryBuilder - Keyset Cursor Seeks Past Last Row - Success")
+  void userLogFilterQueryBuilder_s09_keysetCursorSeeksPastLastRow_success() {
+    // Arrange
+    UserLogFilterQueryBuilder builder =
+        new UserLogFilterQueryBuilder(entityManager, gridCountCache);
+    QueryFixture<UserLog> fixture = stubPagedQueries(UserLog.class, List.of(new UserLog()), 60L);
+    KeysetPageRequest pageable =
+        new KeysetPageRequest(5000, 50, Sort.by("logId").descending(), KeysetCursor.of(4321L));
+
+    // Act
+    builder.findPaginatedEntitiesWithMultipleFilters(77L, 1L, "AND", List.of(), pageable);
+
+    // Assert
+    assertTrue(
+        fixture.getMainQueryString().contains("AND ul.logId < :lastId ORDER BY ul.logId DESC"));
+    assertFalse(fixture.getCountQueryString().contains(":lastId"));
+    verify(fixture.getMainQuery()).setParameter("lastId", 4321L);
+    verify(fixture.getMainQuery()).setFirstResult(0);
+    verify(fixture.getCountQuery(), never()).setParameter("lastId", 4321L);
+  }
+
+  /**
+   * Purpose: Verify shipment seek uses createdAt with shipmentId as tie-breaker. Expected Result:
+   * Expanded row-value comparison and a deterministic order. Assertions: Query fragments and bound
+   * cursor parameters.
+   */
+  @Test
+  @DisplayName("shipmentFilterQueryBuilder - Keyset Cursor On CreatedAt - Success")
+  void shipmentFilterQueryBuilder_s10_keysetCursorOnCreatedAt_success() {
+    // Arrange
+    ShipmentFilterQueryBuilder builder =
+        new ShipmentFilterQueryBuilder(entityManager, gridCountCache);
+    Shipment shipment = new Shipment();
+    shipment.setShipmentId(87L);
+    QueryFixture<Shipment> fixture =
+        stubTwoPhaseQueries(Shipment.class, List.of(shipment), 21L, Shipment::getShipmentId);
+    LocalDateTime lastCreatedAt = LocalDateTime.of(2024, 5, 1, 10, 30);
+    KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of(lastCreatedAt, 88L).encode());
+    KeysetPageRequest pageable =
+        new KeysetPageRequest(100, 10, Sort.by("createdAt").descending(), cursor);
+
+    // Act
+    builder.findPaginatedEntitiesWithMultipleFilters(1L, null, "AND", List.of(), pageable);
+
+    // Assert
+    assertTrue(
+        fixture
+            .getIdQueryString()
+            .contains(
+                "AND (s.createdAt < :lastSortKey OR (s.createdAt = :lastSortKey AND s.shipmentId < :lastId))"));
+    assertTrue(fixture.getIdQueryString().contains("ORDER BY s.createdAt DESC, s.shipmentId DESC"));
+    verify(fixture.getIdQuery()).setParameter("lastSortKey", lastCreatedAt);
+    verify(fixture.getIdQuery()).setParameter("lastId", 88L);
+    verify(fixture.getIdQuery()).setFirstResult(0);
+  }
+
+  /**
+   * Purpose: Verify count mode NONE skips the count query and detects more rows with one
+   * look-ahead row. Expected Result: pageSize + 1 rows requested, page trimmed to pageSize, total
+   * -1 and hasMore true. Assertions: Max results, page content, total, hasMore and count calls.
+   */
+  @Test
+  @DisplayName("userLogFilterQueryBuilder - Count Mode None Uses Look-Ahead Row - Success")
+  void userLogFilterQueryBuilder_s11_countModeNoneUsesLookAheadRow_success() {
+    // Arrange
+    UserLogFilterQueryBuilder builder =
+        new UserLogFilterQueryBuilder(entityManager, gridCountCache);
+    QueryFixture<UserLog> fixture =
+        stubPagedQueries(UserLog.class, List.of(new UserLog(), new UserLog(), new UserLog()), 60L);
+    KeysetPageRequest pageable =
+        new KeysetPageRequest(0, 2, Sort.by("logId").descending(), null, CountMode.NONE);
+
+    // Act
+    Page<UserLog> page =
+        builder.findPaginatedEntitiesWithMultipleFilters(77L, 1L, "AND", List.of(), pageable);
+
+    // Assert
+    verify(fixture.getMainQuery()).setMaxResults(3);
+    verify(fixture.getCountQuery(), never()).getSingleResult();
+    assertEquals(2, page.getContent().size());
+    assertEquals(-1L, page.getTotalElements());
+    assertTrue(GridPage.hasMoreOf(page));
+  }
+
+  /**
+   * Purpose: Verify count mode CACHED reuses a count until the entity is written. Expected Result:
+   * The second identical request is served from the cache; after invalidation the count runs
+   * again. Assertions: Totals and number of count query executions.
+   */
+  @Test
+  @DisplayName("userLogFilterQueryBuilder - Count Mode Cached Until Invalidated - Success")
+  void userLogFilterQueryBuilder_s12_countModeCachedUntilInvalidated_success() {
+    // Arrange
+    UserLogFilterQueryBuilder builder =
+        new UserLogFilterQueryBuilder(entityManager, gridCountCache);
+    QueryFixture<UserLog> fixture = stubPagedQueries(UserLog.class, List.of(new UserLog()), 60L);
+    KeysetPageRequest pageable =
+        new KeysetPageRequest(0, 50, Sort.by("logId").descending(), null, CountMode.CACHED);
+
+    // Act
+    Page<UserLog> first =
+        builder.findPaginatedEntitiesWithMultipleFilters(77L, 1L, "AND", List.of(), pageable);
+    Page<UserLog> second =
+        builder.findPaginatedEntitiesWithMultipleFilters(77L, 1L, "AND", List.of(), pageable);
+    gridCountCache.invalidate(UserLog.class);
+    builder.findPaginatedEntitiesWithMultipleFilters(77L, 1L, "AND", List.of(), pageable);
+
+    // Assert
+    assertEquals(60L, first.getTotalElements());
+    assertEquals(60L, second.getTotalElements());
+    assertFalse(GridPage.hasMoreOf(second));
+    verify(fixture.getCountQuery(), times(2)).getSingleResult();
+  }
 }
@@ -4,6 +4,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -16,6 +17,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -27,6 +29,9 @@ abstract class FilterQueryBuilderTestBase {
 
   @Mock protected EntityManager entityManager;
 
+  protected final GridCountCache gridCountCache =
+      new GridCountCache(GridCountCache.DEFAULT_TTL_SECONDS);
+
   protected FilterCondition createFilter(String column, String operator, Object value) {
     FilterCondition filterCondition = new FilterCondition();
     filterCondition.setColumn(column);
@@ -66,12 +71,77 @@ abstract class FilterQueryBuilderTestBase {
     when(mainQuery.setFirstResult(anyInt())).thenReturn(mainQuery);
     when(mainQuery.setMaxResults(anyInt())).thenReturn(mainQuery);
 
-    when(countQuery.getSingleResult()).thenReturn(totalCount);
+    // The count is skipped when the page request's count mode is NONE
+    lenient().when(countQuery.getSingleResult()).thenReturn(totalCount);
     when(mainQuery.getResultList()).thenReturn(resultList);
 
     return new QueryFixture<>(countQuery, mainQuery, capturedCountQuery, capturedMainQuery);
   }
 
+  /**
+   * Stubs the count, paged ID and fetch-by-IDs queries issued by builders that page in two phases.
+   * The ID query returns the IDs of {@code resultList}; the fetch query returns {@code resultList}.
+   */
+  protected <T> QueryFixture<T> stubTwoPhaseQueries(
+      Class<T> entityClass, List<T> resultList, long totalCount, Function<T, Long> idOf) {
+    TypedQuery<Long> countQuery = mock(TypedQuery.class);
+    TypedQuery<T> mainQuery = mock(TypedQuery.class);
+
+    AtomicReference<String> capturedCountQuery = new AtomicReference<>();
+    AtomicReference<String> capturedIdQuery = new AtomicReference<>();
+    AtomicReference<String> capturedMainQuery = new AtomicReference<>();
+
+    TypedQuery<Long> idQuery =
+        stubCountAndIdQueries(
+            countQuery,
+            resultList.stream().map(idOf).distinct().toList(),
+            capturedCountQuery,
+            capturedIdQuery);
+
+    when(countQuery.setParameter(anyString(), any())).thenReturn(countQuery);
+    when(countQuery.getSingleResult()).thenReturn(totalCount);
+
+    // The fetch query is skipped when the ID page is empty
+    lenient()
+        .when(entityManager.createQuery(anyString(), eq(entityClass)))
+        .thenAnswer(
+            invocation -> {
+              capturedMainQuery.set(invocation.getArgument(0, String.class));
+              return mainQuery;
+            });
+    lenient().when(mainQuery.setParameter(anyString(), any())).thenReturn(mainQuery);
+    lenient().when(mainQuery.getResultList()).thenReturn(resultList);
+
+    return new QueryFixture<>(
+        countQuery, idQuery, mainQuery, capturedCountQuery, capturedIdQuery, capturedMainQuery);
+  }
+
+  private TypedQuery<Long> stubCountAndIdQueries(
+      TypedQuery<Long> countQuery,
+      List<Long> ids,
+      AtomicReference<String> capturedCountQuery,
+      AtomicReference<String> capturedIdQuery) {
+    TypedQuery<Long> idQuery = mock(TypedQuery.class);
+
+    when(entityManager.createQuery(anyString(), eq(Long.class)))
+        .thenAnswer(
+            invocation -> {
+              String query = invocation.getArgument(0, String.class);
+              if (query.startsWith("SELECT COUNT")) {
+                capturedCountQuery.set(query);
+                return countQuery;
+              }
+              capturedIdQuery.set(query);
+              return idQuery;
+            });
+
+    when(idQuery.setParameter(anyString(), any())).thenReturn(idQuery);
+    when(idQuery.setFirstResult(anyInt())).thenReturn(idQuery);
+    when(idQuery.setMaxResults(anyInt())).thenReturn(idQuery);
+    when(idQuery.getResultList()).thenReturn(ids);
+    return idQuery;
+  }
+
   protected PurchaseOrderDetailsQueryFixture stubPurchaseOrderDetailsQueries(
       List<PurchaseOrder> purchaseOrders,
       long totalCount,
@@ -85,17 +155,18 @@ abstract class FilterQueryBuilderTestBase {
     TypedQuery<Payment> paymentsQuery = mock(TypedQuery.class);
 
     AtomicReference<String> capturedCountQuery = new AtomicReference<>();
+    AtomicReference<String> capturedIdQuery = new AtomicReference<>();
     AtomicReference<String> capturedMainQuery = new AtomicReference<>();
     AtomicReference<String> capturedShipmentPackageQuery = new AtomicReference<>();
     AtomicReference<String> capturedResourcesQuery = new AtomicReference<>();
     AtomicReference<String> capturedPaymentsQuery = new AtomicReference<>();
 
-    when(entityManager.createQuery(anyString(), eq(Long.class)))
-        .thenAnswer(
-            invocation -> {
-              capturedCountQuery.set(invocation.getArgument(0, String.class));
-              return countQuery;
-            });
+    TypedQuery<Long> idQuery =
+        stubCountAndIdQueries(
+            countQuery,
+            purchaseOrders.stream().map(PurchaseOrder::getPurchaseOrderId).distinct().toList(),
+            capturedCountQuery,
+            capturedIdQuery);
 
     when(entityManager.createQuery(anyString(), eq(PurchaseOrder.class)))
         .thenAnswer(
@@ -127,8 +198,6 @@ abstract class FilterQueryBuilderTestBase {
 
     when(countQuery.setParameter(anyString(), any())).thenReturn(countQuery);
     when(mainQuery.setParameter(anyString(), any())).thenReturn(mainQuery);
-    when(mainQuery.setFirstResult(anyInt())).thenReturn(mainQuery);
-    when(mainQuery.setMaxResults(anyInt())).thenReturn(mainQuery);
     when(shipmentPackageQuery.setParameter(anyString(), any())).thenReturn(shipmentPackageQuery);
     when(resourcesQuery.setParameter(anyString(), any())).thenReturn(resourcesQuery);
     when(paymentsQuery.setParameter(anyString(), any())).thenReturn(paymentsQuery);
@@ -141,6 +210,7 @@ abstract class FilterQueryBuilderTestBase {
 
     return new PurchaseOrderDetailsQueryFixture(
         capturedCountQuery,
+        capturedIdQuery,
         capturedMainQuery,
         capturedShipmentPackageQuery,
         capturedResourcesQuery,
@@ -149,8 +219,10 @@ abstract class FilterQueryBuilderTestBase {
 
   protected static final class QueryFixture<T> {
     private final TypedQuery<Long> countQuery;
+    private final TypedQuery<Long> idQuery;
     private final TypedQuery<T> mainQuery;
     private final AtomicReference<String> countQueryString;
+    private final AtomicReference<String> idQueryString;
     private final AtomicReference<String> mainQueryString;
 
     QueryFixture(
@@ -158,12 +230,32 @@ abstract class FilterQueryBuilderTestBase {
         TypedQuery<T> mainQuery,
         AtomicReference<String> countQueryString,
         AtomicReference<String> mainQueryString) {
+      this(countQuery, null, mainQuery, countQueryString, new AtomicReference<>(), mainQueryString);
+    }
+
+    QueryFixture(
+        TypedQuery<Long> countQuery,
+        TypedQuery<Long> idQuery,
+        TypedQuery<T> mainQuery,
+        AtomicReference<String> countQueryString,
+        AtomicReference<String> idQueryString,
+        AtomicReference<String> mainQueryString) {
       this.countQuery = countQuery;
+      this.idQuery = idQuery;
       this.mainQuery = mainQuery;
       this.countQueryString = countQueryString;
+      this.idQueryString = idQueryString;
       this.mainQueryString = mainQueryString;
     }
 
+    public TypedQuery<Long> getIdQuery() {
+      return idQuery;
+    }
+
+    public String getIdQueryString() {
+      return idQueryString.get();
+    }
+
     public TypedQuery<Long> getCountQuery() {
       return countQuery;
     }
@@ -183,6 +275,7 @@ abstract class FilterQueryBuilderTestBase {
 
   protected static final class PurchaseOrderDetailsQueryFixture {
     private final AtomicReference<String> countQueryString;
+    private final AtomicReference<String> idQueryString;
     private final AtomicReference<String> mainQueryString;
     private final AtomicReference<String> shipmentPackageQueryString;
     private final AtomicReference<String> resourcesQueryString;
@@ -190,11 +283,13 @@ abstract class FilterQueryBuilderTestBase {
 
     PurchaseOrderDetailsQueryFixture(
         AtomicReference<String> countQueryString,
+        AtomicReference<String> idQueryString,
         AtomicReference<String> mainQueryString,
         AtomicReference<String> shipmentPackageQueryString,
         AtomicReference<String> resourcesQueryString,
         AtomicReference<String> paymentsQueryString) {
       this.countQueryString = countQueryString;
+      this.idQueryString = idQueryString;
       this.mainQueryString = mainQueryString;
       this.shipmentPackageQueryString = shipmentPackageQueryString;
       this.resourcesQueryString = resourcesQueryString;
@@ -209,6 +304,10 @@ abstract class FilterQueryBuilderTestBase {
       return mainQueryString.get();
     }
 
+    public String getIdQueryString() {
+      return idQueryString.get();
+    }
+
     public String getShipmentPackageQueryString() {
       return shipmentPackageQueryString.get();
     }
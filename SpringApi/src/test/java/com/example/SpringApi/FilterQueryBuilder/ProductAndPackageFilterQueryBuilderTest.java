@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
 
 import com.example.SpringApi.Models.DatabaseModels.Product;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.FilterCondition;
@@ -26,10 +27,12 @@ class ProductAndPackageFilterQueryBuilderTest extends FilterQueryBuilderTestBase
   @DisplayName("productFilterQueryBuilder - Pickup Equals Valid Uses Inner Join - Success")
   void productFilterQueryBuilder_s01_pickupEqualsValidUsesInnerJoin_success() {
     // Arrange
-    ProductFilterQueryBuilder builder = new ProductFilterQueryBuilder(entityManager);
+    ProductFilterQueryBuilder builder =
+        new ProductFilterQueryBuilder(entityManager, gridCountCache);
     Product product = new Product();
     product.setProductId(1L);
-    QueryFixture<Product> fixture = stubPagedQueries(Product.class, List.of(product), 21L);
+    QueryFixture<Product> fixture =
+        stubTwoPhaseQueries(Product.class, List.of(product), 21L, Product::getProductId);
     List<FilterCondition> filters =
         List.of(
             createFilter("pickupLocationId", "equals", "7"),
@@ -49,8 +52,13 @@ class ProductAndPackageFilterQueryBuilderTest extends FilterQueryBuilderTestBase
         fixture
             .getMainQueryString()
             .contains("INNER JOIN FETCH p.productPickupLocationMappings pplm"));
-    assertTrue(fixture.getMainQueryString().contains("AND p.productId IN :selectedIds"));
-    assertTrue(fixture.getMainQueryString().contains("AND p.isDeleted = false"));
+    assertTrue(fixture.getMainQueryString().contains("WHERE p.productId IN :productIds"));
+    assertTrue(
+        fixture.getMainQueryString().contains("AND pplm.pickupLocationId = :pickupLocationId"));
+    assertTrue(fixture.getIdQueryString().contains("AND p.productId IN :selectedIds"));
+    assertTrue(fixture.getIdQueryString().contains("AND p.isDeleted = false"));
+    assertTrue(fixture.getIdQueryString().contains("ORDER BY p.productId DESC"));
+    verify(fixture.getIdQuery()).setMaxResults(10);
     assertTrue(
         fixture.getCountQueryString().contains("INNER JOIN p.productPickupLocationMappings pplm"));
     assertTrue(fixture.getCountQueryString().contains("LOWER(p.title) LIKE LOWER(:param1)"));
@@ -59,14 +67,17 @@ class ProductAndPackageFilterQueryBuilderTest extends FilterQueryBuilderTestBase
   /**
    * Purpose: Verify product query builder falls back to LEFT JOIN path when pickupLocationId equals
    * filter is non-numeric. Expected Result: Pickup filter still applies, but join strategy remains
-   * LEFT JOIN. Assertions: Main and count query join fragments.
+   * LEFT JOIN, and an empty ID page skips the fetch query. Assertions: ID and count query join
+   * fragments.
    */
   @Test
   @DisplayName("productFilterQueryBuilder - Pickup Equals Invalid Uses Left Join - Success")
   void productFilterQueryBuilder_s02_pickupEqualsInvalidUsesLeftJoin_success() {
     // Arrange
-    ProductFilterQueryBuilder builder = new ProductFilterQueryBuilder(entityManager);
-    QueryFixture<Product> fixture = stubPagedQueries(Product.class, List.of(), 0L);
+    ProductFilterQueryBuilder builder =
+        new ProductFilterQueryBuilder(entityManager, gridCountCache);
+    QueryFixture<Product> fixture =
+        stubTwoPhaseQueries(Product.class, List.of(), 0L, Product::getProductId);
     List<FilterCondition> filters =
         List.of(createFilter("pickupLocationId", "equals", "invalid-id"));
 
@@ -79,12 +90,11 @@ class ProductAndPackageFilterQueryBuilderTest extends FilterQueryBuilderTestBase
     assertEquals(0, page.getContent().size());
     assertEquals(0L, page.getTotalElements());
     assertTrue(
-        fixture
-            .getMainQueryString()
-            .contains("LEFT JOIN FETCH p.productPickupLocationMappings pplm"));
+        fixture.getIdQueryString().contains("LEFT JOIN p.productPickupLocationMappings pplm"));
     assertTrue(
         fixture.getCountQueryString().contains("LEFT JOIN p.productPickupLocationMappings pplm"));
-    assertTrue(fixture.getMainQueryString().contains("pplm.pickupLocationId = :param0"));
+    assertTrue(fixture.getIdQueryString().contains("pplm.pickupLocationId = :param0"));
+    assertNull(fixture.getMainQueryString());
   }
 
   /**
@@ -96,8 +106,10 @@ class ProductAndPackageFilterQueryBuilderTest extends FilterQueryBuilderTestBase
   @DisplayName("productFilterQueryBuilder - No Pickup Filter Skips Count Join - Success")
   void productFilterQueryBuilder_s03_noPickupFilterSkipsCountJoin_success() {
     // Arrange
-    ProductFilterQueryBuilder builder = new ProductFilterQueryBuilder(entityManager);
-    QueryFixture<Product> fixture = stubPagedQueries(Product.class, List.of(), 0L);
+    ProductFilterQueryBuilder builder =
+        new ProductFilterQueryBuilder(entityManager, gridCountCache);
+    QueryFixture<Product> fixture =
+        stubTwoPhaseQueries(Product.class, List.of(), 0L, Product::getProductId);
     List<FilterCondition> filters = List.of(createFilter("brand", "contains", "Acme"));
 
     // Act
@@ -106,8 +118,8 @@ class ProductAndPackageFilterQueryBuilderTest extends FilterQueryBuilderTestBase
 
     // Assert
     assertFalse(fixture.getCountQueryString().contains("productPickupLocationMappings"));
-    assertFalse(fixture.getMainQueryString().contains("AND p.isDeleted = false"));
-    assertTrue(fixture.getMainQueryString().contains("LOWER(p.brand) LIKE LOWER(:param0)"));
+    assertFalse(fixture.getIdQueryString().contains("AND p.isDeleted = false"));
+    assertTrue(fixture.getIdQueryString().contains("LOWER(p.brand) LIKE LOWER(:param0)"));
   }
 
   /**
@@ -120,7 +132,8 @@ class ProductAndPackageFilterQueryBuilderTest extends FilterQueryBuilderTestBase
   @DisplayName("packageFilterQueryBuilder - Pickup Equals Valid Uses Inner Join - Success")
   void packageFilterQueryBuilder_s04_pickupEqualsValidUsesInnerJoin_success() {
     // Arrange
-    PackageFilterQueryBuilder builder = new PackageFilterQueryBuilder(entityManager);
+    PackageFilterQueryBuilder builder =
+        new PackageFilterQueryBuilder(entityManager, gridCountCache);
     com.example.SpringApi.Models.DatabaseModels.Package packageModel =
         new com.example.SpringApi.Models.DatabaseModels.Package();
     packageModel.setPackageId(18L);
@@ -165,7 +178,8 @@ class ProductAndPackageFilterQueryBuilderTest extends FilterQueryBuilderTestBase
   @DisplayName("packageFilterQueryBuilder - Pickup Extraction Invalid Returns Null - Success")
   void packageFilterQueryBuilder_s05_pickupExtractionInvalidReturnsNull_success() {
     // Arrange
-    PackageFilterQueryBuilder builder = new PackageFilterQueryBuilder(entityManager);
+    PackageFilterQueryBuilder builder =
+        new PackageFilterQueryBuilder(entityManager, gridCountCache);
     QueryFixture<com.example.SpringApi.Models.DatabaseModels.Package> fixture =
         stubPagedQueries(com.example.SpringApi.Models.DatabaseModels.Package.class, List.of(), 0L);
     List<FilterCondition> filters = List.of(createFilter("pickupLocationId", "equals", "NaN"));
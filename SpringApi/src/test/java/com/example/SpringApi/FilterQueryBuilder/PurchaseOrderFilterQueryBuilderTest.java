@@ -1,7 +1,15 @@
 package com.example.SpringApi.FilterQueryBuilder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.example.SpringApi.Models.DTOs.PurchaseOrderWithDetails;
 import com.example.SpringApi.Models.DatabaseModels.OrderSummary;
@@ -11,6 +19,7 @@ import com.example.SpringApi.Models.DatabaseModels.Resources;
 import com.example.SpringApi.Models.DatabaseModels.Shipment;
 import com.example.SpringApi.Models.DatabaseModels.ShipmentPackage;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel.FilterCondition;
+import jakarta.persistence.TypedQuery;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
@@ -20,7 +29,7 @@ import org.springframework.data.domain.Page;
 @DisplayName("PurchaseOrderFilterQueryBuilder Tests")
 class PurchaseOrderFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
 
-  // Total Tests: 4
+  // Total Tests: 5
 
   /**
    * Purpose: Verify the basic purchase-order paginated query applies all optional branches.
@@ -31,7 +40,8 @@ class PurchaseOrderFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("findPaginatedEntitiesWithMultipleFilters - All Optional Branches - Success")
   void findPaginatedEntitiesWithMultipleFilters_s01_allOptionalBranches_success() {
     // Arrange
-    PurchaseOrderFilterQueryBuilder builder = new PurchaseOrderFilterQueryBuilder(entityManager);
+    PurchaseOrderFilterQueryBuilder builder =
+        new PurchaseOrderFilterQueryBuilder(entityManager, gridCountCache);
     PurchaseOrder purchaseOrder = new PurchaseOrder();
     purchaseOrder.setPurchaseOrderId(100L);
     QueryFixture<PurchaseOrder> fixture =
@@ -72,7 +82,8 @@ class PurchaseOrderFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("findPaginatedEntitiesWithMultipleFilters - Minimal Branches - Success")
   void findPaginatedEntitiesWithMultipleFilters_s02_minimalBranches_success() {
     // Arrange
-    PurchaseOrderFilterQueryBuilder builder = new PurchaseOrderFilterQueryBuilder(entityManager);
+    PurchaseOrderFilterQueryBuilder builder =
+        new PurchaseOrderFilterQueryBuilder(entityManager, gridCountCache);
     QueryFixture<PurchaseOrder> fixture = stubPagedQueries(PurchaseOrder.class, List.of(), 0L);
 
     // Act
@@ -101,7 +112,8 @@ class PurchaseOrderFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("findPaginatedWithDetails - Aggregates Related Data - Success")
   void findPaginatedWithDetails_s03_aggregatesRelatedData_success() {
     // Arrange
-    PurchaseOrderFilterQueryBuilder builder = new PurchaseOrderFilterQueryBuilder(entityManager);
+    PurchaseOrderFilterQueryBuilder builder =
+        new PurchaseOrderFilterQueryBuilder(entityManager, gridCountCache);
 
     PurchaseOrder purchaseOrder = new PurchaseOrder();
     purchaseOrder.setPurchaseOrderId(100L);
@@ -153,7 +165,11 @@ class PurchaseOrderFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
     assertEquals(1, result.getOrderSummary().getShipments().get(0).getShipmentPackages().size());
 
     assertTrue(fixture.getMainQueryString().contains("LEFT JOIN FETCH po.orderSummary os"));
-    assertTrue(fixture.getMainQueryString().contains("sp2.productId IN :selectedProductIds"));
+    assertTrue(
+        fixture.getMainQueryString().contains("WHERE po.purchaseOrderId IN :purchaseOrderIds"));
+    assertFalse(fixture.getIdQueryString().contains("FETCH"));
+    assertTrue(fixture.getIdQueryString().contains("sp2.productId IN :selectedProductIds"));
+    assertTrue(fixture.getIdQueryString().contains("ORDER BY po.purchaseOrderId DESC"));
     assertTrue(fixture.getShipmentPackageQueryString().contains("FROM ShipmentPackage spkg"));
     assertTrue(fixture.getResourcesQueryString().contains("FROM Resources r"));
     assertTrue(fixture.getPaymentsQueryString().contains("FROM Payment p"));
@@ -168,8 +184,10 @@ class PurchaseOrderFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
   @DisplayName("findPaginatedWithDetails - Empty Main Result Skips Auxiliary Queries - Success")
   void findPaginatedWithDetails_s04_emptyMainResultSkipsAuxiliaryQueries_success() {
     // Arrange
-    PurchaseOrderFilterQueryBuilder builder = new PurchaseOrderFilterQueryBuilder(entityManager);
-    stubPagedQueries(PurchaseOrder.class, List.of(), 0L);
+    PurchaseOrderFilterQueryBuilder builder =
+        new PurchaseOrderFilterQueryBuilder(entityManager, gridCountCache);
+    QueryFixture<PurchaseOrder> fixture =
+        stubTwoPhaseQueries(PurchaseOrder.class, List.of(), 0L, PurchaseOrder::getPurchaseOrderId);
 
     // Act
     Page<PurchaseOrderWithDetails> page =
@@ -179,5 +197,43 @@ class PurchaseOrderFilterQueryBuilderTest extends FilterQueryBuilderTestBase {
     // Assert
     assertEquals(0, page.getContent().size());
     assertEquals(0L, page.getTotalElements());
+    assertNull(fixture.getMainQueryString());
+  }
+
+  /**
+   * Purpose: Verify the detail fetch keeps the order of the paged ID query. Expected Result: Page
+   * content follows the ID order even when the fetch-by-IDs query returns rows in another order.
+   * Assertions: Purchase order IDs in page order.
+   */
+  @Test
+  @DisplayName("findPaginatedWithDetails - Preserves Paged ID Order - Success")
+  void findPaginatedWithDetails_s05_preservesPagedIdOrder_success() {
+    // Arrange
+    PurchaseOrderFilterQueryBuilder builder =
+        new PurchaseOrderFilterQueryBuilder(entityManager, gridCountCache);
+    PurchaseOrder newer = new PurchaseOrder();
+    newer.setPurchaseOrderId(20L);
+    PurchaseOrder older = new PurchaseOrder();
+    older.setPurchaseOrderId(10L);
+    QueryFixture<PurchaseOrder> fixture =
+        stubTwoPhaseQueries(
+            PurchaseOrder.class, List.of(newer, older), 2L, PurchaseOrder::getPurchaseOrderId);
+    when(fixture.getMainQuery().getResultList()).thenReturn(List.of(older, newer, older));
+    TypedQuery<Resources> resourcesQuery = mock(TypedQuery.class);
+    TypedQuery<Payment> paymentsQuery = mock(TypedQuery.class);
+    doReturn(resourcesQuery).when(entityManager).createQuery(anyString(), eq(Resources.class));
+    doReturn(paymentsQuery).when(entityManager).createQuery(anyString(), eq(Payment.class));
+    when(resourcesQuery.setParameter(anyString(), any())).thenReturn(resourcesQuery);
+    when(paymentsQuery.setParameter(anyString(), any())).thenReturn(paymentsQuery);
+
+    // Act
+    Page<PurchaseOrderWithDetails> page =
+        builder.findPaginatedWithDetails(
+            1L, null, null, "AND", List.of(), true, createPageable(0, 10));
+
+    // Assert
+    assertEquals(
+        List.of(20L, 10L),
+        page.getContent().stream().map(d -> d.getPurchaseOrder().getPurchaseOrderId()).toList());
   }
 }
@@ -0,0 +1,212 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SpringApi.Exceptions.BadRequestException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+@DisplayName("BulkInsertPipeline Tests")
+class BulkInsertPipelineTest {
+
+  // Total Tests: 5
+
+  /**
+   * Purpose: Verify invalid rows are rejected before any row is written. Expected Result: The
+   * invalid row fails with its validation error and is never passed to the writer. Assertions:
+   * Outcome order, IDs, error type and written rows.
+   */
+  @Test
+  @DisplayName("insert - Invalid Row - Rejected Before Writing")
+  void insert_s01_invalidRow_rejectedBeforeWriting() {
+    // Arrange
+    BulkInsertPipeline pipeline = new BulkInsertPipeline(transactionManager(), 10);
+    List<String> written = new ArrayList<>();
+
+    // Act
+    List<BulkInsertPipeline.RowOutcome<String>> outcomes =
+        pipeline.insert(
+            List.of("a", "", "c"),
+            row -> {
+              if (row.isEmpty()) {
+                throw new BadRequestException("empty row");
+              }
+            },
+            row -> {
+              written.add(row);
+              return (long) written.size();
+            });
+
+    // Assert
+    assertEquals(List.of("a", "c"), written);
+    assertEquals(3, outcomes.size());
+    assertEquals(1L, outcomes.get(0).id());
+    assertFalse(outcomes.get(1).succeeded());
+    assertTrue(outcomes.get(1).error() instanceof BadRequestException);
+    assertEquals(2L, outcomes.get(2).id());
+  }
+
+  /**
+   * Purpose: Verify valid rows are committed one transaction per chunk. Expected Result: Five rows
+   * with a chunk size of two use three transactions. Assertions: Transaction and commit counts.
+   */
+  @Test
+  @DisplayName("insert - Valid Rows - One Transaction Per Chunk")
+  void insert_s02_validRows_oneTransactionPerChunk() {
+    // Arrange
+    PlatformTransactionManager transactionManager = transactionManager();
+    BulkInsertPipeline pipeline = new BulkInsertPipeline(transactionManager, 2);
+
+    // Act
+    List<BulkInsertPipeline.RowOutcome<Long>> outcomes =
+        pipeline.insert(List.of(1L, 2L, 3L, 4L, 5L), row -> {}, row -> row * 10);
+
+    // Assert
+    assertTrue(outcomes.stream().allMatch(BulkInsertPipeline.RowOutcome::succeeded));
+    assertEquals(50L, outcomes.get(4).id());
+    verify(transactionManager, times(3)).getTransaction(any());
+    verify(transactionManager, times(3)).commit(any());
+    verify(transactionManager, never()).rollback(any());
+  }
+
+  /**
+   * Purpose: Verify a failing row rolls back its chunk and only that row is reported as failed.
+   * Expected Result: The chunk is rolled back and its rows are retried individually. Assertions:
+   * Outcomes, rollback count and transaction count.
+   */
+  @Test
+  @DisplayName("insert - Failing Row In Chunk - Chunk Retried Row By Row")
+  void insert_s03_failingRowInChunk_chunkRetriedRowByRow() {
+    // Arrange
+    PlatformTransactionManager transactionManager = transactionManager();
+    BulkInsertPipeline pipeline = new BulkInsertPipeline(transactionManager, 3);
+
+    // Act
+    List<BulkInsertPipeline.RowOutcome<String>> outcomes =
+        pipeline.insert(
+            List.of("a", "b", "c"),
+            row -> {},
+            row -> {
+              if ("b".equals(row)) {
+                throw new IllegalStateException("duplicate key");
+              }
+              return (long) row.charAt(0);
+            });
+
+    // Assert
+    assertTrue(outcomes.get(0).succeeded());
+    assertEquals((long) 'a', outcomes.get(0).id());
+    assertEquals("duplicate key", outcomes.get(1).error().getMessage());
+    assertNull(outcomes.get(1).id());
+    assertTrue(outcomes.get(2).succeeded());
+    // One failed chunk transaction, then one per row
+    verify(transactionManager, times(4)).getTransaction(any());
+    verify(transactionManager, times(2)).rollback(any());
+  }
+
+  /**
+   * Purpose: Verify a chunk size of one writes each row in its own transaction without retries.
+   * Expected Result: A failing row does not affect its neighbours. Assertions: Outcome success
+   * flags, transaction and rollback counts.
+   */
+  @Test
+  @DisplayName("insert - Chunk Size One - Row Per Transaction")
+  void insert_s04_chunkSizeOne_rowPerTransaction() {
+    // Arrange
+    PlatformTransactionManager transactionManager = transactionManager();
+    BulkInsertPipeline pipeline = new BulkInsertPipeline(transactionManager, 1);
+
+    // Act
+    List<BulkInsertPipeline.RowOutcome<Integer>> outcomes =
+        pipeline.insert(
+            List.of(1, 2, 3),
+            row -> {},
+            row -> {
+              if (row == 2) {
+                throw new IllegalStateException("write failed");
+              }
+              return row.longValue();
+            });
+
+    // Assert
+    assertTrue(outcomes.get(0).succeeded());
+    assertFalse(outcomes.get(1).succeeded());
+    assertTrue(outcomes.get(2).succeeded());
+    verify(transactionManager, times(3)).getTransaction(any());
+    verify(transactionManager, times(1)).rollback(any());
+  }
+
+  /**
+   * Purpose: Verify uploads run once per valid row even when its chunk is retried, and that the
+   * uploads of rows that are not written are discarded. Expected Result: The invalid row is never
+   * uploaded, each valid row is uploaded once, and only the failing row's upload is discarded.
+   * Assertions: Uploaded, written and discarded rows, and outcomes.
+   */
+  @Test
+  @DisplayName("insert - Failing Row With Upload - Uploaded Once And Discarded")
+  void insert_s05_failingRowWithUpload_uploadedOnceAndDiscarded() {
+    // Arrange
+    BulkInsertPipeline pipeline = new BulkInsertPipeline(transactionManager(), 4);
+    List<String> uploaded = new ArrayList<>();
+    List<String> written = new ArrayList<>();
+    List<String> discarded = new ArrayList<>();
+
+    // Act
+    List<BulkInsertPipeline.RowOutcome<String>> outcomes =
+        pipeline.insert(
+            List.of("a", "", "b", "c"),
+            row -> {
+              if (row.isEmpty()) {
+                throw new BadRequestException("empty row");
+              }
+            },
+            new BulkInsertPipeline.Upload<String, String>() {
+              @Override
+              public String upload(String row) {
+                uploaded.add(row);
+                return row + ".png";
+              }
+
+              @Override
+              public void discard(String file) {
+                discarded.add(file);
+              }
+            },
+            (row, file) -> {
+              written.add(file);
+              if ("b".equals(row)) {
+                throw new IllegalStateException("duplicate key");
+              }
+              return (long) row.charAt(0);
+            });
+
+    // Assert
+    assertEquals(List.of("a", "b", "c"), uploaded);
+    // Once in the failed chunk, then once more per row
+    assertEquals(List.of("a.png", "b.png", "a.png", "b.png", "c.png"), written);
+    assertEquals(List.of("b.png"), discarded);
+    assertTrue(outcomes.get(0).succeeded());
+    assertFalse(outcomes.get(1).succeeded());
+    assertFalse(outcomes.get(2).succeeded());
+    assertTrue(outcomes.get(3).succeeded());
+  }
+
+  private PlatformTransactionManager transactionManager() {
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    return transactionManager;
+  }
+}
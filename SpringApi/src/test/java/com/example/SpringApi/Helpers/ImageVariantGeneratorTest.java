@@ -0,0 +1,91 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ImageVariantGenerator Tests")
+class ImageVariantGeneratorTest {
+
+  // Total Tests: 3
+
+  private final ImageVariantGenerator generator = new ImageVariantGenerator();
+
+  /**
+   * Purpose: Verify an image larger than every bound gets a full, medium and thumb copy. Expected
+   * Result: Three JPEG copies that keep the aspect ratio within their bounds. Assertions: Variant
+   * names and decoded dimensions.
+   */
+  @Test
+  @DisplayName("generate - Large Image - All Variants Bounded")
+  void generate_s01_largeImage_allVariantsBounded() throws IOException {
+    // Arrange
+    byte[] image = png(3000, 1500);
+
+    // Act
+    List<ImageVariantGenerator.Variant> variants = generator.generate(image);
+
+    // Assert
+    assertEquals(
+        List.of(
+            ImageVariantGenerator.FULL, ImageVariantGenerator.MEDIUM, ImageVariantGenerator.THUMB),
+        variants.stream().map(ImageVariantGenerator.Variant::name).toList());
+    BufferedImage full = decode(variants.get(0).bytes());
+    assertTrue(full.getWidth() <= ImageVariantGenerator.FULL_MAX_SIDE);
+    assertEquals(full.getWidth() / 2, full.getHeight(), 1);
+    BufferedImage medium = decode(variants.get(1).bytes());
+    assertEquals(ImageVariantGenerator.MEDIUM_MAX_SIDE, medium.getWidth());
+    assertEquals(400, medium.getHeight());
+    BufferedImage thumb = decode(variants.get(2).bytes());
+    assertEquals(ImageVariantGenerator.THUMB_MAX_SIDE, thumb.getWidth());
+    assertEquals(120, thumb.getHeight());
+  }
+
+  /**
+   * Purpose: Verify an image already within the thumb bound is left as it is. Expected Result: No
+   * variants. Assertions: Empty list.
+   */
+  @Test
+  @DisplayName("generate - Small Image - No Variants")
+  void generate_s02_smallImage_noVariants() throws IOException {
+    // Act
+    List<ImageVariantGenerator.Variant> variants = generator.generate(png(200, 100));
+
+    // Assert
+    assertTrue(variants.isEmpty());
+  }
+
+  /**
+   * Purpose: Verify bytes that are not a readable image produce no variants. Expected Result: No
+   * variants and no exception. Assertions: Empty list.
+   */
+  @Test
+  @DisplayName("generate - Undecodable Bytes - No Variants")
+  void generate_f01_undecodableBytes_noVariants() {
+    // Act
+    List<ImageVariantGenerator.Variant> variants =
+        generator.generate(new byte[] {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3});
+
+    // Assert
+    assertTrue(variants.isEmpty());
+  }
+
+  static byte[] png(int width, int height) throws IOException {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", bytes);
+    return bytes.toByteArray();
+  }
+
+  private static BufferedImage decode(byte[] image) throws IOException {
+    return ImageIO.read(new ByteArrayInputStream(image));
+  }
+}
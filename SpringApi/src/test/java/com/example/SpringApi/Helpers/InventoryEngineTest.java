@@ -0,0 +1,317 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SpringApi.ErrorMessages;
+import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
+import com.example.SpringApi.Models.DatabaseModels.StockReservation;
+import com.example.SpringApi.Repositories.PackagePickupLocationMappingRepository;
+import com.example.SpringApi.Repositories.ProductPickupLocationMappingRepository;
+import com.example.SpringApi.Repositories.StockReservationRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+@DisplayName("InventoryEngine Tests")
+class InventoryEngineTest {
+
+  // Total Tests: 7
+
+  private static final Long PRODUCT_ID = 1L;
+  private static final Long LOCATION_ID = 10L;
+  private static final String USER = "admin";
+
+  private ProductPickupLocationMappingRepository productMappingRepository;
+  private PackagePickupLocationMappingRepository packageMappingRepository;
+  private StockReservationRepository stockReservationRepository;
+  private InventoryEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    productMappingRepository = mock(ProductPickupLocationMappingRepository.class);
+    packageMappingRepository = mock(PackagePickupLocationMappingRepository.class);
+    stockReservationRepository = mock(StockReservationRepository.class);
+    engine =
+        new InventoryEngine(
+            productMappingRepository,
+            packageMappingRepository,
+            stockReservationRepository,
+            mock(StockLocationLoader.class),
+            60);
+  }
+
+  /**
+   * Purpose: Verify reserving deducts the stock and records a hold. Expected Result: One guarded
+   * decrement and one open reservation. Assertions: Decrement arguments and saved ledger row.
+   */
+  @Test
+  @DisplayName("reserve - Stock Available - Deducted And Recorded")
+  @SuppressWarnings("unchecked")
+  void reserve_s01_stockAvailable_deductedAndRecorded() {
+    // Arrange
+    when(productMappingRepository.decrementStock(
+            eq(PRODUCT_ID), eq(LOCATION_ID), eq(3), eq(USER), any()))
+        .thenReturn(1);
+    ArgumentCaptor<List<StockReservation>> saved = ArgumentCaptor.forClass(List.class);
+
+    // Act
+    engine.reserve(30L, List.of(InventoryEngine.Line.product(PRODUCT_ID, LOCATION_ID, 3)), USER);
+
+    // Assert
+    verify(stockReservationRepository).saveAll(saved.capture());
+    assertEquals(1, saved.getValue().size());
+    StockReservation reservation = saved.getValue().get(0);
+    assertEquals(30L, reservation.getShipmentId());
+    assertEquals(3, reservation.getQuantity());
+    assertEquals(StockReservation.Status.RESERVED.getValue(), reservation.getStatus());
+    assertTrue(reservation.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(59)));
+  }
+
+  /**
+   * Purpose: Verify commit keeps a held quantity without deducting it again. Expected Result: The
+   * reservation is committed and no stock update runs. Assertions: Ledger and stock calls.
+   */
+  @Test
+  @DisplayName("commit - Open Reservation - Committed Without Second Deduction")
+  void commit_s02_openReservation_committedWithoutSecondDeduction() {
+    // Arrange
+    when(stockReservationRepository.findOpenByShipmentIdsForUpdate(List.of(30L)))
+        .thenReturn(List.of(reservation(5L, 3)));
+
+    // Act
+    engine.commit(30L, List.of(InventoryEngine.Line.product(PRODUCT_ID, LOCATION_ID, 3)), USER);
+
+    // Assert
+    verify(stockReservationRepository)
+        .closeReservations(List.of(5L), StockReservation.Status.COMMITTED.getValue(), USER);
+    verify(productMappingRepository, never())
+        .decrementStock(anyLong(), anyLong(), anyInt(), anyString(), any());
+    verify(productMappingRepository, never())
+        .restoreStock(anyLong(), anyLong(), anyInt(), anyString(), any());
+  }
+
+  /**
+   * Purpose: Verify commit deducts a quantity whose hold already expired. Expected Result: The
+   * full quantity is deducted at commit. Assertions: Decrement arguments.
+   */
+  @Test
+  @DisplayName("commit - Hold Expired - Deducted At Commit")
+  void commit_s03_holdExpired_deductedAtCommit() {
+    // Arrange
+    when(stockReservationRepository.findOpenByShipmentIdsForUpdate(List.of(30L)))
+        .thenReturn(List.of());
+    when(productMappingRepository.decrementStock(
+            eq(PRODUCT_ID), eq(LOCATION_ID), eq(3), eq(USER), any()))
+        .thenReturn(1);
+
+    // Act
+    engine.commit(30L, List.of(InventoryEngine.Line.product(PRODUCT_ID, LOCATION_ID, 3)), USER);
+
+    // Assert
+    verify(productMappingRepository)
+        .decrementStock(eq(PRODUCT_ID), eq(LOCATION_ID), eq(3), eq(USER), any());
+  }
+
+  /**
+   * Purpose: Verify releasing puts held stock back. Expected Result: The reservation is released
+   * and its quantity restored. Assertions: Return value and ledger and stock calls.
+   */
+  @Test
+  @DisplayName("release - Open Reservation - Stock Restored")
+  void release_s04_openReservation_stockRestored() {
+    // Arrange
+    when(stockReservationRepository.findOpenByShipmentIdsForUpdate(List.of(30L)))
+        .thenReturn(List.of(reservation(5L, 3)));
+
+    // Act
+    int released = engine.release(List.of(30L), USER);
+
+    // Assert
+    assertEquals(1, released);
+    verify(stockReservationRepository)
+        .closeReservations(List.of(5L), StockReservation.Status.RELEASED.getValue(), USER);
+    verify(productMappingRepository)
+        .restoreStock(eq(PRODUCT_ID), eq(LOCATION_ID), eq(3), eq(USER), any());
+  }
+
+  /**
+   * Purpose: Verify a reservation larger than the stock is refused. Expected Result:
+   * BadRequestException with the insufficient stock message and no hold recorded. Assertions:
+   * Exception message and no ledger write.
+   */
+  @Test
+  @DisplayName("reserve - Insufficient Stock - Throws BadRequestException")
+  void reserve_s05_insufficientStock_throwsBadRequestException() {
+    // Arrange
+    when(productMappingRepository.decrementStock(anyLong(), anyLong(), anyInt(), any(), any()))
+        .thenReturn(0);
+    when(productMappingRepository.findByProductIdAndPickupLocationId(PRODUCT_ID, LOCATION_ID))
+        .thenReturn(Optional.of(mapping(2)));
+
+    // Act
+    BadRequestException ex =
+        assertThrows(
+            BadRequestException.class,
+            () ->
+                engine.reserve(
+                    30L, List.of(InventoryEngine.Line.product(PRODUCT_ID, LOCATION_ID, 3)), USER));
+
+    // Assert
+    assertEquals(
+        String.format(
+            ErrorMessages.ShipmentProcessingErrorMessages.INSUFFICIENT_PRODUCT_STOCK_FORMAT,
+            PRODUCT_ID,
+            LOCATION_ID,
+            2,
+            3),
+        ex.getMessage());
+    verify(stockReservationRepository, never()).saveAll(any());
+  }
+
+  /**
+   * Purpose: Verify concurrent orders can never take more stock than exists. Expected Result:
+   * Exactly as many reservations succeed as the stock covers, the rest are refused, and stock
+   * never goes negative. Assertions: Success count, remaining stock and lowest stock observed.
+   */
+  @Test
+  @DisplayName("reserve - Concurrent Orders - No Oversell")
+  void reserve_s06_concurrentOrders_noOversell() throws Exception {
+    // Arrange
+    int initialStock = 100;
+    int quantityPerOrder = 3;
+    int orders = 200;
+    AtomicInteger stock = new AtomicInteger(initialStock);
+    AtomicInteger lowestStock = new AtomicInteger(initialStock);
+    // Behaves like the guarded UPDATE: the check and the decrement are one atomic step
+    when(productMappingRepository.decrementStock(anyLong(), anyLong(), anyInt(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              int quantity = invocation.getArgument(2);
+              while (true) {
+                int available = stock.get();
+                if (available < quantity) {
+                  return 0;
+                }
+                if (stock.compareAndSet(available, available - quantity)) {
+                  lowestStock.accumulateAndGet(available - quantity, Math::min);
+                  return 1;
+                }
+              }
+            });
+    when(productMappingRepository.findByProductIdAndPickupLocationId(PRODUCT_ID, LOCATION_ID))
+        .thenAnswer(invocation -> Optional.of(mapping(stock.get())));
+    ExecutorService pool = Executors.newFixedThreadPool(16);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < orders; i++) {
+      long shipmentId = 1000L + i;
+      results.add(
+          pool.submit(
+              () -> {
+                start.await();
+                try {
+                  engine.reserve(
+                      shipmentId,
+                      List.of(
+                          InventoryEngine.Line.product(PRODUCT_ID, LOCATION_ID, quantityPerOrder)),
+                      USER);
+                  return true;
+                } catch (BadRequestException e) {
+                  return false;
+                }
+              }));
+    }
+
+    // Act
+    start.countDown();
+    int succeeded = 0;
+    for (Future<Boolean> result : results) {
+      if (result.get(30, TimeUnit.SECONDS)) {
+        succeeded++;
+      }
+    }
+    pool.shutdown();
+
+    // Assert
+    assertEquals(initialStock / quantityPerOrder, succeeded);
+    assertEquals(initialStock - succeeded * quantityPerOrder, stock.get());
+    assertTrue(lowestStock.get() >= 0);
+  }
+
+  /**
+   * Purpose: Verify lines are deducted in lock order whatever order the caller lists them in, so
+   * two orders sharing items cannot deadlock. Expected Result: Lower product IDs and locations are
+   * updated first. Assertions: Order of the guarded decrements.
+   */
+  @Test
+  @DisplayName("reserve - Lines Out Of Order - Deducted In Lock Order")
+  void reserve_s07_linesOutOfOrder_deductedInLockOrder() {
+    // Arrange
+    when(productMappingRepository.decrementStock(anyLong(), anyLong(), anyInt(), any(), any()))
+        .thenReturn(1);
+    List<InventoryEngine.Line> lines =
+        List.of(
+            InventoryEngine.Line.product(2L, LOCATION_ID, 1),
+            InventoryEngine.Line.product(PRODUCT_ID, 20L, 1),
+            InventoryEngine.Line.product(PRODUCT_ID, LOCATION_ID, 1));
+
+    // Act
+    engine.reserve(30L, lines, USER);
+
+    // Assert
+    InOrder order = inOrder(productMappingRepository);
+    order.verify(productMappingRepository)
+        .decrementStock(eq(PRODUCT_ID), eq(LOCATION_ID), eq(1), eq(USER), any());
+    order.verify(productMappingRepository)
+        .decrementStock(eq(PRODUCT_ID), eq(20L), eq(1), eq(USER), any());
+    order.verify(productMappingRepository)
+        .decrementStock(eq(2L), eq(LOCATION_ID), eq(1), eq(USER), any());
+  }
+
+  private static StockReservation reservation(Long reservationId, int quantity) {
+    StockReservation reservation =
+        new StockReservation(
+            30L,
+            StockReservation.ItemType.PRODUCT,
+            PRODUCT_ID,
+            LOCATION_ID,
+            quantity,
+            LocalDateTime.now().plusMinutes(60),
+            USER);
+    reservation.setStockReservationId(reservationId);
+    return reservation;
+  }
+
+  private static ProductPickupLocationMapping mapping(int availableStock) {
+    ProductPickupLocationMapping mapping = new ProductPickupLocationMapping();
+    mapping.setProductId(PRODUCT_ID);
+    mapping.setPickupLocationId(LOCATION_ID);
+    mapping.setAvailableStock(availableStock);
+    return mapping;
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import freemarker.template.TemplateNotFoundException;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("InvoiceTemplateEngine Tests")
+class InvoiceTemplateEngineTest {
+
+  // Total Tests: 2
+
+  /**
+   * Purpose: Verify every invoice template is parsed when the engine is created. Expected Result:
+   * The purchase order and payment receipt templates are loaded. Assertions: Template names.
+   */
+  @Test
+  @DisplayName("InvoiceTemplateEngine - Created - Templates Preloaded")
+  void invoiceTemplateEngine_s01_created_templatesPreloaded() {
+    // Act
+    InvoiceTemplateEngine engine = new InvoiceTemplateEngine();
+
+    // Assert
+    assertTrue(engine.getTemplateNames().contains(InvoiceTemplateEngine.PURCHASE_ORDER));
+    assertTrue(engine.getTemplateNames().contains(InvoiceTemplateEngine.PAYMENT_RECEIPT));
+  }
+
+  /**
+   * Purpose: Verify rendering a template that does not exist is refused. Expected Result:
+   * TemplateNotFoundException. Assertions: Exception type.
+   */
+  @Test
+  @DisplayName("render - Unknown Template - Throws TemplateNotFoundException")
+  void render_f01_unknownTemplate_throwsTemplateNotFoundException() {
+    // Arrange
+    InvoiceTemplateEngine engine = new InvoiceTemplateEngine(true);
+
+    // Act & Assert
+    assertThrows(TemplateNotFoundException.class, () -> engine.render("Missing.ftl", Map.of()));
+  }
+}
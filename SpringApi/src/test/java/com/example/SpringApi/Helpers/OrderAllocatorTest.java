@@ -0,0 +1,140 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("OrderAllocator Tests")
+class OrderAllocatorTest {
+
+  // Total Tests: 5
+
+  /**
+   * Purpose: Verify an order one location can ship alone is not split. Expected Result: The best
+   * allocation ships everything from that location. Assertions: Best quantities and cost.
+   */
+  @Test
+  @DisplayName("allocate - One Location Covers Order - Single Shipment First")
+  void allocate_s01_oneLocationCoversOrder_singleShipmentFirst() {
+    // Arrange
+    OrderAllocator allocator = new OrderAllocator(1_000, 3);
+    int[][] capacity = {{2, 0}, {0, 3}, {2, 3}};
+
+    // Act
+    OrderAllocator.Result result =
+        allocator.allocate(
+            new int[] {2, 3}, capacity, new double[] {1, 1}, (l, weight) -> 50, List.of());
+
+    // Assert
+    OrderAllocator.Allocation best = result.allocations().getFirst();
+    assertArrayEquals(new int[][] {{0, 0}, {0, 0}, {2, 3}}, best.quantities());
+    assertEquals(50, best.estimatedCost());
+    assertTrue(result.complete());
+  }
+
+  /**
+   * Purpose: Verify an order no single location can ship is split across locations. Expected
+   * Result: The cheapest covering pair of locations is chosen. Assertions: Best quantities.
+   */
+  @Test
+  @DisplayName("allocate - No Single Location Covers Order - Cheapest Split")
+  void allocate_s02_noSingleLocationCoversOrder_cheapestSplit() {
+    // Arrange
+    OrderAllocator allocator = new OrderAllocator(1_000, 3);
+    int[][] capacity = {{5, 0}, {0, 5}, {0, 5}};
+    double[] rates = {40, 90, 30};
+
+    // Act
+    OrderAllocator.Result result =
+        allocator.allocate(
+            new int[] {1, 1}, capacity, new double[] {1, 1}, (l, weight) -> rates[l], List.of());
+
+    // Assert
+    assertArrayEquals(
+        new int[][] {{1, 0}, {0, 0}, {0, 1}}, result.allocations().getFirst().quantities());
+    assertEquals(70, result.allocations().getFirst().estimatedCost());
+  }
+
+  /**
+   * Purpose: Verify cached rates decide between locations that can each ship the order. Expected
+   * Result: Allocations are ranked by estimated cost. Assertions: Order of estimated costs.
+   */
+  @Test
+  @DisplayName("allocate - Several Covering Locations - Ranked By Estimated Cost")
+  void allocate_s03_severalCoveringLocations_rankedByEstimatedCost() {
+    // Arrange
+    OrderAllocator allocator = new OrderAllocator(1_000, 3);
+    int[][] capacity = {{4}, {4}, {4}};
+    double[] ratePerKg = {30, 10, 20};
+
+    // Act
+    OrderAllocator.Result result =
+        allocator.allocate(
+            new int[] {4},
+            capacity,
+            new double[] {2},
+            (l, weight) -> ratePerKg[l] * weight,
+            List.of());
+
+    // Assert
+    assertEquals(3, result.allocations().size());
+    assertEquals(80, result.allocations().get(0).estimatedCost());
+    assertEquals(160, result.allocations().get(1).estimatedCost());
+    assertEquals(240, result.allocations().get(2).estimatedCost());
+  }
+
+  /**
+   * Purpose: Verify the search returns seeds when its time budget is already spent. Expected
+   * Result: The seed allocation is returned and the result is marked incomplete. Assertions:
+   * Returned allocation and complete flag.
+   */
+  @Test
+  @DisplayName("allocate - Budget Exhausted - Returns Seed")
+  void allocate_s04_budgetExhausted_returnsSeed() {
+    // Arrange
+    OrderAllocator allocator = new OrderAllocator(0, 3);
+    int[][] seed = {{1}, {1}};
+
+    // Act
+    OrderAllocator.Result result =
+        allocator.allocate(
+            new int[] {2},
+            new int[][] {{2}, {2}},
+            new double[] {1},
+            (l, weight) -> 10,
+            List.<int[][]>of(seed));
+
+    // Assert
+    assertFalse(result.complete());
+    assertEquals(1, result.allocations().size());
+    assertArrayEquals(seed, result.allocations().getFirst().quantities());
+  }
+
+  /**
+   * Purpose: Verify only the configured number of candidates survive. Expected Result: Two of the
+   * five covering locations are returned, cheapest first. Assertions: Count and estimated costs.
+   */
+  @Test
+  @DisplayName("allocate - More Candidates Than Limit - Keeps Cheapest")
+  void allocate_s05_moreCandidatesThanLimit_keepsCheapest() {
+    // Arrange
+    OrderAllocator allocator = new OrderAllocator(1_000, 2);
+    int[][] capacity = {{3}, {3}, {3}, {3}, {3}};
+    double[] rates = {50, 20, 40, 10, 30};
+
+    // Act
+    OrderAllocator.Result result =
+        allocator.allocate(
+            new int[] {3}, capacity, new double[] {1}, (l, weight) -> rates[l], List.of());
+
+    // Assert
+    assertEquals(2, result.allocations().size());
+    assertEquals(10, result.allocations().get(0).estimatedCost());
+    assertEquals(20, result.allocations().get(1).estimatedCost());
+  }
+}
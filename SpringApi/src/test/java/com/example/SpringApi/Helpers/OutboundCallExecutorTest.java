@@ -0,0 +1,227 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("OutboundCallExecutor Tests")
+class OutboundCallExecutorTest {
+
+  // Total Tests: 6
+
+  private OutboundCallExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Purpose: Verify a call's result is returned and recorded. Expected Result: The future completes
+   * with the value. Assertions: Result and completed count.
+   */
+  @Test
+  @DisplayName("supply - Successful Call - Completes With Result")
+  void supply_s01_successfulCall_completesWithResult() throws Exception {
+    // Arrange
+    executor = new OutboundCallExecutor(4, 2);
+
+    // Act
+    String result = executor.supply(1L, deadline(5_000), () -> "ok").get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertEquals("ok", result);
+    assertEquals(1, executor.stats().completed());
+  }
+
+  /**
+   * Purpose: Verify one client cannot exceed its bulkhead. Expected Result: With a per-client limit
+   * of two, no more than two of six calls run at once. Assertions: Peak concurrency.
+   */
+  @Test
+  @DisplayName("supply - Many Calls For One Client - Bounded By Client Bulkhead")
+  void supply_s02_manyCallsForOneClient_boundedByClientBulkhead() throws Exception {
+    // Arrange
+    executor = new OutboundCallExecutor(10, 2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    // Act
+    for (int i = 0; i < 6; i++) {
+      futures.add(
+          executor.run(
+              1L,
+              deadline(5_000),
+              () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50);
+                running.decrementAndGet();
+              }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertEquals(2, peak.get());
+  }
+
+  /**
+   * Purpose: Verify a call past its deadline fails and is interrupted. Expected Result: The future
+   * fails with TimeoutException and the blocking call sees an interrupt. Assertions: Exception
+   * cause, interrupt and timed-out count.
+   */
+  @Test
+  @DisplayName("supply - Deadline Passes - Times Out And Interrupts Call")
+  void supply_s03_deadlinePasses_timesOutAndInterruptsCall() throws Exception {
+    // Arrange
+    executor = new OutboundCallExecutor(4, 2);
+    CountDownLatch interrupted = new CountDownLatch(1);
+
+    // Act
+    CompletableFuture<String> future =
+        executor.supply(
+            1L,
+            deadline(100),
+            () -> {
+              try {
+                Thread.sleep(10_000);
+              } catch (InterruptedException e) {
+                interrupted.countDown();
+              }
+              return "late";
+            });
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+
+    // Assert
+    assertTrue(exception.getCause() instanceof TimeoutException);
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(1, executor.stats().timedOut());
+  }
+
+  /**
+   * Purpose: Verify nested calls inherit the parent's deadline. Expected Result: A deadline asked
+   * for inside a call is no later than the parent's. Assertions: Inherited deadline.
+   */
+  @Test
+  @DisplayName("deadlineAfter - Inside Outbound Call - Inherits Parent Deadline")
+  void deadlineAfter_s04_insideOutboundCall_inheritsParentDeadline() throws Exception {
+    // Arrange
+    executor = new OutboundCallExecutor(4, 2);
+    long parentDeadline = deadline(1_000);
+
+    // Act
+    long nestedDeadline =
+        executor
+            .supply(
+                1L, parentDeadline, () -> OutboundCallExecutor.deadlineAfter(60, TimeUnit.SECONDS))
+            .get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertEquals(parentDeadline, nestedDeadline);
+  }
+
+  /**
+   * Purpose: Verify cancelling a future interrupts its call. Expected Result: The blocking call is
+   * interrupted after cancelIncomplete. Assertions: Interrupt observed and future cancelled.
+   */
+  @Test
+  @DisplayName("cancelIncomplete - Running Call - Interrupted")
+  void cancelIncomplete_s05_runningCall_interrupted() throws Exception {
+    // Arrange
+    executor = new OutboundCallExecutor(4, 2);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    CompletableFuture<Void> future =
+        executor.run(
+            1L,
+            deadline(10_000),
+            () -> {
+              started.countDown();
+              try {
+                Thread.sleep(10_000);
+              } catch (InterruptedException e) {
+                interrupted.countDown();
+              }
+            });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    // Act
+    OutboundCallExecutor.cancelIncomplete(List.of(future));
+
+    // Assert
+    assertTrue(future.isCancelled());
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Purpose: Verify calls made from inside outbound calls do not wait for permits their parents
+   * hold. Expected Result: With both client permits held by parents waiting on nested calls, the
+   * nested calls run on the parents' permits and every parent completes. Assertions: Results,
+   * threads the nested calls ran on and timed-out count.
+   */
+  @Test
+  @DisplayName("supply - Nested Calls With Client Bulkhead Saturated - Run Inline")
+  void supply_s06_nestedCallsWithClientBulkheadSaturated_runInline() throws Exception {
+    // Arrange
+    executor = new OutboundCallExecutor(4, 2);
+    CountDownLatch bothParentsRunning = new CountDownLatch(2);
+    List<CompletableFuture<Boolean>> parents = new ArrayList<>();
+
+    // Act
+    for (int i = 0; i < 2; i++) {
+      parents.add(
+          executor.supply(
+              1L,
+              deadline(5_000),
+              () -> {
+                bothParentsRunning.countDown();
+                awaitQuietly(bothParentsRunning);
+                Thread parent = Thread.currentThread();
+                return executor
+                    .supply(1L, deadline(5_000), () -> Thread.currentThread() == parent)
+                    .join();
+              }));
+    }
+
+    // Assert
+    for (CompletableFuture<Boolean> parent : parents) {
+      assertTrue(parent.get(2, TimeUnit.SECONDS));
+    }
+    assertEquals(0, executor.stats().timedOut());
+  }
+
+  private static long deadline(long millis) {
+    return OutboundCallExecutor.deadlineAfter(millis, TimeUnit.MILLISECONDS);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
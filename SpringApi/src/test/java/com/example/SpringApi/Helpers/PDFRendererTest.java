@@ -0,0 +1,227 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.SpringApi.Exceptions.TooManyRequestsException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PDFRenderer Tests")
+class PDFRendererTest {
+
+  // Total Tests: 4
+
+  private static final byte[] PDF = {'%', 'P', 'D', 'F'};
+
+  private PDFRenderer renderer;
+
+  @AfterEach
+  void tearDown() {
+    renderer.shutdown();
+  }
+
+  /**
+   * Purpose: Verify an unchanged document is rendered once and then served from the cache.
+   * Expected Result: The second request returns the cached bytes without building HTML or
+   * converting. Assertions: Returned bytes and call counts.
+   */
+  @Test
+  @DisplayName("render - Same Version - Served From Cache")
+  void render_s01_sameVersion_servedFromCache() throws Exception {
+    // Arrange
+    renderer = new PDFRenderer(2, 4, 5, 10, 16);
+    AtomicInteger htmlBuilds = new AtomicInteger();
+    AtomicInteger conversions = new AtomicInteger();
+    PDFRenderer.Key key = new PDFRenderer.Key(PDFRenderer.PURCHASE_ORDER, 1L, 7L, "v1");
+
+    // Act
+    byte[] first = render(key, htmlBuilds, conversions);
+    byte[] second = render(key, htmlBuilds, conversions);
+
+    // Assert
+    assertArrayEquals(PDF, first);
+    assertSame(first, second);
+    assertEquals(1, htmlBuilds.get());
+    assertEquals(1, conversions.get());
+  }
+
+  /**
+   * Purpose: Verify a document whose version changed is rendered again. Expected Result: Both
+   * versions are converted. Assertions: Call counts.
+   */
+  @Test
+  @DisplayName("render - Version Changed - Rendered Again")
+  void render_s02_versionChanged_renderedAgain() throws Exception {
+    // Arrange
+    renderer = new PDFRenderer(2, 4, 5, 10, 16);
+    AtomicInteger htmlBuilds = new AtomicInteger();
+    AtomicInteger conversions = new AtomicInteger();
+
+    // Act
+    render(new PDFRenderer.Key(PDFRenderer.PURCHASE_ORDER, 1L, 7L, "v1"), htmlBuilds, conversions);
+    render(new PDFRenderer.Key(PDFRenderer.PURCHASE_ORDER, 1L, 7L, "v2"), htmlBuilds, conversions);
+
+    // Assert
+    assertEquals(2, htmlBuilds.get());
+    assertEquals(2, conversions.get());
+  }
+
+  /**
+   * Purpose: Verify concurrent requests for a document that is still rendering share that render.
+   * Expected Result: The HTML is built and converted once and both callers get the same bytes.
+   * Assertions: Call counts and returned bytes.
+   */
+  @Test
+  @DisplayName("render - Concurrent Same Key - Rendered Once")
+  void render_s03_concurrentSameKey_renderedOnce() throws Exception {
+    // Arrange
+    renderer = new PDFRenderer(2, 4, 5, 10, 16);
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    AtomicInteger htmlBuilds = new AtomicInteger();
+    AtomicInteger conversions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PDFRenderer.Key key = new PDFRenderer.Key(PDFRenderer.PAYMENT_RECEIPT, 1L, 9L, "v1");
+    List<CompletableFuture<byte[]>> results = new ArrayList<>();
+
+    // Act
+    for (int i = 0; i < 2; i++) {
+      results.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  return renderer.render(
+                      key,
+                      () -> {
+                        htmlBuilds.incrementAndGet();
+                        return "<html/>";
+                      },
+                      html -> {
+                        conversions.incrementAndGet();
+                        started.countDown();
+                        awaitRelease(release);
+                        return PDF;
+                      });
+                } catch (Exception e) {
+                  throw new IllegalStateException(e);
+                }
+              },
+              callers));
+      if (i == 0) {
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+      }
+    }
+    Thread.sleep(100);
+    release.countDown();
+
+    // Assert
+    assertSame(results.get(0).get(5, TimeUnit.SECONDS), results.get(1).get(5, TimeUnit.SECONDS));
+    callers.shutdown();
+    assertEquals(1, htmlBuilds.get());
+    assertEquals(1, conversions.get());
+  }
+
+  /**
+   * Purpose: Verify renders beyond the pool and queue are refused rather than queued without
+   * bound. Expected Result: With one thread busy and one render queued, the next render is refused
+   * with the configured Retry-After. Assertions: Exactly one refusal and its retry-after value.
+   */
+  @Test
+  @DisplayName("render - Pool And Queue Full - Throws TooManyRequestsException")
+  void render_f01_poolAndQueueFull_throwsTooManyRequestsException() throws Exception {
+    // Arrange
+    renderer = new PDFRenderer(1, 1, 7, 0, 0);
+    ExecutorService callers = Executors.newFixedThreadPool(3);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<byte[]> busy =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return renderer.render(
+                    new PDFRenderer.Key(PDFRenderer.PURCHASE_ORDER, 1L, 1L, "v1"),
+                    () -> "<html/>",
+                    html -> {
+                      started.countDown();
+                      awaitRelease(release);
+                      return PDF;
+                    });
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            },
+            callers);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    // Act
+    List<CompletableFuture<byte[]>> waiting = new ArrayList<>();
+    for (long id = 2; id <= 3; id++) {
+      PDFRenderer.Key key = new PDFRenderer.Key(PDFRenderer.PURCHASE_ORDER, 1L, id, "v1");
+      waiting.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  return renderer.render(key, () -> "<html/>", html -> PDF);
+                } catch (TooManyRequestsException e) {
+                  throw e;
+                } catch (Exception e) {
+                  throw new IllegalStateException(e);
+                }
+              },
+              callers));
+    }
+    CompletableFuture.anyOf(waiting.toArray(new CompletableFuture<?>[0]))
+        .exceptionally(e -> null)
+        .get(5, TimeUnit.SECONDS);
+    release.countDown();
+
+    // Assert
+    List<TooManyRequestsException> refused = new ArrayList<>();
+    for (CompletableFuture<byte[]> future : waiting) {
+      try {
+        future.get(5, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        refused.add((TooManyRequestsException) e.getCause());
+      }
+    }
+    busy.get(5, TimeUnit.SECONDS);
+    callers.shutdown();
+    assertEquals(1, refused.size());
+    assertEquals(7, refused.get(0).getRetryAfterSeconds());
+  }
+
+  private static void awaitRelease(CountDownLatch release) {
+    try {
+      release.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private byte[] render(PDFRenderer.Key key, AtomicInteger htmlBuilds, AtomicInteger conversions)
+      throws Exception {
+    return renderer.render(
+        key,
+        () -> {
+          htmlBuilds.incrementAndGet();
+          return "<html/>";
+        },
+        html -> {
+          conversions.incrementAndGet();
+          return PDF;
+        });
+  }
+}
@@ -7,16 +7,19 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 @DisplayName("PackagingHelper Tests")
 class PackagingHelperTest {
 
-  // Total Tests: 10
+  // Total Tests: 13
 
   /**
    * Purpose: Verify zero or negative requested quantity returns empty packaging result. Expected
@@ -285,6 +288,145 @@ class PackagingHelperTest {
     assertEquals(4, productDimension.getQuantity());
   }
 
+  /**
+   * Purpose: Verify single-product packing matches the per-unit packer it replaced. Expected
+   * Result: Same packages, counts and packed items for random whole-number inputs. Assertions:
+   * Described results are equal for every case.
+   */
+  @Test
+  @DisplayName("calculatePackaging - Random Small Inputs - Matches Per Unit Packer")
+  void calculatePackaging_s11_randomSmallInputs_matchesPerUnitPacker() {
+    // Arrange
+    PackagingHelper helper = new PackagingHelper();
+    PerUnitPackingReference reference = new PerUnitPackingReference();
+    Random random = new Random(18L);
+
+    for (int i = 0; i < 2_000; i++) {
+      List<PackagingHelper.PackageDimension> packages = randomPackages(random);
+      PackagingHelper.ProductDimension product = randomProduct(random);
+
+      // Act
+      PackagingHelper.PackagingEstimateResult actual =
+          helper.calculatePackaging(product, packages);
+      PackagingHelper.PackagingEstimateResult expected =
+          reference.calculatePackaging(product, packages);
+
+      // Assert
+      assertEquals(describe(expected), describe(actual), "case " + i);
+    }
+  }
+
+  /**
+   * Purpose: Verify multi-product packing matches the per-unit packer it replaced, including which
+   * products share a package type. Expected Result: Same results for random whole-number inputs.
+   * Assertions: Described results are equal for every case.
+   */
+  @Test
+  @DisplayName("calculatePackagingForMultipleProducts - Random Small Inputs - Matches Per Unit")
+  void calculatePackagingForMultipleProducts_s12_randomSmallInputs_matchesPerUnitPacker() {
+    // Arrange
+    PackagingHelper helper = new PackagingHelper();
+    PerUnitPackingReference reference = new PerUnitPackingReference();
+    Random random = new Random(18L);
+
+    for (int i = 0; i < 2_000; i++) {
+      List<PackagingHelper.PackageDimension> packages = randomPackages(random);
+      Map<Long, PackagingHelper.ProductDimension> products = new LinkedHashMap<>();
+      int productCount = 1 + random.nextInt(4);
+      for (long productId = 1; productId <= productCount; productId++) {
+        products.put(productId, randomProduct(random));
+      }
+
+      // Act
+      PackagingHelper.MultiProductPackagingResult actual =
+          helper.calculatePackagingForMultipleProducts(products, packages);
+      PackagingHelper.MultiProductPackagingResult expected =
+          reference.calculatePackagingForMultipleProducts(products, packages);
+
+      // Assert
+      assertEquals(describe(expected), describe(actual), "case " + i);
+    }
+  }
+
+  /**
+   * Purpose: Verify a bulk order is packed by units per package rather than unit by unit. Expected
+   * Result: 5,000 units at 7 per package use 715 packages. Assertions: Packages used, packed items
+   * and total cost.
+   */
+  @Test
+  @DisplayName("calculatePackaging - Bulk Quantity - Packages Counted Per Type")
+  void calculatePackaging_s13_bulkQuantity_packagesCountedPerType() {
+    // Arrange
+    PackagingHelper helper = new PackagingHelper();
+    PackagingHelper.ProductDimension product =
+        new PackagingHelper.ProductDimension(
+            BigDecimal.TEN,
+            BigDecimal.valueOf(8),
+            BigDecimal.valueOf(5),
+            new BigDecimal("0.4"),
+            5_000);
+    PackagingHelper.PackageDimension box =
+        packageDim(60L, "Carton", 20, 15, 10, "BOX", "5", "8", 1_000);
+
+    // Act
+    PackagingHelper.PackagingEstimateResult result =
+        helper.calculatePackaging(product, List.of(box));
+
+    // Assert
+    assertTrue(result.isCanPackAllItems());
+    assertEquals(5_000, result.getMaxItemsPackable());
+    assertEquals(715, result.getTotalPackagesUsed());
+    assertEquals(BigDecimal.valueOf(5_720), result.getTotalPackagingCost());
+  }
+
+  private List<PackagingHelper.PackageDimension> randomPackages(Random random) {
+    List<PackagingHelper.PackageDimension> packages = new ArrayList<>();
+    int types = 1 + random.nextInt(4);
+    for (long id = 1; id <= types; id++) {
+      packages.add(
+          packageDim(
+              id,
+              "Box " + random.nextInt(3),
+              1 + random.nextInt(10),
+              1 + random.nextInt(5),
+              1 + random.nextInt(4),
+              "BOX",
+              String.valueOf(random.nextInt(40)),
+              String.valueOf(1 + random.nextInt(6)),
+              random.nextInt(7)));
+    }
+    return packages;
+  }
+
+  private PackagingHelper.ProductDimension randomProduct(Random random) {
+    return new PackagingHelper.ProductDimension(
+        BigDecimal.valueOf(random.nextInt(5)),
+        BigDecimal.valueOf(1 + random.nextInt(3)),
+        BigDecimal.valueOf(1 + random.nextInt(3)),
+        BigDecimal.valueOf(random.nextInt(6)),
+        random.nextInt(16));
+  }
+
+  private String describe(PackagingHelper.PackagingEstimateResult result) {
+    StringBuilder description = new StringBuilder("packed=" + result.getMaxItemsPackable());
+    for (PackagingHelper.PackageUsageResult usage : result.getPackagesUsed()) {
+      description.append(' ').append(usage.getPackageId()).append('x');
+      description.append(usage.getQuantityUsed());
+    }
+    return description.toString();
+  }
+
+  private String describe(PackagingHelper.MultiProductPackagingResult result) {
+    StringBuilder description =
+        new StringBuilder("packed=" + new TreeMap<>(result.getPackedItemsByProduct()));
+    for (PackagingHelper.MultiProductPackageUsageResult usage : result.getPackagesUsed()) {
+      description.append(' ').append(usage.getPackageId()).append('x');
+      description.append(usage.getQuantityUsed());
+      description.append(new TreeMap<>(usage.getProductQuantities()));
+    }
+    return description.toString();
+  }
+
   private PackagingHelper.PackageDimension packageDim(
       Long id,
       String name,
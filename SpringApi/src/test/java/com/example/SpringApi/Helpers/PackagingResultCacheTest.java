@@ -0,0 +1,124 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PackagingResultCache Tests")
+class PackagingResultCacheTest {
+
+  // Total Tests: 4
+
+  private PackagingResultCache cache;
+  private AtomicInteger packCalls;
+
+  @BeforeEach
+  void setUp() {
+    cache = new PackagingResultCache(10, 100);
+    packCalls = new AtomicInteger();
+  }
+
+  /**
+   * Purpose: Verify a product mix packed before at the same location is reused. Expected Result:
+   * The packer runs once and both calls return the same result. Assertions: Packer call count and
+   * result identity.
+   */
+  @Test
+  @DisplayName("get - Repeated Product Mix - Served From Cache")
+  void get_s01_repeatedProductMix_servedFromCache() {
+    // Act
+    PackagingHelper.PackagingEstimateResult first =
+        cache.get(10L, 0, product(4), this::packSingle);
+    PackagingHelper.PackagingEstimateResult second =
+        cache.get(10L, 0, product(4), this::packSingle);
+
+    // Assert
+    assertEquals(1, packCalls.get());
+    assertSame(first, second);
+    assertEquals(1L, cache.stats().hitCount());
+  }
+
+  /**
+   * Purpose: Verify the same products listed in another order share an entry. Expected Result: The
+   * second lookup is a hit. Assertions: Packer call count.
+   */
+  @Test
+  @DisplayName("get - Products In Another Order - Same Entry")
+  void get_s02_productsInAnotherOrder_sameEntry() {
+    // Arrange
+    Map<Long, PackagingHelper.ProductDimension> forward = new LinkedHashMap<>();
+    forward.put(1L, product(2));
+    forward.put(2L, product(3));
+    Map<Long, PackagingHelper.ProductDimension> reversed = new LinkedHashMap<>();
+    reversed.put(2L, product(3));
+    reversed.put(1L, product(2));
+
+    // Act
+    cache.get(10L, 0, forward, this::packMultiple);
+    cache.get(10L, 0, reversed, this::packMultiple);
+
+    // Assert
+    assertEquals(1, packCalls.get());
+  }
+
+  /**
+   * Purpose: Verify a new package inventory version or another quantity is packed again. Expected
+   * Result: Each differing key runs the packer. Assertions: Packer call count.
+   */
+  @Test
+  @DisplayName("get - New Version Or Quantity - Packs Again")
+  void get_s03_newVersionOrQuantity_packsAgain() {
+    // Arrange
+    cache.get(10L, 0, product(4), this::packSingle);
+
+    // Act
+    cache.get(10L, 1, product(4), this::packSingle);
+    cache.get(10L, 1, product(5), this::packSingle);
+    cache.get(20L, 1, product(5), this::packSingle);
+
+    // Assert
+    assertEquals(4, packCalls.get());
+  }
+
+  /**
+   * Purpose: Verify the pass-through cache never stores results. Expected Result: Every call runs
+   * the packer. Assertions: Packer call count.
+   */
+  @Test
+  @DisplayName("get - Pass Through Cache - Always Packs")
+  void get_s04_passThroughCache_alwaysPacks() {
+    // Arrange
+    PackagingResultCache passThrough = new PackagingResultCache(0, 0);
+
+    // Act
+    passThrough.get(10L, 0, product(4), this::packSingle);
+    passThrough.get(10L, 0, product(4), this::packSingle);
+
+    // Assert
+    assertEquals(2, packCalls.get());
+  }
+
+  private PackagingHelper.PackagingEstimateResult packSingle() {
+    packCalls.incrementAndGet();
+    return new PackagingHelper.PackagingEstimateResult(List.of(), 4, 4);
+  }
+
+  private PackagingHelper.MultiProductPackagingResult packMultiple() {
+    packCalls.incrementAndGet();
+    return new PackagingHelper.MultiProductPackagingResult(
+        List.of(), Map.of(1L, 2, 2L, 3), Map.of(1L, 2, 2L, 3));
+  }
+
+  private static PackagingHelper.ProductDimension product(int quantity) {
+    return new PackagingHelper.ProductDimension(
+        BigDecimal.TEN, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.ONE, quantity);
+  }
+}
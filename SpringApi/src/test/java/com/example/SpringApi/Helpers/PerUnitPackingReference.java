@@ -0,0 +1,393 @@
+package com.example.SpringApi.Helpers;
+
+import com.example.SpringApi.Helpers.PackagingHelper.MultiProductPackageUsageResult;
+import com.example.SpringApi.Helpers.PackagingHelper.MultiProductPackagingResult;
+import com.example.SpringApi.Helpers.PackagingHelper.PackageDimension;
+import com.example.SpringApi.Helpers.PackagingHelper.PackageUsageResult;
+import com.example.SpringApi.Helpers.PackagingHelper.PackagingEstimateResult;
+import com.example.SpringApi.Helpers.PackagingHelper.ProductDimension;
+import java.util.*;
+
+/**
+ * The per-unit First Fit Decreasing packer that {@link PackagingHelper} replaced, kept to check
+ * that the quantity-aware engine packs the same way and to benchmark against it.
+ */
+final class PerUnitPackingReference {
+
+  /** Internal class to track used packages and their remaining volume */
+  private static class UsedPackage {
+    final PackageDimension packageDim;
+    double usedVolume;
+    double usedWeight;
+
+    UsedPackage(PackageDimension packageDim) {
+      this.packageDim = packageDim;
+      this.usedVolume = 0;
+      this.usedWeight = 0;
+    }
+
+    double getRemainingVolume() {
+      return packageDim.getVolume() - usedVolume;
+    }
+
+    double getRemainingWeight() {
+      return packageDim.getMaxWeight() - usedWeight;
+    }
+
+    boolean canFit(double productVolume, double productWeight) {
+      return getRemainingVolume() >= productVolume && getRemainingWeight() >= productWeight;
+    }
+
+    void addProduct(double productVolume, double productWeight) {
+      this.usedVolume += productVolume;
+      this.usedWeight += productWeight;
+    }
+  }
+
+  /**
+   * Calculate optimal packaging for given product quantity using available packages. Uses First Fit
+   * Decreasing bin-packing algorithm optimized for cost.
+   *
+   * @param product Product dimensions
+   * @param availablePackages List of available packages at the location
+   * @return PackagingEstimateResult with packages needed and costs
+   */
+  PackagingEstimateResult calculatePackaging(
+      ProductDimension product, List<PackageDimension> availablePackages) {
+    int requestedItems = product.getQuantity();
+
+    if (requestedItems <= 0) {
+      return new PackagingEstimateResult(Collections.emptyList(), 0, 0);
+    }
+
+    double productVolume = product.getVolume();
+    double productWeight = product.getWeight();
+
+    // Track remaining stock per package without modifying the caller's packages
+    List<PackageDimension> packages = new ArrayList<>(availablePackages);
+    Map<PackageDimension, Integer> available = new IdentityHashMap<>();
+    for (PackageDimension pkg : availablePackages) {
+      available.put(pkg, pkg.getAvailableQuantity());
+    }
+
+    // Sort packages by cost-efficiency (price per volume, lowest first)
+    packages.sort(
+        (a, b) -> {
+          double costPerVolumeA =
+              a.getVolume() > 0
+                  ? a.getPricePerUnit().doubleValue() / a.getVolume()
+                  : Double.MAX_VALUE;
+          double costPerVolumeB =
+              b.getVolume() > 0
+                  ? b.getPricePerUnit().doubleValue() / b.getVolume()
+                  : Double.MAX_VALUE;
+          return Double.compare(costPerVolumeA, costPerVolumeB);
+        });
+
+    // Track used packages
+    List<UsedPackage> usedPackages = new ArrayList<>();
+    Map<Long, Integer> packageUsageCount = new HashMap<>();
+    int packedItems = 0;
+
+    // Try to pack each product
+    for (int i = 0; i < requestedItems; i++) {
+      boolean packed = false;
+
+      // First, try to fit in an already-used package (sorted by most remaining volume)
+      usedPackages.sort((a, b) -> Double.compare(b.getRemainingVolume(), a.getRemainingVolume()));
+
+      for (UsedPackage usedPkg : usedPackages) {
+        if (usedPkg.canFit(productVolume, productWeight)) {
+          usedPkg.addProduct(productVolume, productWeight);
+          packed = true;
+          packedItems++;
+          break;
+        }
+      }
+
+      // If not packed, get a new package
+      if (!packed) {
+        PackageDimension newPackage =
+            getNextSuitablePackage(packages, available, productVolume, productWeight);
+        if (newPackage != null) {
+          available.merge(newPackage, -1, Integer::sum);
+          UsedPackage usedPkg = new UsedPackage(newPackage);
+          usedPkg.addProduct(productVolume, productWeight);
+          usedPackages.add(usedPkg);
+          packageUsageCount.merge(newPackage.getPackageId(), 1, Integer::sum);
+          packed = true;
+          packedItems++;
+        }
+      }
+
+      // If still not packed, we ran out of packages
+      if (!packed) {
+        break;
+      }
+    }
+
+    // Build result
+    List<PackageUsageResult> results = new ArrayList<>();
+    for (PackageDimension pkg : availablePackages) {
+      int count = packageUsageCount.getOrDefault(pkg.getPackageId(), 0);
+      if (count > 0) {
+        results.add(
+            new PackageUsageResult(
+                pkg.getPackageId(),
+                pkg.getPackageName(),
+                pkg.getPackageType(),
+                count,
+                pkg.getPricePerUnit()));
+      }
+    }
+
+    // Sort results by package type/name for consistent display
+    results.sort(Comparator.comparing(PackageUsageResult::getPackageName));
+
+    return new PackagingEstimateResult(results, requestedItems, packedItems);
+  }
+
+  /**
+   * Find the next suitable package that can fit the product. Prioritizes cost-efficient packages
+   * that are still available.
+   */
+  private PackageDimension getNextSuitablePackage(
+      List<PackageDimension> packages,
+      Map<PackageDimension, Integer> available,
+      double productVolume,
+      double productWeight) {
+    // First, find smallest package that fits (already sorted by cost-efficiency)
+    for (PackageDimension pkg : packages) {
+      if (available.get(pkg) > 0
+          && pkg.getVolume() >= productVolume
+          && pkg.getMaxWeight() >= productWeight) {
+        return pkg;
+      }
+    }
+
+    // If no package fits, return the largest available (might need multiple items per package)
+    PackageDimension largest = null;
+    for (PackageDimension pkg : packages) {
+      if (available.get(pkg) > 0
+          && (largest == null || pkg.getVolume() > largest.getVolume())) {
+        largest = pkg;
+      }
+    }
+
+    return largest;
+  }
+
+  // ============================================================================
+
+  /** Represents a single product item to be packed (one unit of a product) */
+  private static class ProductItem {
+    private final Long productId;
+    private final double volume;
+    private final double weight;
+
+    ProductItem(Long productId, double volume, double weight) {
+      this.productId = productId;
+      this.volume = volume;
+      this.weight = weight;
+    }
+
+    public Long getProductId() {
+      return productId;
+    }
+
+    public double getVolume() {
+      return volume;
+    }
+
+    public double getWeight() {
+      return weight;
+    }
+  }
+
+  /** Tracks which products are in a used package */
+  private static class MultiProductUsedPackage {
+    final PackageDimension packageDim;
+    double usedVolume;
+    double usedWeight;
+    Map<Long, Integer> productCounts = new HashMap<>(); // productId -> count
+
+    MultiProductUsedPackage(PackageDimension packageDim) {
+      this.packageDim = packageDim;
+      this.usedVolume = 0;
+      this.usedWeight = 0;
+    }
+
+    double getRemainingVolume() {
+      return packageDim.getVolume() - usedVolume;
+    }
+
+    double getRemainingWeight() {
+      return packageDim.getMaxWeight() - usedWeight;
+    }
+
+    boolean canFit(double productVolume, double productWeight) {
+      return getRemainingVolume() >= productVolume && getRemainingWeight() >= productWeight;
+    }
+
+    void addProduct(Long productId, double productVolume, double productWeight) {
+      this.usedVolume += productVolume;
+      this.usedWeight += productWeight;
+      this.productCounts.merge(productId, 1, Integer::sum);
+    }
+
+    public Map<Long, Integer> getProductCounts() {
+      return productCounts;
+    }
+
+    public PackageDimension getPackageDim() {
+      return packageDim;
+    }
+  }
+
+
+  /**
+   * Calculate optimal packaging for multiple products together. Uses First Fit Decreasing
+   * bin-packing algorithm optimized for cost. Different products can share the same package if they
+   * fit.
+   *
+   * @param products Map of productId to ProductDimension (with quantities)
+   * @param availablePackages List of available packages at the location
+   * @return MultiProductPackagingResult with packages needed, costs, and product assignments
+   */
+  MultiProductPackagingResult calculatePackagingForMultipleProducts(
+      Map<Long, ProductDimension> products, List<PackageDimension> availablePackages) {
+
+    Map<Long, Integer> requestedItems = new HashMap<>();
+    Map<Long, Integer> packedItems = new HashMap<>();
+
+    // Flatten all products into individual items
+    List<ProductItem> allItems = new ArrayList<>();
+    for (Map.Entry<Long, ProductDimension> entry : products.entrySet()) {
+      Long productId = entry.getKey();
+      ProductDimension product = entry.getValue();
+      requestedItems.put(productId, product.getQuantity());
+      packedItems.put(productId, 0);
+
+      double volume = product.getVolume();
+      double weight = product.getWeight();
+
+      for (int i = 0; i < product.getQuantity(); i++) {
+        allItems.add(new ProductItem(productId, volume, weight));
+      }
+    }
+
+    if (allItems.isEmpty()) {
+      return new MultiProductPackagingResult(Collections.emptyList(), requestedItems, packedItems);
+    }
+
+    // Sort items by volume (largest first) - First Fit Decreasing
+    allItems.sort((a, b) -> Double.compare(b.getVolume(), a.getVolume()));
+
+    // Track remaining stock per package without modifying the caller's packages
+    List<PackageDimension> packages = new ArrayList<>(availablePackages);
+    Map<PackageDimension, Integer> available = new IdentityHashMap<>();
+    for (PackageDimension pkg : availablePackages) {
+      available.put(pkg, pkg.getAvailableQuantity());
+    }
+
+    // Sort packages by cost per volume (cheapest first)
+    packages.sort(
+        (a, b) -> {
+          double costPerVolumeA =
+              a.getVolume() > 0
+                  ? a.getPricePerUnit().doubleValue() / a.getVolume()
+                  : Double.MAX_VALUE;
+          double costPerVolumeB =
+              b.getVolume() > 0
+                  ? b.getPricePerUnit().doubleValue() / b.getVolume()
+                  : Double.MAX_VALUE;
+          return Double.compare(costPerVolumeA, costPerVolumeB);
+        });
+
+    // Track used packages
+    List<MultiProductUsedPackage> usedPackages = new ArrayList<>();
+
+    // Pack each item using First Fit Decreasing
+    for (ProductItem item : allItems) {
+      boolean packed = false;
+
+      // First, try to fit in an already-used package (prioritize by remaining volume - best fit)
+      usedPackages.sort(
+          (a, b) -> {
+            // Prefer packages where item fits exactly (least remaining space after)
+            double remainingA = a.getRemainingVolume() - item.getVolume();
+            double remainingB = b.getRemainingVolume() - item.getVolume();
+            // If item doesn't fit, push to end
+            if (remainingA < 0) remainingA = Double.MAX_VALUE;
+            if (remainingB < 0) remainingB = Double.MAX_VALUE;
+            return Double.compare(remainingA, remainingB);
+          });
+
+      for (MultiProductUsedPackage usedPkg : usedPackages) {
+        if (usedPkg.canFit(item.getVolume(), item.getWeight())) {
+          usedPkg.addProduct(item.getProductId(), item.getVolume(), item.getWeight());
+          packedItems.merge(item.getProductId(), 1, Integer::sum);
+          packed = true;
+          break;
+        }
+      }
+
+      // If not packed, get a new package
+      if (!packed) {
+        PackageDimension newPackage =
+            getNextSuitablePackage(packages, available, item.getVolume(), item.getWeight());
+        if (newPackage != null) {
+          available.merge(newPackage, -1, Integer::sum);
+          MultiProductUsedPackage usedPkg = new MultiProductUsedPackage(newPackage);
+          usedPkg.addProduct(item.getProductId(), item.getVolume(), item.getWeight());
+          usedPackages.add(usedPkg);
+          packedItems.merge(item.getProductId(), 1, Integer::sum);
+          packed = true;
+        }
+      }
+
+      // If still not packed, we ran out of suitable packages
+      if (!packed) {
+        break;
+      }
+    }
+
+    // Aggregate results by package type
+    Map<Long, Integer> packageUsageCount = new HashMap<>();
+    Map<Long, Map<Long, Integer>> productsByPackage =
+        new HashMap<>(); // packageId -> (productId -> count)
+
+    for (MultiProductUsedPackage usedPkg : usedPackages) {
+      Long pkgId = usedPkg.getPackageDim().getPackageId();
+      packageUsageCount.merge(pkgId, 1, Integer::sum);
+
+      // Aggregate product counts for this package type
+      Map<Long, Integer> pkgProducts =
+          productsByPackage.computeIfAbsent(pkgId, k -> new HashMap<>());
+      for (Map.Entry<Long, Integer> productEntry : usedPkg.getProductCounts().entrySet()) {
+        pkgProducts.merge(productEntry.getKey(), productEntry.getValue(), Integer::sum);
+      }
+    }
+
+    // Build result
+    List<MultiProductPackageUsageResult> results = new ArrayList<>();
+    for (PackageDimension pkg : availablePackages) {
+      int count = packageUsageCount.getOrDefault(pkg.getPackageId(), 0);
+      if (count > 0) {
+        results.add(
+            new MultiProductPackageUsageResult(
+                pkg.getPackageId(),
+                pkg.getPackageName(),
+                pkg.getPackageType(),
+                count,
+                pkg.getPricePerUnit(),
+                productsByPackage.getOrDefault(pkg.getPackageId(), Collections.emptyMap())));
+      }
+    }
+
+    // Sort results by package name for consistent display
+    results.sort(Comparator.comparing(MultiProductPackageUsageResult::getPackageName));
+
+    return new MultiProductPackagingResult(results, requestedItems, packedItems);
+  }
+}
@@ -0,0 +1,217 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SpringApi.Exceptions.BadRequestException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ProductImageUploader Tests")
+class ProductImageUploaderTest {
+
+  // Total Tests: 6
+
+  private static final byte[] IMAGE_BYTES = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+  private static final String DATA_URL =
+      "data:image/png;base64," + Base64.getEncoder().encodeToString(IMAGE_BYTES);
+
+  private ImgbbHelper imgbbHelper;
+  private ProductImageUploader uploader;
+
+  @BeforeEach
+  void setUp() {
+    imgbbHelper = mock(ImgbbHelper.class);
+    uploader = new ProductImageUploader(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    uploader.shutdown();
+  }
+
+  /**
+   * Purpose: Verify a product's images upload at the same time as raw bytes. Expected Result: All
+   * uploads are in flight together and results keep the request order. Assertions: Uploaded bytes,
+   * result order and URLs.
+   */
+  @Test
+  @DisplayName("uploadAll - Several Images - Uploaded Concurrently")
+  void uploadAll_s01_severalImages_uploadedConcurrently() {
+    // Arrange
+    CountDownLatch allStarted = new CountDownLatch(3);
+    when(imgbbHelper.uploadImage(any(byte[].class), anyString()))
+        .thenAnswer(
+            invocation -> {
+              allStarted.countDown();
+              // Only returns once all three uploads are running
+              if (!allStarted.await(5, TimeUnit.SECONDS)) {
+                return null;
+              }
+              String fileName = invocation.getArgument(1);
+              return new ImgbbHelper.ImgbbUploadResponse(
+                  "https://i.ibb.co/" + fileName, "hash-" + fileName);
+            });
+
+    // Act
+    List<ProductImageUploader.UploadResult> results =
+        uploader.uploadAll(
+            imgbbHelper, List.of(upload("main", null), upload("top", null), upload("left", null)));
+
+    // Assert
+    assertEquals(
+        List.of("main", "top", "left"),
+        results.stream().map(ProductImageUploader.UploadResult::imageType).toList());
+    assertEquals("https://i.ibb.co/file-top", results.get(1).url());
+    assertEquals("hash-file-left", results.get(2).deleteHash());
+    assertEquals(ProductImageUploader.contentHash(IMAGE_BYTES), results.get(0).contentHash());
+    verify(imgbbHelper).uploadImage(eq(IMAGE_BYTES), eq("file-main"));
+  }
+
+  /**
+   * Purpose: Verify an image with the same content as the stored one is not uploaded again.
+   * Expected Result: The result is marked unchanged. Assertions: No upload call.
+   */
+  @Test
+  @DisplayName("uploadAll - Same Content Hash - Upload Skipped")
+  void uploadAll_s02_sameContentHash_uploadSkipped() {
+    // Act
+    List<ProductImageUploader.UploadResult> results =
+        uploader.uploadAll(
+            imgbbHelper,
+            List.of(upload("main", ProductImageUploader.contentHash(IMAGE_BYTES))));
+
+    // Assert
+    assertTrue(results.get(0).unchanged());
+    verify(imgbbHelper, never()).uploadImage(any(byte[].class), anyString());
+  }
+
+  /**
+   * Purpose: Verify the first failing image in request order is reported. Expected Result:
+   * BadRequestException with that image's failure message. Assertions: Exception message.
+   */
+  @Test
+  @DisplayName("uploadAll - Uploads Fail - Reports First Image")
+  void uploadAll_s03_uploadsFail_reportsFirstImage() {
+    // Arrange
+    when(imgbbHelper.uploadImage(any(byte[].class), anyString())).thenReturn(null);
+
+    // Act
+    BadRequestException ex =
+        assertThrows(
+            BadRequestException.class,
+            () ->
+                uploader.uploadAll(
+                    imgbbHelper, List.of(upload("main", null), upload("top", null))));
+
+    // Assert
+    assertEquals("failed-main", ex.getMessage());
+  }
+
+  /**
+   * Purpose: Verify image data that is not base64 is refused before any upload. Expected Result:
+   * BadRequestException with the failure message. Assertions: Exception message and no upload.
+   */
+  @Test
+  @DisplayName("uploadAll - Invalid Base64 - Throws BadRequestException")
+  void uploadAll_s04_invalidBase64_throwsBadRequestException() {
+    // Arrange
+    ProductImageUploader.ImageUpload upload =
+        new ProductImageUploader.ImageUpload(
+            "main", "not-a-base64-string", "file-main", null, "failed-main");
+
+    // Act
+    BadRequestException ex =
+        assertThrows(
+            BadRequestException.class, () -> uploader.uploadAll(imgbbHelper, List.of(upload)));
+
+    // Assert
+    assertEquals("failed-main", ex.getMessage());
+    verify(imgbbHelper, never()).uploadImage(any(byte[].class), anyString());
+  }
+
+  /**
+   * Purpose: Verify a large image is stored with resized copies. Expected Result: The image and its
+   * thumb and medium copies are uploaded, and the copies' URLs are returned. Assertions: Variant
+   * URLs, delete hashes and uploaded file names.
+   */
+  @Test
+  @DisplayName("uploadAll - Large Image - Variants Uploaded")
+  void uploadAll_s05_largeImage_variantsUploaded() throws Exception {
+    // Arrange
+    String dataUrl =
+        "data:image/png;base64,"
+            + Base64.getEncoder().encodeToString(ImageVariantGeneratorTest.png(1200, 600));
+    when(imgbbHelper.uploadImage(any(byte[].class), anyString()))
+        .thenAnswer(
+            invocation -> {
+              String fileName = invocation.getArgument(1);
+              return new ImgbbHelper.ImgbbUploadResponse(
+                  "https://i.ibb.co/" + fileName, "hash-" + fileName);
+            });
+
+    // Act
+    List<ProductImageUploader.UploadResult> results =
+        uploader.uploadAll(
+            imgbbHelper,
+            List.of(
+                new ProductImageUploader.ImageUpload(
+                    "main", dataUrl, "file-main", null, "failed-main")));
+
+    // Assert
+    ProductImageUploader.UploadResult result = results.get(0);
+    assertEquals("https://i.ibb.co/file-main", result.url());
+    assertEquals(
+        "https://i.ibb.co/file-main-thumb",
+        result.variants().get(ImageVariantGenerator.THUMB).url());
+    assertEquals(
+        "hash-file-main-medium", result.variants().get(ImageVariantGenerator.MEDIUM).deleteHash());
+    verify(imgbbHelper).uploadImage(any(byte[].class), eq("file-main-thumb"));
+    verify(imgbbHelper).uploadImage(any(byte[].class), eq("file-main-medium"));
+  }
+
+  /**
+   * Purpose: Verify a failed call deletes the images it already stored. Expected Result: The
+   * uploaded main image is deleted again when the top image fails. Assertions: Exception message
+   * and delete call.
+   */
+  @Test
+  @DisplayName("uploadAll - One Image Fails - Stored Images Deleted")
+  void uploadAll_f01_oneImageFails_storedImagesDeleted() {
+    // Arrange
+    when(imgbbHelper.uploadImage(any(byte[].class), eq("file-main")))
+        .thenReturn(new ImgbbHelper.ImgbbUploadResponse("https://i.ibb.co/main", "hash-main"));
+    when(imgbbHelper.uploadImage(any(byte[].class), eq("file-top"))).thenReturn(null);
+
+    // Act
+    BadRequestException ex =
+        assertThrows(
+            BadRequestException.class,
+            () ->
+                uploader.uploadAll(
+                    imgbbHelper, List.of(upload("main", null), upload("top", null))));
+
+    // Assert
+    assertEquals("failed-top", ex.getMessage());
+    verify(imgbbHelper).deleteImage("hash-main");
+  }
+
+  private static ProductImageUploader.ImageUpload upload(String imageType, String previousHash) {
+    return new ProductImageUploader.ImageUpload(
+        imageType, DATA_URL, "file-" + imageType, previousHash, "failed-" + imageType);
+  }
+}
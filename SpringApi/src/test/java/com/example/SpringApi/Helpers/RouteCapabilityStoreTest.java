@@ -0,0 +1,260 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RouteCapabilityStore Tests")
+class RouteCapabilityStoreTest {
+
+  // Total Tests: 7
+
+  private final OutboundCallExecutor outboundCallExecutor =
+      new OutboundCallExecutor(
+          OutboundCallExecutor.DEFAULT_MAX_CONCURRENT_CALLS,
+          OutboundCallExecutor.DEFAULT_MAX_CONCURRENT_CALLS_PER_CLIENT);
+  private RouteCapabilityStore store;
+
+  @AfterEach
+  void tearDown() {
+    outboundCallExecutor.shutdown();
+  }
+
+  /**
+   * Purpose: Verify the weight levels are bisected rather than probed one by one. Expected Result:
+   * A route serviceable up to 300 kg is found with three probes. Assertions: Returned weight and
+   * probed weights.
+   */
+  @Test
+  @DisplayName("getMaxWeight - Miss - Bisects Weight Levels")
+  void getMaxWeight_s01_miss_bisectsWeightLevels() {
+    // Arrange
+    store = new RouteCapabilityStore(60, 120, outboundCallExecutor);
+    List<Double> probed = new CopyOnWriteArrayList<>();
+
+    // Act
+    double maxWeight =
+        store.getMaxWeight(
+            1L,
+            "110001",
+            "400001",
+            false,
+            deadline(),
+            weight -> {
+              probed.add(weight);
+              return weight <= 300;
+            });
+
+    // Assert
+    assertEquals(300, maxWeight);
+    assertEquals(3, probed.size());
+    assertTrue(probed.containsAll(List.of(200.0, 400.0, 300.0)));
+  }
+
+  /**
+   * Purpose: Verify a probed route is served from the store afterwards. Expected Result: The second
+   * lookup makes no probes. Assertions: Returned weight and probe count.
+   */
+  @Test
+  @DisplayName("getMaxWeight - Stored Route - No Probes")
+  void getMaxWeight_s02_storedRoute_noProbes() {
+    // Arrange
+    store = new RouteCapabilityStore(60, 120, outboundCallExecutor);
+    AtomicInteger probes = new AtomicInteger();
+    store.getMaxWeight(
+        1L, "110001", "400001", false, deadline(), weight -> probes.incrementAndGet() > 0);
+    probes.set(0);
+
+    // Act
+    double maxWeight =
+        store.getMaxWeight(
+            1L, "110001", "400001", false, deadline(), weight -> probes.incrementAndGet() > 0);
+
+    // Assert
+    assertEquals(500, maxWeight);
+    assertEquals(0, probes.get());
+  }
+
+  /**
+   * Purpose: Verify an unserviceable route returns zero. Expected Result: 0 after probing the
+   * lightest level. Assertions: Returned weight.
+   */
+  @Test
+  @DisplayName("getMaxWeight - Unserviceable Route - Returns Zero")
+  void getMaxWeight_s03_unserviceableRoute_returnsZero() {
+    // Arrange
+    store = new RouteCapabilityStore(0, 0, outboundCallExecutor);
+
+    // Act
+    double maxWeight =
+        store.getMaxWeight(1L, "110001", "400001", true, deadline(), weight -> false);
+
+    // Assert
+    assertEquals(0, maxWeight);
+  }
+
+  /**
+   * Purpose: Verify a search with a failed probe is not stored. Expected Result: The failed level
+   * counts as unserviceable and the next lookup probes again. Assertions: Returned weight, store
+   * size and probe count.
+   */
+  @Test
+  @DisplayName("getMaxWeight - Probe Throws - Result Not Stored")
+  void getMaxWeight_s04_probeThrows_resultNotStored() {
+    // Arrange
+    store = new RouteCapabilityStore(60, 120, outboundCallExecutor);
+    AtomicInteger probes = new AtomicInteger();
+
+    // Act
+    double maxWeight =
+        store.getMaxWeight(
+            1L,
+            "110001",
+            "400001",
+            false,
+            deadline(),
+            weight -> {
+              probes.incrementAndGet();
+              if (weight >= 400) {
+                throw new IllegalStateException("Shiprocket unavailable");
+              }
+              return true;
+            });
+
+    // Assert
+    assertEquals(300, maxWeight);
+    assertEquals(0, store.size());
+    assertEquals(3, probes.get());
+  }
+
+  /**
+   * Purpose: Verify a stale entry is served while it is refreshed in the background. Expected
+   * Result: The stale value is returned immediately and the refreshed value afterwards.
+   * Assertions: Returned weights before and after the refresh.
+   */
+  @Test
+  @DisplayName("getMaxWeight - Stale Entry - Refreshed In Background")
+  void getMaxWeight_s05_staleEntry_refreshedInBackground() throws Exception {
+    // Arrange
+    store = new RouteCapabilityStore(0, 120, outboundCallExecutor);
+    store.getMaxWeight(1L, "110001", "400001", false, deadline(), weight -> weight <= 200);
+    Thread.sleep(5);
+    CountDownLatch refreshed = new CountDownLatch(1);
+
+    // Act
+    double staleWeight =
+        store.getMaxWeight(
+            1L,
+            "110001",
+            "400001",
+            false,
+            deadline(),
+            weight -> {
+              if (weight == 500) {
+                refreshed.countDown();
+              }
+              return true;
+            });
+    assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+    Thread.sleep(50);
+
+    // Assert
+    assertEquals(200, staleWeight);
+    assertEquals(
+        500,
+        store.getMaxWeight(1L, "110001", "400001", false, deadline(), weight -> weight <= 200));
+  }
+
+  /**
+   * Purpose: Verify probing stops at the caller's deadline. Expected Result: A probe that never
+   * answers is cancelled at the deadline, the search counts it as unserviceable and the result is
+   * not stored. Assertions: Returned weight, elapsed time, interrupted probes and store size.
+   */
+  @Test
+  @DisplayName("getMaxWeight - Probe Exceeds Deadline - Cancelled And Not Stored")
+  void getMaxWeight_s06_probeExceedsDeadline_cancelledAndNotStored() throws Exception {
+    // Arrange
+    store = new RouteCapabilityStore(60, 120, outboundCallExecutor);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    long start = System.nanoTime();
+
+    // Act
+    double maxWeight =
+        store.getMaxWeight(
+            1L,
+            "110001",
+            "400001",
+            false,
+            OutboundCallExecutor.deadlineAfter(200, TimeUnit.MILLISECONDS),
+            weight -> {
+              if (weight < 300) {
+                return true;
+              }
+              try {
+                Thread.sleep(10_000);
+              } catch (InterruptedException e) {
+                interrupted.countDown();
+              }
+              return true;
+            });
+
+    // Assert
+    assertEquals(200, maxWeight);
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(0, store.size());
+  }
+
+  /**
+   * Purpose: Verify lookups made from inside outbound calls still probe when those calls hold
+   * every permit of the client's bulkhead. Expected Result: Each route's probes run on its
+   * parent's permit and find the real limit before the deadline. Assertions: Returned weights,
+   * elapsed time and store size.
+   */
+  @Test
+  @DisplayName("getMaxWeight - Client Bulkhead Saturated By Callers - Probes Still Run")
+  void getMaxWeight_s07_clientBulkheadSaturatedByCallers_probesStillRun() throws Exception {
+    // Arrange
+    OutboundCallExecutor saturated = new OutboundCallExecutor(4, 2);
+    store = new RouteCapabilityStore(60, 120, saturated);
+    long deadline = deadline();
+    long start = System.nanoTime();
+    List<CompletableFuture<Double>> lookups = new ArrayList<>();
+
+    // Act
+    try {
+      for (String pickup : List.of("110001", "560001")) {
+        lookups.add(
+            saturated.supply(
+                1L,
+                deadline,
+                () ->
+                    store.getMaxWeight(
+                        1L, pickup, "400001", false, deadline, weight -> weight <= 300)));
+      }
+      for (CompletableFuture<Double> lookup : lookups) {
+        assertEquals(300, lookup.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      saturated.shutdown();
+    }
+
+    // Assert
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    assertEquals(2, store.size());
+  }
+
+  private static long deadline() {
+    return OutboundCallExecutor.deadlineAfter(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,94 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShipRocketHelperRegistry Tests")
+class ShipRocketHelperRegistryTest {
+
+  // Total Tests: 4
+
+  /**
+   * Purpose: Verify repeated lookups for the same client reuse one helper. Expected Result: The
+   * same instance is returned. Assertions: Instance identity and cache size.
+   */
+  @Test
+  @DisplayName("getHelper - Same Client And Credentials - Helper Reused")
+  void getHelper_s01_sameClientAndCredentials_helperReused() {
+    // Arrange
+    ShipRocketHelperRegistry registry =
+        new ShipRocketHelperRegistry(ShipRocketResilience.defaults());
+
+    // Act
+    ShipRocketHelper first = registry.getHelper(1L, "user@example.com", "password");
+    ShipRocketHelper second = registry.getHelper(1L, "user@example.com", "password");
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(1, registry.size());
+  }
+
+  /**
+   * Purpose: Verify clients get separate helpers. Expected Result: Different instances per client.
+   * Assertions: Instance identity and cache size.
+   */
+  @Test
+  @DisplayName("getHelper - Different Clients - Separate Helpers")
+  void getHelper_s02_differentClients_separateHelpers() {
+    // Arrange
+    ShipRocketHelperRegistry registry =
+        new ShipRocketHelperRegistry(ShipRocketResilience.defaults());
+
+    // Act
+    ShipRocketHelper first = registry.getHelper(1L, "user@example.com", "password");
+    ShipRocketHelper second = registry.getHelper(2L, "user@example.com", "password");
+
+    // Assert
+    assertNotSame(first, second);
+    assertEquals(2, registry.size());
+  }
+
+  /**
+   * Purpose: Verify a credential change replaces the cached helper. Expected Result: A new helper
+   * is created for the new password. Assertions: Instance identity.
+   */
+  @Test
+  @DisplayName("getHelper - Credentials Changed - Helper Replaced")
+  void getHelper_s03_credentialsChanged_helperReplaced() {
+    // Arrange
+    ShipRocketHelperRegistry registry =
+        new ShipRocketHelperRegistry(ShipRocketResilience.defaults());
+    ShipRocketHelper original = registry.getHelper(1L, "user@example.com", "password");
+
+    // Act
+    ShipRocketHelper updated = registry.getHelper(1L, "user@example.com", "new-password");
+
+    // Assert
+    assertNotSame(original, updated);
+    assertSame(updated, registry.getHelper(1L, "user@example.com", "new-password"));
+  }
+
+  /**
+   * Purpose: Verify invalidate drops the client's helper. Expected Result: The next lookup creates
+   * a new helper. Assertions: Cache size and instance identity.
+   */
+  @Test
+  @DisplayName("invalidate - Cached Client - Helper Dropped")
+  void invalidate_s04_cachedClient_helperDropped() {
+    // Arrange
+    ShipRocketHelperRegistry registry =
+        new ShipRocketHelperRegistry(ShipRocketResilience.defaults());
+    ShipRocketHelper original = registry.getHelper(1L, "user@example.com", "password");
+
+    // Act
+    registry.invalidate(1L);
+
+    // Assert
+    assertEquals(0, registry.size());
+    assertNotSame(original, registry.getHelper(1L, "user@example.com", "password"));
+  }
+}
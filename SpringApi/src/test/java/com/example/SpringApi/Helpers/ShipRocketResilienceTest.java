@@ -0,0 +1,177 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Exceptions.ServiceUnavailableException;
+import com.example.SpringApi.Models.ShippingResponseModel.ShippingOptionsResponseModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShipRocketResilience Tests")
+class ShipRocketResilienceTest {
+
+  // Total Tests: 5
+
+  private static final String ORDER_PATH = "/orders/show/12";
+  private static final String ORDER_ENDPOINT = "/orders/show/{id}";
+  private static final String SERVICEABILITY_PATH = "/courier/serviceability/";
+
+  private ShipRocketStubServer server;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = new ShipRocketStubServer();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+  }
+
+  /**
+   * Purpose: Verify the breaker opens once the failure rate is reached. Expected Result: After four
+   * 500 responses the next call fails as unavailable without reaching Shiprocket. Assertions:
+   * Breaker state, request count, short-circuit count, error message and retry delay.
+   */
+  @Test
+  @DisplayName("send - Failure Rate Reached - Opens And Fails Fast")
+  void send_s01_failureRateReached_opensAndFailsFast() {
+    // Arrange
+    ShipRocketResilience resilience = new ShipRocketResilience(4, 4, 50, 60_000, false, 100);
+    ShipRocketHelper helper = helper(resilience);
+    server.respond(ORDER_PATH, 500, "{}", 0);
+    for (int i = 0; i < 4; i++) {
+      assertThrows(BadRequestException.class, () -> getOrder(helper));
+    }
+
+    // Act
+    ServiceUnavailableException exception =
+        assertThrows(ServiceUnavailableException.class, () -> getOrder(helper));
+
+    // Assert
+    assertEquals(ShipRocketResilience.State.OPEN, resilience.getState(ORDER_ENDPOINT));
+    assertEquals(4, server.requestCount(ORDER_PATH));
+    assertEquals(1, resilience.getShortCircuitedCalls());
+    assertEquals(
+        String.format(ShipRocketResilience.CIRCUIT_OPEN_FORMAT, ORDER_ENDPOINT),
+        exception.getMessage());
+    assertEquals(60, exception.getRetryAfterSeconds(), 1);
+  }
+
+  /**
+   * Purpose: Verify an open breaker lets a trial call through after the open period. Expected
+   * Result: The successful trial closes the breaker. Assertions: Response body and breaker state.
+   */
+  @Test
+  @DisplayName("send - Open Period Elapsed - Trial Success Closes Breaker")
+  void send_s02_openPeriodElapsed_trialSuccessClosesBreaker() throws Exception {
+    // Arrange
+    ShipRocketResilience resilience = new ShipRocketResilience(4, 4, 50, 200, false, 100);
+    ShipRocketHelper helper = helper(resilience);
+    for (int i = 0; i < 4; i++) {
+      server.respond(ORDER_PATH, 500, "{}", 0);
+    }
+    server.respond(ORDER_PATH, 200, "{\"id\":12}", 0);
+    for (int i = 0; i < 4; i++) {
+      assertThrows(BadRequestException.class, () -> getOrder(helper));
+    }
+    Thread.sleep(250);
+
+    // Act
+    String body = getOrder(helper);
+
+    // Assert
+    assertEquals("{\"id\":12}", body);
+    assertEquals(ShipRocketResilience.State.CLOSED, resilience.getState(ORDER_ENDPOINT));
+  }
+
+  /**
+   * Purpose: Verify a slow serviceability lookup is hedged. Expected Result: The backup request
+   * answers first and the call returns well before the slow response. Assertions: Elapsed time,
+   * request count and hedged request count.
+   */
+  @Test
+  @DisplayName("send - Slow Serviceability Lookup - Hedged Request Wins")
+  void send_s03_slowServiceabilityLookup_hedgedRequestWins() {
+    // Arrange
+    ShipRocketResilience resilience = new ShipRocketResilience(20, 1, 50, 60_000, true, 50);
+    ShipRocketHelper helper = helper(resilience);
+    server
+        .respond(SERVICEABILITY_PATH, 200, "{}", 0)
+        .respond(SERVICEABILITY_PATH, 200, "{}", 3_000)
+        .respond(SERVICEABILITY_PATH, 200, "{}", 0);
+    helper.getAvailableShippingOptions("110001", "400001", false, "1");
+
+    // Act
+    long start = System.nanoTime();
+    ShippingOptionsResponseModel options =
+        helper.getAvailableShippingOptions("110001", "400001", false, "1");
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    // Assert
+    assertNotNull(options);
+    assertTrue(elapsedMillis < 2_000, "took " + elapsedMillis + " ms");
+    assertEquals(3, server.requestCount(SERVICEABILITY_PATH));
+    assertEquals(1, resilience.getHedgedRequests());
+  }
+
+  /**
+   * Purpose: Verify client errors do not count against the breaker. Expected Result: Repeated 400
+   * responses keep the breaker closed and every call reaches Shiprocket. Assertions: Breaker state
+   * and request count.
+   */
+  @Test
+  @DisplayName("send - Client Errors - Breaker Stays Closed")
+  void send_s04_clientErrors_breakerStaysClosed() {
+    // Arrange
+    ShipRocketResilience resilience = new ShipRocketResilience(4, 4, 50, 60_000, false, 100);
+    ShipRocketHelper helper = helper(resilience);
+    server.respond(ORDER_PATH, 400, "{\"message\":\"Invalid order\"}", 0);
+
+    // Act
+    for (int i = 0; i < 6; i++) {
+      assertThrows(BadRequestException.class, () -> getOrder(helper));
+    }
+
+    // Assert
+    assertEquals(ShipRocketResilience.State.CLOSED, resilience.getState(ORDER_ENDPOINT));
+    assertEquals(6, server.requestCount(ORDER_PATH));
+  }
+
+  /**
+   * Purpose: Verify one account's rate limiting does not open the shared breaker. Expected Result:
+   * Repeated 429 responses keep the breaker closed and every call reaches Shiprocket. Assertions:
+   * Breaker state and request count.
+   */
+  @Test
+  @DisplayName("send - Rate Limited - Breaker Stays Closed")
+  void send_s05_rateLimited_breakerStaysClosed() {
+    // Arrange
+    ShipRocketResilience resilience = new ShipRocketResilience(4, 4, 50, 60_000, false, 100);
+    ShipRocketHelper helper = helper(resilience);
+    server.respond(ORDER_PATH, 429, "{\"message\":\"Too many requests\"}", 0);
+
+    // Act
+    for (int i = 0; i < 6; i++) {
+      assertThrows(BadRequestException.class, () -> getOrder(helper));
+    }
+
+    // Assert
+    assertEquals(ShipRocketResilience.State.CLOSED, resilience.getState(ORDER_ENDPOINT));
+    assertEquals(6, server.requestCount(ORDER_PATH));
+  }
+
+  private ShipRocketHelper helper(ShipRocketResilience resilience) {
+    return new ShipRocketHelper("ops@example.com", "secret", resilience, server.baseUrl());
+  }
+
+  private String getOrder(ShipRocketHelper helper) {
+    return helper.httpResponseRaw("token", server.baseUrl() + ORDER_PATH, "GET", null);
+  }
+}
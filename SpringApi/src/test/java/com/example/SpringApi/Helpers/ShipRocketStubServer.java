@@ -0,0 +1,98 @@
+package com.example.SpringApi.Helpers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP server standing in for the Shiprocket API in tests.
+ *
+ * <p>Responses are queued per path (without query string) and served in order; the last queued
+ * response is repeated once the queue is down to one. Unknown paths answer 404. Requests are
+ * handled concurrently so a slow response does not hold up the next request.
+ */
+final class ShipRocketStubServer implements AutoCloseable {
+  private static final String TOKEN_BODY = "{\"token\":\"stub-token\"}";
+
+  private record StubResponse(int status, String body, long delayMillis) {}
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final Map<String, Queue<StubResponse>> responses = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+  ShipRocketStubServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", this::handle);
+    server.setExecutor(executor);
+    server.start();
+    respond("/auth/login", 200, TOKEN_BODY, 0);
+  }
+
+  /** Base URL to pass to the helper in place of the Shiprocket API root. */
+  String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  /** Queues a response for {@code path}. */
+  ShipRocketStubServer respond(String path, int status, String body, long delayMillis) {
+    responses
+        .computeIfAbsent(path, key -> new ConcurrentLinkedQueue<>())
+        .add(new StubResponse(status, body, delayMillis));
+    return this;
+  }
+
+  /** Number of requests received for {@code path}. */
+  int requestCount(String path) {
+    AtomicInteger count = requestCounts.get(path);
+    return count != null ? count.get() : 0;
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    requestCounts.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+    StubResponse response = next(path);
+    try {
+      if (response.delayMillis() > 0) {
+        Thread.sleep(response.delayMillis());
+      }
+      byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(response.status(), body.length);
+      try (OutputStream output = exchange.getResponseBody()) {
+        output.write(body);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private StubResponse next(String path) {
+    Queue<StubResponse> queue = responses.get(path);
+    if (queue == null) {
+      return new StubResponse(404, "{}", 0);
+    }
+    synchronized (queue) {
+      StubResponse response = queue.size() > 1 ? queue.poll() : queue.peek();
+      return response != null ? response : new StubResponse(404, "{}", 0);
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Models.ShippingResponseModel.ShippingOptionsResponseModel;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShippingRateCache Tests")
+class ShippingRateCacheTest {
+
+  // Total Tests: 8
+
+  /**
+   * Purpose: Verify a repeated lookup is served from the cache. Expected Result: One upstream call
+   * for two lookups. Assertions: Returned instance, upstream call count, hit and miss counts.
+   */
+  @Test
+  @DisplayName("get - Repeated Route - Served From Cache")
+  void get_s01_repeatedRoute_servedFromCache() {
+    // Arrange
+    ShippingRateCache cache = cache();
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    ShippingOptionsResponseModel response = new ShippingOptionsResponseModel();
+
+    // Act
+    ShippingOptionsResponseModel first =
+        cache.get(1L, "110001", "400001", false, "1.2", counting(upstreamCalls, response));
+    ShippingOptionsResponseModel second =
+        cache.get(1L, "110001", "400001", false, "1.2", counting(upstreamCalls, response));
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(1, upstreamCalls.get());
+    assertEquals(1, cache.stats().hitCount());
+    assertEquals(1, cache.stats().missCount());
+  }
+
+  /**
+   * Purpose: Verify weights in the same slab share an entry. Expected Result: 1.2 kg and 1.4 kg
+   * share the 1.5 kg slab; 1.6 kg does not. Assertions: Upstream call count and bucket labels.
+   */
+  @Test
+  @DisplayName("get - Weights In Same Slab - Share Entry")
+  void get_s02_weightsInSameSlab_shareEntry() {
+    // Arrange
+    ShippingRateCache cache = cache();
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    ShippingOptionsResponseModel response = new ShippingOptionsResponseModel();
+
+    // Act
+    cache.get(1L, "110001", "400001", false, "1.2", counting(upstreamCalls, response));
+    cache.get(1L, "110001", "400001", false, "1.4", counting(upstreamCalls, response));
+    cache.get(1L, "110001", "400001", false, "1.6", counting(upstreamCalls, response));
+
+    // Assert
+    assertEquals(2, upstreamCalls.get());
+    assertEquals("1.5", cache.weightBucket("1.2"));
+    assertEquals("2", cache.weightBucket("1.6"));
+  }
+
+  /**
+   * Purpose: Verify entries are not shared between clients or payment modes. Expected Result: Each
+   * client and COD flag triggers its own upstream call. Assertions: Upstream call count.
+   */
+  @Test
+  @DisplayName("get - Different Client Or COD - Separate Entries")
+  void get_s03_differentClientOrCod_separateEntries() {
+    // Arrange
+    ShippingRateCache cache = cache();
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    ShippingOptionsResponseModel response = new ShippingOptionsResponseModel();
+
+    // Act
+    cache.get(1L, "110001", "400001", false, "1", counting(upstreamCalls, response));
+    cache.get(2L, "110001", "400001", false, "1", counting(upstreamCalls, response));
+    cache.get(1L, "110001", "400001", true, "1", counting(upstreamCalls, response));
+
+    // Assert
+    assertEquals(3, upstreamCalls.get());
+    assertEquals(3, cache.size());
+  }
+
+  /**
+   * Purpose: Verify null upstream responses are not cached. Expected Result: Both lookups call
+   * upstream and return null. Assertions: Returned value and upstream call count.
+   */
+  @Test
+  @DisplayName("get - Null Upstream Response - Not Cached")
+  void get_s04_nullUpstreamResponse_notCached() {
+    // Arrange
+    ShippingRateCache cache = cache();
+    AtomicInteger upstreamCalls = new AtomicInteger();
+
+    // Act
+    ShippingOptionsResponseModel first =
+        cache.get(1L, "110001", "400001", false, "1", counting(upstreamCalls, null));
+    ShippingOptionsResponseModel second =
+        cache.get(1L, "110001", "400001", false, "1", counting(upstreamCalls, null));
+
+    // Assert
+    assertNull(first);
+    assertNull(second);
+    assertEquals(2, upstreamCalls.get());
+  }
+
+  /**
+   * Purpose: Verify concurrent lookups for one route share a single upstream call. Expected
+   * Result: Eight threads, one upstream call, same response everywhere. Assertions: Upstream call
+   * count and returned instances.
+   */
+  @Test
+  @DisplayName("get - Concurrent Identical Lookups - Single Upstream Call")
+  void get_s05_concurrentIdenticalLookups_singleUpstreamCall() throws Exception {
+    // Arrange
+    ShippingRateCache cache = cache();
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    ShippingOptionsResponseModel response = new ShippingOptionsResponseModel();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    // Act
+    List<Future<ShippingOptionsResponseModel>> results = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      results.add(
+          executor.submit(
+              () -> {
+                start.await();
+                return cache.get(
+                    1L,
+                    "110001",
+                    "400001",
+                    false,
+                    "1",
+                    () -> {
+                      upstreamCalls.incrementAndGet();
+                      sleep(100);
+                      return response;
+                    });
+              }));
+    }
+    start.countDown();
+
+    // Assert
+    for (Future<ShippingOptionsResponseModel> result : results) {
+      assertSame(response, result.get(5, TimeUnit.SECONDS));
+    }
+    executor.shutdownNow();
+    assertEquals(1, upstreamCalls.get());
+  }
+
+  /**
+   * Purpose: Verify the last known rates are served when Shiprocket fails after the entry expired.
+   * Expected Result: The earlier response is returned for the known route; an unknown route still
+   * fails. Assertions: Returned instance and thrown exception.
+   */
+  @Test
+  @DisplayName("get - Upstream Fails After Expiry - Serves Last Known Rates")
+  void get_s06_upstreamFailsAfterExpiry_servesLastKnownRates() {
+    // Arrange
+    ShippingRateCache cache = new ShippingRateCache(1, 100, new BigDecimal("0.5"), 60);
+    ShippingOptionsResponseModel response = new ShippingOptionsResponseModel();
+    cache.get(1L, "110001", "400001", false, "1", () -> response);
+    sleep(1_100);
+    Supplier<ShippingOptionsResponseModel> failing =
+        () -> {
+          throw new BadRequestException("Shiprocket API is unavailable");
+        };
+
+    // Act
+    ShippingOptionsResponseModel fallback =
+        cache.get(1L, "110001", "400001", false, "1", failing);
+
+    // Assert
+    assertSame(response, fallback);
+    assertThrows(
+        BadRequestException.class, () -> cache.get(1L, "110001", "560001", false, "1", failing));
+  }
+
+  /**
+   * Purpose: Verify the route bound only uses cached slabs at or above the shipment's weight.
+   * Expected Result: Billed weight times the cheapest per-kg rate from that slab up, the heaviest
+   * slab's rate above it, and 0 for an unquoted route. Assertions: Bounds at several weights.
+   */
+  @Test
+  @DisplayName("routeRates - Several Cached Slabs - Bound From Heavier Slabs")
+  void routeRates_s07_severalCachedSlabs_boundFromHeavierSlabs() {
+    // Arrange
+    ShippingRateCache cache = cache();
+    cache.get(1L, "110001", "400001", false, "0.4", () -> rates(60, 80));
+    cache.get(1L, "110001", "400001", false, "1.8", () -> rates(150));
+    cache.get(1L, "110002", "400001", false, "1", () -> rates(10));
+
+    // Act
+    ShippingRateCache.RouteRates routeRates = cache.routeRates(1L, "110001", "400001", false);
+
+    // Assert
+    assertEquals(0.5 * 75.0, routeRates.lowerBound(cache.billedWeightKg(0.4)), 1e-9);
+    assertEquals(1.5 * 75.0, routeRates.lowerBound(cache.billedWeightKg(1.5)), 1e-9);
+    assertEquals(150.0, routeRates.lowerBound(cache.billedWeightKg(3)), 1e-9);
+    assertEquals(2.0, cache.billedWeightKg(1.8), 1e-9);
+    assertEquals(0.0, cache.routeRates(1L, "110003", "400001", false).lowerBound(1), 1e-9);
+  }
+
+  /**
+   * Purpose: Verify serviceability probes share cached responses but do not feed the route bound.
+   * Expected Result: A probed heavy slab leaves the bound at 0; a later quote at that weight is
+   * served from the cache. Assertions: Bound and upstream call count.
+   */
+  @Test
+  @DisplayName("probe - Heavy Weight Probed - Not Used For Route Bound")
+  void probe_s08_heavyWeightProbed_notUsedForRouteBound() {
+    // Arrange
+    ShippingRateCache cache = cache();
+    AtomicInteger upstreamCalls = new AtomicInteger();
+    cache.probe(1L, "110001", "400001", false, "200", counting(upstreamCalls, rates(900)));
+
+    // Act
+    ShippingRateCache.RouteRates routeRates = cache.routeRates(1L, "110001", "400001", false);
+    cache.get(1L, "110001", "400001", false, "200", counting(upstreamCalls, rates(900)));
+
+    // Assert
+    assertEquals(0.0, routeRates.lowerBound(1), 1e-9);
+    assertEquals(1, upstreamCalls.get());
+  }
+
+  private static ShippingOptionsResponseModel rates(double... courierRates) {
+    ShippingOptionsResponseModel response = new ShippingOptionsResponseModel();
+    ShippingOptionsResponseModel.Data data = new ShippingOptionsResponseModel.Data();
+    data.setAvailableCourierCompanies(new ArrayList<>());
+    for (double rate : courierRates) {
+      ShippingOptionsResponseModel.AvailableCourierCompany courier =
+          new ShippingOptionsResponseModel.AvailableCourierCompany();
+      courier.setRate(rate);
+      data.getAvailableCourierCompanies().add(courier);
+    }
+    response.setData(data);
+    return response;
+  }
+
+  private static ShippingRateCache cache() {
+    return new ShippingRateCache(60, 100, new BigDecimal("0.5"));
+  }
+
+  private static Supplier<ShippingOptionsResponseModel> counting(
+      AtomicInteger calls, ShippingOptionsResponseModel response) {
+    return () -> {
+      calls.incrementAndGet();
+      return response;
+    };
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package com.example.SpringApi.Helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping;
+import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
+import com.example.SpringApi.Repositories.PackagePickupLocationMappingRepository;
+import com.example.SpringApi.Repositories.ProductPickupLocationMappingRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@DisplayName("StockLocationLoader Tests")
+class StockLocationLoaderTest {
+
+  // Total Tests: 6
+
+  private ProductPickupLocationMappingRepository productMappingRepository;
+  private PackagePickupLocationMappingRepository packageMappingRepository;
+  private StockLocationLoader loader;
+
+  @BeforeEach
+  void setUp() {
+    productMappingRepository = mock(ProductPickupLocationMappingRepository.class);
+    packageMappingRepository = mock(PackagePickupLocationMappingRepository.class);
+    loader = new StockLocationLoader(productMappingRepository, packageMappingRepository, 60, 100);
+    when(productMappingRepository.findByProductIdsWithPickupLocationAndAddress(anyList()))
+        .thenReturn(
+            List.of(productMapping(1L, 10L), productMapping(2L, 10L), productMapping(2L, 20L)));
+    when(packageMappingRepository.findByPickupLocationIdsWithPackages(anyList()))
+        .thenReturn(List.of(packageMapping(10L), packageMapping(20L)));
+  }
+
+  /**
+   * Purpose: Verify several products load in one query per table. Expected Result: Mappings and
+   * packages are grouped by product and location. Assertions: Group sizes and query counts.
+   */
+  @Test
+  @DisplayName("load - Several Products - One Query Per Table")
+  void load_s01_severalProducts_oneQueryPerTable() {
+    // Act
+    StockLocationLoader.StockSnapshot snapshot = loader.load(List.of(1L, 2L, 3L));
+
+    // Assert
+    assertEquals(1, snapshot.mappings(1L).size());
+    assertEquals(2, snapshot.mappings(2L).size());
+    assertTrue(snapshot.mappings(3L).isEmpty());
+    assertEquals(1, snapshot.packages(10L).size());
+    assertEquals(1, snapshot.packages(20L).size());
+    verify(productMappingRepository, times(1))
+        .findByProductIdsWithPickupLocationAndAddress(List.of(1L, 2L, 3L));
+    verify(packageMappingRepository, times(1))
+        .findByPickupLocationIdsWithPackages(List.of(10L, 20L));
+  }
+
+  /**
+   * Purpose: Verify a repeated load is served from the cache. Expected Result: The second load
+   * issues no queries. Assertions: Query counts and returned mappings.
+   */
+  @Test
+  @DisplayName("load - Repeated Products - Served From Cache")
+  void load_s02_repeatedProducts_servedFromCache() {
+    // Arrange
+    loader.load(List.of(1L, 2L));
+
+    // Act
+    StockLocationLoader.StockSnapshot snapshot = loader.load(List.of(2L, 1L));
+
+    // Assert
+    assertEquals(2, snapshot.mappings(2L).size());
+    verify(productMappingRepository, times(1))
+        .findByProductIdsWithPickupLocationAndAddress(anyList());
+    verify(packageMappingRepository, times(1)).findByPickupLocationIdsWithPackages(anyList());
+  }
+
+  /**
+   * Purpose: Verify invalidation reloads only the affected entries. Expected Result: The
+   * invalidated product and location are queried again. Assertions: Arguments of the second
+   * queries.
+   */
+  @Test
+  @DisplayName("load - After Invalidation - Reloads Affected Entries")
+  void load_s03_afterInvalidation_reloadsAffectedEntries() {
+    // Arrange
+    loader.load(List.of(1L, 2L));
+    loader.invalidateProducts(List.of(1L));
+    loader.invalidateLocations(List.of(20L));
+
+    // Act
+    loader.load(List.of(1L, 2L));
+
+    // Assert
+    verify(productMappingRepository).findByProductIdsWithPickupLocationAndAddress(List.of(1L));
+    verify(packageMappingRepository).findByPickupLocationIdsWithPackages(List.of(20L));
+  }
+
+  /**
+   * Purpose: Verify invalidating a location raises its package inventory version. Expected Result:
+   * Snapshots report the new version for that location only. Assertions: Versions before and
+   * after invalidation.
+   */
+  @Test
+  @DisplayName("load - After Location Invalidation - Reports New Package Version")
+  void load_s04_afterLocationInvalidation_reportsNewPackageVersion() {
+    // Arrange
+    StockLocationLoader.StockSnapshot before = loader.load(List.of(2L));
+    loader.invalidateLocations(List.of(20L));
+
+    // Act
+    StockLocationLoader.StockSnapshot after = loader.load(List.of(2L));
+
+    // Assert
+    assertEquals(0L, before.packageVersion(20L));
+    assertEquals(1L, after.packageVersion(20L));
+    assertEquals(0L, after.packageVersion(10L));
+    assertEquals(1L, loader.packageVersion(20L));
+  }
+
+  /**
+   * Purpose: Verify invalidation inside a transaction waits for the commit. Expected Result: Loads
+   * before the commit keep the old version and cached packages; after the commit the version is
+   * raised. Assertions: Package versions and query counts.
+   */
+  @Test
+  @DisplayName("invalidateLocations - Inside Transaction - Applied After Commit")
+  void invalidateLocations_s05_insideTransaction_appliedAfterCommit() {
+    // Arrange
+    loader.load(List.of(2L));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // Act
+      loader.invalidateLocations(List.of(20L));
+      StockLocationLoader.StockSnapshot beforeCommit = loader.load(List.of(2L));
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+
+      // Assert
+      assertEquals(0L, beforeCommit.packageVersion(20L));
+      verify(packageMappingRepository, times(1)).findByPickupLocationIdsWithPackages(anyList());
+      assertEquals(1L, loader.packageVersion(20L));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  /**
+   * Purpose: Verify a load that overlaps a product invalidation does not cache what it read.
+   * Expected Result: The next load queries the product again. Assertions: Query count.
+   */
+  @Test
+  @DisplayName("load - Invalidated While Loading - Old Mappings Not Cached")
+  void load_s06_invalidatedWhileLoading_oldMappingsNotCached() {
+    // Arrange
+    when(productMappingRepository.findByProductIdsWithPickupLocationAndAddress(anyList()))
+        .thenAnswer(
+            invocation -> {
+              loader.invalidateProducts(List.of(1L));
+              return List.of(productMapping(1L, 10L));
+            })
+        .thenReturn(List.of(productMapping(1L, 10L)));
+    loader.load(List.of(1L));
+
+    // Act
+    loader.load(List.of(1L));
+
+    // Assert
+    verify(productMappingRepository, times(2))
+        .findByProductIdsWithPickupLocationAndAddress(List.of(1L));
+  }
+
+  private static ProductPickupLocationMapping productMapping(Long productId, Long locationId) {
+    ProductPickupLocationMapping mapping = new ProductPickupLocationMapping();
+    mapping.setProductId(productId);
+    mapping.setPickupLocationId(locationId);
+    mapping.setAvailableStock(5);
+    return mapping;
+  }
+
+  private static PackagePickupLocationMapping packageMapping(Long locationId) {
+    PackagePickupLocationMapping mapping = new PackagePickupLocationMapping();
+    mapping.setPickupLocationId(locationId);
+    mapping.setAvailableQuantity(3);
+    return mapping;
+  }
+}
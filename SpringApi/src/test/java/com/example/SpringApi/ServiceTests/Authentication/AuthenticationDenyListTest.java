@@ -0,0 +1,129 @@
+package com.example.SpringApi.ServiceTests.Authentication;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SpringApi.Authentication.AuthenticationDenyList;
+import com.example.SpringApi.Models.DatabaseModels.User;
+import com.example.SpringApi.Repositories.UserRepository;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthenticationDenyList Tests")
+class AuthenticationDenyListTest {
+
+  // Total Tests: 4
+
+  @Mock private UserRepository userRepository;
+
+  /**
+   * Purpose: Verify checks are answered from the loaded set without going back to the database.
+   * Expected Result: Denied and allowed users are answered after a single load. Assertions:
+   * isDenied results and repository invocation count.
+   */
+  @Test
+  @DisplayName("isDenied - Repeated Checks - Served From Loaded Set")
+  void isDenied_s01_repeatedChecks_servedFromLoadedSet() {
+    // Arrange
+    AuthenticationDenyList denyList = new AuthenticationDenyList(userRepository);
+    when(userRepository.findDeniedUserIds()).thenReturn(List.of(7L));
+    denyList.preload();
+
+    // Act
+    boolean denied = denyList.isDenied(7L);
+    boolean allowed = denyList.isDenied(8L);
+    denyList.isDenied(7L);
+
+    // Assert
+    assertTrue(denied);
+    assertFalse(allowed);
+    verify(userRepository, times(1)).findDeniedUserIds();
+  }
+
+  /**
+   * Purpose: Verify an update made while a reload query runs survives the older snapshot. Expected
+   * Result: The user denied during the query stays denied after the reload. Assertions: isDenied
+   * result.
+   */
+  @Test
+  @DisplayName("refresh - User Denied During Reload - Update Kept")
+  void refresh_s02_userDeniedDuringReload_updateKept() {
+    // Arrange
+    AuthenticationDenyList denyList = new AuthenticationDenyList(userRepository);
+    User user = new User();
+    user.setUserId(9L);
+    user.setIsDeleted(true);
+    when(userRepository.findDeniedUserIds())
+        .thenAnswer(
+            invocation -> {
+              denyList.update(user);
+              return List.of(7L);
+            });
+
+    // Act
+    denyList.refresh();
+
+    // Assert
+    assertTrue(denyList.isDenied(7L));
+    assertTrue(denyList.isDenied(9L));
+  }
+
+  /**
+   * Purpose: Verify an update made inside a transaction waits for the commit. Expected Result: The
+   * user is only denied once afterCommit runs. Assertions: isDenied before and after commit.
+   */
+  @Test
+  @DisplayName("update - Inside Transaction - Applied After Commit")
+  void update_s03_insideTransaction_appliedAfterCommit() {
+    // Arrange
+    AuthenticationDenyList denyList = new AuthenticationDenyList(userRepository);
+    User user = new User();
+    user.setUserId(9L);
+    user.setIsDeleted(true);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // Act
+      denyList.update(user);
+      boolean deniedBeforeCommit = denyList.isDenied(9L);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+
+      // Assert
+      assertFalse(deniedBeforeCommit);
+      assertTrue(denyList.isDenied(9L));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  /**
+   * Purpose: Verify a failed reload keeps serving the last loaded set. Expected Result: The reload
+   * error surfaces to the scheduler and the previously denied user stays denied. Assertions:
+   * Exception type and isDenied result.
+   */
+  @Test
+  @DisplayName("refresh - Reload Fails - Previous Set Served")
+  void refresh_f01_reloadFails_previousSetServed() {
+    // Arrange
+    AuthenticationDenyList denyList = new AuthenticationDenyList(userRepository);
+    when(userRepository.findDeniedUserIds())
+        .thenReturn(List.of(7L))
+        .thenThrow(new IllegalStateException("database unavailable"));
+    denyList.preload();
+
+    // Act & Assert
+    assertThrows(IllegalStateException.class, denyList::refresh);
+    assertTrue(denyList.isDenied(7L));
+  }
+}
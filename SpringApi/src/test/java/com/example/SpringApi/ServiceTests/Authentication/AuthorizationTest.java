@@ -5,10 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.SpringApi.Authentication.Authorization;
 import com.example.SpringApi.Authentication.JwtTokenProvider;
+import com.example.SpringApi.Authentication.PermissionCodeResolver;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.PermissionException;
 import com.example.SpringApi.Models.DatabaseModels.Permission;
@@ -27,7 +30,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @DisplayName("Authorization Tests")
 class AuthorizationTest {
 
-  // Total Tests: 6
+  // Total Tests: 9
 
   @Mock private HttpServletRequest request;
 
@@ -70,7 +73,7 @@ class AuthorizationTest {
     Permission permission = new Permission();
     permission.setPermissionId(101L);
     permission.setPermissionCode("READ_ONLY");
-    when(permissionRepository.findAllById(eq(List.of(101L)))).thenReturn(List.of(permission));
+    when(permissionRepository.findAll()).thenReturn(List.of(permission));
 
     // Act
     boolean allowed = authorization.hasAuthority("WRITE");
@@ -100,8 +103,7 @@ class AuthorizationTest {
     write.setPermissionId(202L);
     write.setPermissionCode("WRITE");
 
-    when(permissionRepository.findAllById(eq(List.of(201L, 202L))))
-        .thenReturn(List.of(read, write));
+    when(permissionRepository.findAll()).thenReturn(List.of(read, write));
 
     // Act
     boolean allowed = authorization.hasAuthority("READ, WRITE");
@@ -168,7 +170,7 @@ class AuthorizationTest {
     Permission permission = new Permission();
     permission.setPermissionId(301L);
     permission.setPermissionCode("VIEW");
-    when(permissionRepository.findAllById(eq(List.of(301L)))).thenReturn(List.of(permission));
+    when(permissionRepository.findAll()).thenReturn(List.of(permission));
 
     // Act
     boolean emptyPermissionIds = authorization.isAllowed("ANY", List.of());
@@ -179,9 +181,104 @@ class AuthorizationTest {
     assertFalse(missingRequired);
   }
 
+  /**
+   * Purpose: Verify permission checks and membership lookups are served from memory after the first
+   * call. Expected Result: Permission table and user-client mapping are each loaded once across
+   * repeated checks. Assertions: Repository invocation counts.
+   */
+  @Test
+  @DisplayName("hasAuthority - Repeated Checks Use Cached Table And Membership - Success")
+  void hasAuthority_s07_repeatedChecksUseCachedTableAndMembership_success() {
+    // Arrange
+    Authorization authorization = createAuthorization();
+    stubValidTokenAndMapping(4L, 40L);
+    when(jwtTokenProvider.getUserPermissionIds(eq("token-value"))).thenReturn(List.of(401L));
+
+    Permission view = new Permission();
+    view.setPermissionId(401L);
+    view.setPermissionCode("VIEW");
+    when(permissionRepository.findAll()).thenReturn(List.of(view));
+
+    // Act
+    boolean first = authorization.hasAuthority("VIEW");
+    boolean second = authorization.hasAuthority("VIEW");
+    boolean denied = authorization.hasAuthority("EDIT");
+
+    // Assert
+    assertTrue(first);
+    assertTrue(second);
+    assertFalse(denied);
+    verify(permissionRepository, times(1)).findAll();
+    verify(userClientMappingRepository, times(1))
+        .findByUserIdsAndClientId(eq(List.of(4L)), eq(40L));
+  }
+
+  /**
+   * Purpose: Verify a permission ID unknown to the loaded table triggers a reload. Expected Result:
+   * Newly added permission is resolved after reload. Assertions: isAllowed result and reload count.
+   */
+  @Test
+  @DisplayName("isAllowed - Unknown Permission Id Reloads Table - Success")
+  void isAllowed_s08_unknownPermissionIdReloadsTable_success() {
+    // Arrange
+    PermissionCodeResolver resolver =
+        new PermissionCodeResolver(permissionRepository, userClientMappingRepository);
+
+    Permission view = new Permission();
+    view.setPermissionId(501L);
+    view.setPermissionCode("VIEW");
+    Permission export = new Permission();
+    export.setPermissionId(502L);
+    export.setPermissionCode("EXPORT");
+    when(permissionRepository.findAll())
+        .thenReturn(List.of(view))
+        .thenReturn(List.of(view, export));
+    resolver.preload();
+
+    // Act
+    boolean allowed = resolver.isAllowed("EXPORT", List.of(501L, 502L));
+
+    // Assert
+    assertTrue(allowed);
+    verify(permissionRepository, times(2)).findAll();
+  }
+
+  /**
+   * Purpose: Verify invalidating a user drops their cached membership. Expected Result: The
+   * removed client mapping is seen on the next check instead of the cached answer. Assertions:
+   * isClientMember results and repository invocation count.
+   */
+  @Test
+  @DisplayName("isClientMember - Membership Invalidated - Mapping Reloaded")
+  void isClientMember_s09_membershipInvalidated_mappingReloaded() {
+    // Arrange
+    PermissionCodeResolver resolver =
+        new PermissionCodeResolver(permissionRepository, userClientMappingRepository);
+    UserClientMapping mapping = new UserClientMapping();
+    mapping.setUserId(4L);
+    mapping.setClientId(40L);
+    when(userClientMappingRepository.findByUserIdsAndClientId(eq(List.of(4L)), eq(40L)))
+        .thenReturn(List.of(mapping))
+        .thenReturn(List.of());
+    boolean memberBefore = resolver.isClientMember(4L, 40L);
+
+    // Act
+    resolver.invalidateAfterCommit(List.of(4L));
+    boolean memberAfter = resolver.isClientMember(4L, 40L);
+
+    // Assert
+    assertTrue(memberBefore);
+    assertFalse(memberAfter);
+    verify(userClientMappingRepository, times(2))
+        .findByUserIdsAndClientId(eq(List.of(4L)), eq(40L));
+    verify(permissionRepository, times(1)).findAll();
+  }
+
   private Authorization createAuthorization() {
     return new Authorization(
-        request, jwtTokenProvider, permissionRepository, userClientMappingRepository);
+        request,
+        jwtTokenProvider,
+        new PermissionCodeResolver(permissionRepository, userClientMappingRepository));
   }
 
   private void stubValidTokenAndMapping(Long userId, Long clientId) {
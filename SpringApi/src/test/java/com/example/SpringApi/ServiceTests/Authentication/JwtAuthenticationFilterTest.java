@@ -8,8 +8,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.SpringApi.Authentication.AuthenticationDenyList;
 import com.example.SpringApi.Authentication.JwtAuthenticationFilter;
 import com.example.SpringApi.Authentication.JwtTokenProvider;
+import com.example.SpringApi.Authentication.JwtUserPrincipal;
+import com.example.SpringApi.Authentication.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,7 +35,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 @DisplayName("JwtAuthenticationFilter Tests")
 class JwtAuthenticationFilterTest {
 
-  // Total Tests: 5
+  // Total Tests: 7
 
   @Mock private JwtTokenProvider jwtTokenProvider;
 
@@ -44,6 +47,8 @@ class JwtAuthenticationFilterTest {
 
   @Mock private FilterChain filterChain;
 
+  @Mock private AuthenticationDenyList authenticationDenyList;
+
   @AfterEach
   void tearDown() {
     SecurityContextHolder.clearContext();
@@ -60,7 +65,8 @@ class JwtAuthenticationFilterTest {
       throws ServletException, IOException {
     // Arrange
     TestableJwtAuthenticationFilter filter =
-        new TestableJwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        new TestableJwtAuthenticationFilter(
+            jwtTokenProvider, userDetailsService, authenticationDenyList, false);
     when(request.getMethod()).thenReturn("OPTIONS");
 
     // Act
@@ -82,7 +88,8 @@ class JwtAuthenticationFilterTest {
       throws ServletException, IOException {
     // Arrange
     TestableJwtAuthenticationFilter filter =
-        new TestableJwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        new TestableJwtAuthenticationFilter(
+            jwtTokenProvider, userDetailsService, authenticationDenyList, false);
     when(request.getMethod()).thenReturn("GET");
     when(request.getHeader("Authorization")).thenReturn("Bearer jwt-token");
     when(jwtTokenProvider.getUserNameFromToken(eq("jwt-token"))).thenReturn("nahush@example.com");
@@ -115,7 +122,8 @@ class JwtAuthenticationFilterTest {
       throws ServletException, IOException {
     // Arrange
     TestableJwtAuthenticationFilter filter =
-        new TestableJwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        new TestableJwtAuthenticationFilter(
+            jwtTokenProvider, userDetailsService, authenticationDenyList, false);
     when(request.getMethod()).thenReturn("GET");
     when(request.getHeader("Authorization")).thenReturn("Bearer jwt-token");
     when(jwtTokenProvider.getUserNameFromToken(eq("jwt-token")))
@@ -140,7 +148,8 @@ class JwtAuthenticationFilterTest {
   void doFilterInternal_s04_tokenValidationFails_success() throws ServletException, IOException {
     // Arrange
     TestableJwtAuthenticationFilter filter =
-        new TestableJwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        new TestableJwtAuthenticationFilter(
+            jwtTokenProvider, userDetailsService, authenticationDenyList, false);
     when(request.getMethod()).thenReturn("GET");
     when(request.getHeader("Authorization")).thenReturn("Bearer jwt-token");
     when(jwtTokenProvider.getUserNameFromToken(eq("jwt-token"))).thenReturn("nahush@example.com");
@@ -169,7 +178,8 @@ class JwtAuthenticationFilterTest {
       throws ServletException, IOException {
     // Arrange
     TestableJwtAuthenticationFilter filter =
-        new TestableJwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+        new TestableJwtAuthenticationFilter(
+            jwtTokenProvider, userDetailsService, authenticationDenyList, false);
     when(request.getMethod()).thenReturn("GET");
     when(request.getHeader("Authorization")).thenReturn("Bearer jwt-token");
     when(jwtTokenProvider.getUserNameFromToken(eq("jwt-token"))).thenReturn("nahush@example.com");
@@ -189,11 +199,84 @@ class JwtAuthenticationFilterTest {
     verify(filterChain).doFilter(request, response);
   }
 
+  /**
+   * Purpose: Verify stateless mode builds the principal from verified claims without loading the
+   * user. Expected Result: Authentication holds a JwtUserPrincipal with claim values. Assertions:
+   * Principal fields and no user-details-service invocation.
+   */
+  @Test
+  @DisplayName("doFilterInternal - Stateless Mode Builds Principal From Claims - Success")
+  void doFilterInternal_s06_statelessModeBuildsPrincipalFromClaims_success()
+      throws ServletException, IOException {
+    // Arrange
+    TestableJwtAuthenticationFilter filter =
+        new TestableJwtAuthenticationFilter(
+            jwtTokenProvider, userDetailsService, authenticationDenyList, true);
+    when(request.getMethod()).thenReturn("GET");
+    when(request.getHeader("Authorization")).thenReturn("Bearer jwt-token");
+    when(jwtTokenProvider.getUserNameFromToken(eq("jwt-token"))).thenReturn("nahush@example.com");
+    VerifiedClaims claims = mockClaims(42L, "nahush@example.com", "ADMIN", 7L);
+    when(jwtTokenProvider.getVerifiedClaims(eq("jwt-token"))).thenReturn(claims);
+    when(authenticationDenyList.isDenied(42L)).thenReturn(false);
+
+    // Act
+    filter.doFilterInternalPublic(request, response, filterChain);
+
+    // Assert
+    JwtUserPrincipal principal =
+        (JwtUserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    assertEquals(42L, principal.getUserId());
+    assertEquals(7L, principal.getClientId());
+    assertEquals("nahush@example.com", principal.getUsername());
+    assertEquals("ROLE_ADMIN", principal.getAuthorities().iterator().next().getAuthority());
+    verify(userDetailsService, never())
+        .loadUserByUsername(org.mockito.ArgumentMatchers.anyString());
+    verify(filterChain).doFilter(request, response);
+  }
+
+  /**
+   * Purpose: Verify stateless mode rejects tokens for users on the deny-list. Expected Result: No
+   * authentication is set. Assertions: Null security context authentication and chain invocation.
+   */
+  @Test
+  @DisplayName("doFilterInternal - Stateless Mode Denied User - Success")
+  void doFilterInternal_s07_statelessModeDeniedUser_success() throws ServletException, IOException {
+    // Arrange
+    TestableJwtAuthenticationFilter filter =
+        new TestableJwtAuthenticationFilter(
+            jwtTokenProvider, userDetailsService, authenticationDenyList, true);
+    when(request.getMethod()).thenReturn("GET");
+    when(request.getHeader("Authorization")).thenReturn("Bearer jwt-token");
+    when(jwtTokenProvider.getUserNameFromToken(eq("jwt-token"))).thenReturn("nahush@example.com");
+    VerifiedClaims claims = mockClaims(42L, "nahush@example.com", "ADMIN", 7L);
+    when(jwtTokenProvider.getVerifiedClaims(eq("jwt-token"))).thenReturn(claims);
+    when(authenticationDenyList.isDenied(42L)).thenReturn(true);
+
+    // Act
+    filter.doFilterInternalPublic(request, response, filterChain);
+
+    // Assert
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    verify(filterChain).doFilter(request, response);
+  }
+
+  private static VerifiedClaims mockClaims(Long userId, String email, String role, Long clientId) {
+    VerifiedClaims claims = org.mockito.Mockito.mock(VerifiedClaims.class);
+    org.mockito.Mockito.lenient().when(claims.getUserId()).thenReturn(userId);
+    org.mockito.Mockito.lenient().when(claims.getEmail()).thenReturn(email);
+    org.mockito.Mockito.lenient().when(claims.getRole()).thenReturn(role);
+    org.mockito.Mockito.lenient().when(claims.getClientId()).thenReturn(clientId);
+    return claims;
+  }
+
   private static final class TestableJwtAuthenticationFilter extends JwtAuthenticationFilter {
 
     TestableJwtAuthenticationFilter(
-        JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
-      super(jwtTokenProvider, userDetailsService);
+        JwtTokenProvider jwtTokenProvider,
+        UserDetailsService userDetailsService,
+        AuthenticationDenyList authenticationDenyList,
+        boolean statelessAuthentication) {
+      super(jwtTokenProvider, userDetailsService, authenticationDenyList, statelessAuthentication);
     }
 
     void doFilterInternalPublic(
@@ -3,11 +3,16 @@ package com.example.SpringApi.ServiceTests.Authentication;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.example.SpringApi.Authentication.JwtTokenProvider;
+import com.example.SpringApi.Authentication.VerifiedClaims;
 import com.example.SpringApi.Helpers.PasswordHelper;
 import com.example.SpringApi.Models.DatabaseModels.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import java.lang.reflect.Field;
 import java.util.Date;
@@ -15,11 +20,14 @@ import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @DisplayName("JwtTokenProvider Tests")
 class JwtTokenProviderTest {
 
-  // Total Tests: 6
+  // Total Tests: 10
   private static final String JWT_SECRET_32 = "01234567890123456789012345678901";
   private static final String WEB_API_KEY_32 = "webapikey012345678901234567890123";
 
@@ -196,6 +204,109 @@ class JwtTokenProviderTest {
     assertFalse(wrongSecret);
   }
 
+  /**
+   * Purpose: Verify repeated claim lookups for the same token reuse one verified-claims instance.
+   * Expected Result: Second lookup returns the cached object. Assertions: Same instance and claim
+   * values.
+   */
+  @Test
+  @DisplayName("getVerifiedClaims - Repeated Lookup Uses Cache - Success")
+  void getVerifiedClaims_s07_repeatedLookupUsesCache_success() throws Exception {
+    // Arrange
+    JwtTokenProvider provider = new JwtTokenProvider();
+    setField(provider, "jwtSecret", JWT_SECRET_32);
+    setField(provider, "issuerUrl", "https://issuer.example.com");
+    String token =
+        createToken(
+            Map.of("email", "a@b.com", "userId", 5L, "clientId", 6L, "permissionIds", List.of(1)),
+            JWT_SECRET_32);
+
+    // Act
+    VerifiedClaims first = provider.getVerifiedClaims(token);
+    VerifiedClaims second = provider.getVerifiedClaims(token);
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(5L, second.getUserId());
+    assertEquals(6L, second.getClientId());
+    assertEquals(List.of(1L), second.getPermissionIds());
+  }
+
+  /**
+   * Purpose: Verify verified claims are stored on the current request and reused from there.
+   * Expected Result: Request attribute holds the claims returned by the provider. Assertions:
+   * Attribute value identity.
+   */
+  @Test
+  @DisplayName("getVerifiedClaims - Stores Claims On Current Request - Success")
+  void getVerifiedClaims_s08_storesClaimsOnCurrentRequest_success() throws Exception {
+    // Arrange
+    JwtTokenProvider provider = new JwtTokenProvider();
+    setField(provider, "jwtSecret", JWT_SECRET_32);
+    setField(provider, "issuerUrl", "https://issuer.example.com");
+    String token = createToken(Map.of("email", "a@b.com", "userId", 5L), JWT_SECRET_32);
+    MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockRequest));
+
+    try {
+      // Act
+      VerifiedClaims claims = provider.getVerifiedClaims(token);
+
+      // Assert
+      assertSame(claims, mockRequest.getAttribute(JwtTokenProvider.VERIFIED_CLAIMS_ATTRIBUTE));
+      assertEquals("a@b.com", provider.getUserNameFromToken(token));
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+  }
+
+  /**
+   * Purpose: Verify a token whose payload was altered but reuses a cached signature is rejected.
+   * Expected Result: Cache is not consulted for a different token string; verification fails.
+   * Assertions: JwtException thrown and validateToken false.
+   */
+  @Test
+  @DisplayName("getVerifiedClaims - Tampered Payload With Cached Signature - Failure")
+  void getVerifiedClaims_s09_tamperedPayloadWithCachedSignature_failure() throws Exception {
+    // Arrange
+    JwtTokenProvider provider = new JwtTokenProvider();
+    setField(provider, "jwtSecret", JWT_SECRET_32);
+    setField(provider, "issuerUrl", "https://issuer.example.com");
+    String token = createToken(Map.of("email", "a@b.com", "userId", 5L), JWT_SECRET_32);
+    String forgedPayload =
+        createToken(Map.of("email", "evil@b.com", "userId", 9L), JWT_SECRET_32).split("\\.")[1];
+    String[] parts = token.split("\\.");
+    String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+    provider.getVerifiedClaims(token);
+
+    // Act & Assert
+    assertThrows(JwtException.class, () -> provider.getVerifiedClaims(forged));
+    assertFalse(provider.validateToken(forged, "evil@b.com"));
+  }
+
+  /**
+   * Purpose: Verify expired tokens are rejected rather than served from cache. Expected Result:
+   * Parsing an expired token throws. Assertions: ExpiredJwtException thrown.
+   */
+  @Test
+  @DisplayName("getVerifiedClaims - Expired Token - Failure")
+  void getVerifiedClaims_s10_expiredToken_failure() throws Exception {
+    // Arrange
+    JwtTokenProvider provider = new JwtTokenProvider();
+    setField(provider, "jwtSecret", JWT_SECRET_32);
+    setField(provider, "issuerUrl", "https://issuer.example.com");
+    String expired =
+        Jwts.builder()
+            .claim("email", "a@b.com")
+            .issuedAt(new Date(System.currentTimeMillis() - 120_000L))
+            .expiration(new Date(System.currentTimeMillis() - 60_000L))
+            .signWith(PasswordHelper.getSecretKey(JWT_SECRET_32))
+            .compact();
+
+    // Act & Assert
+    assertThrows(ExpiredJwtException.class, () -> provider.getVerifiedClaims(expired));
+  }
+
   private static void setField(Object target, String fieldName, Object value) throws Exception {
     Field field = target.getClass().getDeclaredField(fieldName);
     field.setAccessible(true);
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.lenient;
 import com.example.SpringApi.Controllers.ClientController;
 import com.example.SpringApi.Helpers.FirebaseHelper;
 import com.example.SpringApi.Helpers.ImgbbHelper;
+import com.example.SpringApi.Helpers.ShipRocketHelperRegistry;
 import com.example.SpringApi.Models.DatabaseModels.Client;
 import com.example.SpringApi.Models.DatabaseModels.GoogleCred;
 import com.example.SpringApi.Models.RequestModels.ClientRequestModel;
@@ -52,6 +53,8 @@ abstract class ClientServiceTestBase {
 
   @Mock protected Environment environment;
 
+  @Mock protected ShipRocketHelperRegistry shipRocketHelperRegistry;
+
   @Mock protected HttpServletRequest request;
 
   @InjectMocks protected ClientService clientService;
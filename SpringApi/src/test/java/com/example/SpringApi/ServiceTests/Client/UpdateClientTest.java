@@ -25,7 +25,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 @DisplayName("Update Client Tests")
 class UpdateClientTest extends ClientServiceTestBase {
 
-  // Total Tests: 38
+  // Total Tests: 39
   /*
    **********************************************************************************************
    * SUCCESS TESTS
@@ -335,6 +335,36 @@ class UpdateClientTest extends ClientServiceTestBase {
     verify(clientRepository).save(any(Client.class));
   }
 
+  /*
+   * Purpose: Verify changing Shiprocket credentials drops the client's cached Shiprocket helper.
+   * Expected Result: Registry entry for the client is invalidated.
+   * Assertions: Registry invalidate is called with the client ID.
+   */
+  @Test
+  @DisplayName("Update Client - Shiprocket credentials changed - Helper invalidated")
+  void updateClient_ShipRocketCredentialsChanged_HelperInvalidated() {
+    // Arrange
+    testClient.setShipRocketEmail("old@test.com");
+    testClient.setShipRocketPassword("old-pass");
+    testClientRequest.setLogoBase64(null);
+    Client savedClient = createTestClient(TEST_CLIENT_ID, DEFAULT_CLIENT_NAME);
+    savedClient.setShipRocketEmail("new@test.com");
+    savedClient.setShipRocketPassword("new-pass");
+    savedClient.setGoogleCredId(DEFAULT_GOOGLE_CRED_ID);
+
+    stubClientFindById(TEST_CLIENT_ID, Optional.of(testClient));
+    stubClientFindByName(testClientRequest.getName(), Optional.empty());
+    stubClientSave(savedClient);
+
+    // Act
+    try (MockedConstruction<FirebaseHelper> ignored = mockConstruction(FirebaseHelper.class)) {
+      assertDoesNotThrow(() -> clientService.updateClient(testClientRequest));
+    }
+
+    // Assert
+    verify(shipRocketHelperRegistry).invalidate(TEST_CLIENT_ID);
+  }
+
   /*
    **********************************************************************************************
    * FAILURE / EXCEPTION TESTS
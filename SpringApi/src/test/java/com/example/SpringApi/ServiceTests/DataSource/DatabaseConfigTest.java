@@ -4,16 +4,23 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 import com.example.SpringApi.DataSource.DatabaseConfig;
+import com.example.SpringApi.DataSource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.Properties;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -21,7 +28,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 @DisplayName("DatabaseConfig Tests")
 class DatabaseConfigTest {
 
-  // Total Tests: 8
+  // Total Tests: 11
 
   /**
    * Purpose: Verify development profile resolves development DB datasource values. Expected Result:
@@ -30,11 +37,10 @@ class DatabaseConfigTest {
    */
   @Test
   @DisplayName("dataSource - Development Profile - Success")
-  void dataSource_s01_developmentProfile_success() {
+  void dataSource_s01_developmentProfile_success() throws IOException {
     // Arrange
     DatabaseConfig config = new DatabaseConfig();
-    Environment environment = mock(Environment.class);
-    when(environment.getActiveProfiles()).thenReturn(new String[] {"development"});
+    Environment environment = profileEnvironment("development");
 
     // Act
     DataSource dataSource = config.dataSource(environment);
@@ -53,11 +59,10 @@ class DatabaseConfigTest {
    */
   @Test
   @DisplayName("dataSource - Localhost Profile - Success")
-  void dataSource_s02_localhostProfile_success() {
+  void dataSource_s02_localhostProfile_success() throws IOException {
     // Arrange
     DatabaseConfig config = new DatabaseConfig();
-    Environment environment = mock(Environment.class);
-    when(environment.getActiveProfiles()).thenReturn(new String[] {"localhost"});
+    Environment environment = profileEnvironment("localhost");
 
     // Act
     DataSource dataSource = config.dataSource(environment);
@@ -73,11 +78,10 @@ class DatabaseConfigTest {
    */
   @Test
   @DisplayName("dataSource - Staging Profile - Success")
-  void dataSource_s03_stagingProfile_success() {
+  void dataSource_s03_stagingProfile_success() throws IOException {
     // Arrange
     DatabaseConfig config = new DatabaseConfig();
-    Environment environment = mock(Environment.class);
-    when(environment.getActiveProfiles()).thenReturn(new String[] {"staging"});
+    Environment environment = profileEnvironment("staging");
 
     // Act
     DataSource dataSource = config.dataSource(environment);
@@ -94,11 +98,10 @@ class DatabaseConfigTest {
    */
   @Test
   @DisplayName("dataSource - UAT Profile - Success")
-  void dataSource_s04_uatProfile_success() {
+  void dataSource_s04_uatProfile_success() throws IOException {
     // Arrange
     DatabaseConfig config = new DatabaseConfig();
-    Environment environment = mock(Environment.class);
-    when(environment.getActiveProfiles()).thenReturn(new String[] {"uat"});
+    Environment environment = profileEnvironment("uat");
 
     // Act
     DataSource dataSource = config.dataSource(environment);
@@ -115,11 +118,10 @@ class DatabaseConfigTest {
    */
   @Test
   @DisplayName("dataSource - Production Profile - Success")
-  void dataSource_s05_productionProfile_success() {
+  void dataSource_s05_productionProfile_success() throws IOException {
     // Arrange
     DatabaseConfig config = new DatabaseConfig();
-    Environment environment = mock(Environment.class);
-    when(environment.getActiveProfiles()).thenReturn(new String[] {"production"});
+    Environment environment = profileEnvironment("production");
 
     // Act
     DataSource dataSource = config.dataSource(environment);
@@ -139,8 +141,7 @@ class DatabaseConfigTest {
   void dataSource_s06_defaultProfileFallback_success() {
     // Arrange
     DatabaseConfig config = new DatabaseConfig();
-    Environment environment = mock(Environment.class);
-    when(environment.getActiveProfiles()).thenReturn(new String[] {});
+    Environment environment = new MockEnvironment();
 
     // Act
     DataSource dataSource = config.dataSource(environment);
@@ -157,18 +158,17 @@ class DatabaseConfigTest {
    */
   @Test
   @DisplayName("entityManagerFactoryBean - JPA Properties Wiring - Success")
-  void entityManagerFactoryBean_s07_jpaPropertiesWiring_success() {
+  void entityManagerFactoryBean_s07_jpaPropertiesWiring_success() throws IOException {
     // Arrange
     DatabaseConfig config = new DatabaseConfig();
     EntityManagerFactoryBuilder builder = config.entityManagerFactoryBuilder();
 
-    Environment environment = mock(Environment.class);
-    when(environment.getActiveProfiles()).thenReturn(new String[] {"localhost"});
+    Environment environment = profileEnvironment("localhost");
     DataSource dataSource = config.dataSource(environment);
 
     // Act
     LocalContainerEntityManagerFactoryBean emfBean =
-        config.entityManagerFactoryBean(builder, dataSource);
+        config.entityManagerFactoryBean(builder, dataSource, environment);
 
     // Assert
     assertNotNull(builder);
@@ -180,6 +180,87 @@ class DatabaseConfigTest {
     assertTrue(emfBean.getJpaPropertyMap().containsKey("hibernate.show_sql"));
   }
 
+  /**
+   * Purpose: Verify the production pool is sized and tuned from properties. Expected Result: Hikari
+   * pool with production sizing, leak detection, MBeans and MySQL driver caching enabled.
+   * Assertions: Pool size, minimum idle, leak threshold, MBean flag and driver properties.
+   */
+  @Test
+  @DisplayName("dataSource - Production Pool Sizing And Driver Tuning - Success")
+  void dataSource_s09_productionPoolSizingAndDriverTuning_success() throws IOException {
+    // Arrange
+    DatabaseConfig config = new DatabaseConfig();
+    Environment environment = profileEnvironment("production");
+
+    // Act
+    HikariDataSource dataSource = (HikariDataSource) config.dataSource(environment);
+
+    // Assert
+    assertEquals(30, dataSource.getMaximumPoolSize());
+    assertEquals(30, dataSource.getMinimumIdle());
+    assertEquals(10_000L, dataSource.getLeakDetectionThreshold());
+    assertEquals(5_000L, dataSource.getConnectionTimeout());
+    assertTrue(dataSource.isRegisterMbeans());
+    assertEquals("true", dataSource.getDataSourceProperties().getProperty("cachePrepStmts"));
+    assertEquals("true", dataSource.getDataSourceProperties().getProperty("useServerPrepStmts"));
+    assertEquals(
+        "true", dataSource.getDataSourceProperties().getProperty("rewriteBatchedStatements"));
+    assertEquals("250", dataSource.getDataSourceProperties().getProperty("prepStmtCacheSize"));
+  }
+
+  /**
+   * Purpose: Verify SQL logging is off unless a profile opts in. Expected Result: Production leaves
+   * show_sql/format_sql false; localhost turns them on. Assertions: JPA property values.
+   */
+  @Test
+  @DisplayName("entityManagerFactoryBean - SQL Logging Is Opt-In - Success")
+  void entityManagerFactoryBean_s10_sqlLoggingIsOptIn_success() throws IOException {
+    // Arrange
+    DatabaseConfig config = new DatabaseConfig();
+    Environment production = profileEnvironment("production");
+    Environment localhost = profileEnvironment("localhost");
+
+    // Act
+    LocalContainerEntityManagerFactoryBean productionBean =
+        config.entityManagerFactoryBean(
+            config.entityManagerFactoryBuilder(), config.dataSource(production), production);
+    LocalContainerEntityManagerFactoryBean localhostBean =
+        config.entityManagerFactoryBean(
+            config.entityManagerFactoryBuilder(), config.dataSource(localhost), localhost);
+
+    // Assert
+    assertEquals("false", productionBean.getJpaPropertyMap().get("hibernate.show_sql"));
+    assertEquals("false", productionBean.getJpaPropertyMap().get("hibernate.format_sql"));
+    assertEquals("true", localhostBean.getJpaPropertyMap().get("hibernate.show_sql"));
+    assertEquals("true", localhostBean.getJpaPropertyMap().get("hibernate.format_sql"));
+  }
+
+  /**
+   * Purpose: Verify configured read replicas enable routing behind a lazy connection proxy.
+   * Expected Result: LazyConnectionDataSourceProxy wrapping a ReplicaRoutingDataSource.
+   * Assertions: Proxy type and target type.
+   */
+  @Test
+  @DisplayName("dataSource - Replicas Configured - Routing DataSource - Success")
+  void dataSource_s11_replicasConfigured_routingDataSource_success() throws IOException {
+    // Arrange
+    DatabaseConfig config = new DatabaseConfig();
+    MockEnvironment environment = (MockEnvironment) profileEnvironment("localhost");
+    environment.setProperty(
+        "spring.datasource.replica.urls", "jdbc:mysql://localhost:3308/UltimateCompanyDatabase");
+    environment.setProperty("spring.datasource.replica.check-interval-ms", "0");
+
+    // Act
+    DataSource dataSource = config.dataSource(environment);
+
+    // Assert
+    assertTrue(dataSource instanceof LazyConnectionDataSourceProxy);
+    assertTrue(
+        ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()
+            instanceof ReplicaRoutingDataSource);
+    config.closeReplicaRouting();
+  }
+
   /**
    * Purpose: Verify transaction manager creation returns JpaTransactionManager with provided
    * EntityManagerFactory. Expected Result: Non-null JpaTransactionManager instance. Assertions:
@@ -200,6 +281,19 @@ class DatabaseConfigTest {
     assertTrue(transactionManager instanceof JpaTransactionManager);
   }
 
+  /** Environment with the given profile active and its properties file loaded. */
+  private Environment profileEnvironment(String profile) throws IOException {
+    MockEnvironment environment = new MockEnvironment();
+    environment.setActiveProfiles(profile);
+    Properties properties =
+        PropertiesLoaderUtils.loadProperties(
+            new ClassPathResource("application-" + profile + ".properties"));
+    properties
+        .stringPropertyNames()
+        .forEach(name -> environment.setProperty(name, properties.getProperty(name)));
+    return environment;
+  }
+
   private String extractUrl(DataSource dataSource) {
     String value = invokeStringGetter(dataSource, "getJdbcUrl");
     if (value != null) {
@@ -0,0 +1,171 @@
+package com.example.SpringApi.ServiceTests.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.SpringApi.DataSource.ReplicaRoutingDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+  // Total Tests: 5
+
+  private static final String LAG_QUERY = "SHOW REPLICA STATUS";
+
+  @Mock private DataSource primary;
+
+  @Mock private DataSource replica;
+
+  @Mock private DataSource secondReplica;
+
+  @Mock private Connection primaryConnection;
+
+  @Mock private Connection replicaConnection;
+
+  @Mock private Connection secondReplicaConnection;
+
+  @Mock private Statement statement;
+
+  @Mock private ResultSet resultSet;
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+  }
+
+  /**
+   * Purpose: Verify read-write transactions use the primary. Expected Result: Connection comes from
+   * the primary pool. Assertions: Returned connection is the primary's.
+   */
+  @Test
+  @DisplayName("getConnection - Read-Write Transaction - Routes To Primary")
+  void getConnection_s01_readWriteTransaction_routesToPrimary() throws SQLException {
+    // Arrange
+    ReplicaRoutingDataSource routing = routing(List.of(replica));
+    when(primary.getConnection()).thenReturn(primaryConnection);
+
+    // Act
+    Connection connection = routing.getConnection();
+
+    // Assert
+    assertSame(primaryConnection, connection);
+  }
+
+  /**
+   * Purpose: Verify read-only transactions use a replica. Expected Result: Connection comes from
+   * the replica pool. Assertions: Returned connection is the replica's.
+   */
+  @Test
+  @DisplayName("getConnection - Read-Only Transaction - Routes To Replica")
+  void getConnection_s02_readOnlyTransaction_routesToReplica() throws SQLException {
+    // Arrange
+    ReplicaRoutingDataSource routing = routing(List.of(replica));
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    // Act
+    Connection connection = routing.getConnection();
+
+    // Assert
+    assertSame(replicaConnection, connection);
+  }
+
+  /**
+   * Purpose: Verify reads fall back to the primary when the only replica is unreachable. Expected
+   * Result: Health check takes the replica out of rotation. Assertions: Replica unhealthy and
+   * read-only connection comes from the primary.
+   */
+  @Test
+  @DisplayName("getConnection - Replica Unreachable - Falls Back To Primary")
+  void getConnection_s03_replicaUnreachable_fallsBackToPrimary() throws SQLException {
+    // Arrange
+    ReplicaRoutingDataSource routing = routing(List.of(replica));
+    when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    routing.checkReplicas();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    // Act
+    Connection connection = routing.getConnection();
+
+    // Assert
+    assertFalse(routing.isReplicaHealthy(0));
+    assertSame(primaryConnection, connection);
+  }
+
+  /**
+   * Purpose: Verify the lag guard takes a replica out of rotation and puts it back once it catches
+   * up. Expected Result: Unhealthy at 30s lag with a 5s limit, healthy again at 2s. Assertions:
+   * Replica health after each check.
+   */
+  @Test
+  @DisplayName("checkReplicas - Lag Above Limit - Replica Out Of Rotation Until Caught Up")
+  void checkReplicas_s04_lagAboveLimit_replicaOutOfRotationUntilCaughtUp() throws SQLException {
+    // Arrange
+    ReplicaRoutingDataSource routing = routing(List.of(replica));
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    when(replicaConnection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(LAG_QUERY)).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getLong("Seconds_Behind_Source")).thenReturn(30L, 2L);
+    when(resultSet.wasNull()).thenReturn(false);
+
+    // Act
+    routing.checkReplicas();
+    boolean healthyWhileLagging = routing.isReplicaHealthy(0);
+    routing.checkReplicas();
+    boolean healthyAfterCatchUp = routing.isReplicaHealthy(0);
+
+    // Assert
+    assertFalse(healthyWhileLagging);
+    assertTrue(healthyAfterCatchUp);
+  }
+
+  /**
+   * Purpose: Verify reads are spread across replicas. Expected Result: Consecutive read-only
+   * connections alternate between the two replicas. Assertions: Connection sources in order.
+   */
+  @Test
+  @DisplayName("getConnection - Two Replicas - Round Robin")
+  void getConnection_s05_twoReplicas_roundRobin() throws SQLException {
+    // Arrange
+    ReplicaRoutingDataSource routing = routing(List.of(replica, secondReplica));
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    // Act
+    Connection first = routing.getConnection();
+    Connection second = routing.getConnection();
+    Connection third = routing.getConnection();
+
+    // Assert
+    assertSame(replicaConnection, first);
+    assertSame(secondReplicaConnection, second);
+    assertSame(replicaConnection, third);
+  }
+
+  /** Routing DataSource over the mocks with the background check disabled. */
+  private ReplicaRoutingDataSource routing(List<DataSource> replicas) {
+    ReplicaRoutingDataSource routing =
+        new ReplicaRoutingDataSource(primary, replicas, LAG_QUERY, 5, 0);
+    routing.afterPropertiesSet();
+    return routing;
+  }
+}
@@ -7,9 +7,11 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.FilterQueryBuilder.LeadFilterQueryBuilder;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Models.DatabaseModels.Address;
 import com.example.SpringApi.Models.DatabaseModels.Lead;
 import com.example.SpringApi.Models.DatabaseModels.User;
@@ -31,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.domain.Page;
@@ -38,6 +41,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -93,6 +97,10 @@ abstract class LeadServiceTestBase {
 
   @Mock protected ApplicationContext applicationContext;
 
+  @Spy
+  protected BulkInsertPipeline bulkInsertPipeline =
+      new BulkInsertPipeline(mock(PlatformTransactionManager.class), 1);
+
   @InjectMocks protected LeadService leadService;
 
   @Mock LeadService leadServiceMock;
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
 
+import com.example.SpringApi.Authentication.AuthenticationDenyList;
 import com.example.SpringApi.Authentication.Authorization;
 import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.Controllers.LoginController;
@@ -84,6 +85,8 @@ abstract class LoginServiceTestBase {
 
   @Mock protected Authorization authorization;
 
+  @Mock protected AuthenticationDenyList authenticationDenyList;
+
   @Mock protected GoogleCred googleCred;
 
   // Mock helper classes to prevent external service calls during testing
@@ -9,12 +9,15 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.example.SpringApi.Authentication.Authorization;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
 import com.example.SpringApi.FilterQueryBuilder.PackageFilterQueryBuilder;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
+import com.example.SpringApi.Helpers.StockLocationLoader;
 import com.example.SpringApi.Models.DatabaseModels.Package;
 import com.example.SpringApi.Models.DatabaseModels.PackagePickupLocationMapping;
 import com.example.SpringApi.Models.RequestModels.PackageRequestModel;
@@ -34,8 +37,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -72,6 +77,12 @@ abstract class PackageServiceTestBase {
 
   @Mock protected PackageService concretePackageServiceMock;
 
+  @Spy
+  protected BulkInsertPipeline bulkInsertPipeline =
+      new BulkInsertPipeline(mock(PlatformTransactionManager.class), 1);
+
+  @Mock protected StockLocationLoader stockLocationLoader;
+
   @InjectMocks protected PackageService packageService;
 
   protected Package testPackage;
@@ -6,6 +6,8 @@ import static org.mockito.Mockito.lenient;
 import com.example.SpringApi.Controllers.PaymentController;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.UnauthorizedException;
+import com.example.SpringApi.Helpers.InvoiceTemplateEngine;
+import com.example.SpringApi.Helpers.PDFRenderer;
 import com.example.SpringApi.Models.DatabaseModels.*;
 import com.example.SpringApi.Models.RequestModels.CashPaymentRequestModel;
 import com.example.SpringApi.Models.RequestModels.RazorpayOrderRequestModel;
@@ -33,6 +35,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
 
@@ -75,6 +78,10 @@ class PaymentServiceTestBase {
 
   @Mock protected Environment environment;
 
+  @Spy protected InvoiceTemplateEngine invoiceTemplateEngine = new InvoiceTemplateEngine();
+
+  @Mock protected PDFRenderer pdfRenderer;
+
   @InjectMocks protected PaymentService paymentService;
 
   @Mock protected PaymentService paymentServiceMock;
@@ -104,6 +111,7 @@ class PaymentServiceTestBase {
     closeMockedRazorpayClientConstruction();
     capturedRazorpayOrderCreateRequest = null;
     capturedRazorpayRefundRequest = null;
+    stubPdfRendererRendersInline();
 
     // Initialize test client
     testClient = createTestClient();
@@ -513,6 +521,22 @@ class PaymentServiceTestBase {
     lenient().doThrow(exception).when(paymentServiceMock).getRazorpayKeyId();
   }
 
+  /** Renders on the calling thread so static PDFHelper stubs apply to the conversion. */
+  protected void stubPdfRendererRendersInline() {
+    try {
+      lenient()
+          .when(pdfRenderer.render(any(), any(), any()))
+          .thenAnswer(
+              invocation -> {
+                PDFRenderer.HtmlSource html = invocation.getArgument(1);
+                PDFRenderer.Converter converter = invocation.getArgument(2);
+                return converter.convert(html.get());
+              });
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   protected void stubPaymentServiceGeneratePaymentReceiptPDF(byte[] bytes) throws Exception {
     lenient().when(paymentServiceMock.generatePaymentReceiptPDF(anyLong())).thenReturn(bytes);
   }
@@ -6,8 +6,11 @@ import static org.mockito.Mockito.*;
 import com.example.SpringApi.Authentication.Authorization;
 import com.example.SpringApi.FilterQueryBuilder.PickupLocationFilterQueryBuilder;
 import com.example.SpringApi.Helpers.ShipRocketHelper;
+import com.example.SpringApi.Helpers.ShipRocketHelperRegistry;
+import com.example.SpringApi.Helpers.StockLocationLoader;
 import com.example.SpringApi.Models.DatabaseModels.Address;
 import com.example.SpringApi.Models.DatabaseModels.PickupLocation;
+import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
 import com.example.SpringApi.Models.RequestModels.AddressRequestModel;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel;
 import com.example.SpringApi.Models.RequestModels.PickupLocationRequestModel;
@@ -63,6 +66,10 @@ abstract class PickupLocationServiceTestBase {
 
   @Mock protected Authorization authorization;
 
+  @Mock protected ShipRocketHelperRegistry shipRocketHelperRegistry;
+
+  @Mock protected StockLocationLoader stockLocationLoader;
+
   @InjectMocks protected PickupLocationService pickupLocationService;
 
   @Mock protected PickupLocationService pickupLocationServiceMock;
@@ -362,6 +369,12 @@ abstract class PickupLocationServiceTestBase {
     when(packageMappingRepository.countByPickupLocationIds(any())).thenReturn(counts);
   }
 
+  /** Stub for productMappingRepository.findByPickupLocationId */
+  protected void stubProductMappingRepositoryFindByPickupLocationId(
+      Long pickupLocationId, java.util.List<ProductPickupLocationMapping> mappings) {
+    when(productMappingRepository.findByPickupLocationId(pickupLocationId)).thenReturn(mappings);
+  }
+
   /** Stub for productMappingRepository.deleteByPickupLocationId */
   protected void stubProductMappingRepositoryDeleteByPickupLocationId() {
     doNothing().when(productMappingRepository).deleteByPickupLocationId(anyLong());
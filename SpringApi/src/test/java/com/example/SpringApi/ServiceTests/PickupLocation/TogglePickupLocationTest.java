@@ -7,6 +7,9 @@ import static org.mockito.Mockito.*;
 import com.example.SpringApi.Controllers.PickupLocationController;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -19,7 +22,7 @@ import org.springframework.http.ResponseEntity;
 @DisplayName("Toggle Pickup Location Tests")
 class TogglePickupLocationTest extends PickupLocationServiceTestBase {
 
-  // Total Tests: 15
+  // Total Tests: 16
   /*
    **********************************************************************************************
    * SUCCESS TESTS
@@ -92,6 +95,30 @@ class TogglePickupLocationTest extends PickupLocationServiceTestBase {
     verify(pickupLocationRepository, times(1)).save(testPickupLocation);
   }
 
+  /**
+   * Purpose: Verify a toggle reloads the cached stock of products stocked at the location.
+   * Expected Result: The location's products are invalidated. Assertions: StockLocationLoader
+   * invalidation with the product ID.
+   */
+  @Test
+  @DisplayName("Toggle Pickup Location - Products Stocked - Stock Invalidated")
+  void togglePickupLocation_ProductsStocked_StockInvalidated() {
+    // Arrange
+    ProductPickupLocationMapping mapping = new ProductPickupLocationMapping();
+    mapping.setProductId(5L);
+    mapping.setPickupLocationId(TEST_PICKUP_LOCATION_ID);
+    stubPickupLocationRepositoryFindByIdAndClientId(
+        TEST_PICKUP_LOCATION_ID, TEST_CLIENT_ID, testPickupLocation);
+    stubPickupLocationRepositorySave(testPickupLocation);
+    stubProductMappingRepositoryFindByPickupLocationId(TEST_PICKUP_LOCATION_ID, List.of(mapping));
+
+    // Act
+    pickupLocationService.togglePickupLocation(TEST_PICKUP_LOCATION_ID);
+
+    // Assert
+    verify(stockLocationLoader).invalidateProducts(Set.of(5L));
+  }
+
   /*
    **********************************************************************************************
    * FAILURE / EXCEPTION TESTS
@@ -9,6 +9,10 @@ import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
 import com.example.SpringApi.Models.DatabaseModels.PickupLocation;
+import com.example.SpringApi.Models.DatabaseModels.ProductPickupLocationMapping;
+import com.example.SpringApi.Models.RequestModels.ProductPickupLocationMappingRequestModel;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -21,7 +25,7 @@ import org.springframework.http.ResponseEntity;
 @DisplayName("Update Pickup Location Tests")
 class UpdatePickupLocationTest extends PickupLocationServiceTestBase {
 
-  // Total Tests: 38
+  // Total Tests: 39
   /*
    **********************************************************************************************
    * SUCCESS TESTS
@@ -81,6 +85,39 @@ class UpdatePickupLocationTest extends PickupLocationServiceTestBase {
         .save(argThat(saved -> TEST_SHIPROCKET_ID.equals(saved.getShipRocketPickupLocationId())));
   }
 
+  /**
+   * Purpose: Verify an update reloads the cached stock of products stocked at the location.
+   * Expected Result: Products mapped before and after the update are invalidated. Assertions:
+   * StockLocationLoader invalidation with both product IDs.
+   */
+  @Test
+  @DisplayName("Update Pickup Location - Product Mappings Replaced - Stock Invalidated")
+  void updatePickupLocation_ProductMappingsReplaced_StockInvalidated() {
+    // Arrange
+    PickupLocation existing =
+        new PickupLocation(testPickupLocationRequest, CREATED_USER, TEST_CLIENT_ID);
+    existing.setPickupLocationId(TEST_PICKUP_LOCATION_ID);
+    ProductPickupLocationMapping previousMapping = new ProductPickupLocationMapping();
+    previousMapping.setProductId(5L);
+    previousMapping.setPickupLocationId(TEST_PICKUP_LOCATION_ID);
+    testPickupLocationRequest.setProductMappings(
+        List.of(new ProductPickupLocationMappingRequestModel(6L, 2)));
+
+    stubPickupLocationRepositoryFindByIdAndClientId(
+        TEST_PICKUP_LOCATION_ID, TEST_CLIENT_ID, existing);
+    stubAddressRepositoryFindById(TEST_ADDRESS_ID, testAddress);
+    stubAddressRepositorySave(testAddress);
+    stubPickupLocationRepositorySave(existing);
+    stubProductMappingRepositoryFindByPickupLocationId(
+        TEST_PICKUP_LOCATION_ID, List.of(previousMapping));
+
+    // Act
+    pickupLocationService.updatePickupLocation(testPickupLocationRequest);
+
+    // Assert
+    verify(stockLocationLoader).invalidateProducts(Set.of(5L, 6L));
+  }
+
   /*
    **********************************************************************************************
    * FAILURE / EXCEPTION TESTS
@@ -4,15 +4,18 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.example.SpringApi.Constants.ProductImageConstants;
 import com.example.SpringApi.Controllers.ProductController;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Helpers.ImgbbHelper;
+import com.example.SpringApi.Models.DTOs.ProductImageVariants;
 import com.example.SpringApi.Models.DatabaseModels.Product;
 import com.example.SpringApi.Models.RequestModels.ProductRequestModel;
 import java.math.BigDecimal;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedConstruction;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,7 +27,7 @@ import org.springframework.http.ResponseEntity;
 @DisplayName("ProductService - EditProduct Tests")
 class EditProductTest extends ProductServiceTestBase {
 
-  // Total Tests: 12
+  // Total Tests: 13
   /*
    **********************************************************************************************
    * SUCCESS TESTS
@@ -105,7 +108,7 @@ class EditProductTest extends ProductServiceTestBase {
 
       // Assert
       if (!mocked.constructed().isEmpty()) {
-        verify(mocked.constructed().get(0), never()).uploadFileToImgbb(anyString(), anyString());
+        verify(mocked.constructed().get(0), never()).uploadImage(any(byte[].class), anyString());
       }
     }
   }
@@ -137,6 +140,37 @@ class EditProductTest extends ProductServiceTestBase {
     }
   }
 
+  /**
+   * Purpose: Verify the content hash of an uploaded image is kept with its variants. Expected
+   * Result: The imageVariants JSON of the saved product carries the main image's content hash.
+   * Assertions: Content hash read back from the saved product.
+   */
+  @Test
+  @DisplayName("editProduct - Image uploaded - Content hash stored in image variants")
+  void editProduct_ImageUploaded_ContentHashStoredInImageVariants() {
+    // Arrange
+    stubProductRepositoryFindByIdWithRelatedEntities(TEST_PRODUCT_ID, TEST_CLIENT_ID, testProduct);
+    stubProductRepositorySave(testProduct);
+    stubProductPickupLocationMappingRepositoryDeleteByProductId(TEST_PRODUCT_ID);
+    stubClientServiceGetClientById(TEST_CLIENT_ID, testClientResponse);
+    stubClientRepositoryFindById(TEST_CLIENT_ID, testClient);
+    ArgumentCaptor<Product> savedProducts = ArgumentCaptor.forClass(Product.class);
+
+    // Act
+    try (MockedConstruction<ImgbbHelper> imgbbMock =
+        mockConstruction(
+            ImgbbHelper.class, (mock, context) -> stubImgbbHelperUploadSuccess(mock))) {
+      productService.editProduct(testProductRequest);
+    }
+
+    // Assert
+    verify(productRepository, atLeastOnce()).save(savedProducts.capture());
+    Product savedProduct = savedProducts.getValue();
+    assertNotNull(
+        ProductImageVariants.fromJson(savedProduct.getImageVariants())
+            .getContentHash(ProductImageConstants.MAIN));
+  }
+
   /*
    **********************************************************************************************
    * FAILURE / EXCEPTION TESTS
@@ -4,9 +4,11 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.example.SpringApi.Constants.ProductImageConstants;
 import com.example.SpringApi.Controllers.ProductController;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Models.DTOs.ProductImageVariants;
 import com.example.SpringApi.Models.DatabaseModels.Product;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel;
 import com.example.SpringApi.Models.ResponseModels.PaginationBaseResponseModel;
@@ -14,6 +16,7 @@ import com.example.SpringApi.Models.ResponseModels.ProductResponseModel;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,7 +34,7 @@ import org.springframework.http.ResponseEntity;
 @DisplayName("ProductService - GetProductInBatches Tests")
 class GetProductInBatchesTest extends ProductServiceTestBase {
 
-  // Total Tests: 15
+  // Total Tests: 16
   @BeforeEach
   void setUpFilters() {
     // Stub ProductFilterQueryBuilder.getColumnType for various categories
@@ -138,6 +141,38 @@ class GetProductInBatchesTest extends ProductServiceTestBase {
             anyLong(), any(), anyString(), any(), anyBoolean(), any(Pageable.class));
   }
 
+  /**
+   * Purpose: Verify grid rows carry only the resized copies of images that have them. Expected
+   * Result: The main image is returned through its variant URLs only, while an image without copies
+   * keeps its full-size URL. Assertions: Image URL fields and variant URLs of the returned row.
+   */
+  @Test
+  @DisplayName("getProductInBatches - Image has variants - Only variant URLs returned")
+  void getProductInBatches_ImageHasVariants_OnlyVariantUrlsReturned() {
+    // Arrange
+    PaginationBaseRequestModel request = createValidPaginationRequest();
+    ProductImageVariants imageVariants = ProductImageVariants.fromJson(null);
+    imageVariants.put(
+        ProductImageConstants.MAIN,
+        "main-hash",
+        Map.of("thumb", new ProductImageVariants.StoredImage("https://i.ibb.co/thumb.jpg", "t")));
+    testProduct.setMainImageUrl("https://i.ibb.co/main.jpg");
+    testProduct.setTopImageUrl("https://i.ibb.co/top.jpg");
+    testProduct.setImageVariants(imageVariants.toJson());
+    Page<Product> page = new PageImpl<>(List.of(testProduct), PageRequest.of(0, 10), 1);
+    stubProductFilterQueryBuilderFindPaginatedEntities(page);
+
+    // Act
+    ProductResponseModel row = productService.getProductInBatches(request).getData().get(0);
+
+    // Assert
+    assertNull(row.getMainImageUrl());
+    assertEquals("https://i.ibb.co/top.jpg", row.getTopImageUrl());
+    assertEquals(
+        "https://i.ibb.co/thumb.jpg",
+        row.getImageVariantUrls().get(ProductImageConstants.MAIN).get("thumb"));
+  }
+
   /**
    * Purpose: Verify filter by pickupLocationId (special join logic). Expected Result: Query
    * executes without error. Assertions: No exception thrown.
@@ -40,6 +40,7 @@ class GetProductStockAtLocationsByProductIdTest extends ProductServiceTestBase {
     // Arrange
     stubProductRepositoryFindById(TEST_PRODUCT_ID, testProduct);
     ProductPickupLocationMapping mapping = new ProductPickupLocationMapping();
+    mapping.setProductId(TEST_PRODUCT_ID);
     mapping.setPickupLocationId(TEST_PICKUP_LOCATION_ID);
     mapping.setAvailableStock(5);
     mapping.setPickupLocation(testPickupLocation);
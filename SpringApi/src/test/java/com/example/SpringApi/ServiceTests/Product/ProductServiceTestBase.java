@@ -10,7 +10,10 @@ import com.example.SpringApi.Constants.ProductConditionConstants;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
 import com.example.SpringApi.FilterQueryBuilder.ProductFilterQueryBuilder;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Helpers.ImgbbHelper;
+import com.example.SpringApi.Helpers.ProductImageUploader;
+import com.example.SpringApi.Helpers.StockLocationLoader;
 import com.example.SpringApi.Models.DatabaseModels.*;
 import com.example.SpringApi.Models.RequestModels.ProductRequestModel;
 import com.example.SpringApi.Models.ResponseModels.ClientResponseModel;
@@ -33,6 +36,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Base test class for ProductService tests. Contains common mocks, dependencies, and setup logic
@@ -73,6 +77,8 @@ abstract class ProductServiceTestBase {
 
   @Mock protected Environment environment;
 
+  @Mock protected PlatformTransactionManager transactionManager;
+
   @Mock protected HttpServletRequest request;
 
   @Mock protected JwtTokenProvider jwtTokenProvider;
@@ -142,6 +148,13 @@ abstract class ProductServiceTestBase {
             productFilterQueryBuilder,
             messageService,
             environment,
+            new BulkInsertPipeline(transactionManager, 1),
+            new StockLocationLoader(
+                productPickupLocationMappingRepository,
+                packagePickupLocationMappingRepository,
+                0,
+                0),
+            new ProductImageUploader(8),
             jwtTokenProvider,
             request);
     ReflectionTestUtils.setField(productService, "imageLocation", "imgbb");
@@ -256,8 +269,8 @@ abstract class ProductServiceTestBase {
           Long productId, java.util.List<ProductPickupLocationMapping> mappings) {
     lenient()
         .when(
-            productPickupLocationMappingRepository.findByProductIdWithPickupLocationAndAddress(
-                productId))
+            productPickupLocationMappingRepository.findByProductIdsWithPickupLocationAndAddress(
+                java.util.List.of(productId)))
         .thenReturn(mappings);
   }
 
@@ -266,8 +279,8 @@ abstract class ProductServiceTestBase {
           RuntimeException exception) {
     lenient()
         .when(
-            productPickupLocationMappingRepository.findByProductIdWithPickupLocationAndAddress(
-                anyLong()))
+            productPickupLocationMappingRepository.findByProductIdsWithPickupLocationAndAddress(
+                anyList()))
         .thenThrow(exception);
   }
 
@@ -483,11 +496,13 @@ abstract class ProductServiceTestBase {
     ImgbbHelper.ImgbbUploadResponse mockResponse =
         new ImgbbHelper.ImgbbUploadResponse("https://i.ibb.co/test/image.png", "test-delete-hash");
     lenient().when(mock.uploadFileToImgbb(anyString(), anyString())).thenReturn(mockResponse);
+    lenient().when(mock.uploadImage(any(byte[].class), anyString())).thenReturn(mockResponse);
     lenient().when(mock.deleteImage(anyString())).thenReturn(true);
   }
 
   protected void stubImgbbHelperUploadFailure(ImgbbHelper mock) {
     lenient().when(mock.uploadFileToImgbb(anyString(), anyString())).thenReturn(null);
+    lenient().when(mock.uploadImage(any(byte[].class), anyString())).thenReturn(null);
   }
 
   protected void initializeTestData() {
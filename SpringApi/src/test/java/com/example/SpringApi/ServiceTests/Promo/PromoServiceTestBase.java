@@ -5,9 +5,11 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 
 import com.example.SpringApi.Controllers.PromoController;
 import com.example.SpringApi.FilterQueryBuilder.PromoFilterQueryBuilder;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Models.DatabaseModels.Promo;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel;
 import com.example.SpringApi.Models.RequestModels.PromoRequestModel;
@@ -25,6 +27,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Base test class for PromoService tests. Contains common mocks, dependencies, and setup logic
@@ -43,6 +46,10 @@ abstract class PromoServiceTestBase {
 
   @Mock protected MessageService messageService;
 
+  @Spy
+  protected BulkInsertPipeline bulkInsertPipeline =
+      new BulkInsertPipeline(mock(PlatformTransactionManager.class), 1);
+
   @Spy @InjectMocks protected PromoService promoService;
 
   protected PromoController promoController;
@@ -9,7 +9,11 @@ import com.example.SpringApi.Authentication.JwtTokenProvider;
 import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
 import com.example.SpringApi.FilterQueryBuilder.PurchaseOrderFilterQueryBuilder;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Helpers.ImgbbHelper;
+import com.example.SpringApi.Helpers.InventoryEngine;
+import com.example.SpringApi.Helpers.InvoiceTemplateEngine;
+import com.example.SpringApi.Helpers.PDFRenderer;
 import com.example.SpringApi.Models.DTOs.AddressDuplicateCriteria;
 import com.example.SpringApi.Models.DatabaseModels.*;
 import com.example.SpringApi.Models.RequestModels.AddressRequestModel;
@@ -32,6 +36,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -74,6 +79,14 @@ abstract class PurchaseOrderServiceTestBase {
 
   @Mock protected Environment environment;
 
+  protected final InvoiceTemplateEngine invoiceTemplateEngine = new InvoiceTemplateEngine();
+
+  @Mock protected PlatformTransactionManager transactionManager;
+
+  @Mock protected InventoryEngine inventoryEngine;
+
+  @Mock protected PDFRenderer pdfRenderer;
+
   @Mock protected JwtTokenProvider jwtTokenProvider;
 
   @Mock protected HttpServletRequest request;
@@ -121,6 +134,7 @@ abstract class PurchaseOrderServiceTestBase {
     stubShipmentPackageRepositorySaveAssigningId(1L);
     stubShipmentProductRepositorySaveAll();
     stubShipmentPackageProductRepositorySaveAll();
+    stubPdfRendererRendersInline();
 
     // Set up RequestContextHolder so BaseService.getClientId() works
     MockHttpServletRequest mockRequest = new MockHttpServletRequest();
@@ -146,6 +160,10 @@ abstract class PurchaseOrderServiceTestBase {
             purchaseOrderFilterQueryBuilder,
             messageService,
             environment,
+            invoiceTemplateEngine,
+            new BulkInsertPipeline(transactionManager, 1),
+            inventoryEngine,
+            pdfRenderer,
             jwtTokenProvider,
             request);
   }
@@ -640,6 +658,22 @@ abstract class PurchaseOrderServiceTestBase {
         });
   }
 
+  /** Renders on the calling thread so static PDFHelper stubs apply to the conversion. */
+  protected void stubPdfRendererRendersInline() {
+    try {
+      lenient()
+          .when(pdfRenderer.render(any(), any(), any()))
+          .thenAnswer(
+              invocation -> {
+                PDFRenderer.HtmlSource html = invocation.getArgument(1);
+                PDFRenderer.Converter converter = invocation.getArgument(2);
+                return converter.convert(html.get());
+              });
+    } catch (IOException | TemplateException | DocumentException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   protected org.mockito.MockedStatic<com.example.SpringApi.Helpers.PDFHelper>
       stubPdfHelperConvertPurchaseOrderHtmlToPdf(byte[] pdfBytes) {
     org.mockito.MockedStatic<com.example.SpringApi.Helpers.PDFHelper> mocked =
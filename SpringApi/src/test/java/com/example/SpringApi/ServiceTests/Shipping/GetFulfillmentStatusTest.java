@@ -0,0 +1,176 @@
+package com.example.SpringApi.ServiceTests.Shipping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.SpringApi.Controllers.ShipmentController;
+import com.example.SpringApi.ErrorMessages;
+import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Exceptions.NotFoundException;
+import com.example.SpringApi.Models.DatabaseModels.Shipment;
+import com.example.SpringApi.Models.ResponseModels.ShipmentFulfillmentStatusResponseModel;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/** Tests for ShippingService.getFulfillmentStatus(). */
+@DisplayName("GetFulfillmentStatus Tests")
+class GetFulfillmentStatusTest extends ShippingServiceTestBase {
+
+  // Total Tests: 6
+  /*
+   **********************************************************************************************
+   * SUCCESS TESTS
+   **********************************************************************************************
+   */
+
+  /**
+   * Purpose: Verify a shipment waiting for a retry reports its attempts and error. Expected Result:
+   * One pending status with the next attempt time. Assertions: Status fields.
+   */
+  @Test
+  @DisplayName("getFulfillmentStatus - Pending Retry - Success")
+  void getFulfillmentStatus_PendingRetry_Success() {
+    // Arrange
+    LocalDateTime nextAttemptAt = LocalDateTime.now().plusMinutes(1);
+    testShipment.setFulfillmentStatus(Shipment.FulfillmentStatus.PENDING.getValue());
+    testShipment.setFulfillmentAttempts(2);
+    testShipment.setFulfillmentNextAttemptAt(nextAttemptAt);
+    testShipment.setFulfillmentLastError("pickup-error");
+    stubPurchaseOrderRepositoryFindById(testPurchaseOrder);
+    stubOrderSummaryRepositoryFindByEntityTypeAndEntityId(testOrderSummary);
+    stubShipmentRepositoryFindByOrderSummaryIdAndClientId(List.of(testShipment));
+
+    // Act
+    List<ShipmentFulfillmentStatusResponseModel> result =
+        shippingService.getFulfillmentStatus(TEST_PURCHASE_ORDER_ID);
+
+    // Assert
+    assertEquals(1, result.size());
+    assertEquals(TEST_SHIPMENT_ID, result.get(0).getShipmentId());
+    assertEquals(
+        Shipment.FulfillmentStatus.PENDING.getValue(), result.get(0).getFulfillmentStatus());
+    assertEquals(2, result.get(0).getAttempts());
+    assertEquals(nextAttemptAt, result.get(0).getNextAttemptAt());
+    assertEquals("pickup-error", result.get(0).getLastError());
+  }
+
+  /**
+   * Purpose: Verify shipments sent to ShipRocket before orders were queued report as completed.
+   * Expected Result: Status is COMPLETED with no retry time. Assertions: Status fields.
+   */
+  @Test
+  @DisplayName("getFulfillmentStatus - Shipment Without Queue Status - Reports Completed")
+  void getFulfillmentStatus_ShipmentWithoutQueueStatus_ReportsCompleted() {
+    // Arrange
+    testShipment.setShipRocketShipmentId(2001L);
+    stubPurchaseOrderRepositoryFindById(testPurchaseOrder);
+    stubOrderSummaryRepositoryFindByEntityTypeAndEntityId(testOrderSummary);
+    stubShipmentRepositoryFindByOrderSummaryIdAndClientId(List.of(testShipment));
+
+    // Act
+    List<ShipmentFulfillmentStatusResponseModel> result =
+        shippingService.getFulfillmentStatus(TEST_PURCHASE_ORDER_ID);
+
+    // Assert
+    assertEquals(
+        Shipment.FulfillmentStatus.COMPLETED.getValue(), result.get(0).getFulfillmentStatus());
+    assertEquals(0, result.get(0).getAttempts());
+    assertNull(result.get(0).getNextAttemptAt());
+  }
+
+  /*
+   **********************************************************************************************
+   * FAILURE TESTS
+   **********************************************************************************************
+   */
+
+  /**
+   * Purpose: Verify an unknown purchase order is rejected. Expected Result: NotFoundException with
+   * InvalidId message. Assertions: Exception type and message.
+   */
+  @Test
+  @DisplayName("getFulfillmentStatus - Purchase Order Not Found - Throws NotFoundException")
+  void getFulfillmentStatus_PurchaseOrderNotFound_ThrowsNotFoundException() {
+    // Arrange
+    stubPurchaseOrderRepositoryFindById(null);
+
+    // Act
+    NotFoundException ex =
+        assertThrows(
+            NotFoundException.class,
+            () -> shippingService.getFulfillmentStatus(TEST_PURCHASE_ORDER_ID));
+
+    // Assert
+    assertEquals(ErrorMessages.PurchaseOrderErrorMessages.INVALID_ID, ex.getMessage());
+  }
+
+  /**
+   * Purpose: Verify another client's purchase order is rejected. Expected Result:
+   * BadRequestException with AccessDenied message. Assertions: Exception type and message.
+   */
+  @Test
+  @DisplayName("getFulfillmentStatus - Client Mismatch - Throws BadRequestException")
+  void getFulfillmentStatus_ClientMismatch_ThrowsBadRequestException() {
+    // Arrange
+    testPurchaseOrder.setClientId(999L);
+    stubPurchaseOrderRepositoryFindById(testPurchaseOrder);
+
+    // Act
+    BadRequestException ex =
+        assertThrows(
+            BadRequestException.class,
+            () -> shippingService.getFulfillmentStatus(TEST_PURCHASE_ORDER_ID));
+
+    // Assert
+    assertEquals(
+        ErrorMessages.CommonErrorMessages.ACCESS_DENIED_TO_PURCHASE_ORDER, ex.getMessage());
+  }
+
+  /**
+   * Purpose: Verify a purchase order without an order summary is rejected. Expected Result:
+   * NotFoundException with OrderSummaryNotFound message. Assertions: Exception type and message.
+   */
+  @Test
+  @DisplayName("getFulfillmentStatus - Order Summary Not Found - Throws NotFoundException")
+  void getFulfillmentStatus_OrderSummaryNotFound_ThrowsNotFoundException() {
+    // Arrange
+    stubPurchaseOrderRepositoryFindById(testPurchaseOrder);
+    stubOrderSummaryRepositoryFindByEntityTypeAndEntityId(null);
+
+    // Act
+    NotFoundException ex =
+        assertThrows(
+            NotFoundException.class,
+            () -> shippingService.getFulfillmentStatus(TEST_PURCHASE_ORDER_ID));
+
+    // Assert
+    assertEquals(ErrorMessages.OrderSummaryNotFoundMessage.NOT_FOUND, ex.getMessage());
+  }
+
+  /*
+   **********************************************************************************************
+   * PERMISSION TESTS
+   **********************************************************************************************
+   */
+
+  /**
+   * Purpose: Verify unauthorized access is blocked at the controller level. Expected Result:
+   * Unauthorized status is returned. Assertions: Response status is 401 UNAUTHORIZED.
+   */
+  @Test
+  @DisplayName("getFulfillmentStatus - Controller Permission - Unauthorized")
+  void getFulfillmentStatus_controller_permission_unauthorized() {
+    // Arrange
+    ShipmentController controller = new ShipmentController(shippingServiceMock);
+    stubShippingServiceMockGetFulfillmentStatusUnauthorized();
+
+    // Act
+    ResponseEntity<?> response = controller.getFulfillmentStatus(TEST_PURCHASE_ORDER_ID);
+
+    // Assert
+    assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+  }
+}
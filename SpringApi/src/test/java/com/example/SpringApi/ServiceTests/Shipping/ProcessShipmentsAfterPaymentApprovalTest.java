@@ -2,6 +2,8 @@ package com.example.SpringApi.ServiceTests.Shipping;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.example.SpringApi.ErrorMessages;
@@ -23,7 +25,7 @@ import org.springframework.http.ResponseEntity;
 @DisplayName("ProcessShipmentsAfterPaymentApproval Tests")
 class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
 
-  // Total Tests: 48
+  // Total Tests: 49
   /*
    **********************************************************************************************
    * SUCCESS TESTS
@@ -155,6 +157,34 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
     assertTrue(result.isSuccess());
   }
 
+  /**
+   * Purpose: Verify approval queues shipments for the background pipeline instead of calling
+   * ShipRocket. Expected Result: Shipment is pending with its order request stored, and a queued
+   * event is published. Assertions: Fulfillment fields, published event, no ShipRocket call.
+   */
+  @Test
+  @DisplayName("processShipmentsAfterPaymentApproval - Queues Shipment - Success")
+  void processShipmentsAfterPaymentApproval_QueuesShipment_Success() {
+    // Arrange
+    arrangeOnlineSuccessBaseline();
+    stubProductRepositoryFindById(testProduct);
+
+    // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
+
+    // Assert
+    assertEquals(
+        Shipment.FulfillmentStatus.PENDING.getValue(), testShipment.getFulfillmentStatus());
+    assertEquals(0, testShipment.getFulfillmentAttempts());
+    assertNotNull(testShipment.getShipRocketOrderRequest());
+    assertNotNull(testShipment.getFulfillmentNextAttemptAt());
+    verify(eventPublisher)
+        .publishEvent(
+            new com.example.SpringApi.Services.ShipmentFulfillmentWorker.ShipmentsQueued(
+                List.of(TEST_SHIPMENT_ID)));
+    verify(shipRocketHelper, never()).createCustomOrder(any());
+  }
+
   /*
    **********************************************************************************************
    * FAILURE TESTS
@@ -555,17 +585,17 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     ShipRocketOrderResponseModel response = createValidShipRocketOrderResponse();
     response.setStatus("INVALID");
     stubShipRocketHelperCreateCustomOrder(response);
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     String validStatuses =
@@ -613,17 +643,17 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     ShipRocketOrderResponseModel response = createValidShipRocketOrderResponse();
     response.setOrderId(null);
     stubShipRocketHelperCreateCustomOrder(response);
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -661,17 +691,17 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     ShipRocketOrderResponseModel response = createValidShipRocketOrderResponse();
     response.setShipmentId(null);
     stubShipRocketHelperCreateCustomOrder(response);
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -707,17 +737,17 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     ShipRocketOrderResponseModel response = createValidShipRocketOrderResponse();
     response.setStatus("");
     stubShipRocketHelperCreateCustomOrder(response);
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -754,17 +784,17 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     ShipRocketOrderResponseModel response = createValidShipRocketOrderResponse();
     response.setMessage(ErrorMessages.OPERATION_FAILED);
     stubShipRocketHelperCreateCustomOrder(response);
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -801,15 +831,15 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     stubShipRocketHelperCreateCustomOrder(null);
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -1134,18 +1164,18 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     stubShipmentRepositorySave(testShipment);
     ShipRocketOrderResponseModel shipRocketResponse = createValidShipRocketOrderResponse();
     stubShipRocketHelperCreateCustomOrder(shipRocketResponse);
     stubShipRocketHelperAssignAwbAsJsonThrows(new RuntimeException("awb-error"));
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -1182,6 +1212,7 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     stubShipmentRepositorySave(testShipment);
     stubShipRocketHelperCreateCustomOrder(createValidShipRocketOrderResponse());
     stubShipRocketHelperGeneratePickupAsJson("{}");
@@ -1193,10 +1224,11 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
 
     // Act
     shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
+    shippingService.fulfillShipment(TEST_SHIPMENT_ID);
 
     // Assert
     ArgumentCaptor<Shipment> captor = ArgumentCaptor.forClass(Shipment.class);
-    verify(shipmentRepository).save(captor.capture());
+    verify(shipmentRepository, atLeastOnce()).save(captor.capture());
     Shipment savedShipment = captor.getValue();
     assertEquals("AWB-1", savedShipment.getShipRocketAwbCode());
     assertNotNull(savedShipment.getShipRocketFullResponse());
@@ -1429,6 +1461,7 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
 
     // Act
     shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
+    shippingService.fulfillShipment(TEST_SHIPMENT_ID);
 
     // Assert
     ArgumentCaptor<ShipRocketOrderRequestModel> requestCaptor =
@@ -1482,6 +1515,7 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
 
     // Act
     shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
+    shippingService.fulfillShipment(TEST_SHIPMENT_ID);
 
     // Assert
     ArgumentCaptor<ShipRocketOrderRequestModel> requestCaptor =
@@ -1512,6 +1546,7 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
 
     // Act
     shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
+    shippingService.fulfillShipment(TEST_SHIPMENT_ID);
 
     // Assert
     ArgumentCaptor<ShipRocketOrderRequestModel> requestCaptor =
@@ -1540,12 +1575,11 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
     stubShipRocketHelperGeneratePickupAsJsonThrows(new RuntimeException("pickup-error"));
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -1568,12 +1602,11 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
     stubShipRocketHelperGenerateManifestThrows(new RuntimeException("manifest-error"));
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -1597,12 +1630,11 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
     stubShipRocketHelperGenerateLabelThrows(new RuntimeException("label-error"));
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -1625,12 +1657,11 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
     stubShipRocketHelperGenerateInvoiceThrows(new RuntimeException("invoice-error"));
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -1652,12 +1683,11 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
     stubShipRocketHelperGetTrackingAsJsonThrows(new RuntimeException("tracking-error"));
 
     // Act
+    shippingService.processShipmentsAfterPaymentApproval(TEST_PURCHASE_ORDER_ID, razorpayRequest);
     com.example.SpringApi.Exceptions.BadRequestException ex =
         assertThrows(
             com.example.SpringApi.Exceptions.BadRequestException.class,
-            () ->
-                shippingService.processShipmentsAfterPaymentApproval(
-                    TEST_PURCHASE_ORDER_ID, razorpayRequest));
+            () -> shippingService.fulfillShipment(TEST_SHIPMENT_ID));
 
     // Assert
     assertEquals(
@@ -1684,6 +1714,7 @@ class ProcessShipmentsAfterPaymentApprovalTest extends ShippingServiceTestBase {
             "pay", TEST_PURCHASE_ORDER_ID, PurchaseOrder.Status.APPROVED.getValue()));
     stubClientRepositoryFindById(testClient);
     stubPickupLocationRepositoryFindById(testPickupLocation);
+    stubShipmentRepositoryFindById(testShipment);
     stubShipmentRepositorySave(testShipment);
     stubShipRocketHelperCreateCustomOrder(createValidShipRocketOrderResponse());
     stubShipRocketHelperAssignAwbAsJson(createValidAwbJson());
@@ -0,0 +1,157 @@
+package com.example.SpringApi.ServiceTests.Shipping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SpringApi.Exceptions.BadRequestException;
+import com.example.SpringApi.Models.DatabaseModels.Shipment;
+import com.example.SpringApi.Repositories.ShipmentRepository;
+import com.example.SpringApi.Services.ShipmentFulfillmentWorker;
+import com.example.SpringApi.Services.ShippingService;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Tests for ShipmentFulfillmentWorker.process(). */
+@DisplayName("ShipmentFulfillmentWorker Tests")
+class ShipmentFulfillmentWorkerTest {
+
+  // Total Tests: 4
+
+  private static final Long SHIPMENT_ID = 30L;
+
+  private ShipmentRepository shipmentRepository;
+  private ShippingService shippingService;
+  private ShipmentFulfillmentWorker worker;
+  private Shipment shipment;
+
+  @BeforeEach
+  void setUp() {
+    shipmentRepository = mock(ShipmentRepository.class);
+    shippingService = mock(ShippingService.class);
+    worker = new ShipmentFulfillmentWorker(shipmentRepository, shippingService, 2, 3, 30, 300);
+    shipment = new Shipment();
+    shipment.setShipmentId(SHIPMENT_ID);
+    shipment.setFulfillmentStatus(Shipment.FulfillmentStatus.IN_PROGRESS.getValue());
+    shipment.setFulfillmentAttempts(0);
+    when(shipmentRepository.findById(SHIPMENT_ID)).thenReturn(Optional.of(shipment));
+  }
+
+  @AfterEach
+  void tearDown() {
+    worker.shutdown();
+  }
+
+  /*
+   **********************************************************************************************
+   * SUCCESS TESTS
+   **********************************************************************************************
+   */
+
+  /**
+   * Purpose: Verify a claimed shipment is fulfilled. Expected Result: The shipment is leased and
+   * its ShipRocket steps run. Assertions: Return value and collaborator calls.
+   */
+  @Test
+  @DisplayName("process - Claimed Shipment - Fulfilled")
+  void process_ClaimedShipment_Fulfilled() {
+    // Arrange
+    when(shipmentRepository.claimFulfillment(eq(SHIPMENT_ID), any(), any())).thenReturn(1);
+
+    // Act
+    boolean processed = worker.process(SHIPMENT_ID);
+
+    // Assert
+    assertTrue(processed);
+    verify(shippingService).fulfillShipment(SHIPMENT_ID);
+    verify(shipmentRepository, never()).save(any(Shipment.class));
+  }
+
+  /**
+   * Purpose: Verify a shipment held by another worker is left alone. Expected Result: No
+   * ShipRocket steps run. Assertions: Return value and no fulfillment call.
+   */
+  @Test
+  @DisplayName("process - Claim Lost - Skipped")
+  void process_ClaimLost_Skipped() {
+    // Arrange
+    when(shipmentRepository.claimFulfillment(eq(SHIPMENT_ID), any(), any())).thenReturn(0);
+
+    // Act
+    boolean processed = worker.process(SHIPMENT_ID);
+
+    // Assert
+    assertFalse(processed);
+    verify(shippingService, never()).fulfillShipment(anyLong());
+  }
+
+  /*
+   **********************************************************************************************
+   * FAILURE TESTS
+   **********************************************************************************************
+   */
+
+  /**
+   * Purpose: Verify a failed attempt is scheduled for a retry with backoff. Expected Result: The
+   * shipment is pending again with the error and a later attempt time. Assertions: Saved
+   * fulfillment fields.
+   */
+  @Test
+  @DisplayName("process - Step Fails - Retry Scheduled")
+  void process_StepFails_RetryScheduled() {
+    // Arrange
+    shipment.setFulfillmentAttempts(1);
+    when(shipmentRepository.claimFulfillment(eq(SHIPMENT_ID), any(), any())).thenReturn(1);
+    doThrow(new BadRequestException("pickup-error"))
+        .when(shippingService)
+        .fulfillShipment(SHIPMENT_ID);
+    LocalDateTime before = LocalDateTime.now();
+
+    // Act
+    worker.process(SHIPMENT_ID);
+
+    // Assert
+    verify(shipmentRepository).save(shipment);
+    assertEquals(Shipment.FulfillmentStatus.PENDING.getValue(), shipment.getFulfillmentStatus());
+    assertEquals(2, shipment.getFulfillmentAttempts());
+    assertEquals("pickup-error", shipment.getFulfillmentLastError());
+    // Second failure waits twice the base delay
+    assertFalse(shipment.getFulfillmentNextAttemptAt().isBefore(before.plusSeconds(60)));
+    assertTrue(shipment.getFulfillmentNextAttemptAt().isBefore(before.plusSeconds(120)));
+  }
+
+  /**
+   * Purpose: Verify the last allowed attempt marks the shipment failed. Expected Result: Status is
+   * FAILED with no next attempt. Assertions: Saved fulfillment fields.
+   */
+  @Test
+  @DisplayName("process - Max Attempts Reached - Marked Failed")
+  void process_MaxAttemptsReached_MarkedFailed() {
+    // Arrange
+    shipment.setFulfillmentAttempts(2);
+    when(shipmentRepository.claimFulfillment(eq(SHIPMENT_ID), any(), any())).thenReturn(1);
+    doThrow(new BadRequestException("awb-error"))
+        .when(shippingService)
+        .fulfillShipment(SHIPMENT_ID);
+
+    // Act
+    worker.process(SHIPMENT_ID);
+
+    // Assert
+    verify(shipmentRepository).save(shipment);
+    assertEquals(Shipment.FulfillmentStatus.FAILED.getValue(), shipment.getFulfillmentStatus());
+    assertEquals(3, shipment.getFulfillmentAttempts());
+    assertNull(shipment.getFulfillmentNextAttemptAt());
+    assertEquals("awb-error", shipment.getFulfillmentLastError());
+  }
+}
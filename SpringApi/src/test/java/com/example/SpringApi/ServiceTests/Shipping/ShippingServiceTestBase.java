@@ -11,8 +11,17 @@ import com.example.SpringApi.Exceptions.BadRequestException;
 import com.example.SpringApi.Exceptions.NotFoundException;
 import com.example.SpringApi.Exceptions.UnauthorizedException;
 import com.example.SpringApi.FilterQueryBuilder.ShipmentFilterQueryBuilder;
+import com.example.SpringApi.Helpers.InventoryEngine;
+import com.example.SpringApi.Helpers.OrderAllocator;
+import com.example.SpringApi.Helpers.OutboundCallExecutor;
 import com.example.SpringApi.Helpers.PackagingHelper;
+import com.example.SpringApi.Helpers.PackagingResultCache;
+import com.example.SpringApi.Helpers.RouteCapabilityStore;
 import com.example.SpringApi.Helpers.ShipRocketHelper;
+import com.example.SpringApi.Helpers.ShipRocketHelperRegistry;
+import com.example.SpringApi.Helpers.ShipRocketResilience;
+import com.example.SpringApi.Helpers.ShippingRateCache;
+import com.example.SpringApi.Helpers.StockLocationLoader;
 import com.example.SpringApi.Models.DatabaseModels.*;
 import com.example.SpringApi.Models.RequestModels.*;
 import com.example.SpringApi.Models.ResponseModels.*;
@@ -28,10 +37,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -89,6 +100,10 @@ abstract class ShippingServiceTestBase {
 
   @Mock protected ShipmentFilterQueryBuilder shipmentFilterQueryBuilder;
 
+  @Mock protected StockReservationRepository stockReservationRepository;
+
+  @Mock protected ApplicationEventPublisher eventPublisher;
+
   @Mock protected ShipRocketHelper shipRocketHelper;
 
   @Mock protected HttpServletRequest request;
@@ -101,6 +116,10 @@ abstract class ShippingServiceTestBase {
 
   protected ShippingService shippingService;
 
+  // Rate, route and stock lookups are not cached, so every test sees its own stubs
+  protected OutboundCallExecutor outboundCallExecutor;
+  protected StockLocationLoader stockLocationLoader;
+
   protected ShippingCalculationRequestModel shippingRequest;
   protected OrderOptimizationRequestModel optimizationRequest;
   protected CreateReturnRequestModel createReturnRequest;
@@ -137,6 +156,10 @@ abstract class ShippingServiceTestBase {
     mockRequest.addHeader("Authorization", "Bearer test-token");
     RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(mockRequest));
 
+    outboundCallExecutor = new OutboundCallExecutor(64, 16);
+    stockLocationLoader =
+        new StockLocationLoader(
+            productPickupLocationMappingRepository, packagePickupLocationMappingRepository, 0, 0);
     shippingService = new TestableShippingService();
 
     testClient = createTestClient(TEST_CLIENT_ID);
@@ -285,6 +308,11 @@ abstract class ShippingServiceTestBase {
     stubUserLogServiceLogData(true);
     stubPackageRepositoryFindById(testPackage);
   }
+  @AfterEach
+  void tearDown() {
+    outboundCallExecutor.shutdown();
+  }
+
 
   protected class TestableShippingService extends ShippingService {
     TestableShippingService() {
@@ -308,12 +336,27 @@ abstract class ShippingServiceTestBase {
           clientRepository,
           userLogService,
           shipmentFilterQueryBuilder,
+          new ShipRocketHelperRegistry(ShipRocketResilience.defaults()),
+          new ShippingRateCache(0, 0, new BigDecimal("0.5")),
+          new RouteCapabilityStore(0, 0, outboundCallExecutor),
+          outboundCallExecutor,
+          new OrderAllocator(200, 3),
+          stockLocationLoader,
+          new PackagingResultCache(0, 0),
+          new InventoryEngine(
+              productPickupLocationMappingRepository,
+              packagePickupLocationMappingRepository,
+              stockReservationRepository,
+              stockLocationLoader,
+              60),
+          eventPublisher,
           org.mockito.Mockito.mock(JwtTokenProvider.class),
           org.mockito.Mockito.mock(HttpServletRequest.class));
     }
 
     @Override
-    protected ShipRocketHelper createShipRocketHelper(String email, String password) {
+    protected ShipRocketHelper createShipRocketHelper(
+        Long clientId, String email, String password) {
       return shipRocketHelper;
     }
   }
@@ -351,6 +394,12 @@ abstract class ShippingServiceTestBase {
         .thenReturn(shipment);
   }
 
+  protected void stubShipmentRepositoryFindByOrderSummaryIdAndClientId(List<Shipment> shipments) {
+    lenient()
+        .when(shipmentRepository.findByOrderSummaryIdAndClientId(anyLong(), anyLong()))
+        .thenReturn(shipments);
+  }
+
   protected void stubShipmentRepositoryFindById(Shipment shipment) {
     lenient()
         .when(shipmentRepository.findById(anyLong()))
@@ -376,6 +425,20 @@ abstract class ShippingServiceTestBase {
             productPickupLocationMappingRepository.findByProductIdAndPickupLocationId(
                 anyLong(), anyLong()))
         .thenReturn(mapping != null ? Optional.of(mapping) : Optional.empty());
+    // The guarded decrement succeeds only while the mapping has enough stock
+    lenient()
+        .when(
+            productPickupLocationMappingRepository.decrementStock(
+                anyLong(), anyLong(), anyInt(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              int quantity = invocation.getArgument(2);
+              if (mapping == null || mapping.getAvailableStock() < quantity) {
+                return 0;
+              }
+              mapping.setAvailableStock(mapping.getAvailableStock() - quantity);
+              return 1;
+            });
   }
 
   protected void stubPackagePickupLocationMappingRepositoryFindByPackageIdAndPickupLocationId(
@@ -385,6 +448,19 @@ abstract class ShippingServiceTestBase {
             packagePickupLocationMappingRepository.findByPackageIdAndPickupLocationId(
                 anyLong(), anyLong()))
         .thenReturn(mapping != null ? Optional.of(mapping) : Optional.empty());
+    lenient()
+        .when(
+            packagePickupLocationMappingRepository.decrementQuantity(
+                anyLong(), anyLong(), anyInt(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              int quantity = invocation.getArgument(2);
+              if (mapping == null || mapping.getAvailableQuantity() < quantity) {
+                return 0;
+              }
+              mapping.setAvailableQuantity(mapping.getAvailableQuantity() - quantity);
+              return 1;
+            });
   }
 
   protected void stubPaymentServiceRecordCashPayment(PaymentVerificationResponseModel response) {
@@ -643,6 +719,13 @@ abstract class ShippingServiceTestBase {
         .getShipmentById(anyLong());
   }
 
+  protected void stubShippingServiceMockGetFulfillmentStatusUnauthorized() {
+    lenient()
+        .doThrow(new UnauthorizedException(ErrorMessages.ERROR_UNAUTHORIZED))
+        .when(shippingServiceMock)
+        .getFulfillmentStatus(anyLong());
+  }
+
   protected void stubShippingServiceMockGetShipmentsInBatchesUnauthorized() {
     lenient()
         .doThrow(new UnauthorizedException(ErrorMessages.ERROR_UNAUTHORIZED))
@@ -676,8 +759,8 @@ abstract class ShippingServiceTestBase {
           List<ProductPickupLocationMapping> mappings) {
     lenient()
         .when(
-            productPickupLocationMappingRepository.findByProductIdWithPickupLocationAndAddress(
-                anyLong()))
+            productPickupLocationMappingRepository.findByProductIdsWithPickupLocationAndAddress(
+                anyList()))
         .thenReturn(mappings);
   }
 
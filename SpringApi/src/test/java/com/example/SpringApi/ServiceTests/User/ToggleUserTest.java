@@ -10,6 +10,7 @@ import com.example.SpringApi.Exceptions.NotFoundException;
 import com.example.SpringApi.Models.Authorizations;
 import com.example.SpringApi.Models.DatabaseModels.User;
 import java.lang.reflect.Method;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -20,7 +21,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 @DisplayName("UserService - ToggleUser Tests")
 class ToggleUserTest extends UserServiceTestBase {
 
-  // Total Tests: 11
+  // Total Tests: 13
   // ========================================
   // SUCCESS TESTS
   // ========================================
@@ -113,6 +114,46 @@ class ToggleUserTest extends UserServiceTestBase {
     verify(userRepository, atLeastOnce()).save(testUser);
   }
 
+  /**
+   * Purpose: Verify that toggling a user refreshes the authentication deny-list. Expected Result:
+   * Deny-list is updated with the toggled user. Assertions: verify
+   */
+  @Test
+  @DisplayName("toggleUser - Success - Updates Authentication Deny List")
+  void toggleUser_success_updatesAuthenticationDenyList() {
+    // Arrange
+    testUser.setIsDeleted(false);
+    stubUserRepositoryFindByIdWithAllRelations(testUser);
+    stubUserRepositorySave(testUser);
+    stubUserLogServiceLogData(true);
+
+    // Act
+    userService.toggleUser(TEST_USER_ID);
+
+    // Assert
+    verify(authenticationDenyList, times(1)).update(testUser);
+  }
+
+  /**
+   * Purpose: Verify that toggling a user drops their cached permission state. Expected Result:
+   * The permission resolver is invalidated for the toggled user. Assertions: verify
+   */
+  @Test
+  @DisplayName("toggleUser - Success - Invalidates Permission Resolver")
+  void toggleUser_success_invalidatesPermissionResolver() {
+    // Arrange
+    testUser.setIsDeleted(false);
+    stubUserRepositoryFindByIdWithAllRelations(testUser);
+    stubUserRepositorySave(testUser);
+    stubUserLogServiceLogData(true);
+
+    // Act
+    userService.toggleUser(TEST_USER_ID);
+
+    // Assert
+    verify(permissionCodeResolver, times(1)).invalidateAfterCommit(List.of(TEST_USER_ID));
+  }
+
   /**
    * Purpose: Verify that modifiedUser is updated on toggle. Expected Result: modifiedUser field is
    * updated. Assertions: assertNotNull
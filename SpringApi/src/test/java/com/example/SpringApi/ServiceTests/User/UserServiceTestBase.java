@@ -3,11 +3,15 @@ package com.example.SpringApi.ServiceTests.User;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 
+import com.example.SpringApi.Authentication.AuthenticationDenyList;
+import com.example.SpringApi.Authentication.PermissionCodeResolver;
 import com.example.SpringApi.ErrorMessages;
 import com.example.SpringApi.Exceptions.PermissionException;
 import com.example.SpringApi.Exceptions.UnauthorizedException;
 import com.example.SpringApi.FilterQueryBuilder.UserFilterQueryBuilder;
+import com.example.SpringApi.Helpers.BulkInsertPipeline;
 import com.example.SpringApi.Helpers.PasswordHelper;
 import com.example.SpringApi.Models.DatabaseModels.*;
 import com.example.SpringApi.Models.RequestModels.PaginationBaseRequestModel;
@@ -29,11 +33,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Base test class for UserService tests. Contains common mocks, test data, and centralized stubbing
@@ -68,6 +74,14 @@ abstract class UserServiceTestBase {
 
   @Mock protected GoogleCredRepository googleCredRepository;
 
+  @Mock protected AuthenticationDenyList authenticationDenyList;
+
+  @Mock protected PermissionCodeResolver permissionCodeResolver;
+
+  @Spy
+  protected BulkInsertPipeline bulkInsertPipeline =
+      new BulkInsertPipeline(mock(PlatformTransactionManager.class), 1);
+
   @InjectMocks protected UserService userService;
 
   @Mock protected UserService mockUserService;
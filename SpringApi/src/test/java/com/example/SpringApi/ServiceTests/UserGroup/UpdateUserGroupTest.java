@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -27,7 +28,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 @DisplayName("UserGroupService - UpdateUserGroup Tests")
 class UpdateUserGroupTest extends UserGroupServiceTestBase {
 
-  // Total Tests: 15
+  // Total Tests: 16
   // ========================================
   // SUCCESS TESTS
   // ========================================
@@ -162,6 +163,32 @@ class UpdateUserGroupTest extends UserGroupServiceTestBase {
     verify(userGroupUserMapRepository).deleteAll(anyList());
   }
 
+  /**
+   * Purpose: Verify both removed and added members have their cached permission state dropped.
+   * Expected Result: The permission resolver is invalidated for old and new members. Assertions:
+   * verify
+   */
+  @Test
+  @DisplayName("updateUserGroup - Members Replaced - Permission Resolver Invalidated")
+  void updateUserGroup_membersReplaced_permissionResolverInvalidated() {
+    // Arrange
+    UserGroupUserMap removedMapping = new UserGroupUserMap(4L, TEST_GROUP_ID, CREATED_USER);
+
+    stubUserGroupRepositoryFindById(TEST_GROUP_ID, Optional.of(testUserGroup));
+    stubUserGroupRepositoryFindByGroupName(TEST_GROUP_NAME, null);
+    stubUserGroupRepositorySave(testUserGroup);
+    stubUserGroupUserMapRepositoryFindByGroupId(List.of(removedMapping));
+    stubUserGroupUserMapRepositoryDeleteAll();
+    stubUserGroupUserMapRepositorySaveAll(new ArrayList<>());
+    stubUserLogServiceLogData(true);
+
+    // Act
+    userGroupService.updateUserGroup(testUserGroupRequest);
+
+    // Assert
+    verify(permissionCodeResolver).invalidateAfterCommit(Set.of(TEST_USER_ID, 2L, 3L, 4L));
+  }
+
   // ========================================
   // FAILURE TESTS
   // ========================================
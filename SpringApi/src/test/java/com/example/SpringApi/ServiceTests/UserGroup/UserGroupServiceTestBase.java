@@ -5,6 +5,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 
+import com.example.SpringApi.Authentication.PermissionCodeResolver;
 import com.example.SpringApi.Controllers.UserGroupController;
 import com.example.SpringApi.FilterQueryBuilder.UserGroupFilterQueryBuilder;
 import com.example.SpringApi.Models.DatabaseModels.User;
@@ -59,6 +60,8 @@ abstract class UserGroupServiceTestBase {
 
   @Mock protected MessageService messageService;
 
+  @Mock protected PermissionCodeResolver permissionCodeResolver;
+
   @Mock protected HttpServletRequest request;
 
   @Spy @InjectMocks protected UserGroupService userGroupService;